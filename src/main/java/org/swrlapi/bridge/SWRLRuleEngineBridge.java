@@ -107,4 +107,17 @@ public interface SWRLRuleEngineBridge
    * @return The change status of the ontology
    */
   boolean hasOntologyChanged();
+
+  /**
+   * A target rule engine can poll this method while it runs and stop as soon as it returns true, e.g., because the
+   * consumer of a streamed SQWRL result has closed it or because every active SQWRL query has produced all the rows
+   * its limit, nth, firstN, or nthSlice operators select and there are no other rules. Once a stop is requested,
+   * built-ins invoked via {@link #invokeSWRLBuiltIn(String, String, int, boolean, List)} evaluate to false. If other
+   * rules are present the engine is not stopped; instead, built-ins invoked by a query that has produced all its rows
+   * evaluate to false. The request is cleared when the bridge is reset.
+   *
+   * @return True if the rule engine has been asked to stop
+   * @see org.swrlapi.bridge.TargetSWRLRuleEngine#stopRuleEngine()
+   */
+  boolean isRuleEngineStopRequested();
 }
@@ -23,4 +23,13 @@ public interface SWRLRuleEngineBridgeController
    * @return A set of inferred OWL axioms
    */
   @NonNull Set<@NonNull OWLAxiom> getInferredOWLAxioms();
+
+  /**
+   * Ask the target rule engine to stop. This method can be called from a thread other than the one running the rule
+   * engine.
+   *
+   * @see org.swrlapi.bridge.SWRLRuleEngineBridge#isRuleEngineStopRequested()
+   * @see org.swrlapi.bridge.TargetSWRLRuleEngine#stopRuleEngine()
+   */
+  void requestRuleEngineStop();
 }
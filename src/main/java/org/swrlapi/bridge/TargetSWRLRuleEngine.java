@@ -9,6 +9,7 @@ import org.swrlapi.owl2rl.OWL2RLEngine;
 import org.swrlapi.sqwrl.SQWRLQuery;
 
 import javax.swing.*;
+import java.util.Collection;
 
 /**
  * This interface defines the methods that must be provided by an implementation of a SWRLAPI-based SWRL rule engine. A
@@ -35,6 +36,22 @@ public interface TargetSWRLRuleEngine
    */
   void defineOWLAxiom(OWLAxiom axiom) throws TargetSWRLRuleEngineException;
 
+  /**
+   * Define target rule engine representations of a collection of OWL axioms. The bridge supplies axioms grouped by
+   * type: declarations first, followed by class and property axioms, then assertions, and finally SWRL rules. Engines
+   * that support bulk loading can override this method to insert the axioms in batches and build their indexes once.
+   * The default implementation defines each axiom individually.
+   *
+   * @param axioms The OWL axioms to define; SWRL rules are a type of OWL axiom
+   * @throws TargetSWRLRuleEngineException If an error occurs during definition
+   */
+  default void defineOWLAxioms(@NonNull Collection<? extends @NonNull OWLAxiom> axioms)
+    throws TargetSWRLRuleEngineException
+  {
+    for (OWLAxiom axiom : axioms)
+      defineOWLAxiom(axiom);
+  }
+
   /**
    * Define a target rule engine representation of a SQWRL query.
    * 
@@ -43,6 +60,32 @@ public interface TargetSWRLRuleEngine
    */
   void defineSQWRLQuery(SQWRLQuery query) throws TargetSWRLRuleEngineException, SWRLBuiltInException;
 
+  /**
+   * Indicates whether the engine can remove a previously defined SQWRL query while leaving all other definitions in
+   * place. Engines that return true support SQWRL query sessions, in which the asserted OWL axioms and SWRL rules are
+   * loaded once and queries are then defined and undefined individually.
+   *
+   * @return True if {@link #undefineSQWRLQuery(SQWRLQuery)} is supported
+   * @see org.swrlapi.sqwrl.SQWRLQueryEngine#startSQWRLQuerySession()
+   */
+  default boolean canUndefineSQWRLQueries()
+  {
+    return false;
+  }
+
+  /**
+   * Remove the target rule engine representation of a previously defined SQWRL query.
+   *
+   * @param query A SQWRL query to undefine
+   * @throws TargetSWRLRuleEngineException If an error occurs in the target rule engine or if the operation is not
+   *                                       supported
+   */
+  default void undefineSQWRLQuery(@NonNull SQWRLQuery query) throws TargetSWRLRuleEngineException
+  {
+    throw new TargetSWRLRuleEngineException(
+      "target rule engine " + getTargetRuleEngineName() + " does not support undefining SQWRL queries");
+  }
+
   /**
    * Run the rule engine.
    * 
@@ -50,6 +93,18 @@ public interface TargetSWRLRuleEngine
    */
   void runRuleEngine() throws TargetSWRLRuleEngineException;
 
+  /**
+   * Ask a running rule engine to stop as soon as possible; {@link #runRuleEngine()} should then return normally. This
+   * method is called either from a thread other than the one running the rule engine or, once the row limits of the
+   * active SQWRL queries are reached and no other rules remain to infer axioms, from a built-in invoked by the rule
+   * engine itself. Engines that do not support asynchronous halting can instead poll
+   * {@link org.swrlapi.bridge.SWRLRuleEngineBridge#isRuleEngineStopRequested()}. The default implementation does
+   * nothing.
+   */
+  default void stopRuleEngine()
+  {
+  }
+
   /**
    * Reset the rule engine.
    * 
@@ -50,8 +50,6 @@ import org.swrlapi.literal.XSDDateTime;
 import org.swrlapi.literal.XSDDuration;
 import org.swrlapi.literal.XSDTime;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.URI;
@@ -62,6 +60,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -85,27 +85,22 @@ public abstract class AbstractSWRLBuiltInLibrary
   @NonNull private final String namespace;
   @NonNull private final Set<@NonNull String> builtInNames;
 
-  // Bridge, rule prefix, built-in index, and head or body location within rule of built-in currently invoking its
-  // associated Java implementation. The invokingRuleName, invokingBuiltInIndex, and isInConsequent variables are valid
-  // only when a built-in currently being invoked so should only be retrieved through their associated accessor methods
-  // from within a built-in; the invokingBridge method is valid only in built-ins and in the reset method.
-  @Nullable private SWRLBuiltInBridge invokingBridge;
-  @NonNull private String invokingRuleName = "";
-  @NonNull private Long invocationPatternID;
-  @NonNull private Map<@NonNull String, @NonNull Long> invocationPatternMap;
-
-  private int invokingBuiltInIndex = -1;
-  private boolean isInConsequent = false;
+  // Context of the built-in currently invoking its associated Java implementation on each thread. A context is bound
+  // only while a built-in is being invoked so it should only be retrieved through the associated accessor methods from
+  // within a built-in; the bridge is also available in the reset methods.
+  @NonNull private final ThreadLocal<@Nullable SWRLBuiltInInvocationContext> invocationContext;
+  @NonNull private final AtomicLong invocationPatternID;
+  @NonNull private final Map<@NonNull SWRLBuiltInInvocationPattern, @NonNull String> invocationPatternMap;
 
   protected AbstractSWRLBuiltInLibrary(@NonNull String prefix, @NonNull String namespace,
     @NonNull Set<@NonNull String> builtInNames)
   {
-    this.invokingBridge = null;
+    this.invocationContext = new ThreadLocal<>();
     this.prefix = prefix;
     this.namespace = namespace;
     this.builtInNames = new HashSet<>(builtInNames);
-    this.invocationPatternID = 0L;
-    this.invocationPatternMap = new HashMap<>();
+    this.invocationPatternID = new AtomicLong();
+    this.invocationPatternMap = new ConcurrentHashMap<>();
   }
 
   @NonNull public String getPrefix()
@@ -128,61 +123,61 @@ public abstract class AbstractSWRLBuiltInLibrary
     return this.builtInNames.stream().map(s -> IRI.create(namespace + s)).collect(Collectors.toSet());
   }
 
-  @NonNull @Override public SWRLBuiltInBridge getBuiltInBridge() throws SWRLBuiltInLibraryException
+  /**
+   * Libraries whose built-ins keep no unsynchronized mutable state should override this method to allow concurrent
+   * invocation. By default built-ins in a library are invoked one at a time.
+   */
+  @Override public boolean isThreadSafe()
   {
-    if (this.invokingBridge == null)
-      throw new SWRLBuiltInLibraryException(
-        "invalid call to getInvokingBridge - should only be called from within a built-in");
+    return false;
+  }
 
-    return this.invokingBridge;
+  @NonNull @Override public SWRLBuiltInInvocationContext getInvocationContext() throws SWRLBuiltInLibraryException
+  {
+    return getInvocationContext("getInvocationContext");
+  }
+
+  @NonNull @Override public SWRLBuiltInBridge getBuiltInBridge() throws SWRLBuiltInLibraryException
+  {
+    return getInvocationContext("getInvokingBridge").getBridge();
   }
 
   @NonNull @Override public String getInvokingRuleName() throws SWRLBuiltInLibraryException
   {
-    synchronized (this) {
-      if (this.invokingRuleName.length() == 0)
-        throw new SWRLBuiltInLibraryException(
-          "invalid call to getInvokingRuleName - should only be called from within a built-in");
-    }
-    return this.invokingRuleName;
+    String ruleName = getInvocationContext("getInvokingRuleName").getRuleName();
+
+    if (ruleName.length() == 0)
+      throw new SWRLBuiltInLibraryException(
+        "invalid call to getInvokingRuleName - should only be called from within a built-in");
+
+    return ruleName;
   }
 
   @Override public int getInvokingBuiltInIndex() throws SWRLBuiltInLibraryException
   {
-    synchronized (this) {
-      if (this.invokingBuiltInIndex == -1)
-        throw new SWRLBuiltInLibraryException(
-          "invalid call to getInvokingBuiltInIndex - should only be called from within a built-in");
-    }
-    return this.invokingBuiltInIndex;
+    int builtInIndex = getInvocationContext("getInvokingBuiltInIndex").getBuiltInIndex();
+
+    if (builtInIndex == -1)
+      throw new SWRLBuiltInLibraryException(
+        "invalid call to getInvokingBuiltInIndex - should only be called from within a built-in");
+
+    return builtInIndex;
   }
 
   @Override public boolean getIsInConsequent() throws SWRLBuiltInLibraryException
   {
-    if (this.invokingBridge == null)
-      throw new SWRLBuiltInLibraryException(
-        "invalid call to getIsInConsequent - should only be called from within a built-in");
-
-    return this.isInConsequent;
+    return getInvocationContext("getIsInConsequent").isInConsequent();
   }
 
   @Override public void checkThatInConsequent() throws SWRLBuiltInException
   {
-    if (this.invokingBridge == null)
-      throw new SWRLBuiltInLibraryException(
-        "invalid call to checkThatInConsequent - should only be called from within a built-in");
-
-    if (!this.isInConsequent)
+    if (!getInvocationContext("checkThatInConsequent").isInConsequent())
       throw new SWRLBuiltInException("built-in can only be used in consequent");
   }
 
   @Override public void checkThatInAntecedent() throws SWRLBuiltInException
   {
-    if (this.invokingBridge == null)
-      throw new SWRLBuiltInLibraryException(
-        "invalid call to checkThatInAntecedent - should only be called from within a built-in");
-
-    if (this.isInConsequent)
+    if (getInvocationContext("checkThatInAntecedent").isInConsequent())
       throw new SWRLBuiltInException("built-in can only be used in antecedent");
   }
 
@@ -191,57 +186,102 @@ public abstract class AbstractSWRLBuiltInLibrary
   @Override public void invokeResetMethod(@NonNull SWRLBuiltInBridge bridge) throws SWRLBuiltInLibraryException
   {
     synchronized (this) {
-      this.invokingBridge = bridge;
+      SWRLBuiltInInvocationContext previousContext = bindInvocationContext(new SWRLBuiltInInvocationContext(bridge));
 
-      reset();
+      try {
+        reset();
 
-      this.invocationPatternID = 0L;
-      this.invocationPatternMap = new HashMap<>();
-
-      this.invokingBridge = null;
+        this.invocationPatternMap.clear();
+        this.invocationPatternID.set(0L);
+      } finally {
+        restoreInvocationContext(previousContext);
+      }
     }
   }
 
-  @Override public boolean invokeBuiltInMethod(@NonNull Method method, @NonNull SWRLBuiltInBridge bridge,
-    @NonNull String ruleName, @NonNull String prefix, @NonNull String builtInMethodName, int builtInIndex,
-    boolean inConsequent, @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  /**
+   * Libraries that keep state for individual rules or queries should override this method. By default there is no
+   * such state.
+   */
+  @Override public void resetRule(@NonNull String ruleName) throws SWRLBuiltInLibraryException
   {
-    String builtInName = prefix + ":" + builtInMethodName;
-    Boolean result;
+  }
 
-    synchronized (this) { // Only one built-in per library may be invoked simultaneously
-      this.invokingBridge = bridge;
-      this.invokingRuleName = ruleName;
-      this.invokingBuiltInIndex = builtInIndex;
-      this.isInConsequent = inConsequent;
+  @Override public void invokeRuleResetMethod(@NonNull SWRLBuiltInBridge bridge, @NonNull String ruleName)
+    throws SWRLBuiltInLibraryException
+  {
+    synchronized (this) {
+      SWRLBuiltInInvocationContext previousContext = bindInvocationContext(new SWRLBuiltInInvocationContext(bridge));
 
-      try { // Invoke the built-in method.
-        result = (Boolean)method.invoke(this, arguments);
-      } catch (InvocationTargetException e) { // The built-in implementation threw an exception.
-        Throwable targetException = e.getTargetException();
-        if (targetException instanceof SWRLBuiltInException) { // An explicit BuiltInException was thrown by the
-          // built-in.
-          throw new SWRLBuiltInException(
-            "exception thrown by built-in " + builtInName + " in rule " + ruleName + ": " + targetException
-              .getMessage(), targetException);
-        } else if (targetException instanceof RuntimeException) { // A runtime exception was thrown by the built-in.
-          throw new SWRLBuiltInMethodRuntimeException(ruleName, builtInName, targetException.getMessage(),
-            targetException);
-        } else
-          throw new SWRLBuiltInException(
-            "unknown exception thrown by built-in " + builtInName + " in rule " + ruleName + ": " + e.toString(), e);
-      } catch (Throwable e) { // Should be one of IllegalAccessException or IllegalArgumentException
-        throw new SWRLBuiltInLibraryException(
-          "internal built-in library exception when invoking built-in " + builtInName + " in rule " + ruleName + ": "
-            + e.getMessage(), e);
+      try {
+        resetRule(ruleName);
+      } finally {
+        restoreInvocationContext(previousContext);
       }
-      this.invokingBridge = null;
-      this.invokingRuleName = "";
-      this.invokingBuiltInIndex = -1;
-      this.isInConsequent = false;
     }
+  }
+
+  @Override public boolean invokeBuiltInMethod(@NonNull SWRLBuiltInMethod method,
+    @NonNull SWRLBuiltInInvocationContext context, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+    throws SWRLBuiltInException
+  {
+    if (isThreadSafe())
+      return invokeBuiltInMethodInContext(method, context, arguments);
+    else {
+      synchronized (this) { // Only one built-in per library may be invoked simultaneously
+        return invokeBuiltInMethodInContext(method, context, arguments);
+      }
+    }
+  }
+
+  private boolean invokeBuiltInMethodInContext(@NonNull SWRLBuiltInMethod method,
+    @NonNull SWRLBuiltInInvocationContext context, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+    throws SWRLBuiltInException
+  {
+    // A built-in may invoke other built-ins in this library on the same thread so we restore the enclosing context
+    SWRLBuiltInInvocationContext previousContext = bindInvocationContext(context);
+
+    try { // Invoke the built-in method.
+      return method.invoke(this, arguments);
+    } catch (SWRLBuiltInException e) { // An explicit BuiltInException was thrown by the built-in.
+      throw new SWRLBuiltInException(
+        "exception thrown by built-in " + context.getPrefixedBuiltInName() + " in rule " + context.getRuleName() + ": "
+          + e.getMessage(), e);
+    } catch (RuntimeException e) { // A runtime exception was thrown by the built-in.
+      throw new SWRLBuiltInMethodRuntimeException(context.getRuleName(), context.getPrefixedBuiltInName(),
+        e.getMessage(), e);
+    } finally {
+      restoreInvocationContext(previousContext);
+    }
+  }
+
+  @NonNull private SWRLBuiltInInvocationContext getInvocationContext(@NonNull String methodName)
+    throws SWRLBuiltInLibraryException
+  {
+    SWRLBuiltInInvocationContext context = this.invocationContext.get();
+
+    if (context == null)
+      throw new SWRLBuiltInLibraryException(
+        "invalid call to " + methodName + " - should only be called from within a built-in");
+
+    return context;
+  }
+
+  @Nullable private SWRLBuiltInInvocationContext bindInvocationContext(@NonNull SWRLBuiltInInvocationContext context)
+  {
+    SWRLBuiltInInvocationContext previousContext = this.invocationContext.get();
+
+    this.invocationContext.set(context);
+
+    return previousContext;
+  }
 
-    return result;
+  private void restoreInvocationContext(@Nullable SWRLBuiltInInvocationContext previousContext)
+  {
+    if (previousContext == null)
+      this.invocationContext.remove();
+    else
+      this.invocationContext.set(previousContext);
   }
 
   // Argument handling methods
@@ -1980,9 +2020,67 @@ public abstract class AbstractSWRLBuiltInLibrary
     return message;
   }
 
+  /**
+   * Create a key that represents a unique invocation pattern for a built-in for a bridge/rule/built-in/arguments
+   * combination. Keys for the same combination are equal.
+   *
+   * @param bridge       The built-in bridge invoking the built-in
+   * @param ruleName     The prefix of the rule invoking the built-in
+   * @param builtInIndex The 0-based index of the built-in in the rule
+   * @param inConsequent Is the built-in in the rule consequent
+   * @param arguments    The arguments to the built-in
+   * @return A unique pattern key for the invocation
+   * @throws SWRLBuiltInException If the parameters are invalid or if there is an error during pattern generation
+   */
+  @NonNull protected SWRLBuiltInInvocationPattern createInvocationPatternKey(@NonNull SWRLBuiltInBridge bridge,
+    @NonNull String ruleName, int builtInIndex, boolean inConsequent,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    Object[] argumentValues = new Object[arguments.size()];
+
+    for (int i = 0; i < arguments.size(); i++)
+      argumentValues[i] = getArgumentAsAKeyValue(i, arguments);
+
+    return new SWRLBuiltInInvocationPattern(bridge, ruleName, builtInIndex, inConsequent, argumentValues);
+  }
+
+  /**
+   * Get an argument as a value that identifies it in a key, such as an invocation pattern or a SQWRL collection group.
+   * Values are those returned by {@link #getArgumentAsAPropertyValue(int, List)} except that numeric values are
+   * compared by value regardless of their type, so "1"^^xsd:int, "1"^^xsd:long, and "1.0"^^xsd:decimal give equal
+   * keys. Numeric and string literals with the same lexical form give different keys.
+   *
+   * @param argumentNumber The 0-based index of the argument
+   * @param arguments      The arguments to the built-in
+   * @return The key value of the argument
+   * @throws SWRLBuiltInException If the argument is unbound or is not an OWL entity, string, or numeric literal
+   */
+  @NonNull protected Object getArgumentAsAKeyValue(int argumentNumber,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    Object value = getArgumentAsAPropertyValue(argumentNumber, arguments);
+
+    if (value instanceof Number)
+      return getNumericKeyValue((Number)value);
+    else
+      return value;
+  }
+
+  // Floating point values are converted through their shortest decimal representation, as in their lexical forms
+  @NonNull private static Object getNumericKeyValue(@NonNull Number value)
+  {
+    if ((value instanceof Float || value instanceof Double) && (Double.isNaN(value.doubleValue()) || Double
+      .isInfinite(value.doubleValue())))
+      return value.doubleValue();
+
+    BigDecimal decimalValue = new BigDecimal(value.toString());
+
+    return decimalValue.signum() == 0 ? BigDecimal.ZERO : decimalValue.stripTrailingZeros();
+  }
+
   /**
    * Create a string that represents a unique invocation pattern for a built-in for a bridge/rule/built-in/arguments
-   * combination.
+   * combination. The string is a short identifier that is allocated once per distinct pattern.
    *
    * @param bridge       The built-in bridge invoking the built-in
    * @param ruleName     The prefix of the rule invoking the built-in
@@ -1996,21 +2094,11 @@ public abstract class AbstractSWRLBuiltInLibrary
     int builtInIndex, boolean inConsequent, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
-    String pattern = "" + bridge.hashCode() + "." + ruleName + "." + builtInIndex + "." + inConsequent;
-    String result;
-
-    for (int i = 0; i < arguments.size(); i++)
-      pattern += "." + getArgumentAsAPropertyValue(i, arguments);
-
-    if (this.invocationPatternMap.containsKey(pattern))
-      result = this.invocationPatternMap.get(pattern).toString();
-    else {
-      this.invocationPatternMap.put(pattern, this.invocationPatternID);
-      result = this.invocationPatternID.toString();
-      this.invocationPatternID++;
-    }
+    SWRLBuiltInInvocationPattern pattern = createInvocationPatternKey(bridge, ruleName, builtInIndex, inConsequent,
+      arguments);
 
-    return result;
+    return this.invocationPatternMap
+      .computeIfAbsent(pattern, p -> Long.toString(this.invocationPatternID.getAndIncrement()));
   }
 
   @NonNull @Override public SWRLLiteralBuiltInArgument createLeastNarrowNumericLiteralBuiltInArgument(double value,
@@ -0,0 +1,121 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Indexes axioms of a single type by each of the values that a built-in matches against its arguments, for use by
+ * built-ins that query the ontology (e.g., ABox and TBox built-ins). The n-th argument extractor supplied on creation
+ * returns the value of an axiom that is matched against the n-th built-in argument.
+ * <p>
+ * An axiom is counted each time it is added and is only removed from the index when it has been removed as many times.
+ * This allows axioms derived from several asserted axioms (e.g., pairwise same individual axioms) to be indexed.
+ * <p>
+ * An index is not thread-safe.
+ *
+ * @see org.swrlapi.builtins.abox.ABoxIndex
+ * @see org.swrlapi.builtins.tbox.TBoxIndex
+ */
+public final class SWRLBuiltInAxiomIndex<A extends OWLAxiom>
+{
+  @NonNull private final List<@NonNull Function<A, ? extends OWLObject>> argumentExtractors;
+  @NonNull private final Map<@NonNull A, @NonNull Integer> axiomCounts;
+  @NonNull private final List<@NonNull Map<@NonNull OWLObject, @NonNull Set<@NonNull A>>> axiomsByArgumentValue;
+
+  @SafeVarargs public SWRLBuiltInAxiomIndex(@NonNull Function<A, ? extends OWLObject>... argumentExtractors)
+  {
+    this.argumentExtractors = Arrays.asList(argumentExtractors);
+    this.axiomCounts = new HashMap<>();
+    this.axiomsByArgumentValue = new ArrayList<>(argumentExtractors.length);
+
+    for (int argumentNumber = 0; argumentNumber < argumentExtractors.length; argumentNumber++)
+      this.axiomsByArgumentValue.add(new HashMap<>());
+  }
+
+  public boolean isEmpty()
+  {
+    return this.axiomCounts.isEmpty();
+  }
+
+  public void add(@NonNull A axiom)
+  {
+    if (this.axiomCounts.merge(axiom, 1, Integer::sum) == 1) {
+      for (int argumentNumber = 0; argumentNumber < this.argumentExtractors.size(); argumentNumber++) {
+        OWLObject argumentValue = this.argumentExtractors.get(argumentNumber).apply(axiom);
+        this.axiomsByArgumentValue.get(argumentNumber).computeIfAbsent(argumentValue, v -> new HashSet<>()).add(axiom);
+      }
+    }
+  }
+
+  public void remove(@NonNull A axiom)
+  {
+    Integer count = this.axiomCounts.get(axiom);
+
+    if (count == null)
+      return;
+
+    if (count > 1)
+      this.axiomCounts.put(axiom, count - 1);
+    else {
+      this.axiomCounts.remove(axiom);
+
+      for (int argumentNumber = 0; argumentNumber < this.argumentExtractors.size(); argumentNumber++) {
+        OWLObject argumentValue = this.argumentExtractors.get(argumentNumber).apply(axiom);
+        Map<@NonNull OWLObject, @NonNull Set<@NonNull A>> axiomsByValue = this.axiomsByArgumentValue
+          .get(argumentNumber);
+        Set<@NonNull A> axioms = axiomsByValue.get(argumentValue);
+
+        if (axioms != null) {
+          axioms.remove(axiom);
+          if (axioms.isEmpty())
+            axiomsByValue.remove(argumentValue);
+        }
+      }
+    }
+  }
+
+  public void clear()
+  {
+    this.axiomCounts.clear();
+    this.axiomsByArgumentValue.forEach(Map::clear);
+  }
+
+  /**
+   * Find the candidate axioms for a built-in invocation. All axioms that match the bound arguments are returned, though
+   * some of the returned axioms may not match all of them; the caller is expected to check each candidate.
+   *
+   * @param inputArgumentValues The values of the bound arguments of the built-in, keyed by argument number
+   * @return A copy of the axioms indexed under the most selective bound argument, or all axioms if none are bound
+   */
+  @NonNull public List<@NonNull A> getCandidateAxioms(
+    @NonNull Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues)
+  {
+    Collection<@NonNull A> candidateAxioms = this.axiomCounts.keySet();
+
+    for (Map.Entry<@NonNull Integer, @NonNull OWLObject> inputArgumentValue : inputArgumentValues.entrySet()) {
+      int argumentNumber = inputArgumentValue.getKey();
+
+      if (argumentNumber < this.axiomsByArgumentValue.size()) {
+        Set<@NonNull A> axioms = this.axiomsByArgumentValue.get(argumentNumber).get(inputArgumentValue.getValue());
+
+        if (axioms == null)
+          return Collections.emptyList(); // No axiom has this argument value
+        else if (axioms.size() < candidateAxioms.size())
+          candidateAxioms = axioms;
+      }
+    }
+    return new ArrayList<>(candidateAxioms);
+  }
+}
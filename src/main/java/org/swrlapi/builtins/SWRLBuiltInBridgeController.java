@@ -18,6 +18,15 @@ public interface SWRLBuiltInBridgeController
    */
   void reset() throws SWRLBuiltInBridgeException;
 
+  /**
+   * Discard built-in state associated with a particular rule or SQWRL query so that it can be run again without a full
+   * reset
+   *
+   * @param ruleName The name of the rule or query
+   * @throws SWRLBuiltInBridgeException If an error occurs during resetting
+   */
+  void resetRule(@NonNull String ruleName) throws SWRLBuiltInBridgeException;
+
   /**
    * @return The number of OWL axioms injected into the controller
    */
@@ -19,12 +19,26 @@ public interface SWRLBuiltInContext
    */
   @NonNull SWRLBuiltInBridge getBuiltInBridge() throws SWRLBuiltInLibraryException;
 
+  /**
+   * @return The context of the current built-in invocation
+   * @throws SWRLBuiltInLibraryException If the method is called outside of a built-in invocation context
+   */
+  @NonNull SWRLBuiltInInvocationContext getInvocationContext() throws SWRLBuiltInLibraryException;
+
   /**
    * @param bridge The associated SWRL rule engine bridge
    * @throws SWRLBuiltInLibraryException If the method is called outside of a built-in invocation context
    */
   void invokeResetMethod(@NonNull SWRLBuiltInBridge bridge) throws SWRLBuiltInLibraryException;
 
+  /**
+   * @param bridge   The associated SWRL rule engine bridge
+   * @param ruleName The name of the rule or query whose state should be discarded
+   * @throws SWRLBuiltInLibraryException If an error occurs during resetting
+   */
+  void invokeRuleResetMethod(@NonNull SWRLBuiltInBridge bridge, @NonNull String ruleName)
+    throws SWRLBuiltInLibraryException;
+
   /**
    * @return The invoking rule name
    * @throws SWRLBuiltInLibraryException If the method is called outside of a built-in invocation context
@@ -0,0 +1,85 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * The immutable context of a single built-in invocation: the invoking bridge, the name of the invoking rule, the
+ * name and 0-based index of the built-in in that rule, and whether the built-in is in the rule consequent.
+ * <p>
+ * A new context is created by the {@link org.swrlapi.builtins.SWRLBuiltInLibraryManager} for each invocation and is
+ * bound to the invoking thread for the duration of the call, so concurrent invocations of built-ins in the same library
+ * do not share any mutable state.
+ *
+ * @see org.swrlapi.builtins.SWRLBuiltInContext
+ * @see org.swrlapi.builtins.SWRLBuiltInLibrary#invokeBuiltInMethod
+ */
+public final class SWRLBuiltInInvocationContext
+{
+  @NonNull private final SWRLBuiltInBridge bridge;
+  @NonNull private final String ruleName;
+  @NonNull private final String prefix;
+  @NonNull private final String builtInMethodName;
+  private final int builtInIndex;
+  private final boolean isInConsequent;
+
+  public SWRLBuiltInInvocationContext(@NonNull SWRLBuiltInBridge bridge, @NonNull String ruleName,
+    @NonNull String prefix, @NonNull String builtInMethodName, int builtInIndex, boolean isInConsequent)
+  {
+    this.bridge = bridge;
+    this.ruleName = ruleName;
+    this.prefix = prefix;
+    this.builtInMethodName = builtInMethodName;
+    this.builtInIndex = builtInIndex;
+    this.isInConsequent = isInConsequent;
+  }
+
+  /**
+   * Context used when a library is reset outside of a built-in invocation. Only the bridge is available.
+   */
+  SWRLBuiltInInvocationContext(@NonNull SWRLBuiltInBridge bridge)
+  {
+    this(bridge, "", "", "", -1, false);
+  }
+
+  @NonNull public SWRLBuiltInBridge getBridge()
+  {
+    return this.bridge;
+  }
+
+  @NonNull public String getRuleName()
+  {
+    return this.ruleName;
+  }
+
+  @NonNull public String getPrefix()
+  {
+    return this.prefix;
+  }
+
+  @NonNull public String getBuiltInMethodName()
+  {
+    return this.builtInMethodName;
+  }
+
+  @NonNull public String getPrefixedBuiltInName()
+  {
+    return this.prefix + ":" + this.builtInMethodName;
+  }
+
+  public int getBuiltInIndex()
+  {
+    return this.builtInIndex;
+  }
+
+  public boolean isInConsequent()
+  {
+    return this.isInConsequent;
+  }
+
+  @NonNull @Override public String toString()
+  {
+    return "SWRLBuiltInInvocationContext{" + "ruleName='" + this.ruleName + '\'' + ", builtIn="
+      + getPrefixedBuiltInName() + ", builtInIndex=" + this.builtInIndex + ", isInConsequent=" + this.isInConsequent
+      + '}';
+  }
+}
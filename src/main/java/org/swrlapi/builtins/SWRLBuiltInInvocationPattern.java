@@ -0,0 +1,69 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.dataflow.qual.Deterministic;
+import org.checkerframework.dataflow.qual.SideEffectFree;
+
+import java.util.Arrays;
+
+/**
+ * Identifies a bridge/rule/built-in/arguments combination for a built-in invocation. Argument values are held in the
+ * form returned by {@link org.swrlapi.builtins.AbstractSWRLBuiltInLibrary#getArgumentAsAKeyValue}, i.e., IRIs for OWL
+ * entities, strings for string literals, and normalized numbers for numeric literals.
+ * <p>
+ * The hash code is computed once on creation so patterns can be used as map keys without rebuilding a string for
+ * every invocation.
+ *
+ * @see org.swrlapi.builtins.AbstractSWRLBuiltInLibrary#createInvocationPatternKey
+ */
+public final class SWRLBuiltInInvocationPattern
+{
+  @NonNull private final SWRLBuiltInBridge bridge;
+  @NonNull private final String ruleName;
+  private final int builtInIndex;
+  private final boolean inConsequent;
+  @NonNull private final Object[] argumentValues;
+  private final int hashCode;
+
+  SWRLBuiltInInvocationPattern(@NonNull SWRLBuiltInBridge bridge, @NonNull String ruleName, int builtInIndex,
+    boolean inConsequent, @NonNull Object[] argumentValues)
+  {
+    this.bridge = bridge;
+    this.ruleName = ruleName;
+    this.builtInIndex = builtInIndex;
+    this.inConsequent = inConsequent;
+    this.argumentValues = argumentValues;
+
+    int hash = System.identityHashCode(bridge);
+    hash = 31 * hash + ruleName.hashCode();
+    hash = 31 * hash + builtInIndex;
+    hash = 31 * hash + (inConsequent ? 1 : 0);
+    this.hashCode = 31 * hash + Arrays.hashCode(argumentValues);
+  }
+
+  @SideEffectFree @Deterministic @Override public boolean equals(@Nullable Object obj)
+  {
+    if (this == obj)
+      return true;
+    if (obj == null || obj.getClass() != getClass())
+      return false;
+
+    SWRLBuiltInInvocationPattern other = (SWRLBuiltInInvocationPattern)obj;
+
+    return this.hashCode == other.hashCode && this.bridge == other.bridge && this.builtInIndex == other.builtInIndex
+      && this.inConsequent == other.inConsequent && this.ruleName.equals(other.ruleName) && Arrays
+      .equals(this.argumentValues, other.argumentValues);
+  }
+
+  @SideEffectFree @Deterministic @Override public int hashCode()
+  {
+    return this.hashCode;
+  }
+
+  @NonNull @SideEffectFree @Override public String toString()
+  {
+    return this.ruleName + "." + this.builtInIndex + "." + this.inConsequent + "." + Arrays
+      .toString(this.argumentValues);
+  }
+}
@@ -5,7 +5,6 @@ import org.semanticweb.owlapi.model.IRI;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 
-import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Set;
 
@@ -38,21 +37,31 @@ public interface SWRLBuiltInLibrary extends SWRLBuiltInContext
    */
   void reset();
 
+  /**
+   * Discard any internal state associated with a particular rule or SQWRL query (e.g., SQWRL collections)
+   *
+   * @param ruleName The name of the rule or query
+   */
+  void resetRule(@NonNull String ruleName);
+
+  /**
+   * Libraries whose built-ins keep no unsynchronized mutable state may return true, in which case their built-ins may
+   * be invoked concurrently by several rule engine threads. Built-ins in other libraries are invoked one at a time. In
+   * both cases the invocation context is available to a built-in through the {@link SWRLBuiltInContext} methods.
+   *
+   * @return True if built-ins in this library may be invoked concurrently
+   */
+  boolean isThreadSafe();
+
   /**
    * Method to invoke a built-in in the library. Invoked by {@link SWRLBuiltInLibraryManager}.
    *
-   * @param method            The built-in method
-   * @param bridge            The built-in bridge
-   * @param ruleName          The invoking rule name
-   * @param prefix            The prefix of the built-in name
-   * @param builtInMethodName The built-in name fragment
-   * @param builtInIndex      The 0-based index of the built-in in the rule
-   * @param isInConsequent    Is the built-in in the rule consequent
-   * @param arguments         The arguments to the built-in
+   * @param method    The built-in method
+   * @param context   The context of this invocation
+   * @param arguments The arguments to the built-in
    * @return The return value from the built-in predicate
    * @throws SWRLBuiltInException If the parameters are invalid or if there is an error during built-in invocation
    */
-  boolean invokeBuiltInMethod(@NonNull Method method, @NonNull SWRLBuiltInBridge bridge, @NonNull String ruleName,
-    @NonNull String prefix, @NonNull String builtInMethodName, int builtInIndex, boolean isInConsequent,
+  boolean invokeBuiltInMethod(@NonNull SWRLBuiltInMethod method, @NonNull SWRLBuiltInInvocationContext context,
     @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException;
 }
@@ -15,6 +15,11 @@ import org.swrlapi.exceptions.UnresolvedSWRLBuiltInMethodException;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -29,6 +34,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 
@@ -56,13 +62,13 @@ public class SWRLBuiltInLibraryManager
   // Map of built-in library prefix name to SWRLBuiltInLibrary instance
   @NonNull private final Map<@NonNull String, @NonNull SWRLBuiltInLibrary> swrlBuiltInLibraryImplementations;
 
-  // Map of prefix:methodName to method implementation
-  @NonNull private final Map<@NonNull String, @NonNull Method> swrlBuiltInMethods;
+  // Map of prefix:methodName to resolved built-in implementation
+  @NonNull private final Map<@NonNull String, @NonNull ResolvedSWRLBuiltIn> swrlBuiltInMethods;
 
   public SWRLBuiltInLibraryManager()
   {
     this.swrlBuiltInLibraryImplementations = new HashMap<>();
-    this.swrlBuiltInMethods = new HashMap<>();
+    this.swrlBuiltInMethods = new ConcurrentHashMap<>(); // Unresolved built-ins may be resolved during invocation
 
     loadInternalSWRLBuiltInLibraries(preCannedSWRLBuiltInLibraryPrefixes);
   }
@@ -81,21 +87,7 @@ public class SWRLBuiltInLibraryManager
               "file:" + swrlBuiltInLibrarySubDirectory.getCanonicalPath());
             URLClassLoader classLoader = new URLClassLoader(new URL[] { swrlBuiltInLibrarySubDirectoryURL },
               this.getClass().getClassLoader());
-            SWRLBuiltInLibrary swrlBuiltInLibrary = instantiateSWRLBuiltInLibraryImplementation(
-              swrlBuiltInLibrarySubDirectoryName);
-            String swrlBuiltInLibraryPrefix = swrlBuiltInLibrary.getPrefix();
-            if (preCannedSWRLBuiltInLibraryPrefixes.contains(swrlBuiltInLibraryPrefix)) {
-              log.warn("External built-in library prefix " + swrlBuiltInLibraryPrefix
-                + " collides with in-built library prefix");
-            } else if (swrlBuiltInLibraryPrefix.equals(swrlBuiltInLibrarySubDirectoryName)) {
-              log.info("Loading external SWRL built-in library " + swrlBuiltInLibraryPrefix);
-              registerSWRLBuiltIns(swrlBuiltInLibraryPrefix, swrlBuiltInLibrary.getNamespace(),
-                swrlBuiltInLibrary.getBuiltInNames());
-              this.swrlBuiltInLibraryImplementations.put(swrlBuiltInLibraryPrefix, swrlBuiltInLibrary);
-            } else
-              log.warn("Invalid sub-directory name " + swrlBuiltInLibrarySubDirectoryName
-                + " for SWRL built-in library with prefix " + swrlBuiltInLibraryPrefix
-                + " - sub-directory and prefix should match!");
+            loadExternalSWRLBuiltInLibrary(swrlBuiltInLibrarySubDirectoryName, classLoader);
           } catch (IOException e) {
             log.warn(
               "Internal error processing SWRL built-in directory " + swrlBuiltInLibraryDirectory.getAbsolutePath());
@@ -107,13 +99,40 @@ public class SWRLBuiltInLibraryManager
     }
   }
 
+  /**
+   * Load the external built-in library with the supplied sub-directory name through the class loader for that
+   * sub-directory.
+   */
+  void loadExternalSWRLBuiltInLibrary(@NonNull String swrlBuiltInLibrarySubDirectoryName,
+    @NonNull ClassLoader classLoader)
+  {
+    SWRLBuiltInLibrary swrlBuiltInLibrary = instantiateSWRLBuiltInLibraryImplementation(
+      swrlBuiltInLibrarySubDirectoryName, classLoader);
+    String swrlBuiltInLibraryPrefix = swrlBuiltInLibrary.getPrefix();
+    if (preCannedSWRLBuiltInLibraryPrefixes.contains(swrlBuiltInLibraryPrefix)) {
+      log.warn("External built-in library prefix " + swrlBuiltInLibraryPrefix
+        + " collides with in-built library prefix");
+    } else if (swrlBuiltInLibraryPrefix.equals(swrlBuiltInLibrarySubDirectoryName)) {
+      log.info("Loading external SWRL built-in library " + swrlBuiltInLibraryPrefix);
+      registerSWRLBuiltIns(swrlBuiltInLibraryPrefix, swrlBuiltInLibrary.getNamespace(),
+        swrlBuiltInLibrary.getBuiltInNames());
+      resolveSWRLBuiltInMethods(swrlBuiltInLibrary);
+      this.swrlBuiltInLibraryImplementations.put(swrlBuiltInLibraryPrefix, swrlBuiltInLibrary);
+    } else
+      log.warn("Invalid sub-directory name " + swrlBuiltInLibrarySubDirectoryName
+        + " for SWRL built-in library with prefix " + swrlBuiltInLibraryPrefix
+        + " - sub-directory and prefix should match!");
+  }
+
   private void loadInternalSWRLBuiltInLibraries(Set<@NonNull String> swrlBuiltInLibraryPrefixes)
   {
     for (String swrlBuiltInLibraryPrefix : swrlBuiltInLibraryPrefixes) {
-      SWRLBuiltInLibrary swrlBuiltInLibrary = instantiateSWRLBuiltInLibraryImplementation(swrlBuiltInLibraryPrefix);
+      SWRLBuiltInLibrary swrlBuiltInLibrary = instantiateSWRLBuiltInLibraryImplementation(swrlBuiltInLibraryPrefix,
+        this.getClass().getClassLoader());
 
       registerSWRLBuiltIns(swrlBuiltInLibrary.getPrefix(), swrlBuiltInLibrary.getNamespace(),
         swrlBuiltInLibrary.getBuiltInNames());
+      resolveSWRLBuiltInMethods(swrlBuiltInLibrary);
       this.swrlBuiltInLibraryImplementations.put(swrlBuiltInLibraryPrefix, swrlBuiltInLibrary);
     }
   }
@@ -173,15 +192,12 @@ public class SWRLBuiltInLibraryManager
     @NonNull String ruleName, @NonNull String builtInMethodPrefixedName, int builtInIndex, boolean isInConsequent,
     @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    String prefix = getPrefixFromPrefixedName(builtInMethodPrefixedName);
-    String builtInMethodName = getBuiltInMethodNameFromPrefixedName(builtInMethodPrefixedName);
-    SWRLBuiltInLibrary swrlBuiltInLibrary = getSWRLBuiltInLibraryImplementation(prefix);
-    Method method = resolveSWRLBuiltInMethod(ruleName, swrlBuiltInLibrary, prefix, builtInMethodName);
+    ResolvedSWRLBuiltIn builtIn = resolveSWRLBuiltIn(ruleName, builtInMethodPrefixedName);
+    SWRLBuiltInInvocationContext context = new SWRLBuiltInInvocationContext(bridge, ruleName, builtIn.prefix,
+      builtIn.builtInMethodName, builtInIndex, isInConsequent);
     List<@NonNull List<@NonNull SWRLBuiltInArgument>> argumentPatterns = new ArrayList<>();
 
-    if (swrlBuiltInLibrary
-      .invokeBuiltInMethod(method, bridge, ruleName, prefix, builtInMethodName, builtInIndex, isInConsequent,
-        arguments)) {
+    if (builtIn.library.invokeBuiltInMethod(builtIn.method, context, arguments)) {
 
       if (hasUnboundArguments(arguments)) // Make sure the built-in has bound all of its arguments.
         throw new SWRLBuiltInException(
@@ -239,6 +255,22 @@ public class SWRLBuiltInLibraryManager
       invokeBuiltInLibraryResetMethod(bridge, library);
   }
 
+  /**
+   * Invoke the resetRule() method for each registered built-in library.
+   */
+  public void invokeAllBuiltInLibrariesRuleResetMethod(@NonNull SWRLBuiltInBridge bridge, @NonNull String ruleName)
+    throws SWRLBuiltInLibraryException
+  {
+    for (SWRLBuiltInLibrary library : this.swrlBuiltInLibraryImplementations.values()) {
+      try {
+        library.invokeRuleResetMethod(bridge, ruleName);
+      } catch (Exception e) {
+        throw new SWRLBuiltInLibraryException(
+          "error calling rule reset method for rule " + ruleName + " in built-in library " + library.getClass());
+      }
+    }
+  }
+
   /**
    * This method is called with a list of built-in arguments. Some argument positions may contain multi-arguments,
    * indicating that there is more than one pattern. If the result has more than one multi-argument, each multi-argument
@@ -322,31 +354,102 @@ public class SWRLBuiltInLibraryManager
     return result;
   }
 
-  @NonNull private Method resolveSWRLBuiltInMethod(@NonNull String ruleName, @NonNull SWRLBuiltInLibrary library,
-    @NonNull String prefix, @NonNull String builtInMethodName) throws UnresolvedSWRLBuiltInMethodException
+  /**
+   * Built-ins are normally resolved when their library is loaded. Any that could not be resolved then are resolved
+   * here so that the failure is reported against the invoking rule.
+   */
+  @NonNull private ResolvedSWRLBuiltIn resolveSWRLBuiltIn(@NonNull String ruleName,
+    @NonNull String builtInMethodPrefixedName) throws SWRLBuiltInLibraryException
   {
-    String key = prefix + ":" + builtInMethodName;
+    ResolvedSWRLBuiltIn builtIn = this.swrlBuiltInMethods.get(builtInMethodPrefixedName);
 
-    if (swrlBuiltInMethods.containsKey(key))
-      return swrlBuiltInMethods.get(key);
+    if (builtIn != null)
+      return builtIn;
     else {
+      String prefix = getPrefixFromPrefixedName(builtInMethodPrefixedName);
+      String builtInMethodName = getBuiltInMethodNameFromPrefixedName(builtInMethodPrefixedName);
+      SWRLBuiltInLibrary library = getSWRLBuiltInLibraryImplementation(prefix);
+
+      builtIn = resolveSWRLBuiltInMethod(ruleName, library, prefix, builtInMethodName);
+      this.swrlBuiltInMethods.put(builtInMethodPrefixedName, builtIn);
+
+      return builtIn;
+    }
+  }
+
+  private void resolveSWRLBuiltInMethods(@NonNull SWRLBuiltInLibrary library)
+  {
+    String prefix = library.getPrefix();
+
+    for (String builtInMethodName : library.getBuiltInNames()) {
       try {
-        Method method = library.getClass().getMethod(builtInMethodName, List.class);
+        this.swrlBuiltInMethods
+          .put(prefix + ":" + builtInMethodName, resolveSWRLBuiltInMethod("", library, prefix, builtInMethodName));
+      } catch (UnresolvedSWRLBuiltInMethodException e) {
+        // Reported if the built-in is invoked
+      }
+    }
+  }
 
-        checkSWRLBuiltInMethodSignature(ruleName, prefix, builtInMethodName, method); // Check signature of method
+  @NonNull private ResolvedSWRLBuiltIn resolveSWRLBuiltInMethod(@NonNull String ruleName,
+    @NonNull SWRLBuiltInLibrary library, @NonNull String prefix, @NonNull String builtInMethodName)
+    throws UnresolvedSWRLBuiltInMethodException
+  {
+    try {
+      Method method = library.getClass().getMethod(builtInMethodName, List.class);
 
-        swrlBuiltInMethods.put(key, method);
+      checkSWRLBuiltInMethodSignature(ruleName, prefix, builtInMethodName, method); // Check signature of method
 
-        return method;
-      } catch (Exception e) {
-        throw new UnresolvedSWRLBuiltInMethodException(ruleName, prefix, builtInMethodName,
-          e.getMessage() != null ? e.getMessage() : "", e);
+      return new ResolvedSWRLBuiltIn(library, prefix, builtInMethodName, createSWRLBuiltInMethod(method));
+    } catch (Exception e) {
+      throw new UnresolvedSWRLBuiltInMethodException(ruleName, prefix, builtInMethodName,
+        e.getMessage() != null ? e.getMessage() : "", e);
+    }
+  }
+
+  /**
+   * Generate a direct call to a built-in method using {@link LambdaMetafactory}. The generated class is defined in
+   * this class's class loader so it can only call methods of library classes defined by the same loader; the
+   * metafactory links other library classes (e.g., an external library loaded through its own class loader) without
+   * error but the first call then fails. Built-ins in those libraries, and any the metafactory cannot link, are invoked
+   * through a method handle instead.
+   */
+  @NonNull private SWRLBuiltInMethod createSWRLBuiltInMethod(@NonNull Method method) throws IllegalAccessException
+  {
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    MethodHandle methodHandle = lookup.unreflect(method);
+    MethodType builtInMethodType = MethodType.methodType(Boolean.TYPE, SWRLBuiltInLibrary.class, List.class);
+
+    if (method.getDeclaringClass().getClassLoader() == SWRLBuiltInLibraryManager.class.getClassLoader()) {
+      try {
+        CallSite callSite = LambdaMetafactory
+          .metafactory(lookup, "invoke", MethodType.methodType(SWRLBuiltInMethod.class), builtInMethodType,
+            methodHandle, methodHandle.type());
+
+        return (SWRLBuiltInMethod)callSite.getTarget().invoke();
+      } catch (Throwable e) {
+        // Fall through to the method handle
       }
     }
+    return createSWRLBuiltInMethodHandleInvoker(method, methodHandle.asType(builtInMethodType));
+  }
+
+  @NonNull private SWRLBuiltInMethod createSWRLBuiltInMethodHandleInvoker(@NonNull Method method,
+    @NonNull MethodHandle builtInMethodHandle)
+  {
+    return (library, arguments) -> {
+      try {
+        return (boolean)builtInMethodHandle.invokeExact(library, arguments);
+      } catch (SWRLBuiltInException | RuntimeException | Error t) {
+        throw t;
+      } catch (Throwable t) {
+        throw new SWRLBuiltInException("unknown exception thrown by built-in " + method.getName() + ": " + t, t);
+      }
+    };
   }
 
   @NonNull private SWRLBuiltInLibrary instantiateSWRLBuiltInLibraryImplementation(
-    @NonNull String swrlBuiltInLibraryPrefix) throws SWRLBuiltInLibraryException
+    @NonNull String swrlBuiltInLibraryPrefix, @NonNull ClassLoader classLoader) throws SWRLBuiltInLibraryException
   {
     Class<?> swrlBuiltInLibraryImplementationClass;
     String swrlBuiltInLibraryImplementationClassName =
@@ -354,7 +457,8 @@ public class SWRLBuiltInLibraryManager
         + SWRLBuiltInLibraryImplementationClassName;
 
     try {
-      swrlBuiltInLibraryImplementationClass = Class.forName(swrlBuiltInLibraryImplementationClassName);
+      swrlBuiltInLibraryImplementationClass = Class.forName(swrlBuiltInLibraryImplementationClassName, true,
+        classLoader);
     } catch (Exception e) {
       throw new UnresolvedSWRLBuiltInClassException(swrlBuiltInLibraryImplementationClassName,
         e.getMessage() != null ? e.getMessage() : "", e);
@@ -504,4 +608,21 @@ public class SWRLBuiltInLibraryManager
 
     return true;
   }
+
+  private static class ResolvedSWRLBuiltIn
+  {
+    @NonNull private final SWRLBuiltInLibrary library;
+    @NonNull private final String prefix;
+    @NonNull private final String builtInMethodName;
+    @NonNull private final SWRLBuiltInMethod method;
+
+    public ResolvedSWRLBuiltIn(@NonNull SWRLBuiltInLibrary library, @NonNull String prefix,
+      @NonNull String builtInMethodName, @NonNull SWRLBuiltInMethod method)
+    {
+      this.library = library;
+      this.prefix = prefix;
+      this.builtInMethodName = builtInMethodName;
+      this.method = method;
+    }
+  }
 }
@@ -0,0 +1,28 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+
+import java.util.List;
+
+/**
+ * A resolved Java implementation of a SWRL built-in. The {@link org.swrlapi.builtins.SWRLBuiltInLibraryManager}
+ * resolves each built-in method once when its library is loaded and generates an implementation of this interface that
+ * calls the method directly rather than through reflection.
+ *
+ * @see org.swrlapi.builtins.SWRLBuiltInLibraryManager
+ * @see org.swrlapi.builtins.SWRLBuiltInLibrary#invokeBuiltInMethod
+ */
+@FunctionalInterface
+public interface SWRLBuiltInMethod
+{
+  /**
+   * @param library   The library implementing the built-in
+   * @param arguments The arguments to the built-in
+   * @return The return value from the built-in predicate
+   * @throws SWRLBuiltInException If an error occurs during built-in invocation
+   */
+  boolean invoke(@NonNull SWRLBuiltInLibrary library, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+    throws SWRLBuiltInException;
+}
@@ -0,0 +1,110 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Base class for indexes of the axioms of an ontology's imports closure that are read by the built-ins of a library.
+ * An index listens for changes to the ontologies of its ontology manager. A subclass may apply an added or removed
+ * axiom of an indexed type to the index (see {@link #updateIndex(OWLOntologyChange)}); otherwise, as after any
+ * change to the imports closure, the index stops being current and the library should dispose of it and build a new
+ * one.
+ * <p>
+ * Indexes that are not updated are not modified once built so may be read without synchronization. Indexes that are
+ * updated must synchronize access themselves, since changes may be made on a different thread to the one using the
+ * index.
+ *
+ * @see org.swrlapi.builtins.SWRLBuiltInAxiomIndex
+ */
+public abstract class SWRLBuiltInOntologyIndex implements OWLOntologyChangeListener
+{
+  @NonNull private final OWLOntology ontology;
+  @NonNull private final Set<@NonNull AxiomType<?>> indexedAxiomTypes;
+
+  private volatile boolean isCurrent;
+
+  protected SWRLBuiltInOntologyIndex(@NonNull OWLOntology ontology,
+    @NonNull Set<@NonNull AxiomType<?>> indexedAxiomTypes)
+  {
+    this.ontology = ontology;
+    this.indexedAxiomTypes = Collections.unmodifiableSet(new HashSet<>(indexedAxiomTypes));
+    this.isCurrent = true;
+  }
+
+  /**
+   * Index the axioms of the imports closure of the ontology. Called once by {@link #build()}.
+   */
+  protected abstract void indexAxioms();
+
+  /**
+   * Apply a change to the index. Called for each addition or removal of an axiom of an indexed type in the imports
+   * closure of the ontology. Indexes that are cheap to rebuild or whose axioms rarely change can use the default, which
+   * makes the index stale.
+   *
+   * @param change An axiom change
+   * @return True if the index was updated; false if it is no longer current
+   */
+  protected boolean updateIndex(@NonNull OWLOntologyChange change)
+  {
+    return false;
+  }
+
+  /**
+   * Register the index as a listener with the ontology's manager and index the ontology's axioms. Registration comes
+   * first so that no change made while the index is being built is missed.
+   */
+  public void build()
+  {
+    this.ontology.getOWLOntologyManager().addOntologyChangeListener(this);
+    indexAxioms();
+  }
+
+  /**
+   * Unregister the index from its ontology's manager. The index should not be used afterwards.
+   */
+  public void dispose()
+  {
+    this.ontology.getOWLOntologyManager().removeOntologyChangeListener(this);
+  }
+
+  @NonNull public OWLOntology getOWLOntology()
+  {
+    return this.ontology;
+  }
+
+  /**
+   * @param ontology An OWL ontology
+   * @return True if this is an index of the ontology and its indexed axioms have not changed since it was built
+   */
+  public boolean isCurrentIndexOf(@NonNull OWLOntology ontology)
+  {
+    return this.isCurrent && this.ontology == ontology;
+  }
+
+  @Override public void ontologiesChanged(@Nonnull List<? extends OWLOntologyChange> changes)
+  {
+    if (!this.isCurrent)
+      return;
+
+    Set<@NonNull OWLOntology> importsClosure = this.ontology.getImportsClosure();
+
+    for (OWLOntologyChange change : changes) {
+      if (importsClosure.contains(change.getOntology())) {
+        if (change.isImportChange() || change.isAxiomChange() && change.getAxiom().isOfType(this.indexedAxiomTypes)
+          && !updateIndex(change)) {
+          this.isCurrent = false;
+          return;
+        }
+      }
+    }
+  }
+}
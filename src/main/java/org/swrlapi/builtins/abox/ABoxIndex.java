@@ -0,0 +1,226 @@
+package org.swrlapi.builtins.abox;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDifferentIndividualsAxiom;
+import org.semanticweb.owlapi.model.OWLNegativeDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLNegativeObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
+import org.semanticweb.owlapi.model.parameters.AxiomAnnotations;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.swrlapi.builtins.SWRLBuiltInAxiomIndex;
+import org.swrlapi.builtins.SWRLBuiltInOntologyIndex;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index of the ABox axioms in the imports closure of an ontology that allows the ABox built-ins to find the axioms
+ * matching their bound arguments without scanning all axioms of a type. Same individual and different individuals
+ * axioms are indexed in their pairwise form.
+ * <p>
+ * Unlike the TBox and RBox indexes, which are rebuilt when one of their axioms changes, added and removed ABox axioms
+ * are applied to the index: individuals and their assertions change often, e.g., when inferred axioms are written back
+ * to the ontology, so rebuilding would repeatedly scan the whole ABox. Changes may be made on a different thread to the
+ * one using the index so all access is synchronized.
+ *
+ * @see org.swrlapi.builtins.abox.SWRLBuiltInLibraryImpl
+ */
+final class ABoxIndex extends SWRLBuiltInOntologyIndex
+{
+  @NonNull private static final Set<@NonNull AxiomType<?>> INDEXED_AXIOM_TYPES = Collections.unmodifiableSet(
+    new HashSet<>(Arrays.asList(AxiomType.CLASS_ASSERTION, AxiomType.SAME_INDIVIDUAL, AxiomType.DIFFERENT_INDIVIDUALS,
+      AxiomType.OBJECT_PROPERTY_ASSERTION, AxiomType.NEGATIVE_OBJECT_PROPERTY_ASSERTION,
+      AxiomType.DATA_PROPERTY_ASSERTION, AxiomType.NEGATIVE_DATA_PROPERTY_ASSERTION)));
+
+  @NonNull private final Set<@NonNull OWLAxiom> indexedAxioms; // The asserted axioms that are currently indexed
+
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLClassAssertionAxiom> classAssertionAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLSameIndividualAxiom> sameIndividualAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLDifferentIndividualsAxiom> differentIndividualsAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLObjectPropertyAssertionAxiom> objectPropertyAssertionAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLNegativeObjectPropertyAssertionAxiom>
+    negativeObjectPropertyAssertionAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLDataPropertyAssertionAxiom> dataPropertyAssertionAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLNegativeDataPropertyAssertionAxiom>
+    negativeDataPropertyAssertionAxioms;
+  @NonNull private final Map<@NonNull AxiomType<?>, @NonNull SWRLBuiltInAxiomIndex<?>> axiomIndexes;
+
+  private ABoxIndex(@NonNull OWLOntology ontology)
+  {
+    super(ontology, INDEXED_AXIOM_TYPES);
+
+    this.indexedAxioms = new HashSet<>();
+
+    this.classAssertionAxioms = new SWRLBuiltInAxiomIndex<>(OWLClassAssertionAxiom::getClassExpression,
+      OWLClassAssertionAxiom::getIndividual);
+    this.sameIndividualAxioms = new SWRLBuiltInAxiomIndex<>(a -> a.getIndividualsAsList().get(0),
+      a -> a.getIndividualsAsList().get(1));
+    this.differentIndividualsAxioms = new SWRLBuiltInAxiomIndex<>(a -> a.getIndividualsAsList().get(0),
+      a -> a.getIndividualsAsList().get(1));
+    this.objectPropertyAssertionAxioms = new SWRLBuiltInAxiomIndex<>(OWLObjectPropertyAssertionAxiom::getSubject,
+      OWLObjectPropertyAssertionAxiom::getProperty, OWLObjectPropertyAssertionAxiom::getObject);
+    this.negativeObjectPropertyAssertionAxioms = new SWRLBuiltInAxiomIndex<>(
+      OWLNegativeObjectPropertyAssertionAxiom::getSubject, OWLNegativeObjectPropertyAssertionAxiom::getProperty,
+      OWLNegativeObjectPropertyAssertionAxiom::getObject);
+    this.dataPropertyAssertionAxioms = new SWRLBuiltInAxiomIndex<>(OWLDataPropertyAssertionAxiom::getSubject,
+      OWLDataPropertyAssertionAxiom::getProperty, OWLDataPropertyAssertionAxiom::getObject);
+    this.negativeDataPropertyAssertionAxioms = new SWRLBuiltInAxiomIndex<>(
+      OWLNegativeDataPropertyAssertionAxiom::getSubject, OWLNegativeDataPropertyAssertionAxiom::getProperty,
+      OWLNegativeDataPropertyAssertionAxiom::getObject);
+
+    this.axiomIndexes = new HashMap<>();
+    this.axiomIndexes.put(AxiomType.CLASS_ASSERTION, this.classAssertionAxioms);
+    this.axiomIndexes.put(AxiomType.SAME_INDIVIDUAL, this.sameIndividualAxioms);
+    this.axiomIndexes.put(AxiomType.DIFFERENT_INDIVIDUALS, this.differentIndividualsAxioms);
+    this.axiomIndexes.put(AxiomType.OBJECT_PROPERTY_ASSERTION, this.objectPropertyAssertionAxioms);
+    this.axiomIndexes.put(AxiomType.NEGATIVE_OBJECT_PROPERTY_ASSERTION, this.negativeObjectPropertyAssertionAxioms);
+    this.axiomIndexes.put(AxiomType.DATA_PROPERTY_ASSERTION, this.dataPropertyAssertionAxioms);
+    this.axiomIndexes.put(AxiomType.NEGATIVE_DATA_PROPERTY_ASSERTION, this.negativeDataPropertyAssertionAxioms);
+  }
+
+  /**
+   * Build an index for an ontology and register it as a listener with the ontology's manager.
+   *
+   * @param ontology An OWL ontology
+   * @return An ABox index for the ontology
+   */
+  @NonNull static ABoxIndex create(@NonNull OWLOntology ontology)
+  {
+    ABoxIndex aboxIndex = new ABoxIndex(ontology);
+
+    aboxIndex.build();
+
+    return aboxIndex;
+  }
+
+  /**
+   * @param axiomType An ABox axiom type handled by the ABox built-ins
+   * @return True if the imports closure of the ontology contains axioms of the type
+   */
+  synchronized boolean hasAxioms(@NonNull AxiomType<?> axiomType)
+  {
+    SWRLBuiltInAxiomIndex<?> axiomIndex = this.axiomIndexes.get(axiomType);
+
+    if (axiomIndex == null)
+      throw new IllegalArgumentException("axiom type " + axiomType + " is not indexed");
+
+    return !axiomIndex.isEmpty();
+  }
+
+  @NonNull synchronized List<@NonNull OWLClassAssertionAxiom> getClassAssertionAxioms(
+    @NonNull Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues)
+  {
+    return this.classAssertionAxioms.getCandidateAxioms(inputArgumentValues);
+  }
+
+  @NonNull synchronized List<@NonNull OWLSameIndividualAxiom> getSameIndividualAxioms(
+    @NonNull Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues)
+  {
+    return this.sameIndividualAxioms.getCandidateAxioms(inputArgumentValues);
+  }
+
+  @NonNull synchronized List<@NonNull OWLDifferentIndividualsAxiom> getDifferentIndividualsAxioms(
+    @NonNull Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues)
+  {
+    return this.differentIndividualsAxioms.getCandidateAxioms(inputArgumentValues);
+  }
+
+  @NonNull synchronized List<@NonNull OWLObjectPropertyAssertionAxiom> getObjectPropertyAssertionAxioms(
+    @NonNull Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues)
+  {
+    return this.objectPropertyAssertionAxioms.getCandidateAxioms(inputArgumentValues);
+  }
+
+  @NonNull synchronized List<@NonNull OWLNegativeObjectPropertyAssertionAxiom> getNegativeObjectPropertyAssertionAxioms(
+    @NonNull Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues)
+  {
+    return this.negativeObjectPropertyAssertionAxioms.getCandidateAxioms(inputArgumentValues);
+  }
+
+  @NonNull synchronized List<@NonNull OWLDataPropertyAssertionAxiom> getDataPropertyAssertionAxioms(
+    @NonNull Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues)
+  {
+    return this.dataPropertyAssertionAxioms.getCandidateAxioms(inputArgumentValues);
+  }
+
+  @NonNull synchronized List<@NonNull OWLNegativeDataPropertyAssertionAxiom> getNegativeDataPropertyAssertionAxioms(
+    @NonNull Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues)
+  {
+    return this.negativeDataPropertyAssertionAxioms.getCandidateAxioms(inputArgumentValues);
+  }
+
+  @Override protected synchronized void indexAxioms()
+  {
+    for (AxiomType<?> axiomType : this.axiomIndexes.keySet()) {
+      for (OWLAxiom axiom : getOWLOntology().getAxioms(axiomType, Imports.INCLUDED))
+        addAxiom(axiom);
+    }
+  }
+
+  @Override protected synchronized boolean updateIndex(@NonNull OWLOntologyChange change)
+  {
+    if (change.isAddAxiom())
+      addAxiom(change.getAxiom());
+    else
+      removeAxiom(change.getAxiom());
+
+    return true;
+  }
+
+  private void addAxiom(@NonNull OWLAxiom axiom)
+  {
+    if (this.indexedAxioms.add(axiom)) // The same axiom may be asserted in several ontologies in the imports closure
+      updateAxiomIndexes(axiom, true);
+  }
+
+  private void removeAxiom(@NonNull OWLAxiom axiom)
+  {
+    if (getOWLOntology().containsAxiom(axiom, Imports.INCLUDED, AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS))
+      return; // Still asserted in another ontology in the imports closure
+
+    if (this.indexedAxioms.remove(axiom))
+      updateAxiomIndexes(axiom, false);
+  }
+
+  private void updateAxiomIndexes(@NonNull OWLAxiom axiom, boolean isAddition)
+  {
+    if (axiom.isOfType(AxiomType.CLASS_ASSERTION))
+      update(this.classAssertionAxioms, (OWLClassAssertionAxiom)axiom, isAddition);
+    else if (axiom.isOfType(AxiomType.SAME_INDIVIDUAL)) {
+      for (OWLSameIndividualAxiom pairwiseAxiom : ((OWLSameIndividualAxiom)axiom).asPairwiseAxioms())
+        update(this.sameIndividualAxioms, pairwiseAxiom, isAddition);
+    } else if (axiom.isOfType(AxiomType.DIFFERENT_INDIVIDUALS)) {
+      for (OWLDifferentIndividualsAxiom pairwiseAxiom : ((OWLDifferentIndividualsAxiom)axiom).asPairwiseAxioms())
+        update(this.differentIndividualsAxioms, pairwiseAxiom, isAddition);
+    } else if (axiom.isOfType(AxiomType.OBJECT_PROPERTY_ASSERTION))
+      update(this.objectPropertyAssertionAxioms, (OWLObjectPropertyAssertionAxiom)axiom, isAddition);
+    else if (axiom.isOfType(AxiomType.NEGATIVE_OBJECT_PROPERTY_ASSERTION))
+      update(this.negativeObjectPropertyAssertionAxioms, (OWLNegativeObjectPropertyAssertionAxiom)axiom, isAddition);
+    else if (axiom.isOfType(AxiomType.DATA_PROPERTY_ASSERTION))
+      update(this.dataPropertyAssertionAxioms, (OWLDataPropertyAssertionAxiom)axiom, isAddition);
+    else if (axiom.isOfType(AxiomType.NEGATIVE_DATA_PROPERTY_ASSERTION))
+      update(this.negativeDataPropertyAssertionAxioms, (OWLNegativeDataPropertyAssertionAxiom)axiom, isAddition);
+  }
+
+  private static <A extends OWLAxiom> void update(@NonNull SWRLBuiltInAxiomIndex<A> axiomIndex, @NonNull A axiom,
+    boolean isAddition)
+  {
+    if (isAddition)
+      axiomIndex.add(axiom);
+    else
+      axiomIndex.remove(axiom);
+  }
+}
@@ -1,6 +1,7 @@
 package org.swrlapi.builtins.abox;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLClassExpression;
@@ -14,8 +15,8 @@ import org.semanticweb.owlapi.model.OWLNegativeObjectPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
-import org.semanticweb.owlapi.model.parameters.Imports;
 import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentType;
@@ -26,8 +27,6 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Implementation library for SWRL ABox built-ins
@@ -40,6 +39,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 
   private static final String[] BUILT_IN_NAMES = { "caa", "sia", "dia", "opaa", "nopaa", "dpaa", "ndpaa" };
 
+  // Built on first use; disposed on reset, which removes its ontology change listener
+  @Nullable private ABoxIndex aboxIndex = null;
+
   public SWRLBuiltInLibraryImpl()
   {
     super(PREFIX, NAMESPACE, new HashSet<>(Arrays.asList(BUILT_IN_NAMES)));
@@ -47,16 +49,19 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 
   @Override public void reset()
   {
+    if (this.aboxIndex != null) {
+      this.aboxIndex.dispose();
+      this.aboxIndex = null;
+    }
   }
 
   public boolean caa(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLClassAssertionAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.CLASS_ASSERTION, Imports.INCLUDED);
+    ABoxIndex aboxIndex = getABoxIndex();
 
-    if (axioms.isEmpty())
+    if (!aboxIndex.hasAxioms(AxiomType.CLASS_ASSERTION))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -64,7 +69,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLClassAssertionAxiom axiom : axioms) {
+      for (OWLClassAssertionAxiom axiom : aboxIndex.getClassAssertionAxioms(inputArgumentValues)) {
         OWLClassExpression candidateValue1 = axiom.getClassExpression();
         OWLNamedIndividual candidateValue2 = axiom.getIndividual().asOWLNamedIndividual();
 
@@ -88,11 +93,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLSameIndividualAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.SAME_INDIVIDUAL, Imports.INCLUDED).stream().flatMap(a -> a.asPairwiseAxioms().stream())
-      .collect(Collectors.toSet());
+    ABoxIndex aboxIndex = getABoxIndex();
 
-    if (axioms.isEmpty())
+    if (!aboxIndex.hasAxioms(AxiomType.SAME_INDIVIDUAL))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -100,7 +103,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLSameIndividualAxiom axiom : axioms) {
+      for (OWLSameIndividualAxiom axiom : aboxIndex.getSameIndividualAxioms(inputArgumentValues)) {
         OWLNamedIndividual candidateValue1 = axiom.getIndividualsAsList().get(0).asOWLNamedIndividual();
         OWLNamedIndividual candidateValue2 = axiom.getIndividualsAsList().get(1).asOWLNamedIndividual();
 
@@ -124,11 +127,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLDifferentIndividualsAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DIFFERENT_INDIVIDUALS, Imports.INCLUDED).stream().flatMap(a -> a.asPairwiseAxioms().stream())
-      .collect(Collectors.toSet());
+    ABoxIndex aboxIndex = getABoxIndex();
 
-    if (axioms.isEmpty())
+    if (!aboxIndex.hasAxioms(AxiomType.DIFFERENT_INDIVIDUALS))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -136,7 +137,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDifferentIndividualsAxiom axiom : axioms) {
+      for (OWLDifferentIndividualsAxiom axiom : aboxIndex.getDifferentIndividualsAxioms(inputArgumentValues)) {
         OWLNamedIndividual candidateValue1 = axiom.getIndividualsAsList().get(0).asOWLNamedIndividual();
         OWLNamedIndividual candidateValue2 = axiom.getIndividualsAsList().get(1).asOWLNamedIndividual();
 
@@ -160,10 +161,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    Set<OWLObjectPropertyAssertionAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.OBJECT_PROPERTY_ASSERTION, Imports.INCLUDED);
+    ABoxIndex aboxIndex = getABoxIndex();
 
-    if (axioms.isEmpty())
+    if (!aboxIndex.hasAxioms(AxiomType.OBJECT_PROPERTY_ASSERTION))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -172,7 +172,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLObjectPropertyAssertionAxiom axiom : axioms) {
+      for (OWLObjectPropertyAssertionAxiom axiom : aboxIndex.getObjectPropertyAssertionAxioms(inputArgumentValues)) {
         OWLNamedIndividual candidateValue1 = axiom.getSubject().asOWLNamedIndividual();
         OWLObjectPropertyExpression candidateValue2 = axiom.getProperty();
         OWLNamedIndividual candidateValue3 = axiom.getObject().asOWLNamedIndividual();
@@ -201,10 +201,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    Set<OWLNegativeObjectPropertyAssertionAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.NEGATIVE_OBJECT_PROPERTY_ASSERTION, Imports.INCLUDED);
+    ABoxIndex aboxIndex = getABoxIndex();
 
-    if (axioms.isEmpty())
+    if (!aboxIndex.hasAxioms(AxiomType.NEGATIVE_OBJECT_PROPERTY_ASSERTION))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -213,7 +212,8 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLNegativeObjectPropertyAssertionAxiom axiom : axioms) {
+      for (OWLNegativeObjectPropertyAssertionAxiom axiom : aboxIndex
+        .getNegativeObjectPropertyAssertionAxioms(inputArgumentValues)) {
         OWLNamedIndividual candidateValue1 = axiom.getSubject().asOWLNamedIndividual();
         OWLObjectPropertyExpression candidateValue2 = axiom.getProperty();
         OWLNamedIndividual candidateValue3 = axiom.getObject().asOWLNamedIndividual();
@@ -242,10 +242,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    Set<OWLDataPropertyAssertionAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DATA_PROPERTY_ASSERTION, Imports.INCLUDED);
+    ABoxIndex aboxIndex = getABoxIndex();
 
-    if (axioms.isEmpty())
+    if (!aboxIndex.hasAxioms(AxiomType.DATA_PROPERTY_ASSERTION))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -254,7 +253,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDataPropertyAssertionAxiom axiom : axioms) {
+      for (OWLDataPropertyAssertionAxiom axiom : aboxIndex.getDataPropertyAssertionAxioms(inputArgumentValues)) {
         OWLNamedIndividual candidateValue1 = axiom.getSubject().asOWLNamedIndividual();
         OWLDataPropertyExpression candidateValue2 = axiom.getProperty();
         OWLLiteral candidateValue3 = axiom.getObject();
@@ -283,10 +282,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    Set<OWLNegativeDataPropertyAssertionAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.NEGATIVE_DATA_PROPERTY_ASSERTION, Imports.INCLUDED);
+    ABoxIndex aboxIndex = getABoxIndex();
 
-    if (axioms.isEmpty())
+    if (!aboxIndex.hasAxioms(AxiomType.NEGATIVE_DATA_PROPERTY_ASSERTION))
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -295,7 +293,8 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLNegativeDataPropertyAssertionAxiom axiom : axioms) {
+      for (OWLNegativeDataPropertyAssertionAxiom axiom : aboxIndex
+        .getNegativeDataPropertyAssertionAxioms(inputArgumentValues)) {
         OWLNamedIndividual candidateValue1 = axiom.getSubject().asOWLNamedIndividual();
         OWLDataPropertyExpression candidateValue2 = axiom.getProperty();
         OWLLiteral candidateValue3 = axiom.getObject();
@@ -320,6 +319,18 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     }
   }
 
+  @NonNull private ABoxIndex getABoxIndex() throws SWRLBuiltInException
+  {
+    OWLOntology ontology = getBuiltInBridge().getOWLOntology();
+
+    if (this.aboxIndex == null || !this.aboxIndex.isCurrentIndexOf(ontology)) {
+      if (this.aboxIndex != null)
+        this.aboxIndex.dispose();
+      this.aboxIndex = ABoxIndex.create(ontology);
+    }
+    return this.aboxIndex;
+  }
+
   private boolean noBoundArgumentsMismatch(@NonNull Map<Integer, @NonNull OWLObject> inputArgumentValues,
     OWLObject... candidateValues) throws SWRLBuiltInException
   {
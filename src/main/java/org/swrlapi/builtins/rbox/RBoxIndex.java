@@ -0,0 +1,208 @@
+package org.swrlapi.builtins.rbox;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAsymmetricObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLDisjointDataPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLDisjointObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentDataPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLInverseObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLIrreflexiveObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLReflexiveObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLSubDataPropertyOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubObjectPropertyOfAxiom;
+import org.semanticweb.owlapi.model.OWLSymmetricObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLTransitiveObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.swrlapi.builtins.SWRLBuiltInAxiomIndex;
+import org.swrlapi.builtins.SWRLBuiltInOntologyIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * An index of the RBox axioms in the imports closure of an ontology that are queried by the RBox built-ins. Property
+ * characteristic axioms are indexed by property; subproperty axioms by subproperty and superproperty; and inverse,
+ * disjoint and equivalent property axioms are indexed in their pairwise form by both properties.
+ *
+ * @see org.swrlapi.builtins.rbox.SWRLBuiltInLibraryImpl
+ */
+final class RBoxIndex extends SWRLBuiltInOntologyIndex
+{
+  @NonNull private static final Set<@NonNull AxiomType<?>> INDEXED_AXIOM_TYPES = Collections.unmodifiableSet(
+    new HashSet<>(Arrays.asList(AxiomType.TRANSITIVE_OBJECT_PROPERTY, AxiomType.SYMMETRIC_OBJECT_PROPERTY,
+      AxiomType.ASYMMETRIC_OBJECT_PROPERTY, AxiomType.REFLEXIVE_OBJECT_PROPERTY, AxiomType.IRREFLEXIVE_OBJECT_PROPERTY,
+      AxiomType.INVERSE_OBJECT_PROPERTIES, AxiomType.DISJOINT_OBJECT_PROPERTIES, AxiomType.DISJOINT_DATA_PROPERTIES,
+      AxiomType.SUB_OBJECT_PROPERTY, AxiomType.SUB_DATA_PROPERTY, AxiomType.EQUIVALENT_OBJECT_PROPERTIES,
+      AxiomType.EQUIVALENT_DATA_PROPERTIES)));
+
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLTransitiveObjectPropertyAxiom>
+    transitiveObjectPropertyAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLSymmetricObjectPropertyAxiom> symmetricObjectPropertyAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLAsymmetricObjectPropertyAxiom>
+    asymmetricObjectPropertyAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLReflexiveObjectPropertyAxiom> reflexiveObjectPropertyAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLIrreflexiveObjectPropertyAxiom>
+    irreflexiveObjectPropertyAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLInverseObjectPropertiesAxiom> inverseObjectPropertiesAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLDisjointObjectPropertiesAxiom>
+    disjointObjectPropertiesAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLDisjointDataPropertiesAxiom> disjointDataPropertiesAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLSubObjectPropertyOfAxiom> subObjectPropertyOfAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLSubDataPropertyOfAxiom> subDataPropertyOfAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLEquivalentObjectPropertiesAxiom>
+    equivalentObjectPropertiesAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLEquivalentDataPropertiesAxiom>
+    equivalentDataPropertiesAxioms;
+
+  private RBoxIndex(@NonNull OWLOntology ontology)
+  {
+    super(ontology, INDEXED_AXIOM_TYPES);
+
+    this.transitiveObjectPropertyAxioms = new SWRLBuiltInAxiomIndex<>(OWLTransitiveObjectPropertyAxiom::getProperty);
+    this.symmetricObjectPropertyAxioms = new SWRLBuiltInAxiomIndex<>(OWLSymmetricObjectPropertyAxiom::getProperty);
+    this.asymmetricObjectPropertyAxioms = new SWRLBuiltInAxiomIndex<>(OWLAsymmetricObjectPropertyAxiom::getProperty);
+    this.reflexiveObjectPropertyAxioms = new SWRLBuiltInAxiomIndex<>(OWLReflexiveObjectPropertyAxiom::getProperty);
+    this.irreflexiveObjectPropertyAxioms = new SWRLBuiltInAxiomIndex<>(
+      OWLIrreflexiveObjectPropertyAxiom::getProperty);
+    this.inverseObjectPropertiesAxioms = new SWRLBuiltInAxiomIndex<>(OWLInverseObjectPropertiesAxiom::getFirstProperty,
+      OWLInverseObjectPropertiesAxiom::getSecondProperty);
+    this.disjointObjectPropertiesAxioms = new SWRLBuiltInAxiomIndex<>(a -> getProperty(a.getProperties(), 0),
+      a -> getProperty(a.getProperties(), 1));
+    this.disjointDataPropertiesAxioms = new SWRLBuiltInAxiomIndex<>(a -> getProperty(a.getProperties(), 0),
+      a -> getProperty(a.getProperties(), 1));
+    this.subObjectPropertyOfAxioms = new SWRLBuiltInAxiomIndex<>(OWLSubObjectPropertyOfAxiom::getSubProperty,
+      OWLSubObjectPropertyOfAxiom::getSuperProperty);
+    this.subDataPropertyOfAxioms = new SWRLBuiltInAxiomIndex<>(OWLSubDataPropertyOfAxiom::getSubProperty,
+      OWLSubDataPropertyOfAxiom::getSuperProperty);
+    this.equivalentObjectPropertiesAxioms = new SWRLBuiltInAxiomIndex<>(a -> getProperty(a.getProperties(), 0),
+      a -> getProperty(a.getProperties(), 1));
+    this.equivalentDataPropertiesAxioms = new SWRLBuiltInAxiomIndex<>(a -> getProperty(a.getProperties(), 0),
+      a -> getProperty(a.getProperties(), 1));
+  }
+
+  /**
+   * Build an index for an ontology and register it as a listener with the ontology's manager.
+   *
+   * @param ontology An OWL ontology
+   * @return An RBox index for the ontology
+   */
+  @NonNull static RBoxIndex create(@NonNull OWLOntology ontology)
+  {
+    RBoxIndex rboxIndex = new RBoxIndex(ontology);
+
+    rboxIndex.build();
+
+    return rboxIndex;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLTransitiveObjectPropertyAxiom> getTransitiveObjectPropertyAxioms()
+  {
+    return this.transitiveObjectPropertyAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLSymmetricObjectPropertyAxiom> getSymmetricObjectPropertyAxioms()
+  {
+    return this.symmetricObjectPropertyAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLAsymmetricObjectPropertyAxiom> getAsymmetricObjectPropertyAxioms()
+  {
+    return this.asymmetricObjectPropertyAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLReflexiveObjectPropertyAxiom> getReflexiveObjectPropertyAxioms()
+  {
+    return this.reflexiveObjectPropertyAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLIrreflexiveObjectPropertyAxiom> getIrreflexiveObjectPropertyAxioms()
+  {
+    return this.irreflexiveObjectPropertyAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLInverseObjectPropertiesAxiom> getInverseObjectPropertiesAxioms()
+  {
+    return this.inverseObjectPropertiesAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLDisjointObjectPropertiesAxiom> getDisjointObjectPropertiesAxioms()
+  {
+    return this.disjointObjectPropertiesAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLDisjointDataPropertiesAxiom> getDisjointDataPropertiesAxioms()
+  {
+    return this.disjointDataPropertiesAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLSubObjectPropertyOfAxiom> getSubObjectPropertyOfAxioms()
+  {
+    return this.subObjectPropertyOfAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLSubDataPropertyOfAxiom> getSubDataPropertyOfAxioms()
+  {
+    return this.subDataPropertyOfAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLEquivalentObjectPropertiesAxiom> getEquivalentObjectPropertiesAxioms()
+  {
+    return this.equivalentObjectPropertiesAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLEquivalentDataPropertiesAxiom> getEquivalentDataPropertiesAxioms()
+  {
+    return this.equivalentDataPropertiesAxioms;
+  }
+
+  @Override protected void indexAxioms()
+  {
+    OWLOntology ontology = getOWLOntology();
+
+    ontology.getAxioms(AxiomType.TRANSITIVE_OBJECT_PROPERTY, Imports.INCLUDED)
+      .forEach(this.transitiveObjectPropertyAxioms::add);
+    ontology.getAxioms(AxiomType.SYMMETRIC_OBJECT_PROPERTY, Imports.INCLUDED)
+      .forEach(this.symmetricObjectPropertyAxioms::add);
+    ontology.getAxioms(AxiomType.ASYMMETRIC_OBJECT_PROPERTY, Imports.INCLUDED)
+      .forEach(this.asymmetricObjectPropertyAxioms::add);
+    ontology.getAxioms(AxiomType.REFLEXIVE_OBJECT_PROPERTY, Imports.INCLUDED)
+      .forEach(this.reflexiveObjectPropertyAxioms::add);
+    ontology.getAxioms(AxiomType.IRREFLEXIVE_OBJECT_PROPERTY, Imports.INCLUDED)
+      .forEach(this.irreflexiveObjectPropertyAxioms::add);
+    ontology.getAxioms(AxiomType.SUB_OBJECT_PROPERTY, Imports.INCLUDED).forEach(this.subObjectPropertyOfAxioms::add);
+    ontology.getAxioms(AxiomType.SUB_DATA_PROPERTY, Imports.INCLUDED).forEach(this.subDataPropertyOfAxioms::add);
+
+    for (OWLInverseObjectPropertiesAxiom axiom : ontology
+      .getAxioms(AxiomType.INVERSE_OBJECT_PROPERTIES, Imports.INCLUDED))
+      axiom.asPairwiseAxioms().forEach(this.inverseObjectPropertiesAxioms::add);
+
+    for (OWLDisjointObjectPropertiesAxiom axiom : ontology
+      .getAxioms(AxiomType.DISJOINT_OBJECT_PROPERTIES, Imports.INCLUDED))
+      axiom.asPairwiseAxioms().forEach(this.disjointObjectPropertiesAxioms::add);
+
+    for (OWLDisjointDataPropertiesAxiom axiom : ontology
+      .getAxioms(AxiomType.DISJOINT_DATA_PROPERTIES, Imports.INCLUDED))
+      axiom.asPairwiseAxioms().forEach(this.disjointDataPropertiesAxioms::add);
+
+    for (OWLEquivalentObjectPropertiesAxiom axiom : ontology
+      .getAxioms(AxiomType.EQUIVALENT_OBJECT_PROPERTIES, Imports.INCLUDED))
+      axiom.asPairwiseAxioms().forEach(this.equivalentObjectPropertiesAxioms::add);
+
+    for (OWLEquivalentDataPropertiesAxiom axiom : ontology
+      .getAxioms(AxiomType.EQUIVALENT_DATA_PROPERTIES, Imports.INCLUDED))
+      axiom.asPairwiseAxioms().forEach(this.equivalentDataPropertiesAxioms::add);
+  }
+
+  // Pairwise property axioms are matched against built-in arguments in the iteration order of their properties
+  @NonNull private static OWLObject getProperty(@NonNull Set<? extends OWLObject> properties, int propertyNumber)
+  {
+    return new ArrayList<>(properties).get(propertyNumber);
+  }
+}
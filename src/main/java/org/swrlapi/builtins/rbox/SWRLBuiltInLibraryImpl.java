@@ -1,7 +1,7 @@
 package org.swrlapi.builtins.rbox;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
-import org.semanticweb.owlapi.model.AxiomType;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.semanticweb.owlapi.model.OWLAsymmetricObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
 import org.semanticweb.owlapi.model.OWLDisjointDataPropertiesAxiom;
@@ -12,13 +12,14 @@ import org.semanticweb.owlapi.model.OWLInverseObjectPropertiesAxiom;
 import org.semanticweb.owlapi.model.OWLIrreflexiveObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLReflexiveObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLSubDataPropertyOfAxiom;
 import org.semanticweb.owlapi.model.OWLSubObjectPropertyOfAxiom;
 import org.semanticweb.owlapi.model.OWLSymmetricObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLTransitiveObjectPropertyAxiom;
-import org.semanticweb.owlapi.model.parameters.Imports;
 import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
+import org.swrlapi.builtins.SWRLBuiltInAxiomIndex;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentType;
 import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
@@ -30,8 +31,6 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Implementation library for SWRL RBox built-ins
@@ -45,6 +44,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   private static final String[] BUILT_IN_NAMES = { "topa", "djopa", "eopa", "sopa", "spa", "aopa", "ropa", "iropa",
     "iopa", "djdpa", "sdpa", "dpda", "edpa", "spoca" };
 
+  // Built on first use; disposed on reset, which removes its ontology change listener
+  @Nullable private RBoxIndex rboxIndex = null;
+
   public SWRLBuiltInLibraryImpl()
   {
     super(PREFIX, NAMESPACE, new HashSet<>(Arrays.asList(BUILT_IN_NAMES)));
@@ -52,16 +54,20 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 
   @Override public void reset()
   {
+    if (this.rboxIndex != null) {
+      this.rboxIndex.dispose();
+      this.rboxIndex = null;
+    }
   }
 
   public boolean topa(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLTransitiveObjectPropertyAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.TRANSITIVE_OBJECT_PROPERTY, Imports.INCLUDED);
+    SWRLBuiltInAxiomIndex<@NonNull OWLTransitiveObjectPropertyAxiom> axiomIndex = getRBoxIndex()
+      .getTransitiveObjectPropertyAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -69,7 +75,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLTransitiveObjectPropertyAxiom axiom : axioms) {
+      for (OWLTransitiveObjectPropertyAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLObjectPropertyExpression candidateValue1 = axiom.getProperty();
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
@@ -90,10 +96,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLSymmetricObjectPropertyAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.SYMMETRIC_OBJECT_PROPERTY, Imports.INCLUDED);
+    SWRLBuiltInAxiomIndex<@NonNull OWLSymmetricObjectPropertyAxiom> axiomIndex = getRBoxIndex()
+      .getSymmetricObjectPropertyAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -101,7 +107,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLSymmetricObjectPropertyAxiom axiom : axioms) {
+      for (OWLSymmetricObjectPropertyAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLObjectPropertyExpression candidateValue1 = axiom.getProperty();
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
@@ -122,10 +128,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLAsymmetricObjectPropertyAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.ASYMMETRIC_OBJECT_PROPERTY, Imports.INCLUDED);
+    SWRLBuiltInAxiomIndex<@NonNull OWLAsymmetricObjectPropertyAxiom> axiomIndex = getRBoxIndex()
+      .getAsymmetricObjectPropertyAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -133,7 +139,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLAsymmetricObjectPropertyAxiom axiom : axioms) {
+      for (OWLAsymmetricObjectPropertyAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLObjectPropertyExpression candidateValue1 = axiom.getProperty();
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
@@ -154,10 +160,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLReflexiveObjectPropertyAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.REFLEXIVE_OBJECT_PROPERTY, Imports.INCLUDED);
+    SWRLBuiltInAxiomIndex<@NonNull OWLReflexiveObjectPropertyAxiom> axiomIndex = getRBoxIndex()
+      .getReflexiveObjectPropertyAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -165,7 +171,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLReflexiveObjectPropertyAxiom axiom : axioms) {
+      for (OWLReflexiveObjectPropertyAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLObjectPropertyExpression candidateValue1 = axiom.getProperty();
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
@@ -186,10 +192,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLIrreflexiveObjectPropertyAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.IRREFLEXIVE_OBJECT_PROPERTY, Imports.INCLUDED);
+    SWRLBuiltInAxiomIndex<@NonNull OWLIrreflexiveObjectPropertyAxiom> axiomIndex = getRBoxIndex()
+      .getIrreflexiveObjectPropertyAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -197,7 +203,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLIrreflexiveObjectPropertyAxiom axiom : axioms) {
+      for (OWLIrreflexiveObjectPropertyAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLObjectPropertyExpression candidateValue1 = axiom.getProperty();
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
@@ -218,11 +224,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLInverseObjectPropertiesAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.INVERSE_OBJECT_PROPERTIES, Imports.INCLUDED).stream()
-      .flatMap(a -> a.asPairwiseAxioms().stream()).collect(Collectors.toSet());
+    SWRLBuiltInAxiomIndex<@NonNull OWLInverseObjectPropertiesAxiom> axiomIndex = getRBoxIndex()
+      .getInverseObjectPropertiesAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -230,7 +235,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLInverseObjectPropertiesAxiom axiom : axioms) {
+      for (OWLInverseObjectPropertiesAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLObjectPropertyExpression candidateValue1 = axiom.getFirstProperty();
         OWLObjectPropertyExpression candidateValue2 = axiom.getSecondProperty();
 
@@ -255,11 +260,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLDisjointObjectPropertiesAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DISJOINT_OBJECT_PROPERTIES, Imports.INCLUDED).stream()
-      .flatMap(a -> a.asPairwiseAxioms().stream()).collect(Collectors.toSet());
+    SWRLBuiltInAxiomIndex<@NonNull OWLDisjointObjectPropertiesAxiom> axiomIndex = getRBoxIndex()
+      .getDisjointObjectPropertiesAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -267,7 +271,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDisjointObjectPropertiesAxiom axiom : axioms) {
+      for (OWLDisjointObjectPropertiesAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         List<OWLObjectPropertyExpression> properties = new ArrayList<>(axiom.getProperties());
         OWLObjectPropertyExpression candidateValue1 = properties.get(0);
         OWLObjectPropertyExpression candidateValue2 = properties.get(1);
@@ -293,11 +297,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLDisjointDataPropertiesAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DISJOINT_DATA_PROPERTIES, Imports.INCLUDED).stream()
-      .flatMap(a -> a.asPairwiseAxioms().stream()).collect(Collectors.toSet());
+    SWRLBuiltInAxiomIndex<@NonNull OWLDisjointDataPropertiesAxiom> axiomIndex = getRBoxIndex()
+      .getDisjointDataPropertiesAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -305,7 +308,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDisjointDataPropertiesAxiom axiom : axioms) {
+      for (OWLDisjointDataPropertiesAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         List<OWLDataPropertyExpression> properties = new ArrayList<>(axiom.getProperties());
         OWLDataPropertyExpression candidateValue1 = properties.get(0);
         OWLDataPropertyExpression candidateValue2 = properties.get(1);
@@ -331,10 +334,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLSubObjectPropertyOfAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.SUB_OBJECT_PROPERTY, Imports.INCLUDED);
+    SWRLBuiltInAxiomIndex<@NonNull OWLSubObjectPropertyOfAxiom> axiomIndex = getRBoxIndex()
+      .getSubObjectPropertyOfAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -342,7 +345,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLSubObjectPropertyOfAxiom axiom : axioms) {
+      for (OWLSubObjectPropertyOfAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLObjectPropertyExpression candidateValue1 = axiom.getSubProperty();
         OWLObjectPropertyExpression candidateValue2 = axiom.getSuperProperty();
 
@@ -367,10 +370,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLSubDataPropertyOfAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.SUB_DATA_PROPERTY, Imports.INCLUDED);
+    SWRLBuiltInAxiomIndex<@NonNull OWLSubDataPropertyOfAxiom> axiomIndex = getRBoxIndex().getSubDataPropertyOfAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -378,7 +380,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLSubDataPropertyOfAxiom axiom : axioms) {
+      for (OWLSubDataPropertyOfAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLDataPropertyExpression candidateValue1 = axiom.getSubProperty();
         OWLDataPropertyExpression candidateValue2 = axiom.getSuperProperty();
 
@@ -403,11 +405,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLEquivalentObjectPropertiesAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.EQUIVALENT_OBJECT_PROPERTIES, Imports.INCLUDED).stream()
-      .flatMap(a -> a.asPairwiseAxioms().stream()).collect(Collectors.toSet());
+    SWRLBuiltInAxiomIndex<@NonNull OWLEquivalentObjectPropertiesAxiom> axiomIndex = getRBoxIndex()
+      .getEquivalentObjectPropertiesAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -415,7 +416,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLEquivalentObjectPropertiesAxiom axiom : axioms) {
+      for (OWLEquivalentObjectPropertiesAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         List<OWLObjectPropertyExpression> properties = new ArrayList<>(axiom.getProperties());
         OWLObjectPropertyExpression candidateValue1 = properties.get(0);
         OWLObjectPropertyExpression candidateValue2 = properties.get(1);
@@ -441,11 +442,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLEquivalentDataPropertiesAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.EQUIVALENT_DATA_PROPERTIES, Imports.INCLUDED).stream()
-      .flatMap(a -> a.asPairwiseAxioms().stream()).collect(Collectors.toSet());
+    SWRLBuiltInAxiomIndex<@NonNull OWLEquivalentDataPropertiesAxiom> axiomIndex = getRBoxIndex()
+      .getEquivalentDataPropertiesAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -453,7 +453,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLEquivalentDataPropertiesAxiom axiom : axioms) {
+      for (OWLEquivalentDataPropertiesAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         List<OWLDataPropertyExpression> properties = new ArrayList<>(axiom.getProperties());
         OWLDataPropertyExpression candidateValue1 = properties.get(0);
         OWLDataPropertyExpression candidateValue2 = properties.get(1);
@@ -480,6 +480,18 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     throw new SWRLBuiltInNotImplementedException("rbox:spcoa built-in not implemented");
   }
 
+  @NonNull private RBoxIndex getRBoxIndex() throws SWRLBuiltInException
+  {
+    OWLOntology ontology = getBuiltInBridge().getOWLOntology();
+
+    if (this.rboxIndex == null || !this.rboxIndex.isCurrentIndexOf(ontology)) {
+      if (this.rboxIndex != null)
+        this.rboxIndex.dispose();
+      this.rboxIndex = RBoxIndex.create(ontology);
+    }
+    return this.rboxIndex;
+  }
+
   private boolean noBoundArgumentsMismatch(@NonNull Map<Integer, @NonNull OWLObject> inputArgumentValues,
     OWLObject... candidateValues) throws SWRLBuiltInException
   {
@@ -0,0 +1,55 @@
+package org.swrlapi.builtins.sqwrl;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.dataflow.qual.Deterministic;
+import org.checkerframework.dataflow.qual.SideEffectFree;
+
+import java.util.Arrays;
+
+/**
+ * Identifies a group of a grouped SQWRL collection by the values of its group arguments. Values are held in the form
+ * returned by {@link org.swrlapi.builtins.AbstractSWRLBuiltInLibrary#getArgumentAsAKeyValue}, i.e., IRIs for OWL
+ * entities, strings for string literals, and normalized numbers for numeric literals, so numeric group arguments of
+ * different types but equal values fall in the same group. Ungrouped collections have the single group
+ * {@link #UNGROUPED}.
+ * <p>
+ * The hash code is computed once on creation.
+ *
+ * @see org.swrlapi.builtins.sqwrl.SQWRLCollectionRecord
+ */
+final class SQWRLCollectionGroupKey
+{
+  @NonNull static final SQWRLCollectionGroupKey UNGROUPED = new SQWRLCollectionGroupKey(new Object[0]);
+
+  @NonNull private final Object[] groupValues;
+  private final int hashCode;
+
+  SQWRLCollectionGroupKey(@NonNull Object[] groupValues)
+  {
+    this.groupValues = groupValues;
+    this.hashCode = Arrays.hashCode(groupValues);
+  }
+
+  @SideEffectFree @Deterministic @Override public boolean equals(@Nullable Object obj)
+  {
+    if (this == obj)
+      return true;
+    if (obj == null || obj.getClass() != getClass())
+      return false;
+
+    SQWRLCollectionGroupKey other = (SQWRLCollectionGroupKey)obj;
+
+    return this.hashCode == other.hashCode && Arrays.equals(this.groupValues, other.groupValues);
+  }
+
+  @SideEffectFree @Deterministic @Override public int hashCode()
+  {
+    return this.hashCode;
+  }
+
+  @NonNull @SideEffectFree @Override public String toString()
+  {
+    return Arrays.toString(this.groupValues);
+  }
+}
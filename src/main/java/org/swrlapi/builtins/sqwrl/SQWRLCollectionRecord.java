@@ -0,0 +1,108 @@
+package org.swrlapi.builtins.sqwrl;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Records a collection of a SQWRL query: whether it is a set or a bag, the number of group arguments that partition it
+ * (which will be 0 for ungrouped collections), and the collection of each of its groups. Each group is also given a
+ * short ID that identifies it in collection variable arguments.
+ *
+ * @see org.swrlapi.builtins.sqwrl.SQWRLCollectionGroupKey
+ */
+final class SQWRLCollectionRecord
+{
+  private static final int UNKNOWN_NUMBER_OF_GROUP_ELEMENTS = -1;
+
+  @NonNull private final Map<@NonNull SQWRLCollectionGroupKey, @NonNull Collection<@NonNull SWRLBuiltInArgument>> groupCollections;
+  @NonNull private final Map<@NonNull SQWRLCollectionGroupKey, @NonNull String> groupIDs;
+  private int numberOfGroupElements;
+  private boolean isSet, isBag;
+
+  SQWRLCollectionRecord()
+  {
+    this.groupCollections = new HashMap<>();
+    this.groupIDs = new HashMap<>();
+    this.numberOfGroupElements = UNKNOWN_NUMBER_OF_GROUP_ELEMENTS;
+    this.isSet = this.isBag = false;
+  }
+
+  boolean hasNumberOfGroupElements()
+  {
+    return this.numberOfGroupElements != UNKNOWN_NUMBER_OF_GROUP_ELEMENTS;
+  }
+
+  int getNumberOfGroupElements()
+  {
+    return this.numberOfGroupElements;
+  }
+
+  void setNumberOfGroupElements(int numberOfGroupElements)
+  {
+    this.numberOfGroupElements = numberOfGroupElements;
+  }
+
+  /**
+   * @return True if the kind of the collection has been recorded
+   */
+  boolean isRecorded()
+  {
+    return this.isSet || this.isBag;
+  }
+
+  boolean isSet()
+  {
+    return this.isSet;
+  }
+
+  boolean isBag()
+  {
+    return this.isBag;
+  }
+
+  void setIsSet()
+  {
+    this.isSet = true;
+  }
+
+  void setIsBag()
+  {
+    this.isBag = true;
+  }
+
+  boolean hasGroup(@NonNull SQWRLCollectionGroupKey groupKey)
+  {
+    return this.groupCollections.containsKey(groupKey);
+  }
+
+  @Nullable Collection<@NonNull SWRLBuiltInArgument> getGroupCollection(@NonNull SQWRLCollectionGroupKey groupKey)
+  {
+    return this.groupCollections.get(groupKey);
+  }
+
+  void addGroup(@NonNull SQWRLCollectionGroupKey groupKey, @NonNull Collection<@NonNull SWRLBuiltInArgument> collection)
+  {
+    this.groupCollections.put(groupKey, collection);
+  }
+
+  @NonNull Collection<@NonNull Collection<@NonNull SWRLBuiltInArgument>> getGroupCollections()
+  {
+    return this.groupCollections.values();
+  }
+
+  @NonNull String getGroupID(@NonNull SQWRLCollectionGroupKey groupKey)
+  {
+    String groupID = this.groupIDs.get(groupKey);
+
+    if (groupID == null) {
+      groupID = Integer.toString(this.groupIDs.size());
+      this.groupIDs.put(groupKey, groupID);
+    }
+    return groupID;
+  }
+}
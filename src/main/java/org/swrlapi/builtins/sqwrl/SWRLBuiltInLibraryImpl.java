@@ -1,6 +1,7 @@
 package org.swrlapi.builtins.sqwrl;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.SWRLArgument;
 import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
@@ -35,35 +36,52 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     "leastN", "notLeastN", "nthGreatest", "notNthGreatest", "nthGreatestSlice", "notNthGreatestSlice" };
 
   /**
-   * A collections map is a map of collection keys to a map of group keys to collections.
-   * A collection can be uniquely identified by its query name and collection name. A unique key is generated from this
-   * combination. If a collection is grouped, each group will be have a unique key generated.
+   * A map of query names to a map of collection names to collection records. A collection record holds the collection
+   * of each group of a collection; groups are identified by the values of their group arguments.
    */
-  @NonNull private final Map<@NonNull String, @NonNull Map<@NonNull String, @NonNull Collection<@NonNull SWRLBuiltInArgument>>> collectionsMap;
+  @NonNull private final Map<@NonNull String, @NonNull Map<@NonNull String, @NonNull SQWRLCollectionRecord>> collectionRecords;
 
   /**
-   * A map of collection keys to group size (which will be 0 for ungrouped collections)
+   * Sorted views of collections, keyed by collection identity. A view is built the first time an ordered operator is
+   * applied to a collection and is discarded when an element is added to the collection, so repeated order statistics
+   * of an unchanged collection do not sort it again.
    */
-  @NonNull private final Map<@NonNull String, @NonNull Integer> collectionGroupElementNumbersMap;
+  @NonNull private final Map<@NonNull Collection<@NonNull SWRLBuiltInArgument>, @NonNull List<@NonNull SWRLBuiltInArgument>> sortedCollectionViews;
 
-  @NonNull private final Set<@NonNull String> setKeys, bagKeys;
+  /**
+   * Hashed views of bags, keyed by bag identity, that are used to test membership in set operators. Like sorted views,
+   * a view is discarded when an element is added to its bag. Sets are hashed so need no view.
+   */
+  @NonNull private final Map<@NonNull Collection<@NonNull SWRLBuiltInArgument>, @NonNull Set<@NonNull SWRLBuiltInArgument>> hashedBagViews;
 
   public SWRLBuiltInLibraryImpl()
   {
     super(PREFIX, NAMESPACE, new HashSet<>(Arrays.asList(BUILT_IN_NAMES)));
 
-    this.collectionsMap = new HashMap<>();
-    this.collectionGroupElementNumbersMap = new HashMap<>();
-    this.setKeys = new HashSet<>();
-    this.bagKeys = new HashSet<>();
+    this.collectionRecords = new HashMap<>();
+    this.sortedCollectionViews = new IdentityHashMap<>();
+    this.hashedBagViews = new IdentityHashMap<>();
   }
 
   @Override public void reset()
   {
-    this.collectionsMap.clear();
-    this.collectionGroupElementNumbersMap.clear();
-    this.setKeys.clear();
-    this.bagKeys.clear();
+    this.collectionRecords.clear();
+    this.sortedCollectionViews.clear();
+    this.hashedBagViews.clear();
+  }
+
+  /**
+   * Discard the collections of a query.
+   */
+  @Override public void resetRule(@NonNull String ruleName)
+  {
+    Map<@NonNull String, @NonNull SQWRLCollectionRecord> queryCollectionRecords = this.collectionRecords
+      .remove(ruleName);
+
+    if (queryCollectionRecords != null) {
+      for (SQWRLCollectionRecord collectionRecord : queryCollectionRecords.values())
+        collectionRecord.getGroupCollections().forEach(this::discardCollectionViews);
+    }
   }
 
   /**
@@ -275,8 +293,8 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     final int resultCollectionArgumentNumber = 0, elementArgumentNumber = 1;
     String queryName = getInvokingRuleName();
     String collectionName = getCollectionName(arguments, resultCollectionArgumentNumber);
-    String collectionGroupKey = getCollectionGroupKeyInMake(arguments); // Get unique key for collection group (if any);
-    // does argument checking
+    // Get unique key for collection group (if any); does argument checking
+    SQWRLCollectionGroupKey collectionGroupKey = getCollectionGroupKeyInMake(arguments);
     SWRLBuiltInArgument element = arguments.get(elementArgumentNumber);
     Collection<SWRLBuiltInArgument> set;
 
@@ -285,13 +303,14 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     else
       set = createSet(queryName, collectionName, collectionGroupKey);
 
-    set.add(element);
+    if (set.add(element))
+      discardCollectionViews(set);
 
     if (isUnboundArgument(resultCollectionArgumentNumber, arguments)) {
       SWRLVariableBuiltInArgument variableArgument = arguments.get(resultCollectionArgumentNumber).asVariable();
       IRI variableIRI = variableArgument.getIRI();
       SQWRLCollectionVariableBuiltInArgument collectionArgument = createSQWRLCollectionVariableBuiltInArgument(
-        variableIRI, queryName, collectionName, collectionGroupKey);
+        variableIRI, queryName, collectionName, getCollectionGroupID(queryName, collectionName, collectionGroupKey));
       variableArgument.setBuiltInResult(collectionArgument);
     }
 
@@ -311,8 +330,8 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     final int resultCollectionArgumentNumber = 0, elementArgumentNumber = 1;
     String queryName = getInvokingRuleName();
     String collectionName = getCollectionName(arguments, resultCollectionArgumentNumber);
-    String collectionGroupKey = getCollectionGroupKeyInMake(arguments); // Get unique key for bag; does argument
-    // checking
+    // Get unique key for bag; does argument checking
+    SQWRLCollectionGroupKey collectionGroupKey = getCollectionGroupKeyInMake(arguments);
     SWRLBuiltInArgument element = arguments.get(elementArgumentNumber);
     Collection<SWRLBuiltInArgument> bag;
 
@@ -322,13 +341,14 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       bag = createBag(queryName, collectionName, collectionGroupKey);
 
     bag.add(element);
+    discardCollectionViews(bag);
 
     if (isUnboundArgument(resultCollectionArgumentNumber, arguments)) {
       SWRLVariableBuiltInArgument variableArgument = arguments.get(resultCollectionArgumentNumber).asVariable();
       IRI variableIRI = variableArgument.getIRI();
 
       SQWRLCollectionVariableBuiltInArgument collectionArgument = createSQWRLCollectionVariableBuiltInArgument(
-        variableIRI, queryName, collectionName, collectionGroupKey);
+        variableIRI, queryName, collectionName, getCollectionGroupID(queryName, collectionName, collectionGroupKey));
       variableArgument.setBuiltInResult(collectionArgument);
     }
 
@@ -794,11 +814,13 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
         sourceCollectionArgumentNumber, numberOfCoreArguments);
       int n = convertArgumentToPositiveInt(nArgumentNumber, arguments);
 
-      if (!sortedList.isEmpty() && n > 0 && n <= sortedList.size())
-        sortedList.remove(sortedList.size() - n);
+      List<@NonNull SWRLBuiltInArgument> notNthGreatest = new ArrayList<>(sortedList);
+
+      if (!notNthGreatest.isEmpty() && n > 0 && n <= notNthGreatest.size())
+        notNthGreatest.remove(notNthGreatest.size() - n);
 
       return processSingleOperandCollectionOperationListResult(arguments, resultCollectionArgumentNumber,
-        sourceCollectionArgumentNumber, numberOfCoreArguments, sortedList);
+        sourceCollectionArgumentNumber, numberOfCoreArguments, notNthGreatest);
     }
   }
 
@@ -942,11 +964,13 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
         sourceCollectionArgumentNumber, numberOfCoreArguments);
       int n = convertArgumentToPositiveInt(nArgumentNumber, arguments) - 1; // 1-offset for user, 0 for processing
 
-      if (!sortedList.isEmpty() && n >= 0 && n < sortedList.size())
-        sortedList.remove(n);
+      List<@NonNull SWRLBuiltInArgument> notNth = new ArrayList<>(sortedList);
+
+      if (!notNth.isEmpty() && n >= 0 && n < notNth.size())
+        notNth.remove(n);
 
       return processSingleOperandCollectionOperationListResult(arguments, resultCollectionArgumentNumber,
-        sourceCollectionArgumentNumber, numberOfCoreArguments, sortedList);
+        sourceCollectionArgumentNumber, numberOfCoreArguments, notNth);
     }
   }
 
@@ -965,11 +989,13 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       List<@NonNull SWRLBuiltInArgument> sortedList = getSortedListInSingleOperandCollectionOperation(arguments,
         sourceCollectionArgumentNumber, numberOfCoreArguments);
 
-      if (!sortedList.isEmpty())
-        sortedList.remove(sortedList.size() - 1);
+      List<@NonNull SWRLBuiltInArgument> notGreatest = new ArrayList<>(sortedList);
+
+      if (!notGreatest.isEmpty())
+        notGreatest.remove(notGreatest.size() - 1);
 
       return processSingleOperandCollectionOperationListResult(arguments, resultCollectionArgumentNumber,
-        sourceCollectionArgumentNumber, numberOfCoreArguments, sortedList);
+        sourceCollectionArgumentNumber, numberOfCoreArguments, notGreatest);
     }
   }
 
@@ -1048,12 +1074,14 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       List<@NonNull SWRLBuiltInArgument> sortedList = getSortedListInSingleOperandCollectionOperation(arguments,
         sourceCollectionArgumentNumber, numberOfCoreArguments);
 
-      if (!sortedList.isEmpty())
-        sortedList.remove(0); // Remove the first (least) element; if there are multiple element with same least value,
+      List<@NonNull SWRLBuiltInArgument> notLeast = new ArrayList<>(sortedList);
+
+      if (!notLeast.isEmpty())
+        notLeast.remove(0); // Remove the first (least) element; if there are multiple element with same least value,
       // they will not be removed
 
       return processSingleOperandCollectionOperationListResult(arguments, resultCollectionArgumentNumber,
-        sourceCollectionArgumentNumber, numberOfCoreArguments, sortedList);
+        sourceCollectionArgumentNumber, numberOfCoreArguments, notLeast);
     }
   }
 
@@ -1128,15 +1156,18 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     String collection2Name = getCollectionName(arguments, collection2ArgumentNumber);
     int collection1NumberOfGroupElements = getNumberOfGroupElements(queryName, collection1Name);
     int collection2NumberOfGroupElements = getNumberOfGroupElements(queryName, collection2Name);
-    String collection1GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
+    SQWRLCollectionGroupKey collection1GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
       collection1ArgumentNumber, numberOfCoreArguments, 0, collection1NumberOfGroupElements);
-    String collection2GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
+    SQWRLCollectionGroupKey collection2GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
       collection2ArgumentNumber, numberOfCoreArguments, collection1NumberOfGroupElements,
       collection2NumberOfGroupElements);
     Collection<SWRLBuiltInArgument> collection1 = getCollection(queryName, collection1Name, collection1GroupKey);
     Collection<SWRLBuiltInArgument> collection2 = getCollection(queryName, collection2Name, collection2GroupKey);
 
-    return !Collections.disjoint(collection1, collection2);
+    if (collection1.size() <= collection2.size())
+      return containsAny(getHashedView(collection2), collection1);
+    else
+      return containsAny(getHashedView(collection1), collection2);
   }
 
   /**
@@ -1166,15 +1197,15 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     String collection2Name = getCollectionName(arguments, collection2ArgumentNumber);
     int collection1NumberOfGroupElements = getNumberOfGroupElements(queryName, collection1Name);
     int collection2NumberOfGroupElements = getNumberOfGroupElements(queryName, collection2Name);
-    String collection1GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
+    SQWRLCollectionGroupKey collection1GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
       collection1ArgumentNumber, numberOfCoreArguments, 0, collection1NumberOfGroupElements);
-    String collection2GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
+    SQWRLCollectionGroupKey collection2GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
       collection2ArgumentNumber, numberOfCoreArguments, collection1NumberOfGroupElements,
       collection2NumberOfGroupElements);
     Collection<SWRLBuiltInArgument> collection1 = getCollection(queryName, collection1Name, collection1GroupKey);
     Collection<SWRLBuiltInArgument> collection2 = getCollection(queryName, collection2Name, collection2GroupKey);
 
-    return collection1.containsAll(collection2);
+    return getHashedView(collection1).containsAll(collection2);
   }
 
   /**
@@ -1204,9 +1235,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     String collection2Name = getCollectionName(arguments, collection2ArgumentNumber);
     int collection1NumberOfGroupElements = getNumberOfGroupElements(queryName, collection1Name);
     int collection2NumberOfGroupElements = getNumberOfGroupElements(queryName, collection2Name);
-    String collection1GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
+    SQWRLCollectionGroupKey collection1GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
       collection1ArgumentNumber, numberOfCoreArguments, 0, collection1NumberOfGroupElements);
-    String collection2GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
+    SQWRLCollectionGroupKey collection2GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
       collection2ArgumentNumber, numberOfCoreArguments, collection1NumberOfGroupElements,
       collection2NumberOfGroupElements);
 
@@ -1254,18 +1285,18 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     int collection1NumberOfGroupElements = getNumberOfGroupElements(queryName, collection1Name);
     int collection2NumberOfGroupElements = getNumberOfGroupElements(queryName, collection2Name);
     int collectionResultNumberOfGroupElements = collection1NumberOfGroupElements + collection2NumberOfGroupElements;
-    String resultCollectionGroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
+    SQWRLCollectionGroupKey resultCollectionGroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
       resultCollectionArgumentNumber, numberOfCoreArguments, 0, collectionResultNumberOfGroupElements);
-    String collection1GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
+    SQWRLCollectionGroupKey collection1GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
       collection1ArgumentNumber, numberOfCoreArguments, 0, collection1NumberOfGroupElements);
-    String collection2GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
+    SQWRLCollectionGroupKey collection2GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
       collection2ArgumentNumber, numberOfCoreArguments, collection1NumberOfGroupElements,
       collection2NumberOfGroupElements);
     Collection<SWRLBuiltInArgument> collection1 = getCollection(queryName, collection1Name, collection1GroupKey);
     Collection<SWRLBuiltInArgument> collection2 = getCollection(queryName, collection2Name, collection2GroupKey);
-    Collection<SWRLBuiltInArgument> intersection = new HashSet<>(collection1);
-
-    intersection.retainAll(collection2);
+    Collection<SWRLBuiltInArgument> intersection = collection1.size() <= collection2.size() ?
+      retainElements(collection1, getHashedView(collection2), true) :
+      retainElements(collection2, getHashedView(collection1), true);
 
     if (!isCollection(queryName, resultCollectionName, resultCollectionGroupKey))
       recordCollection(queryName, resultCollectionName, resultCollectionGroupKey, intersection);
@@ -1275,7 +1306,8 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       IRI variableIRI = variableArgument.getIRI();
 
       SQWRLCollectionVariableBuiltInArgument collectionArgument = createSQWRLCollectionVariableBuiltInArgument(
-        variableIRI, queryName, resultCollectionName, resultCollectionGroupKey);
+        variableIRI, queryName, resultCollectionName,
+        getCollectionGroupID(queryName, resultCollectionName, resultCollectionGroupKey));
       variableArgument.setBuiltInResult(collectionArgument);
     }
 
@@ -1299,20 +1331,21 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     int collection1NumberOfGroupElements = getNumberOfGroupElements(queryName, collection1Name);
     int collection2NumberOfGroupElements = getNumberOfGroupElements(queryName, collection2Name);
     int resultCollectionNumberOfGroupElements = collection1NumberOfGroupElements + collection2NumberOfGroupElements;
-    String collection1GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
+    SQWRLCollectionGroupKey collection1GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
       collection1ArgumentNumber, numberOfCoreArguments, 0, collection1NumberOfGroupElements);
-    String collection2GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
+    SQWRLCollectionGroupKey collection2GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
       collection2ArgumentNumber, numberOfCoreArguments, collection1NumberOfGroupElements,
       collection2NumberOfGroupElements);
-    String resultCollectionGroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
+    SQWRLCollectionGroupKey resultCollectionGroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
       resultCollectionArgumentNumber, numberOfCoreArguments, 0, resultCollectionNumberOfGroupElements);
     Collection<SWRLBuiltInArgument> collection1 = getCollection(queryName, collection1Name, collection1GroupKey);
     Collection<SWRLBuiltInArgument> collection2 = getCollection(queryName, collection2Name, collection2GroupKey);
-    List<@NonNull SWRLBuiltInArgument> resultCollection = new ArrayList<>(collection1);
+    List<@NonNull SWRLBuiltInArgument> resultCollection = new ArrayList<>(collection1.size() + collection2.size());
 
+    resultCollection.addAll(collection1);
     resultCollection.addAll(collection2);
 
-    if (!isCollectionRecorded(resultCollectionName, resultCollectionGroupKey))
+    if (!isCollection(queryName, resultCollectionName, resultCollectionGroupKey))
       recordCollection(queryName, resultCollectionName, resultCollectionGroupKey, resultCollection);
 
     if (isUnboundArgument(resultCollectionArgumentNumber, arguments)) {
@@ -1320,7 +1353,8 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       IRI variableIRI = variableArgument.getIRI();
 
       SQWRLCollectionVariableBuiltInArgument collectionArgument = createSQWRLCollectionVariableBuiltInArgument(
-        variableIRI, queryName, resultCollectionName, resultCollectionGroupKey);
+        variableIRI, queryName, resultCollectionName,
+        getCollectionGroupID(queryName, resultCollectionName, resultCollectionGroupKey));
       variableArgument.setBuiltInResult(collectionArgument);
     }
 
@@ -1344,17 +1378,19 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     int collection1NumberOfGroupElements = getNumberOfGroupElements(queryName, collection1Name);
     int collection2NumberOfGroupElements = getNumberOfGroupElements(queryName, collection2Name);
     int resultCollectionNumberOfGroupElements = collection1NumberOfGroupElements + collection2NumberOfGroupElements;
-    String collection1GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
+    SQWRLCollectionGroupKey collection1GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
       collection1ArgumentNumber, numberOfCoreArguments, 0, collection1NumberOfGroupElements);
-    String collection2GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
+    SQWRLCollectionGroupKey collection2GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
       collection2ArgumentNumber, numberOfCoreArguments, collection1NumberOfGroupElements,
       collection2NumberOfGroupElements);
-    String resultCollectionGroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
+    SQWRLCollectionGroupKey resultCollectionGroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
       resultCollectionArgumentNumber, numberOfCoreArguments, 0, resultCollectionNumberOfGroupElements);
     Collection<SWRLBuiltInArgument> collection1 = getCollection(queryName, collection1Name, collection1GroupKey);
     Collection<SWRLBuiltInArgument> collection2 = getCollection(queryName, collection2Name, collection2GroupKey);
-    Set<@NonNull SWRLBuiltInArgument> union = new HashSet<>(collection1);
+    Set<@NonNull SWRLBuiltInArgument> union = new HashSet<>(
+      Math.max((int)((collection1.size() + collection2.size()) / .75f) + 1, 16));
 
+    union.addAll(collection1);
     union.addAll(collection2);
 
     if (!isCollection(queryName, resultCollectionName, resultCollectionGroupKey))
@@ -1365,7 +1401,8 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       IRI variableIRI = variableArgument.getIRI();
 
       SQWRLCollectionVariableBuiltInArgument collectionArgument = createSQWRLCollectionVariableBuiltInArgument(
-        variableIRI, queryName, resultCollectionName, resultCollectionGroupKey);
+        variableIRI, queryName, resultCollectionName,
+        getCollectionGroupID(queryName, resultCollectionName, resultCollectionGroupKey));
       variableArgument.setBuiltInResult(collectionArgument);
     }
 
@@ -1389,18 +1426,16 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     int collection1NumberOfGroupElements = getNumberOfGroupElements(queryName, collection1Name);
     int collection2NumberOfGroupElements = getNumberOfGroupElements(queryName, collection2Name);
     int collectionResultNumberOfGroupElements = collection1NumberOfGroupElements + collection2NumberOfGroupElements;
-    String resultCollectionGroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
+    SQWRLCollectionGroupKey resultCollectionGroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
       resultCollectionArgumentNumber, numberOfCoreArguments, 0, collectionResultNumberOfGroupElements);
-    String collection1GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
+    SQWRLCollectionGroupKey collection1GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
       collection1ArgumentNumber, numberOfCoreArguments, 0, collection1NumberOfGroupElements);
-    String collection2GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
+    SQWRLCollectionGroupKey collection2GroupKey = getCollectionGroupKeyInMultiOperandCollectionOperation(arguments,
       collection2ArgumentNumber, numberOfCoreArguments, collection1NumberOfGroupElements,
       collection2NumberOfGroupElements);
     Collection<SWRLBuiltInArgument> collection1 = getCollection(queryName, collection1Name, collection1GroupKey);
     Collection<SWRLBuiltInArgument> collection2 = getCollection(queryName, collection2Name, collection2GroupKey);
-    Collection<SWRLBuiltInArgument> difference = new HashSet<>(collection1);
-
-    difference.removeAll(collection2);
+    Collection<SWRLBuiltInArgument> difference = retainElements(collection1, getHashedView(collection2), false);
 
     if (!isCollection(queryName, resultCollectionName, resultCollectionGroupKey))
       recordCollection(queryName, resultCollectionName, resultCollectionGroupKey, difference);
@@ -1410,7 +1445,8 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       IRI variableIRI = variableArgument.getIRI();
 
       SQWRLCollectionVariableBuiltInArgument collectionArgument = createSQWRLCollectionVariableBuiltInArgument(
-        variableIRI, queryName, resultCollectionName, resultCollectionGroupKey);
+        variableIRI, queryName, resultCollectionName,
+        getCollectionGroupID(queryName, resultCollectionName, resultCollectionGroupKey));
       variableArgument.setBuiltInResult(collectionArgument);
     }
 
@@ -1549,8 +1585,8 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
    * *******************************************************************************************************************
    */
 
-  @NonNull private String getCollectionGroupKeyInMake(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
-    throws SWRLBuiltInException
+  @NonNull private SQWRLCollectionGroupKey getCollectionGroupKeyInMake(
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     // The collection is the first argument, the element is the second; subsequent arguments (if any) are group elements
     final int collectionArgumentNumber = 0, numberOfCoreArguments = 2;
@@ -1558,76 +1594,67 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 
     String queryName = getInvokingRuleName();
     String collectionName = getCollectionName(arguments, collectionArgumentNumber);
-    String collectionKey = createCollectionKey(queryName, collectionName);
+    SQWRLCollectionRecord collectionRecord = getCollectionRecord(queryName, collectionName);
     int numberOfGroupArguments = arguments.size() - numberOfCoreArguments;
-    boolean hasGroupPattern = numberOfGroupArguments != 0;
-    String groupPattern = !hasGroupPattern ?
-      "" :
-      createInvocationPattern(getBuiltInBridge(), queryName, 0, false, arguments.subList(2, arguments.size()));
-
-    if (isBoundArgument(collectionArgumentNumber, arguments) && !this.collectionGroupElementNumbersMap
-      .containsKey(collectionKey)) {
-      // Collection variable already used in non collection context
-      throw new SWRLBuiltInException(
-        "collection variable ?" + arguments.get(collectionArgumentNumber).asVariable().getVariableName()
-          + " already used in non collection context in query " + queryName);
-    }
 
-    if (hasGroupPattern) {
-      if (!this.collectionGroupElementNumbersMap.containsKey(collectionKey))
-        this.collectionGroupElementNumbersMap.put(collectionKey, numberOfGroupArguments);
-      else if (this.collectionGroupElementNumbersMap.get(collectionKey) != numberOfGroupArguments) {
+    if (!collectionRecord.hasNumberOfGroupElements()) {
+      if (isBoundArgument(collectionArgumentNumber, arguments)) {
+        // Collection variable already used in non collection context
         throw new SWRLBuiltInException(
-          "internal error: inconsistent number of group elements for collection " + collectionName + " in query "
-            + queryName);
+          "collection variable ?" + arguments.get(collectionArgumentNumber).asVariable().getVariableName()
+            + " already used in non collection context in query " + queryName);
       }
-      return groupPattern;
-    } else {
-      if (this.collectionGroupElementNumbersMap.containsKey(collectionKey)) {
-        if (this.collectionGroupElementNumbersMap.get(collectionKey) != 0) {
-          throw new SWRLBuiltInException(
-            "internal error: inconsistent number of group elements for collection " + collectionName + " in query "
-              + queryName);
-        }
-      } else
-        this.collectionGroupElementNumbersMap.put(collectionKey, 0);
-      return "";
+      collectionRecord.setNumberOfGroupElements(numberOfGroupArguments);
+    } else if (collectionRecord.getNumberOfGroupElements() != numberOfGroupArguments) {
+      throw new SWRLBuiltInException(
+        "internal error: inconsistent number of group elements for collection " + collectionName + " in query "
+          + queryName);
     }
+
+    return createCollectionGroupKey(arguments, numberOfCoreArguments, numberOfGroupArguments);
   }
 
-  private String getCollectionGroupKeyInSingleCollectionOperation(@NonNull List<@NonNull SWRLBuiltInArgument> arguments,
-    int coreNumberOfArguments) throws SWRLBuiltInException
+  @NonNull private SQWRLCollectionGroupKey getCollectionGroupKeyInSingleCollectionOperation(
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments, int coreNumberOfArguments) throws SWRLBuiltInException
   {
-    String queryName = getInvokingRuleName();
-
     checkThatInAntecedent();
 
     if ((arguments.size() > coreNumberOfArguments)) // Is a grouped collection
-      return createInvocationPattern(getBuiltInBridge(), queryName, 0, false,
-        arguments.subList(coreNumberOfArguments, arguments.size()));
+      return createCollectionGroupKey(arguments, coreNumberOfArguments, arguments.size() - coreNumberOfArguments);
     else
-      return "";
+      return SQWRLCollectionGroupKey.UNGROUPED;
   }
 
-  private String getCollectionGroupKeyInMultiOperandCollectionOperation(
+  @NonNull private SQWRLCollectionGroupKey getCollectionGroupKeyInMultiOperandCollectionOperation(
     @NonNull List<@NonNull SWRLBuiltInArgument> arguments, int collectionArgumentNumber, int coreNumberOfArguments,
     int groupArgumentOffset, int numberOfRelevantGroupArguments) throws SWRLBuiltInException
   {
     String queryName = getInvokingRuleName();
     String collectionName = getCollectionName(arguments, collectionArgumentNumber);
-    String collectionKey = createCollectionKey(queryName, collectionName);
+    SQWRLCollectionRecord collectionRecord = getCollectionRecord(queryName, collectionName);
 
     checkThatInAntecedent();
 
-    if (!this.collectionGroupElementNumbersMap.containsKey(collectionKey))
-      this.collectionGroupElementNumbersMap.put(collectionKey, numberOfRelevantGroupArguments);
+    if (!collectionRecord.hasNumberOfGroupElements())
+      collectionRecord.setNumberOfGroupElements(numberOfRelevantGroupArguments);
 
-    if (numberOfRelevantGroupArguments != 0) // Is a grouped collection
-      return createInvocationPattern(getBuiltInBridge(), queryName, 0, false, arguments
-        .subList(coreNumberOfArguments + groupArgumentOffset,
-          coreNumberOfArguments + groupArgumentOffset + numberOfRelevantGroupArguments));
-    else
-      return "";
+    return createCollectionGroupKey(arguments, coreNumberOfArguments + groupArgumentOffset,
+      numberOfRelevantGroupArguments);
+  }
+
+  @NonNull private SQWRLCollectionGroupKey createCollectionGroupKey(
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments, int firstGroupArgumentNumber, int numberOfGroupArguments)
+    throws SWRLBuiltInException
+  {
+    if (numberOfGroupArguments == 0)
+      return SQWRLCollectionGroupKey.UNGROUPED;
+
+    Object[] groupValues = new Object[numberOfGroupArguments];
+
+    for (int i = 0; i < numberOfGroupArguments; i++)
+      groupValues[i] = getArgumentAsAKeyValue(firstGroupArgumentNumber + i, arguments);
+
+    return new SQWRLCollectionGroupKey(groupValues);
   }
 
   private boolean processSingleOperandCollectionOperationListResult(
@@ -1638,24 +1665,22 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     String queryName = getInvokingRuleName();
     String sourceCollectionName = getCollectionName(arguments, sourceCollectionArgumentNumber);
     String resultCollectionName = getCollectionName(arguments, resultCollectionArgumentNumber);
-    String resultCollectionGroupKey = getCollectionGroupKeyInSingleCollectionOperation(arguments,
+    SQWRLCollectionGroupKey resultCollectionGroupKey = getCollectionGroupKeyInSingleCollectionOperation(arguments,
       numberOfCoreArguments);
-    String resultCollectionKey = createCollectionKey(queryName, resultCollectionName);
+    SQWRLCollectionRecord resultCollectionRecord = getCollectionRecord(queryName, resultCollectionName);
 
     if (!isCollection(queryName, resultCollectionName, resultCollectionGroupKey))
       recordCollection(queryName, resultCollectionName, resultCollectionGroupKey, resultList);
 
-    if (!this.collectionGroupElementNumbersMap.containsKey(resultCollectionKey)) // Give it the same number of group
-      // elements as the source collection
-      this.collectionGroupElementNumbersMap
-        .put(resultCollectionKey, getNumberOfGroupElements(queryName, sourceCollectionName));
+    if (!resultCollectionRecord.hasNumberOfGroupElements()) // Give it the same number of group elements as the source
+      resultCollectionRecord.setNumberOfGroupElements(getNumberOfGroupElements(queryName, sourceCollectionName));
 
     return processListResultArgument(arguments, resultCollectionArgumentNumber, resultCollectionName,
       resultCollectionGroupKey, resultList);
   }
 
   private boolean processListResultArgument(@NonNull List<@NonNull SWRLBuiltInArgument> arguments,
-    int resultArgumentNumber, @NonNull String resultListName, @NonNull String resultListID,
+    int resultArgumentNumber, @NonNull String resultListName, @NonNull SQWRLCollectionGroupKey resultListID,
     @NonNull Collection<SWRLBuiltInArgument> resultList) throws SWRLBuiltInException
   {
     checkArgumentNumber(resultArgumentNumber, arguments);
@@ -1667,7 +1692,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       IRI variableIRI = variableArgument.getIRI();
 
       SQWRLCollectionVariableBuiltInArgument collectionArgument = createSQWRLCollectionVariableBuiltInArgument(
-        variableIRI, queryName, resultListName, resultListID);
+        variableIRI, queryName, resultListName, getCollectionGroupID(queryName, resultListName, resultListID));
       variableArgument.setBuiltInResult(collectionArgument);
 
       return true;
@@ -1699,7 +1724,8 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     String queryName = getInvokingRuleName();
     String collectionName = getCollectionName(arguments, sourceCollectionArgumentNumber);
-    String collectionGroupKey = getCollectionGroupKeyInSingleCollectionOperation(arguments, coreNumberOfArguments);
+    SQWRLCollectionGroupKey collectionGroupKey = getCollectionGroupKeyInSingleCollectionOperation(arguments,
+      coreNumberOfArguments);
 
     return getCollection(queryName, collectionName, collectionGroupKey);
   }
@@ -1710,25 +1736,70 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     String queryName = getInvokingRuleName();
     String collectionName = getCollectionName(arguments, sourceCollectionArgumentNumber);
-    String collectionGroupKey = getCollectionGroupKeyInSingleCollectionOperation(arguments, coreNumberOfArguments);
+    SQWRLCollectionGroupKey collectionGroupKey = getCollectionGroupKeyInSingleCollectionOperation(arguments,
+      coreNumberOfArguments);
 
     return getSortedList(queryName, collectionName, collectionGroupKey);
   }
 
-  // We do not cache because only one built-in will typically perform an operation on a particular collection per query.
-  // Note: currently implementations may modify the returned collection.
+  // The returned list is a cached view shared by all operators applied to the collection so it must not be modified
   @NonNull private List<@NonNull SWRLBuiltInArgument> getSortedList(@NonNull String queryName,
-    @NonNull String collectionName, @NonNull String collectionGroupKey) throws SWRLBuiltInException
+    @NonNull String collectionName, @NonNull SQWRLCollectionGroupKey collectionGroupKey) throws SWRLBuiltInException
   {
-    Collection<SWRLBuiltInArgument> collection = getCollection(queryName, collectionName, collectionGroupKey);
-    List<@NonNull SWRLBuiltInArgument> result = new ArrayList<>(collection);
-    Collections.sort(result); // TODO See if we can be clever (though types not necessarily comparable)
+    Collection<@NonNull SWRLBuiltInArgument> collection = getCollection(queryName, collectionName, collectionGroupKey);
+    List<@NonNull SWRLBuiltInArgument> sortedList = this.sortedCollectionViews.get(collection);
 
+    if (sortedList == null) {
+      List<@NonNull SWRLBuiltInArgument> result = new ArrayList<>(collection);
+      Collections.sort(result); // TODO See if we can be clever (though types not necessarily comparable)
+      sortedList = Collections.unmodifiableList(result);
+      this.sortedCollectionViews.put(collection, sortedList);
+    }
+    return sortedList;
+  }
+
+  // Sets are probed directly; a bag is probed through a cached hashed view so membership tests take constant time
+  @NonNull private Set<@NonNull SWRLBuiltInArgument> getHashedView(
+    @NonNull Collection<@NonNull SWRLBuiltInArgument> collection)
+  {
+    if (collection instanceof Set<?>)
+      return (Set<@NonNull SWRLBuiltInArgument>)collection;
+
+    return this.hashedBagViews.computeIfAbsent(collection, HashSet::new);
+  }
+
+  private void discardCollectionViews(@NonNull Collection<@NonNull SWRLBuiltInArgument> collection)
+  {
+    this.sortedCollectionViews.remove(collection);
+    this.hashedBagViews.remove(collection);
+  }
+
+  private static boolean containsAny(@NonNull Set<@NonNull SWRLBuiltInArgument> set,
+    @NonNull Collection<@NonNull SWRLBuiltInArgument> elements)
+  {
+    for (SWRLBuiltInArgument element : elements) {
+      if (set.contains(element))
+        return true;
+    }
+    return false;
+  }
+
+  // The set of elements of a collection that are (or are not) members of a set; the collection is only iterated
+  @NonNull private static Set<@NonNull SWRLBuiltInArgument> retainElements(
+    @NonNull Collection<@NonNull SWRLBuiltInArgument> collection, @NonNull Set<@NonNull SWRLBuiltInArgument> set,
+    boolean isMember)
+  {
+    Set<@NonNull SWRLBuiltInArgument> result = new HashSet<>();
+
+    for (SWRLBuiltInArgument element : collection) {
+      if (set.contains(element) == isMember)
+        result.add(element);
+    }
     return result;
   }
 
   @NonNull private List<@NonNull SWRLBuiltInArgument> createBag(@NonNull String queryName,
-    @NonNull String collectionName, @NonNull String collectionGroupKey) throws SWRLBuiltInException
+    @NonNull String collectionName, @NonNull SQWRLCollectionGroupKey collectionGroupKey) throws SWRLBuiltInException
   {
     List<@NonNull SWRLBuiltInArgument> bag = new ArrayList<>();
 
@@ -1738,7 +1809,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   }
 
   @NonNull private Set<@NonNull SWRLBuiltInArgument> createSet(@NonNull String queryName,
-    @NonNull String collectionName, @NonNull String collectionGroupKey) throws SWRLBuiltInException
+    @NonNull String collectionName, @NonNull SQWRLCollectionGroupKey collectionGroupKey) throws SWRLBuiltInException
   {
     Set<@NonNull SWRLBuiltInArgument> set = new HashSet<>();
 
@@ -1756,102 +1827,91 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   private int getNumberOfGroupElements(@NonNull String queryName, @NonNull String collectionName)
     throws SWRLBuiltInException
   {
-    String collectionKey = createCollectionKey(queryName, collectionName);
+    SQWRLCollectionRecord collectionRecord = findCollectionRecord(queryName, collectionName);
 
-    if (!this.collectionGroupElementNumbersMap.containsKey(collectionKey))
+    if (collectionRecord == null || !collectionRecord.hasNumberOfGroupElements())
       throw new SWRLBuiltInException(
         "internal error: invalid collection name " + collectionName + " in query " + queryName
           + "; no group element number found");
 
-    return this.collectionGroupElementNumbersMap.get(collectionKey);
+    return collectionRecord.getNumberOfGroupElements();
   }
 
-  // An ungrouped collection will have a collectionGroupKey of the empty string so will not be partitioned.
+  // An ungrouped collection will have the collection group key UNGROUPED so will not be partitioned.
   private void recordCollection(@NonNull String queryName, @NonNull String collectionName,
-    @NonNull String collectionGroupKey, @NonNull Collection<SWRLBuiltInArgument> collection) throws SWRLBuiltInException
+    @NonNull SQWRLCollectionGroupKey collectionGroupKey, @NonNull Collection<SWRLBuiltInArgument> collection)
+    throws SWRLBuiltInException
   {
-    String collectionKey = createCollectionKey(queryName, collectionName);
+    SQWRLCollectionRecord collectionRecord = getCollectionRecord(queryName, collectionName);
 
-    if (!isCollectionRecorded(queryName, collectionName)) { // Is the collection recorded?
+    if (!collectionRecord.isRecorded()) { // Is the collection recorded?
       if (isBag(collection))
-        this.bagKeys.add(collectionKey);
+        collectionRecord.setIsBag();
       else if (isSet(collection))
-        this.setKeys.add(collectionKey);
+        collectionRecord.setIsSet();
       else
         throw new SWRLBuiltInException(
           "internal error: collection " + collectionName + " in query " + queryName + " with group key "
             + collectionGroupKey + " is neither a bag or a set");
-
-      this.collectionsMap.put(collectionKey, new HashMap<>());
     }
 
-    if (!isCollection(queryName, collectionName, collectionGroupKey)) { // Is the collection for this group recorded
-      if (isBag(queryName, collectionName) && !isBag(collection))
+    if (!collectionRecord.hasGroup(collectionGroupKey)) { // Is the collection for this group recorded
+      if (collectionRecord.isBag() && !isBag(collection))
         throw new SWRLBuiltInException(
           "attempt to add non bag elements to bag " + collectionName + " in query " + queryName + "; group key="
             + collectionGroupKey);
 
-      if (isSet(queryName, collectionName) && !isSet(collection))
+      if (collectionRecord.isSet() && !isSet(collection))
         throw new SWRLBuiltInException(
           "attempt to add non set elements to set " + collectionName + " in query " + queryName + "; group key="
             + collectionGroupKey);
 
-      if (this.collectionsMap.containsKey(collectionKey))
-        this.collectionsMap.get(collectionKey).put(collectionGroupKey, collection);
-      else
-        throw new SWRLBuiltInException(
-          "internal error attempting to add non set elements to set " + collectionName + " in query " + queryName
-            + "; group key=" + collectionGroupKey);
+      collectionRecord.addGroup(collectionGroupKey, collection);
     }
   }
 
   @NonNull private Collection<@NonNull SWRLBuiltInArgument> getCollection(@NonNull String queryName,
-    @NonNull String collectionName, @NonNull String collectionGroupKey) throws SWRLBuiltInException
+    @NonNull String collectionName, @NonNull SQWRLCollectionGroupKey collectionGroupKey) throws SWRLBuiltInException
   {
-    String collectionKey = queryName + ":" + collectionName;
+    SQWRLCollectionRecord collectionRecord = findCollectionRecord(queryName, collectionName);
+    Collection<@NonNull SWRLBuiltInArgument> collection = collectionRecord != null ?
+      collectionRecord.getGroupCollection(collectionGroupKey) :
+      null;
 
-    if (!isCollection(queryName, collectionName, collectionGroupKey))
+    if (collection == null)
       throw new SWRLBuiltInException(
         "collection argument in query " + queryName + " with name " + collectionName + " and group key "
           + collectionGroupKey + " does not refer to a collection");
 
-    if (this.collectionsMap.get(collectionKey) != null
-      && this.collectionsMap.get(collectionKey).get(collectionGroupKey) != null)
-      return this.collectionsMap.get(collectionKey).get(collectionGroupKey);
-    else
-      throw new SWRLBuiltInException(
-        "internal error processing collection argument in query " + queryName + " with name " + collectionName
-          + " and group key " + collectionGroupKey);
+    return collection;
   }
 
-  private boolean isCollection(@NonNull String queryName, @NonNull String collectionName,
-    @NonNull String collectionGroupKey)
+  @NonNull private String getCollectionGroupID(@NonNull String queryName, @NonNull String collectionName,
+    @NonNull SQWRLCollectionGroupKey collectionGroupKey)
   {
-    String collectionKey = createCollectionKey(queryName, collectionName);
-
-    return this.collectionsMap.get(collectionKey) != null && this.collectionsMap.get(collectionKey)
-      .containsKey(collectionGroupKey);
+    return getCollectionRecord(queryName, collectionName).getGroupID(collectionGroupKey);
   }
 
-  private boolean isSet(@NonNull String queryName, @NonNull String collectionName)
+  private boolean isCollection(@NonNull String queryName, @NonNull String collectionName,
+    @NonNull SQWRLCollectionGroupKey collectionGroupKey)
   {
-    String setKey = createCollectionKey(queryName, collectionName);
+    SQWRLCollectionRecord collectionRecord = findCollectionRecord(queryName, collectionName);
 
-    return this.setKeys.contains(setKey);
+    return collectionRecord != null && collectionRecord.hasGroup(collectionGroupKey);
   }
 
-  private boolean isBag(@NonNull String queryName, @NonNull String collectionName)
+  private boolean isSet(@NonNull String queryName, @NonNull String collectionName)
   {
-    String bagKey = createCollectionKey(queryName, collectionName);
+    SQWRLCollectionRecord collectionRecord = findCollectionRecord(queryName, collectionName);
 
-    return this.bagKeys.contains(bagKey);
+    return collectionRecord != null && collectionRecord.isSet();
   }
 
   private boolean isCollectionRecorded(@NonNull String queryName, @NonNull String collectionName)
   {
-    String collectionKey = createCollectionKey(queryName, collectionName);
+    SQWRLCollectionRecord collectionRecord = findCollectionRecord(queryName, collectionName);
 
-    return this.collectionsMap.containsKey(collectionKey);
+    return collectionRecord != null && collectionRecord.isRecorded();
   }
 
   private boolean isBag(Collection<@NonNull SWRLBuiltInArgument> collection)
@@ -1864,28 +1924,36 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     return (collection instanceof Set<?>);
   }
 
-  @NonNull private String createCollectionKey(@NonNull String queryName, @NonNull String collectionName)
+  @Nullable private SQWRLCollectionRecord findCollectionRecord(@NonNull String queryName,
+    @NonNull String collectionName)
+  {
+    Map<@NonNull String, @NonNull SQWRLCollectionRecord> queryCollectionRecords = this.collectionRecords.get(queryName);
+
+    return queryCollectionRecords != null ? queryCollectionRecords.get(collectionName) : null;
+  }
+
+  // Records are created when a collection name is first seen, which may be before its kind and groups are recorded
+  @NonNull private SQWRLCollectionRecord getCollectionRecord(@NonNull String queryName, @NonNull String collectionName)
   {
-    return queryName + ":" + collectionName;
+    return this.collectionRecords.computeIfAbsent(queryName, name -> new HashMap<>())
+      .computeIfAbsent(collectionName, name -> new SQWRLCollectionRecord());
   }
 
   @NonNull @SuppressWarnings("unused") private Collection<@NonNull SWRLBuiltInArgument> ungroupCollection(
     @NonNull String queryName, @NonNull String collectionName) throws SWRLBuiltInException
   {
-    if (!isCollectionRecorded(queryName, collectionName))
+    SQWRLCollectionRecord collectionRecord = findCollectionRecord(queryName, collectionName);
+
+    if (collectionRecord == null || !collectionRecord.isRecorded())
       throw new SWRLBuiltInException(collectionName + " in query " + queryName + " is not a collection");
     else {
-      Collection<@NonNull SWRLBuiltInArgument> ungroupedCollection = isSet(queryName, collectionName) ?
+      Collection<@NonNull SWRLBuiltInArgument> ungroupedCollection = collectionRecord.isSet() ?
         new HashSet<>() :
         new ArrayList<>();
-      String collectionKey = createCollectionKey(queryName, collectionName);
 
-      if (this.collectionsMap.get(collectionKey) != null) {
-        for (String collectionGroupKey : this.collectionsMap.get(collectionKey).keySet()) {
-          if (this.collectionsMap.get(collectionKey).get(collectionGroupKey) != null)
-            ungroupedCollection.addAll(this.collectionsMap.get(collectionKey).get(collectionGroupKey));
-        }
-      }
+      for (Collection<@NonNull SWRLBuiltInArgument> groupCollection : collectionRecord.getGroupCollections())
+        ungroupedCollection.addAll(groupCollection);
+
       return ungroupedCollection;
     }
   }
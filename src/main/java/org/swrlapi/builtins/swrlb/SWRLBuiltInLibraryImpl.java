@@ -21,6 +21,7 @@ import org.swrlapi.literal.XSDTimeUtil;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
@@ -79,15 +80,36 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   private static final String SWRLB_COS = SWRLBPrefix + "cos";
   private static final String SWRLB_TAN = SWRLBPrefix + "tan";
 
+  @NonNull private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
+  // Regular expressions are usually rule constants so are compiled once; patterns do not depend on ontology state so
+  // are kept across resets
+  @NonNull private final SWRLBuiltInPatternCache patternCache;
+
   public SWRLBuiltInLibraryImpl()
   {
     super(PREFIX, NAMESPACE, new HashSet<>(Arrays.asList(BUILT_IN_NAMES)));
+
+    this.patternCache = new SWRLBuiltInPatternCache();
+  }
+
+  @Override public boolean isThreadSafe()
+  {
+    return true;
   }
 
   @Override public void reset()
   {
   }
 
+  /**
+   * @return The cache of compiled regular expressions used by the regular expression built-ins
+   */
+  @NonNull public SWRLBuiltInPatternCache getPatternCache()
+  {
+    return this.patternCache;
+  }
+
   // Built-ins for comparison, defined in Section 8.1. of http://www.daml.org/2004/04/swrl/builtins.html.
 
   /**
@@ -721,7 +743,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     String argument2 = getArgumentAsAString(1, arguments);
 
     try {
-      return Pattern.matches(argument2, argument1);
+      return this.patternCache.getPattern(argument2).matcher(argument1).matches();
     } catch (PatternSyntaxException e) {
       throw new InvalidSWRLBuiltInArgumentException(1,
         "invalid regular expression '" + argument2 + "': " + e.getMessage(), e);
@@ -741,7 +763,13 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     String regex = getArgumentAsAString(2, arguments);
     String replacement = getArgumentAsAString(3, arguments);
 
-    Pattern p = Pattern.compile(regex);
+    Pattern p;
+    try {
+      p = this.patternCache.getPattern(regex);
+    } catch (PatternSyntaxException e) {
+      throw new InvalidSWRLBuiltInArgumentException(2, "invalid regular expression '" + regex + "': " + e.getMessage(),
+        e);
+    }
     Matcher m = p.matcher(input);
     String operationResult = m.replaceAll(replacement);
 
@@ -759,8 +787,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 
     String input = getArgumentAsAString(1, arguments);
 
-    Pattern p = Pattern.compile("\\s+");
-    Matcher m = p.matcher(input);
+    Matcher m = WHITESPACE_PATTERN.matcher(input);
     String operationResult = m.replaceAll(" ").trim();
 
     return processResultArgument(arguments, 0, operationResult);
@@ -1076,8 +1103,8 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    org.apache.axis.types.Time time2 = getArgumentAsAnAxisTime(1, arguments);
-    org.apache.axis.types.Time time3 = getArgumentAsAnAxisTime(2, arguments);
+    LocalTime time2 = getArgumentAsALocalTime(1, arguments);
+    LocalTime time3 = getArgumentAsALocalTime(2, arguments);
     org.apache.axis.types.Duration operationDuration = XSDTimeUtil.subtractTimes(time2, time3);
 
     return processResultArgument(arguments, 0, axisDuration2XSDDuration(operationDuration));
@@ -1229,11 +1256,11 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    org.apache.axis.types.Time time = getArgumentAsAnAxisTime(1, arguments);
+    LocalTime time = getArgumentAsALocalTime(1, arguments);
     org.apache.axis.types.Duration duration = getArgumentAsAnAxisDuration(2, arguments);
-    org.apache.axis.types.Time operationTime = XSDTimeUtil.addDayTimeDurationToTime(time, duration);
+    LocalTime operationTime = XSDTimeUtil.addDayTimeDurationToTime(time, duration);
 
-    return processResultArgument(arguments, 0, axisTime2XSDTime(operationTime));
+    return processResultArgument(arguments, 0, new XSDTime(operationTime));
   }
 
   /**
@@ -1246,11 +1273,11 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    org.apache.axis.types.Time time = getArgumentAsAnAxisTime(1, arguments);
+    LocalTime time = getArgumentAsALocalTime(1, arguments);
     org.apache.axis.types.Duration duration = getArgumentAsAnAxisDuration(2, arguments);
-    org.apache.axis.types.Time operationTime = XSDTimeUtil.subtractDayTimeDurationFromTime(time, duration);
+    LocalTime operationTime = XSDTimeUtil.subtractDayTimeDurationFromTime(time, duration);
 
-    return processResultArgument(arguments, 0, axisTime2XSDTime(operationTime));
+    return processResultArgument(arguments, 0, new XSDTime(operationTime));
   }
 
   /**
@@ -1551,14 +1578,14 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     }
   }
 
-  private org.apache.axis.types.Time getArgumentAsAnAxisTime(int argumentNumber,
+  @NonNull private LocalTime getArgumentAsALocalTime(int argumentNumber,
     @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     String time = getArgumentAsAString(argumentNumber, arguments);
 
     try {
-      return XSDTimeUtil.xsdTimeString2AxisTime(time);
-    } catch (NumberFormatException e) {
+      return XSDTimeUtil.xsdTimeString2LocalTime(time);
+    } catch (IllegalArgumentException e) {
       throw new SWRLBuiltInException("invalid xsd:time " + time + ": " + e.getMessage(), e);
     }
   }
@@ -1588,11 +1615,6 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     return new XSDDuration(duration.toString());
   }
 
-  @NonNull private XSDTime axisTime2XSDTime(org.apache.axis.types.@NonNull Time time)
-  {
-    return new XSDTime(time.toString());
-  }
-
   @NonNull private XSDTime timeString2XSDTime(@NonNull String time)
   {
     return new XSDTime(time);
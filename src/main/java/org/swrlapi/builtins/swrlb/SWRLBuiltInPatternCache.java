@@ -0,0 +1,112 @@
+package org.swrlapi.builtins.swrlb;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A cache of compiled regular expressions used by the regular expression built-ins in the core SWRL built-in library.
+ * The regular expression argument of these built-ins is almost always a constant in a rule, so a pattern need only be
+ * compiled once rather than every time the built-in is invoked.
+ * <p>
+ * The cache may be used concurrently. Its size is bounded: once it holds the maximum number of patterns the least
+ * recently used pattern is evicted to make room for a new one. Patterns are compiled outside the cache lock.
+ *
+ * @see org.swrlapi.builtins.swrlb.SWRLBuiltInLibraryImpl#getPatternCache()
+ */
+public final class SWRLBuiltInPatternCache
+{
+  public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+  private final int maximumSize;
+  @NonNull private final Map<@NonNull String, @NonNull Pattern> patterns; // Access-ordered; guarded by itself
+  @NonNull private final LongAdder numberOfHits, numberOfMisses;
+
+  public SWRLBuiltInPatternCache()
+  {
+    this(DEFAULT_MAXIMUM_SIZE);
+  }
+
+  public SWRLBuiltInPatternCache(int maximumSize)
+  {
+    if (maximumSize < 1)
+      throw new IllegalArgumentException("maximum size of pattern cache must be at least 1, got " + maximumSize);
+
+    this.maximumSize = maximumSize;
+    this.patterns = new LinkedHashMap<@NonNull String, @NonNull Pattern>(16, 0.75f, true)
+    {
+      @Override protected boolean removeEldestEntry(Map.Entry<@NonNull String, @NonNull Pattern> eldest)
+      {
+        return size() > maximumSize;
+      }
+    };
+    this.numberOfHits = new LongAdder();
+    this.numberOfMisses = new LongAdder();
+  }
+
+  /**
+   * @param regex A regular expression
+   * @return The compiled regular expression
+   * @throws PatternSyntaxException If the regular expression is invalid; invalid expressions are not cached
+   */
+  @NonNull public Pattern getPattern(@NonNull String regex) throws PatternSyntaxException
+  {
+    Pattern pattern;
+
+    synchronized (this.patterns) {
+      pattern = this.patterns.get(regex);
+    }
+
+    if (pattern != null) {
+      this.numberOfHits.increment();
+      return pattern;
+    }
+
+    this.numberOfMisses.increment();
+    pattern = Pattern.compile(regex);
+
+    synchronized (this.patterns) {
+      Pattern existingPattern = this.patterns.putIfAbsent(regex, pattern);
+
+      return existingPattern != null ? existingPattern : pattern;
+    }
+  }
+
+  public int getMaximumSize()
+  {
+    return this.maximumSize;
+  }
+
+  public int getSize()
+  {
+    synchronized (this.patterns) {
+      return this.patterns.size();
+    }
+  }
+
+  public long getNumberOfHits()
+  {
+    return this.numberOfHits.sum();
+  }
+
+  public long getNumberOfMisses()
+  {
+    return this.numberOfMisses.sum();
+  }
+
+  /**
+   * Remove all patterns and reset the hit and miss counters.
+   */
+  public void clear()
+  {
+    synchronized (this.patterns) {
+      this.patterns.clear();
+    }
+    this.numberOfHits.reset();
+    this.numberOfMisses.reset();
+  }
+}
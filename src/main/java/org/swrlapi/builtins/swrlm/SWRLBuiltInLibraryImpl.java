@@ -1,8 +1,6 @@
 package org.swrlapi.builtins.swrlm;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
-import org.checkerframework.checker.nullness.qual.Nullable;
-import org.nfunk.jep.JEP;
 import org.semanticweb.owlapi.vocab.XSDVocabulary;
 import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
@@ -10,7 +8,9 @@ import org.swrlapi.exceptions.SWRLBuiltInException;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -24,16 +24,24 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 
   private static final String[] BUILT_IN_NAMES = { "sqrt", "eval", "log" };
 
-  @Nullable private JEP jep = null;
+  // Evaluators are confined to the threads that use them so that eval need not be synchronized; replaced on reset
+  @NonNull private volatile ThreadLocal<@NonNull SWRLMExpressionEvaluator> expressionEvaluators;
 
   public SWRLBuiltInLibraryImpl()
   {
     super(PREFIX, NAMESPACE, new HashSet<>(Arrays.asList(BUILT_IN_NAMES)));
+
+    this.expressionEvaluators = ThreadLocal.withInitial(SWRLMExpressionEvaluator::new);
+  }
+
+  @Override public boolean isThreadSafe()
+  {
+    return true;
   }
 
   @Override public void reset()
   {
-    this.jep = null;
+    this.expressionEvaluators = ThreadLocal.withInitial(SWRLMExpressionEvaluator::new);
   }
 
   /**
@@ -100,6 +108,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     checkNumberOfArgumentsAtLeast(minimumNumberoOfArguments, arguments.size());
 
     String expression = getArgumentAsAString(expressionArgumentIndex, arguments);
+    Map<@NonNull String, @NonNull Double> variableValues = new LinkedHashMap<>();
 
     if (arguments.size() > minimumNumberoOfArguments) {
       List<@NonNull SWRLBuiltInArgument> variableArguments = arguments
@@ -115,7 +124,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
         if (variableName.isPresent()) {
           if (isArgumentConvertibleToDouble(currentVariableArgumentIndex, arguments)) {
             double variableValue = getArgumentAsADouble(variableArgument);
-            getJEP().addVariable(variableName.get(), variableValue);
+            variableValues.put(variableName.get(), variableValue);
           } else {
             String message =
               "exception processing expression '" + expression + "': " + "variable ?" + variableName.get()
@@ -128,15 +137,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       }
     }
 
-    getJEP().parseExpression(expression);
-
-    if (getJEP().hasError())
-      throw new SWRLBuiltInException("exception parsing expression '" + expression + "': " + getJEP().getErrorInfo());
-
-    double value = getJEP().getValue();
-
-    if (getJEP().hasError())
-      throw new SWRLBuiltInException("exception parsing expression '" + expression + "': " + getJEP().getErrorInfo());
+    double value = this.expressionEvaluators.get().evaluate(expression, variableValues);
 
     if (isUnboundArgument(resultArgumentIndex, arguments)) {
       arguments.get(resultArgumentIndex).asVariable().setBuiltInResult(createLiteralBuiltInArgument(value));
@@ -151,17 +152,4 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
             + XSDVocabulary.DOUBLE.getPrefixedName());
     }
   }
-
-  // See. http://www.singularsys.com/jep/doc/javadoc/org/nfunk/jep/JEP.html for JEP API
-  @NonNull private JEP getJEP()
-  {
-    if (this.jep == null) {
-      this.jep = new JEP();
-
-      this.jep.addStandardFunctions();
-      this.jep.addStandardConstants();
-      this.jep.setImplicitMul(true);
-    }
-    return this.jep;
-  }
 }
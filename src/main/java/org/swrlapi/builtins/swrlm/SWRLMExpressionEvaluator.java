@@ -0,0 +1,113 @@
+package org.swrlapi.builtins.swrlm;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.nfunk.jep.JEP;
+import org.nfunk.jep.Node;
+import org.nfunk.jep.ParseException;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Evaluates the mathematical expressions of the <code>swrlm:eval</code> built-in. Each expression is parsed once and
+ * its parse tree is cached, so that repeated evaluations of an expression only rebind its variables. The cache is
+ * bounded; once full, the least recently used expression is evicted.
+ * <p>
+ * See http://www.singularsys.com/jep/doc/javadoc/org/nfunk/jep/JEP.html for the JEP API. A JEP instance is not
+ * thread-safe and the parse trees it produces refer to its variables, so an evaluator must be confined to a single
+ * thread.
+ *
+ * @see org.swrlapi.builtins.swrlm.SWRLBuiltInLibraryImpl#eval(java.util.List)
+ */
+class SWRLMExpressionEvaluator
+{
+  static final int DEFAULT_MAXIMUM_NUMBER_OF_CACHED_EXPRESSIONS = 1000;
+
+  @NonNull private final JEP jep;
+  @NonNull private final Map<@NonNull String, @NonNull Node> parsedExpressions; // Access-ordered
+
+  public SWRLMExpressionEvaluator()
+  {
+    this(DEFAULT_MAXIMUM_NUMBER_OF_CACHED_EXPRESSIONS);
+  }
+
+  SWRLMExpressionEvaluator(int maximumNumberOfCachedExpressions)
+  {
+    if (maximumNumberOfCachedExpressions < 1)
+      throw new IllegalArgumentException(
+        "maximum number of cached expressions must be at least 1, got " + maximumNumberOfCachedExpressions);
+
+    this.jep = new JEP();
+    this.jep.addStandardFunctions();
+    this.jep.addStandardConstants();
+    this.jep.setImplicitMul(true);
+
+    this.parsedExpressions = new LinkedHashMap<@NonNull String, @NonNull Node>(16, 0.75f, true)
+    {
+      // Node is qualified because it would otherwise resolve to HashMap.Node in this subclass
+      @Override protected boolean removeEldestEntry(Map.Entry<@NonNull String, @NonNull org.nfunk.jep.Node> eldest)
+      {
+        return size() > maximumNumberOfCachedExpressions;
+      }
+    };
+  }
+
+  /**
+   * @param expression     A mathematical expression
+   * @param variableValues The values of the variables used in the expression
+   * @return The value of the expression
+   * @throws SWRLBuiltInException If the expression cannot be parsed or evaluated
+   */
+  public double evaluate(@NonNull String expression, @NonNull Map<@NonNull String, @NonNull Double> variableValues)
+    throws SWRLBuiltInException
+  {
+    // Variables must be declared before an expression that uses them is parsed
+    for (Map.Entry<@NonNull String, @NonNull Double> variableValue : variableValues.entrySet())
+      this.jep.addVariable(variableValue.getKey(), variableValue.getValue());
+
+    Node parsedExpression = getParsedExpression(expression);
+
+    Object value;
+    try {
+      value = this.jep.evaluate(parsedExpression);
+    } catch (ParseException e) {
+      throw new SWRLBuiltInException("exception evaluating expression '" + expression + "': " + e.getMessage(), e);
+    }
+
+    if (value instanceof Number)
+      return ((Number)value).doubleValue();
+    else
+      throw new SWRLBuiltInException(
+        "exception evaluating expression '" + expression + "': expression does not evaluate to a number");
+  }
+
+  @NonNull private Node getParsedExpression(@NonNull String expression) throws SWRLBuiltInException
+  {
+    Node parsedExpression = this.parsedExpressions.get(expression);
+
+    if (parsedExpression == null) {
+      try {
+        parsedExpression = this.jep.parse(expression);
+      } catch (ParseException e) {
+        throw new SWRLBuiltInException("exception parsing expression '" + expression + "': " + e.getMessage(), e);
+      }
+      this.parsedExpressions.put(expression, parsedExpression);
+    }
+    return parsedExpression;
+  }
+
+  /**
+   * @param expression A mathematical expression
+   * @return True if the parse tree of the expression is cached
+   */
+  boolean isCached(@NonNull String expression)
+  {
+    return this.parsedExpressions.containsKey(expression); // Does not change the access order
+  }
+
+  int getNumberOfCachedExpressions()
+  {
+    return this.parsedExpressions.size();
+  }
+}
@@ -5,6 +5,7 @@ import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
+import org.swrlapi.builtins.SWRLBuiltInInvocationPattern;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 
@@ -26,8 +27,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   private static final String[] BUILT_IN_NAMES = { "makeOWLClass", "makeOWLIndividual", "makeOWLThing",
     "createOWLThing", "invokeSWRLBuiltIn" };
 
-  @NonNull private final Map<@NonNull String, @NonNull OWLClass> classInvocationMap;
-  @NonNull private final Map<@NonNull String, @NonNull OWLNamedIndividual> individualInvocationMap;
+  @NonNull private final Map<@NonNull SWRLBuiltInInvocationPattern, @NonNull OWLClass> classInvocationMap;
+  @NonNull private final Map<@NonNull SWRLBuiltInInvocationPattern, @NonNull OWLNamedIndividual>
+    individualInvocationMap;
 
   public SWRLBuiltInLibraryImpl()
   {
@@ -56,17 +58,15 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     checkNumberOfArgumentsAtLeast(2, arguments.size());
 
     if (isUnboundArgument(0, arguments)) {
-      String createInvocationPattern = createInvocationPattern(getBuiltInBridge(), getInvokingRuleName(),
-        getInvokingBuiltInIndex(), getIsInConsequent(), arguments.subList(1, arguments.size()));
-      OWLClass cls;
+      SWRLBuiltInInvocationPattern invocationPattern = createInvocationPatternKey(getBuiltInBridge(),
+        getInvokingRuleName(), getInvokingBuiltInIndex(), getIsInConsequent(), arguments.subList(1, arguments.size()));
+      OWLClass cls = this.classInvocationMap.get(invocationPattern);
 
-      if (this.classInvocationMap.containsKey(createInvocationPattern)) {
-        cls = this.classInvocationMap.get(createInvocationPattern);
-      } else {
+      if (cls == null) {
         cls = getSWRLAPIOWLDataFactory().getInjectedOWLClass();
         OWLDeclarationAxiom declarationAxiom = getSWRLAPIOWLDataFactory().getOWLClassDeclarationAxiom(cls);
         getBuiltInBridge().injectOWLAxiom(declarationAxiom);
-        this.classInvocationMap.put(createInvocationPattern, cls);
+        this.classInvocationMap.put(invocationPattern, cls);
       }
       arguments.get(0).asVariable().setBuiltInResult(createClassBuiltInArgument(cls)); // Bind result to first parameter
     }
@@ -87,17 +87,15 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     checkNumberOfArgumentsAtLeast(2, arguments.size());
 
     if (isUnboundArgument(0, arguments)) {
-      OWLNamedIndividual individual;
-      String createInvocationPattern = createInvocationPattern(getBuiltInBridge(), getInvokingRuleName(),
-        getInvokingBuiltInIndex(), getIsInConsequent(), arguments.subList(1, arguments.size()));
+      SWRLBuiltInInvocationPattern invocationPattern = createInvocationPatternKey(getBuiltInBridge(),
+        getInvokingRuleName(), getInvokingBuiltInIndex(), getIsInConsequent(), arguments.subList(1, arguments.size()));
+      OWLNamedIndividual individual = this.individualInvocationMap.get(invocationPattern);
 
-      if (this.individualInvocationMap.containsKey(createInvocationPattern))
-        individual = this.individualInvocationMap.get(createInvocationPattern);
-      else {
+      if (individual == null) {
         individual = getSWRLAPIOWLDataFactory().getInjectedOWLNamedIndividual();
         OWLDeclarationAxiom declarationAxiom = getSWRLAPIOWLDataFactory().getOWLIndividualDeclarationAxiom(individual);
         getBuiltInBridge().injectOWLAxiom(declarationAxiom);
-        this.individualInvocationMap.put(createInvocationPattern, individual);
+        this.individualInvocationMap.put(invocationPattern, individual);
       }
       arguments.get(0).asVariable()
         .setBuiltInResult(createNamedIndividualBuiltInArgument(individual)); // Bind result to the first parameter
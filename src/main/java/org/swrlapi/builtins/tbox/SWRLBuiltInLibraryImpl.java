@@ -1,7 +1,7 @@
 package org.swrlapi.builtins.tbox;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
-import org.semanticweb.owlapi.model.AxiomType;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLClassExpression;
@@ -20,9 +20,10 @@ import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLObjectPropertyRangeAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
-import org.semanticweb.owlapi.model.parameters.Imports;
 import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
+import org.swrlapi.builtins.SWRLBuiltInAxiomIndex;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentType;
 import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
@@ -33,8 +34,6 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Implementation library for SWRL TBox built-ins
@@ -48,6 +47,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   private static final String[] BUILT_IN_NAMES = { "cd", "opd", "dpd", "apd", "dd", "sca", "eca", "dca", "fopa",
     "ifopa", "fdpa", "opda", "opra", "dpda", "dpra", "dda", "dua", "hka" };
 
+  // Built on first use; disposed on reset, which removes its ontology change listener
+  @Nullable private TBoxIndex tboxIndex = null;
+
   public SWRLBuiltInLibraryImpl()
   {
     super(PREFIX, NAMESPACE, new HashSet<>(Arrays.asList(BUILT_IN_NAMES)));
@@ -55,17 +57,19 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 
   @Override public void reset()
   {
+    if (this.tboxIndex != null) {
+      this.tboxIndex.dispose();
+      this.tboxIndex = null;
+    }
   }
 
   public boolean cd(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLDeclarationAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DECLARATION, Imports.INCLUDED).stream().filter(a -> a.getEntity().isOWLClass())
-      .collect(Collectors.toSet());
+    SWRLBuiltInAxiomIndex<@NonNull OWLDeclarationAxiom> axiomIndex = getTBoxIndex().getClassDeclarationAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -73,7 +77,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDeclarationAxiom axiom : axioms) {
+      for (OWLDeclarationAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLClass candidateValue1 = axiom.getEntity().asOWLClass();
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
@@ -93,12 +97,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLDeclarationAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DECLARATION, Imports.INCLUDED).stream().filter(a -> a.getEntity().isOWLObjectProperty())
-      .collect(Collectors.toSet());
-    ;
+    SWRLBuiltInAxiomIndex<@NonNull OWLDeclarationAxiom> axiomIndex = getTBoxIndex()
+      .getObjectPropertyDeclarationAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -106,7 +108,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDeclarationAxiom axiom : axioms) {
+      for (OWLDeclarationAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLObjectProperty candidateValue1 = axiom.getEntity().asOWLObjectProperty();
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
@@ -126,12 +128,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLDeclarationAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DECLARATION, Imports.INCLUDED).stream().filter(a -> a.getEntity().isOWLDataProperty())
-      .collect(Collectors.toSet());
-    ;
+    SWRLBuiltInAxiomIndex<@NonNull OWLDeclarationAxiom> axiomIndex = getTBoxIndex().getDataPropertyDeclarationAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -139,7 +138,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDeclarationAxiom axiom : axioms) {
+      for (OWLDeclarationAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLDataProperty candidateValue1 = axiom.getEntity().asOWLDataProperty();
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
@@ -159,11 +158,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLDeclarationAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DECLARATION, Imports.INCLUDED).stream().filter(a -> a.getEntity().isOWLAnnotationProperty())
-      .collect(Collectors.toSet());
+    SWRLBuiltInAxiomIndex<@NonNull OWLDeclarationAxiom> axiomIndex = getTBoxIndex()
+      .getAnnotationPropertyDeclarationAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -171,7 +169,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDeclarationAxiom axiom : axioms) {
+      for (OWLDeclarationAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLAnnotationProperty candidateValue1 = axiom.getEntity().asOWLAnnotationProperty();
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
@@ -191,11 +189,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLDeclarationAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DECLARATION, Imports.INCLUDED).stream().filter(a -> a.getEntity().isOWLDatatype())
-      .collect(Collectors.toSet());
+    SWRLBuiltInAxiomIndex<@NonNull OWLDeclarationAxiom> axiomIndex = getTBoxIndex().getDatatypeDeclarationAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -203,7 +199,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDeclarationAxiom axiom : axioms) {
+      for (OWLDeclarationAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLDatatype candidateValue1 = axiom.getEntity().asOWLDatatype();
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
@@ -223,10 +219,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLSubClassOfAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.SUBCLASS_OF, Imports.INCLUDED);
+    SWRLBuiltInAxiomIndex<@NonNull OWLSubClassOfAxiom> axiomIndex = getTBoxIndex().getSubClassOfAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -234,7 +229,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLSubClassOfAxiom axiom : axioms) {
+      for (OWLSubClassOfAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLClassExpression candidateValue1 = axiom.getSubClass();
         OWLClassExpression candidateValue2 = axiom.getSuperClass();
 
@@ -258,11 +253,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLEquivalentClassesAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.EQUIVALENT_CLASSES, Imports.INCLUDED).stream().flatMap(a -> a.asPairwiseAxioms().stream())
-      .collect(Collectors.toSet());
+    SWRLBuiltInAxiomIndex<@NonNull OWLEquivalentClassesAxiom> axiomIndex = getTBoxIndex().getEquivalentClassesAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -270,7 +263,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLEquivalentClassesAxiom axiom : axioms) {
+      for (OWLEquivalentClassesAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLClassExpression candidateValue1 = axiom.getClassExpressionsAsList().get(0);
         OWLClassExpression candidateValue2 = axiom.getClassExpressionsAsList().get(1);
 
@@ -294,11 +287,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLDisjointClassesAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DISJOINT_CLASSES, Imports.INCLUDED).stream().flatMap(a -> a.asPairwiseAxioms().stream())
-      .collect(Collectors.toSet());
+    SWRLBuiltInAxiomIndex<@NonNull OWLDisjointClassesAxiom> axiomIndex = getTBoxIndex().getDisjointClassesAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -306,7 +297,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDisjointClassesAxiom axiom : axioms) {
+      for (OWLDisjointClassesAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLClassExpression candidateValue1 = axiom.getClassExpressionsAsList().get(0);
         OWLClassExpression candidateValue2 = axiom.getClassExpressionsAsList().get(1);
 
@@ -330,10 +321,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLFunctionalObjectPropertyAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.FUNCTIONAL_OBJECT_PROPERTY, Imports.INCLUDED);
+    SWRLBuiltInAxiomIndex<@NonNull OWLFunctionalObjectPropertyAxiom> axiomIndex = getTBoxIndex()
+      .getFunctionalObjectPropertyAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -341,7 +332,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLFunctionalObjectPropertyAxiom axiom : axioms) {
+      for (OWLFunctionalObjectPropertyAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLObjectPropertyExpression candidateValue1 = axiom.getProperty();
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
@@ -362,10 +353,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLInverseFunctionalObjectPropertyAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.INVERSE_FUNCTIONAL_OBJECT_PROPERTY, Imports.INCLUDED);
+    SWRLBuiltInAxiomIndex<@NonNull OWLInverseFunctionalObjectPropertyAxiom> axiomIndex = getTBoxIndex()
+      .getInverseFunctionalObjectPropertyAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -373,7 +364,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLInverseFunctionalObjectPropertyAxiom axiom : axioms) {
+      for (OWLInverseFunctionalObjectPropertyAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLObjectPropertyExpression candidateValue1 = axiom.getProperty();
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
@@ -394,10 +385,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(1, arguments.size());
 
-    Set<OWLFunctionalDataPropertyAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.FUNCTIONAL_DATA_PROPERTY, Imports.INCLUDED);
+    SWRLBuiltInAxiomIndex<@NonNull OWLFunctionalDataPropertyAxiom> axiomIndex = getTBoxIndex()
+      .getFunctionalDataPropertyAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -405,7 +396,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLFunctionalDataPropertyAxiom axiom : axioms) {
+      for (OWLFunctionalDataPropertyAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLDataPropertyExpression candidateValue1 = axiom.getProperty();
 
         if (!noBoundArgumentsMismatch(inputArgumentValues, candidateValue1)) {
@@ -426,10 +417,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLObjectPropertyDomainAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.OBJECT_PROPERTY_DOMAIN, Imports.INCLUDED);
+    SWRLBuiltInAxiomIndex<@NonNull OWLObjectPropertyDomainAxiom> axiomIndex = getTBoxIndex()
+      .getObjectPropertyDomainAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -437,7 +428,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLObjectPropertyDomainAxiom axiom : axioms) {
+      for (OWLObjectPropertyDomainAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLObjectPropertyExpression candidateValue1 = axiom.getProperty();
         OWLClassExpression candidateValue2 = axiom.getDomain();
 
@@ -461,10 +452,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLObjectPropertyRangeAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.OBJECT_PROPERTY_RANGE, Imports.INCLUDED);
+    SWRLBuiltInAxiomIndex<@NonNull OWLObjectPropertyRangeAxiom> axiomIndex = getTBoxIndex()
+      .getObjectPropertyRangeAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -472,7 +463,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLObjectPropertyRangeAxiom axiom : axioms) {
+      for (OWLObjectPropertyRangeAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLObjectPropertyExpression candidateValue1 = axiom.getProperty();
         OWLClassExpression candidateValue2 = axiom.getRange();
 
@@ -496,10 +487,10 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLDataPropertyDomainAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DATA_PROPERTY_DOMAIN, Imports.INCLUDED);
+    SWRLBuiltInAxiomIndex<@NonNull OWLDataPropertyDomainAxiom> axiomIndex = getTBoxIndex()
+      .getDataPropertyDomainAxioms();
 
-    if (axioms.isEmpty())
+    if (axiomIndex.isEmpty())
       return false;
     else {
       Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
@@ -507,7 +498,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
-      for (OWLDataPropertyDomainAxiom axiom : axioms) {
+      for (OWLDataPropertyDomainAxiom axiom : axiomIndex.getCandidateAxioms(inputArgumentValues)) {
         OWLDataPropertyExpression candidateValue1 = axiom.getProperty();
         OWLClassExpression candidateValue2 = axiom.getDomain();
 
@@ -547,6 +538,18 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     throw new SWRLBuiltInNotImplementedException("tbox:hka axiom not implemented");
   }
 
+  @NonNull private TBoxIndex getTBoxIndex() throws SWRLBuiltInException
+  {
+    OWLOntology ontology = getBuiltInBridge().getOWLOntology();
+
+    if (this.tboxIndex == null || !this.tboxIndex.isCurrentIndexOf(ontology)) {
+      if (this.tboxIndex != null)
+        this.tboxIndex.dispose();
+      this.tboxIndex = TBoxIndex.create(ontology);
+    }
+    return this.tboxIndex;
+  }
+
   private boolean noBoundArgumentsMismatch(@NonNull Map<Integer, @NonNull OWLObject> inputArgumentValues,
     OWLObject... candidateValues) throws SWRLBuiltInException
   {
@@ -0,0 +1,212 @@
+package org.swrlapi.builtins.tbox;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLDataPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
+import org.semanticweb.owlapi.model.OWLDisjointClassesAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
+import org.semanticweb.owlapi.model.OWLFunctionalDataPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLFunctionalObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLInverseFunctionalObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyRangeAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.swrlapi.builtins.SWRLBuiltInAxiomIndex;
+import org.swrlapi.builtins.SWRLBuiltInOntologyIndex;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * An index of the TBox axioms in the imports closure of an ontology that are queried by the TBox built-ins. Subclass
+ * axioms are indexed by subclass and superclass, giving the direct subclasses and superclasses of a class; equivalent
+ * and disjoint classes axioms are indexed in their pairwise form by both classes; and declaration axioms are indexed by
+ * entity.
+ *
+ * @see org.swrlapi.builtins.tbox.SWRLBuiltInLibraryImpl
+ */
+final class TBoxIndex extends SWRLBuiltInOntologyIndex
+{
+  @NonNull private static final Set<@NonNull AxiomType<?>> INDEXED_AXIOM_TYPES = Collections.unmodifiableSet(
+    new HashSet<>(Arrays.asList(AxiomType.DECLARATION, AxiomType.SUBCLASS_OF, AxiomType.EQUIVALENT_CLASSES,
+      AxiomType.DISJOINT_CLASSES, AxiomType.FUNCTIONAL_OBJECT_PROPERTY, AxiomType.INVERSE_FUNCTIONAL_OBJECT_PROPERTY,
+      AxiomType.FUNCTIONAL_DATA_PROPERTY, AxiomType.OBJECT_PROPERTY_DOMAIN, AxiomType.OBJECT_PROPERTY_RANGE,
+      AxiomType.DATA_PROPERTY_DOMAIN)));
+
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLDeclarationAxiom> classDeclarationAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLDeclarationAxiom> objectPropertyDeclarationAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLDeclarationAxiom> dataPropertyDeclarationAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLDeclarationAxiom> annotationPropertyDeclarationAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLDeclarationAxiom> datatypeDeclarationAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLSubClassOfAxiom> subClassOfAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLEquivalentClassesAxiom> equivalentClassesAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLDisjointClassesAxiom> disjointClassesAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLFunctionalObjectPropertyAxiom>
+    functionalObjectPropertyAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLInverseFunctionalObjectPropertyAxiom>
+    inverseFunctionalObjectPropertyAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLFunctionalDataPropertyAxiom> functionalDataPropertyAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLObjectPropertyDomainAxiom> objectPropertyDomainAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLObjectPropertyRangeAxiom> objectPropertyRangeAxioms;
+  @NonNull private final SWRLBuiltInAxiomIndex<@NonNull OWLDataPropertyDomainAxiom> dataPropertyDomainAxioms;
+
+  private TBoxIndex(@NonNull OWLOntology ontology)
+  {
+    super(ontology, INDEXED_AXIOM_TYPES);
+
+    this.classDeclarationAxioms = new SWRLBuiltInAxiomIndex<>(OWLDeclarationAxiom::getEntity);
+    this.objectPropertyDeclarationAxioms = new SWRLBuiltInAxiomIndex<>(OWLDeclarationAxiom::getEntity);
+    this.dataPropertyDeclarationAxioms = new SWRLBuiltInAxiomIndex<>(OWLDeclarationAxiom::getEntity);
+    this.annotationPropertyDeclarationAxioms = new SWRLBuiltInAxiomIndex<>(OWLDeclarationAxiom::getEntity);
+    this.datatypeDeclarationAxioms = new SWRLBuiltInAxiomIndex<>(OWLDeclarationAxiom::getEntity);
+    this.subClassOfAxioms = new SWRLBuiltInAxiomIndex<>(OWLSubClassOfAxiom::getSubClass,
+      OWLSubClassOfAxiom::getSuperClass);
+    this.equivalentClassesAxioms = new SWRLBuiltInAxiomIndex<>(a -> a.getClassExpressionsAsList().get(0),
+      a -> a.getClassExpressionsAsList().get(1));
+    this.disjointClassesAxioms = new SWRLBuiltInAxiomIndex<>(a -> a.getClassExpressionsAsList().get(0),
+      a -> a.getClassExpressionsAsList().get(1));
+    this.functionalObjectPropertyAxioms = new SWRLBuiltInAxiomIndex<>(OWLFunctionalObjectPropertyAxiom::getProperty);
+    this.inverseFunctionalObjectPropertyAxioms = new SWRLBuiltInAxiomIndex<>(
+      OWLInverseFunctionalObjectPropertyAxiom::getProperty);
+    this.functionalDataPropertyAxioms = new SWRLBuiltInAxiomIndex<>(OWLFunctionalDataPropertyAxiom::getProperty);
+    this.objectPropertyDomainAxioms = new SWRLBuiltInAxiomIndex<>(OWLObjectPropertyDomainAxiom::getProperty,
+      OWLObjectPropertyDomainAxiom::getDomain);
+    this.objectPropertyRangeAxioms = new SWRLBuiltInAxiomIndex<>(OWLObjectPropertyRangeAxiom::getProperty,
+      OWLObjectPropertyRangeAxiom::getRange);
+    this.dataPropertyDomainAxioms = new SWRLBuiltInAxiomIndex<>(OWLDataPropertyDomainAxiom::getProperty,
+      OWLDataPropertyDomainAxiom::getDomain);
+  }
+
+  /**
+   * Build an index for an ontology and register it as a listener with the ontology's manager.
+   *
+   * @param ontology An OWL ontology
+   * @return A TBox index for the ontology
+   */
+  @NonNull static TBoxIndex create(@NonNull OWLOntology ontology)
+  {
+    TBoxIndex tboxIndex = new TBoxIndex(ontology);
+
+    tboxIndex.build();
+
+    return tboxIndex;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLDeclarationAxiom> getClassDeclarationAxioms()
+  {
+    return this.classDeclarationAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLDeclarationAxiom> getObjectPropertyDeclarationAxioms()
+  {
+    return this.objectPropertyDeclarationAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLDeclarationAxiom> getDataPropertyDeclarationAxioms()
+  {
+    return this.dataPropertyDeclarationAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLDeclarationAxiom> getAnnotationPropertyDeclarationAxioms()
+  {
+    return this.annotationPropertyDeclarationAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLDeclarationAxiom> getDatatypeDeclarationAxioms()
+  {
+    return this.datatypeDeclarationAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLSubClassOfAxiom> getSubClassOfAxioms()
+  {
+    return this.subClassOfAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLEquivalentClassesAxiom> getEquivalentClassesAxioms()
+  {
+    return this.equivalentClassesAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLDisjointClassesAxiom> getDisjointClassesAxioms()
+  {
+    return this.disjointClassesAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLFunctionalObjectPropertyAxiom> getFunctionalObjectPropertyAxioms()
+  {
+    return this.functionalObjectPropertyAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLInverseFunctionalObjectPropertyAxiom>
+  getInverseFunctionalObjectPropertyAxioms()
+  {
+    return this.inverseFunctionalObjectPropertyAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLFunctionalDataPropertyAxiom> getFunctionalDataPropertyAxioms()
+  {
+    return this.functionalDataPropertyAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLObjectPropertyDomainAxiom> getObjectPropertyDomainAxioms()
+  {
+    return this.objectPropertyDomainAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLObjectPropertyRangeAxiom> getObjectPropertyRangeAxioms()
+  {
+    return this.objectPropertyRangeAxioms;
+  }
+
+  @NonNull SWRLBuiltInAxiomIndex<@NonNull OWLDataPropertyDomainAxiom> getDataPropertyDomainAxioms()
+  {
+    return this.dataPropertyDomainAxioms;
+  }
+
+  @Override protected void indexAxioms()
+  {
+    OWLOntology ontology = getOWLOntology();
+
+    for (OWLDeclarationAxiom axiom : ontology.getAxioms(AxiomType.DECLARATION, Imports.INCLUDED)) {
+      OWLEntity entity = axiom.getEntity();
+
+      if (entity.isOWLClass())
+        this.classDeclarationAxioms.add(axiom);
+      else if (entity.isOWLObjectProperty())
+        this.objectPropertyDeclarationAxioms.add(axiom);
+      else if (entity.isOWLDataProperty())
+        this.dataPropertyDeclarationAxioms.add(axiom);
+      else if (entity.isOWLAnnotationProperty())
+        this.annotationPropertyDeclarationAxioms.add(axiom);
+      else if (entity.isOWLDatatype())
+        this.datatypeDeclarationAxioms.add(axiom);
+    }
+
+    ontology.getAxioms(AxiomType.SUBCLASS_OF, Imports.INCLUDED).forEach(this.subClassOfAxioms::add);
+
+    for (OWLEquivalentClassesAxiom axiom : ontology.getAxioms(AxiomType.EQUIVALENT_CLASSES, Imports.INCLUDED))
+      axiom.asPairwiseAxioms().forEach(this.equivalentClassesAxioms::add);
+
+    for (OWLDisjointClassesAxiom axiom : ontology.getAxioms(AxiomType.DISJOINT_CLASSES, Imports.INCLUDED))
+      axiom.asPairwiseAxioms().forEach(this.disjointClassesAxioms::add);
+
+    ontology.getAxioms(AxiomType.FUNCTIONAL_OBJECT_PROPERTY, Imports.INCLUDED)
+      .forEach(this.functionalObjectPropertyAxioms::add);
+    ontology.getAxioms(AxiomType.INVERSE_FUNCTIONAL_OBJECT_PROPERTY, Imports.INCLUDED)
+      .forEach(this.inverseFunctionalObjectPropertyAxioms::add);
+    ontology.getAxioms(AxiomType.FUNCTIONAL_DATA_PROPERTY, Imports.INCLUDED)
+      .forEach(this.functionalDataPropertyAxioms::add);
+    ontology.getAxioms(AxiomType.OBJECT_PROPERTY_DOMAIN, Imports.INCLUDED)
+      .forEach(this.objectPropertyDomainAxioms::add);
+    ontology.getAxioms(AxiomType.OBJECT_PROPERTY_RANGE, Imports.INCLUDED)
+      .forEach(this.objectPropertyRangeAxioms::add);
+    ontology.getAxioms(AxiomType.DATA_PROPERTY_DOMAIN, Imports.INCLUDED)
+      .forEach(this.dataPropertyDomainAxioms::add);
+  }
+}
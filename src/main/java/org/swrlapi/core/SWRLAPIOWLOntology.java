@@ -5,6 +5,7 @@ import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.swrlapi.builtins.SWRLBuiltInLibraryManager;
@@ -13,6 +14,7 @@ import org.swrlapi.exceptions.SWRLRuleException;
 import org.swrlapi.factory.SWRLAPIOWLDataFactory;
 import org.swrlapi.parser.SWRLParseException;
 import org.swrlapi.parser.SWRLParser;
+import org.swrlapi.sqwrl.SQWRLPreparedQuery;
 import org.swrlapi.sqwrl.SQWRLQuery;
 import org.swrlapi.sqwrl.SQWRLQueryRenderer;
 import org.swrlapi.sqwrl.SQWRLResult;
@@ -21,6 +23,7 @@ import org.swrlapi.sqwrl.exceptions.SQWRLException;
 import org.swrlapi.ui.model.SWRLAutoCompleter;
 import org.swrlapi.ui.model.SWRLRuleEngineModel;
 
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -142,6 +145,45 @@ public interface SWRLAPIOWLOntology
   @NonNull SQWRLQuery createSQWRLQuery(@NonNull String queryName, @NonNull String query, @NonNull String comment,
       boolean isActive) throws SWRLParseException, SQWRLException, SWRLBuiltInException;
 
+  /**
+   * Parse a SQWRL query without adding it to the ontology.
+   *
+   * @param queryName      The name of the query
+   * @param query          The query
+   * @param parameterNames The names of variables in the query that are bound to literal values on each run
+   * @return A prepared SQWRL query
+   * @throws SWRLParseException   If a parsing error occurs or if the text is not a SQWRL query
+   * @throws SQWRLException       If the name is already used by a rule or query in the ontology or if a parameter is
+   *                              invalid
+   * @throws SWRLBuiltInException If a built-in error occurs during processing
+   * @see org.swrlapi.sqwrl.SQWRLPreparedQuery
+   */
+  @NonNull SQWRLPreparedQuery prepareSQWRLQuery(@NonNull String queryName, @NonNull String query,
+      @NonNull Set<@NonNull String> parameterNames) throws SWRLParseException, SQWRLException, SWRLBuiltInException;
+
+  /**
+   * Create a SQWRL query from a prepared query using the supplied parameter values. The query is not added to the
+   * ontology but its result can be retrieved by name using {@link #getSQWRLResult(String)} until the prepared query is
+   * next bound.
+   *
+   * @param preparedQuery   A prepared SQWRL query
+   * @param parameterValues A map of parameter names to values
+   * @return A SQWRL query
+   * @throws SQWRLException       If the parameter values are invalid
+   * @throws SWRLBuiltInException If a built-in error occurs during processing
+   */
+  @NonNull SQWRLQuery createSQWRLQuery(@NonNull SQWRLPreparedQuery preparedQuery,
+      @NonNull Map<@NonNull String, @NonNull OWLLiteral> parameterValues) throws SQWRLException, SWRLBuiltInException;
+
+  /**
+   * Discard the query most recently created from the named prepared query, together with its result. Queries created
+   * from prepared queries are otherwise kept, including across ontology reprocessing, so that their results remain
+   * available by name.
+   *
+   * @param queryName The name of a prepared query
+   */
+  void deleteSQWRLPreparedQuery(@NonNull String queryName);
+
   @NonNull SQWRLResult getSQWRLResult(@NonNull String queryName) throws SQWRLException;
 
   @NonNull Set<@NonNull String> getSQWRLQueryNames();
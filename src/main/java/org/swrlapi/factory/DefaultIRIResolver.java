@@ -18,6 +18,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DefaultIRIResolver implements IRIResolver
 {
@@ -31,6 +32,11 @@ public class DefaultIRIResolver implements IRIResolver
   @NonNull private final Map<@NonNull IRI, @NonNull String> autogenIRI2PrefixedName = new HashMap<>();
   @NonNull private final Map<@NonNull String, @NonNull IRI> autogenPrefixedName2IRI = new HashMap<>();
 
+  // Prefixed names and short forms are memoized because they are requested repeatedly for the same IRIs (e.g., when
+  // rendering SQWRL results). Both caches are cleared whenever the prefixes change.
+  @NonNull private final Map<@NonNull IRI, @NonNull String> iri2PrefixedNameCache = new ConcurrentHashMap<>();
+  @NonNull private final Map<@NonNull IRI, @NonNull String> iri2ShortFormCache = new ConcurrentHashMap<>();
+
   @Nullable private String defaultPrefix;
 
   private int autogenPrefixNumber = 0;
@@ -56,6 +62,7 @@ public class DefaultIRIResolver implements IRIResolver
     this.autogeneratedPrefix2Namespace.clear();
     this.autogenPrefixedName2IRI.clear();
     this.autogenIRI2PrefixedName.clear();
+    clearCaches();
 
     this.autogenPrefixedNameNumber = 0;
     this.autogenPrefixNumber = 0;
@@ -104,23 +111,13 @@ public class DefaultIRIResolver implements IRIResolver
 
   @Override public Optional<@NonNull String> iri2PrefixedName(@NonNull IRI iri)
   {
-    String existingPrefixedName = this.prefixManager.getPrefixIRI(iri);
-    if (existingPrefixedName != null)
-      return Optional.of(existingPrefixedName);
-    else {
-      String namespace = iri.getNamespace();
-      com.google.common.base.Optional<@NonNull String> remainder = iri.getRemainder();
-      if (remainder.isPresent()) {
-        if (namespace.isEmpty()) {
-          String prefixedName = remainder.get();
-          return Optional.of(prefixedName);
-        } else { // OWLAPI prefix manager does not have a prefixed form. We auto-generate a prefix for each namespace.
-          return Optional.of(autoGeneratePrefixedName(iri, namespace, remainder.get()));
-        }
-      } else { // No remainder - auto-generate a prefixed form
-        return Optional.of(autoGeneratePrefixedName(iri));
-      }
+    String prefixedName = this.iri2PrefixedNameCache.get(iri);
+
+    if (prefixedName == null) {
+      prefixedName = resolvePrefixedName(iri);
+      this.iri2PrefixedNameCache.put(iri, prefixedName);
     }
+    return Optional.of(prefixedName);
   }
 
   @Override @NonNull public Optional<@NonNull String> iri2VariableName(@NonNull IRI iri)
@@ -140,17 +137,22 @@ public class DefaultIRIResolver implements IRIResolver
 
   @Override @NonNull public Optional<@NonNull String> iri2ShortForm(@NonNull IRI iri)
   {
-    String shortForm = this.prefixManager.getShortForm(iri);
+    String shortForm = this.iri2ShortFormCache.get(iri);
 
-    if (shortForm == null || shortForm.isEmpty() || shortForm.startsWith("<"))
-      return iri2PrefixedName(iri);
-    else
-      return Optional.of(shortForm);
+    if (shortForm == null) {
+      shortForm = this.prefixManager.getShortForm(iri);
+
+      if (shortForm == null || shortForm.isEmpty() || shortForm.startsWith("<"))
+        shortForm = iri2PrefixedName(iri).get();
+      this.iri2ShortFormCache.put(iri, shortForm);
+    }
+    return Optional.of(shortForm);
   }
 
   @Override public void setPrefix(@NonNull String prefix, @NonNull String namespace)
   {
     this.prefixManager.setPrefix(prefix, namespace);
+    clearCaches();
   }
 
   @Override public void updatePrefixes(@NonNull OWLOntology ontology)
@@ -170,6 +172,7 @@ public class DefaultIRIResolver implements IRIResolver
         this.prefixManager.setPrefix(prefix, map.get(prefix));
     }
     addSWRLAPIPrefixes();
+    clearCaches();
   }
 
   @Override public IRI generateIRI()
@@ -207,6 +210,30 @@ public class DefaultIRIResolver implements IRIResolver
       return prefixedName;
   }
 
+  @NonNull private String resolvePrefixedName(@NonNull IRI iri)
+  {
+    String existingPrefixedName = this.prefixManager.getPrefixIRI(iri);
+    if (existingPrefixedName != null)
+      return existingPrefixedName;
+    else {
+      String namespace = iri.getNamespace();
+      com.google.common.base.Optional<@NonNull String> remainder = iri.getRemainder();
+      if (remainder.isPresent()) {
+        if (namespace.isEmpty())
+          return remainder.get();
+        else // OWLAPI prefix manager does not have a prefixed form. We auto-generate a prefix for each namespace.
+          return autoGeneratePrefixedName(iri, namespace, remainder.get());
+      } else // No remainder - auto-generate a prefixed form
+        return autoGeneratePrefixedName(iri);
+    }
+  }
+
+  private void clearCaches()
+  {
+    this.iri2PrefixedNameCache.clear();
+    this.iri2ShortFormCache.clear();
+  }
+
   @NonNull private String autoGeneratePrefix(@NonNull String namespace)
   {
     if (this.autogenNamespace2Prefix.containsKey(namespace))
@@ -2,15 +2,15 @@ package org.swrlapi.factory;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.IRI;
+import org.swrlapi.core.IRIResolver;
 import org.swrlapi.sqwrl.values.SQWRLAnnotationPropertyResultValue;
 
 class DefaultSQWRLAnnotationPropertyResultValue extends DefaultSQWRLPropertyResultValue
   implements SQWRLAnnotationPropertyResultValue
 {
-  public DefaultSQWRLAnnotationPropertyResultValue(@NonNull IRI propertyIRI, @NonNull String prefixedName,
-    @NonNull String shortForm)
+  public DefaultSQWRLAnnotationPropertyResultValue(@NonNull IRI propertyIRI, @NonNull IRIResolver iriResolver)
   {
-    super(propertyIRI, prefixedName, shortForm);
+    super(propertyIRI, iriResolver);
   }
 
   @Override public boolean isAnnotationProperty()
@@ -2,13 +2,14 @@ package org.swrlapi.factory;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.IRI;
+import org.swrlapi.core.IRIResolver;
 import org.swrlapi.sqwrl.values.SQWRLClassResultValue;
 
 class DefaultSQWRLClassResultValue extends DefaultSQWRLEntityResultValue implements SQWRLClassResultValue
 {
-  public DefaultSQWRLClassResultValue(@NonNull IRI classIRI, @NonNull String prefixedName, @NonNull String shortForm)
+  public DefaultSQWRLClassResultValue(@NonNull IRI classIRI, @NonNull IRIResolver iriResolver)
   {
-    super(classIRI, prefixedName, shortForm);
+    super(classIRI, iriResolver);
   }
 
   @Override public boolean isClass()
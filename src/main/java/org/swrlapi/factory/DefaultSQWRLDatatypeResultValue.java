@@ -2,15 +2,15 @@ package org.swrlapi.factory;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.IRI;
+import org.swrlapi.core.IRIResolver;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
 import org.swrlapi.sqwrl.values.SQWRLDatatypeResultValue;
 
 class DefaultSQWRLDatatypeResultValue extends DefaultSQWRLEntityResultValue implements SQWRLDatatypeResultValue
 {
-  public DefaultSQWRLDatatypeResultValue(@NonNull IRI datatypeIRI, @NonNull String prefixedName,
-    @NonNull String shortForm)
+  public DefaultSQWRLDatatypeResultValue(@NonNull IRI datatypeIRI, @NonNull IRIResolver iriResolver)
   {
-    super(datatypeIRI, prefixedName, shortForm);
+    super(datatypeIRI, iriResolver);
   }
 
   @Override public boolean isDatatype()
@@ -5,20 +5,37 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.dataflow.qual.Deterministic;
 import org.checkerframework.dataflow.qual.SideEffectFree;
 import org.semanticweb.owlapi.model.IRI;
+import org.swrlapi.core.IRIResolver;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
 import org.swrlapi.sqwrl.values.SQWRLEntityResultValue;
 
+import java.util.Optional;
+
+/**
+ * The prefixed name and short form of an entity result value are resolved when the value is created, so they do not
+ * change if the prefixes of the IRI resolver change later and reading them does not use the resolver. The resolver
+ * memoizes both names, so values for the same entity are cheap to create.
+ */
 abstract class DefaultSQWRLEntityResultValue extends DefaultSQWRLResultValue implements SQWRLEntityResultValue
 {
   @NonNull private final IRI iri;
   @NonNull private final String prefixedName;
   @NonNull private final String shortForm;
 
-  DefaultSQWRLEntityResultValue(@NonNull IRI iri, @NonNull String prefixedName, @NonNull String shortForm)
+  DefaultSQWRLEntityResultValue(@NonNull IRI iri, @NonNull IRIResolver iriResolver)
   {
+    Optional<@NonNull String> prefixedName = iriResolver.iri2PrefixedName(iri);
+    Optional<@NonNull String> shortForm = iriResolver.iri2ShortForm(iri);
+
+    if (!prefixedName.isPresent())
+      throw new IllegalArgumentException("could not get prefixed name for IRI " + iri);
+
+    if (!shortForm.isPresent())
+      throw new IllegalArgumentException("could not get short form for IRI " + iri);
+
     this.iri = iri;
-    this.prefixedName = prefixedName;
-    this.shortForm = shortForm;
+    this.prefixedName = prefixedName.get();
+    this.shortForm = shortForm.get();
   }
 
   @NonNull @Override public IRI getIRI()
@@ -2,15 +2,15 @@ package org.swrlapi.factory;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.IRI;
+import org.swrlapi.core.IRIResolver;
 import org.swrlapi.sqwrl.values.SQWRLNamedIndividualResultValue;
 
 class DefaultSQWRLNamedIndividualResultValue extends DefaultSQWRLEntityResultValue
   implements SQWRLNamedIndividualResultValue
 {
-  public DefaultSQWRLNamedIndividualResultValue(@NonNull IRI individualIRI, @NonNull String prefixedName,
-    @NonNull String shortForm)
+  public DefaultSQWRLNamedIndividualResultValue(@NonNull IRI individualIRI, @NonNull IRIResolver iriResolver)
   {
-    super(individualIRI, prefixedName, shortForm);
+    super(individualIRI, iriResolver);
   }
 
   @Override public boolean isIndividual()
@@ -2,15 +2,15 @@ package org.swrlapi.factory;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.IRI;
+import org.swrlapi.core.IRIResolver;
 import org.swrlapi.sqwrl.values.SQWRLObjectPropertyResultValue;
 
 class DefaultSQWRLObjectPropertyResultValue extends DefaultSQWRLPropertyResultValue
   implements SQWRLObjectPropertyResultValue
 {
-  public DefaultSQWRLObjectPropertyResultValue(@NonNull IRI propertyIRI, @NonNull String prefixedName,
-    @NonNull String shortForm)
+  public DefaultSQWRLObjectPropertyResultValue(@NonNull IRI propertyIRI, @NonNull IRIResolver iriResolver)
   {
-    super(propertyIRI, prefixedName, shortForm);
+    super(propertyIRI, iriResolver);
   }
 
   @Override public boolean isObjectProperty()
@@ -0,0 +1,171 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.SWRLArgument;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLBuiltInAtom;
+import org.semanticweb.owlapi.model.SWRLDArgument;
+import org.semanticweb.owlapi.model.SWRLDataPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLDataRangeAtom;
+import org.semanticweb.owlapi.model.SWRLRule;
+import org.semanticweb.owlapi.model.SWRLVariable;
+import org.swrlapi.core.IRIResolver;
+import org.swrlapi.sqwrl.SQWRLPreparedQuery;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class DefaultSQWRLPreparedQuery implements SQWRLPreparedQuery
+{
+  @NonNull private final String queryName;
+  @NonNull private final SWRLRule rule;
+  @NonNull private final Map<@NonNull String, @NonNull SWRLVariable> parameters; // Parameter name -> variable
+  @NonNull private final OWLDataFactory dataFactory;
+
+  public DefaultSQWRLPreparedQuery(@NonNull String queryName, @NonNull SWRLRule rule,
+    @NonNull Set<@NonNull String> parameterNames, @NonNull OWLDataFactory dataFactory,
+    @NonNull IRIResolver iriResolver) throws SQWRLException
+  {
+    this.queryName = queryName;
+    this.rule = rule;
+    this.parameters = new HashMap<>();
+    this.dataFactory = dataFactory;
+
+    processParameters(parameterNames, iriResolver);
+  }
+
+  @NonNull @Override public String getQueryName()
+  {
+    return this.queryName;
+  }
+
+  @NonNull @Override public Set<@NonNull String> getParameterNames()
+  {
+    return Collections.unmodifiableSet(this.parameters.keySet());
+  }
+
+  @NonNull @Override public SWRLRule bindParameters(@NonNull Map<@NonNull String, @NonNull OWLLiteral> parameterValues)
+    throws SQWRLException
+  {
+    Map<@NonNull SWRLVariable, @NonNull OWLLiteral> bindings = new HashMap<>();
+
+    for (String parameterName : parameterValues.keySet()) {
+      if (!this.parameters.containsKey(parameterName))
+        throw new SQWRLException("unknown parameter " + parameterName + " in query " + this.queryName);
+    }
+
+    for (Map.Entry<@NonNull String, @NonNull SWRLVariable> parameter : this.parameters.entrySet()) {
+      if (!parameterValues.containsKey(parameter.getKey()))
+        throw new SQWRLException("no value supplied for parameter " + parameter.getKey() + " in query " + this.queryName);
+
+      bindings.put(parameter.getValue(), parameterValues.get(parameter.getKey()));
+    }
+
+    if (bindings.isEmpty())
+      return this.rule;
+    else {
+      Set<@NonNull SWRLAtom> bodyAtoms = this.rule.getBody().stream().map(atom -> bindParameters(atom, bindings))
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+      Set<@NonNull SWRLAtom> headAtoms = this.rule.getHead().stream().map(atom -> bindParameters(atom, bindings))
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+
+      return this.dataFactory.getSWRLRule(bodyAtoms, headAtoms, this.rule.getAnnotations());
+    }
+  }
+
+  @NonNull private SWRLAtom bindParameters(@NonNull SWRLAtom atom,
+    @NonNull Map<@NonNull SWRLVariable, @NonNull OWLLiteral> bindings)
+  {
+    if (atom instanceof SWRLBuiltInAtom) {
+      SWRLBuiltInAtom builtInAtom = (SWRLBuiltInAtom)atom;
+      List<@NonNull SWRLDArgument> arguments = builtInAtom.getArguments().stream()
+        .map(argument -> bindParameter(argument, bindings)).collect(Collectors.toList());
+
+      return this.dataFactory.getSWRLBuiltInAtom(builtInAtom.getPredicate(), arguments);
+    } else if (atom instanceof SWRLDataPropertyAtom) {
+      SWRLDataPropertyAtom dataPropertyAtom = (SWRLDataPropertyAtom)atom;
+
+      return this.dataFactory.getSWRLDataPropertyAtom(dataPropertyAtom.getPredicate(),
+        dataPropertyAtom.getFirstArgument(), bindParameter(dataPropertyAtom.getSecondArgument(), bindings));
+    } else if (atom instanceof SWRLDataRangeAtom) {
+      SWRLDataRangeAtom dataRangeAtom = (SWRLDataRangeAtom)atom;
+
+      return this.dataFactory
+        .getSWRLDataRangeAtom(dataRangeAtom.getPredicate(), bindParameter(dataRangeAtom.getArgument(), bindings));
+    } else
+      return atom; // Parameters cannot appear in other atoms
+  }
+
+  @NonNull private SWRLDArgument bindParameter(@NonNull SWRLDArgument argument,
+    @NonNull Map<@NonNull SWRLVariable, @NonNull OWLLiteral> bindings)
+  {
+    if (argument instanceof SWRLVariable && bindings.containsKey(argument))
+      return this.dataFactory.getSWRLLiteralArgument(bindings.get(argument));
+    else
+      return argument;
+  }
+
+  /**
+   * Resolve each parameter name to its variable in the query and check that the variable appears only in positions
+   * that can hold a literal.
+   */
+  private void processParameters(@NonNull Set<@NonNull String> parameterNames, @NonNull IRIResolver iriResolver)
+    throws SQWRLException
+  {
+    Set<@NonNull SWRLVariable> individualPositionVariables = new HashSet<>();
+    Map<@NonNull String, @NonNull SWRLVariable> variables = new HashMap<>();
+
+    for (SWRLAtom atom : getAtoms()) {
+      for (SWRLArgument argument : atom.getAllArguments()) {
+        if (argument instanceof SWRLVariable) {
+          SWRLVariable variable = (SWRLVariable)argument;
+          Optional<@NonNull String> variableName = iriResolver.iri2VariableName(variable.getIRI());
+
+          if (variableName.isPresent())
+            variables.put(variableName.get(), variable);
+        }
+      }
+
+      if (atom instanceof SWRLDataPropertyAtom)
+        addVariable(((SWRLDataPropertyAtom)atom).getFirstArgument(), individualPositionVariables);
+      else if (!(atom instanceof SWRLBuiltInAtom) && !(atom instanceof SWRLDataRangeAtom))
+        atom.getAllArguments().forEach(argument -> addVariable(argument, individualPositionVariables));
+    }
+
+    for (String parameterName : parameterNames) {
+      SWRLVariable variable = variables.get(parameterName);
+
+      if (variable == null)
+        throw new SQWRLException("parameter " + parameterName + " is not a variable in query " + this.queryName);
+
+      if (individualPositionVariables.contains(variable))
+        throw new SQWRLException(
+          "parameter " + parameterName + " in query " + this.queryName + " is used where a literal is not allowed");
+
+      this.parameters.put(parameterName, variable);
+    }
+  }
+
+  @NonNull private Set<@NonNull SWRLAtom> getAtoms()
+  {
+    return Stream.concat(this.rule.getBody().stream(), this.rule.getHead().stream())
+      .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  private static void addVariable(@NonNull SWRLArgument argument, @NonNull Set<@NonNull SWRLVariable> variables)
+  {
+    if (argument instanceof SWRLVariable)
+      variables.add((SWRLVariable)argument);
+  }
+}
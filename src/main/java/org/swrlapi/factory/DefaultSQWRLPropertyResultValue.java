@@ -2,12 +2,13 @@ package org.swrlapi.factory;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.IRI;
+import org.swrlapi.core.IRIResolver;
 import org.swrlapi.sqwrl.values.SQWRLPropertyResultValue;
 
 abstract class DefaultSQWRLPropertyResultValue extends DefaultSQWRLEntityResultValue implements SQWRLPropertyResultValue
 {
-  DefaultSQWRLPropertyResultValue(@NonNull IRI propertyIRI, @NonNull String prefixedName, @NonNull String shortForm)
+  DefaultSQWRLPropertyResultValue(@NonNull IRI propertyIRI, @NonNull IRIResolver iriResolver)
   {
-    super(propertyIRI, prefixedName, shortForm);
+    super(propertyIRI, iriResolver);
   }
 }
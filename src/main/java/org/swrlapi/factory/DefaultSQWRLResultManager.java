@@ -1,13 +1,15 @@
 package org.swrlapi.factory;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.dataflow.qual.SideEffectFree;
 import org.swrlapi.core.IRIResolver;
 import org.swrlapi.exceptions.SWRLAPIInternalException;
+import org.swrlapi.literal.OWLLiteralComparator;
 import org.swrlapi.sqwrl.SQWRLResultManager;
 import org.swrlapi.sqwrl.SQWRLResultNames;
+import org.swrlapi.sqwrl.SQWRLResultRowListener;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
-import org.swrlapi.sqwrl.exceptions.SQWRLInvalidAggregateFunctionNameException;
 import org.swrlapi.sqwrl.exceptions.SQWRLInvalidColumnIndexException;
 import org.swrlapi.sqwrl.exceptions.SQWRLInvalidColumnNameException;
 import org.swrlapi.sqwrl.exceptions.SQWRLInvalidColumnTypeException;
@@ -27,14 +29,13 @@ import org.swrlapi.sqwrl.values.SQWRLResultValue;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Set;
 
 class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
@@ -54,11 +55,27 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
   private boolean nthLastSliceSelection = false, notNthLastSliceSelection = false;
 
   // The following variables will not be externally meaningful until prepared() is called.
+  @NonNull private SQWRLResultColumnStore columnStore; // Holds the values of all rows; rows are views on the store
   @NonNull private List<@NonNull List<@NonNull SQWRLResultValue>> rows; // List of List of SQWRLResultValue objects.
   @NonNull private List<@NonNull SQWRLResultValue> rowData; // List of SQWRLResultValue objects used when assembling a row.
   @NonNull private Map<@NonNull String, @NonNull List<@NonNull SQWRLResultValue>> columnValuesMap; // Column name -> List<@NonNull SQWRLResultValue>
   private int currentRowIndex;
 
+  // Rows of a result with aggregates are folded into groups of rows with equal values for non aggregated columns as
+  // they are added. The result holds the first row of each group and an accumulator for each of its aggregate columns.
+  @NonNull private int[] aggregateColumnIndexArray;
+  @NonNull private String[] aggregateFunctionNames;
+  @Nullable private SQWRLResultRowComparator groupRowComparator;
+  @NonNull private Map<@NonNull SQWRLResultRowKey, @NonNull Integer> groupRowIndexes; // Group -> index of row in result
+  @NonNull private List<@NonNull SQWRLAggregateAccumulator[]> groupAccumulators; // Indexed by row in result
+
+  // Rows of a streamable result are handed to a row listener, if any, as they are added instead of being stored.
+  // Rows of an unordered result without aggregates that are past its row limit are never selected so are dropped.
+  @Nullable private transient SQWRLResultRowListener rowListener;
+  @Nullable private SQWRLResultRowComparator addedRowComparator; // Compares all columns of rows of a distinct result
+  @NonNull private Set<@NonNull SQWRLResultRowKey> addedRowKeys; // Keys of rows added to a distinct result
+  private int numberOfAddedRows;
+
   public DefaultSQWRLResultManager(@NonNull IRIResolver iriResolver)
   {
     this.sqwrlResultValueFactory = SWRLAPIInternalFactory.createSQWRLResultValueFactory(iriResolver);
@@ -77,10 +94,22 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     this.isOrdered = this.isAscending = this.isDistinct = false;
 
     // The following variables will not be externally meaningful until prepared() is called.
+    this.columnStore = new SQWRLResultColumnStore(0);
     this.rows = new ArrayList<>();
     this.rowData = new ArrayList<>();
     this.columnValuesMap = new HashMap<>();
     this.currentRowIndex = -1; // If there are no rows in the final result, it will remain at -1.
+
+    this.aggregateColumnIndexArray = new int[0];
+    this.aggregateFunctionNames = new String[0];
+    this.groupRowComparator = null;
+    this.groupRowIndexes = new HashMap<>();
+    this.groupAccumulators = new ArrayList<>();
+
+    this.rowListener = null;
+    this.addedRowComparator = null;
+    this.addedRowKeys = new HashSet<>();
+    this.numberOfAddedRows = 0;
   }
 
   // Configuration phase methods
@@ -181,6 +210,22 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
 
     this.hasAggregates = !this.aggregateColumnIndexes.isEmpty();
 
+    if (this.hasAggregates) {
+      int numberOfAggregateColumns = this.aggregateColumnIndexes.size();
+      int aggregateIndex = 0;
+
+      this.aggregateColumnIndexArray = new int[numberOfAggregateColumns];
+      this.aggregateFunctionNames = new String[numberOfAggregateColumns];
+      for (Map.Entry<@NonNull Integer, @NonNull String> entry : this.aggregateColumnIndexes.entrySet()) {
+        this.aggregateColumnIndexArray[aggregateIndex] = entry.getKey();
+        this.aggregateFunctionNames[aggregateIndex] = entry.getValue();
+        aggregateIndex++;
+      }
+      this.groupRowComparator = new SQWRLResultRowComparator(this.allColumnNames, this.selectedColumnIndexes, true);
+    }
+
+    this.columnStore = new SQWRLResultColumnStore(this.numberOfColumns);
+
     this.isConfigured = true;
   }
 
@@ -251,7 +296,7 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     throwExceptionIfRowOpen();
 
     this.currentRowDataColumnIndex = 0;
-    this.rowData = new ArrayList<>();
+    this.rowData.clear(); // The row buffer is reused; closeRow() copies its values into the column store
     this.isRowOpen = true;
   }
 
@@ -283,8 +328,16 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     throwExceptionIfNotConfigured();
     throwExceptionIfAlreadyPrepared();
 
-    if (this.isRowOpen)
-      this.rows.add(this.rowData);
+    if (this.isRowOpen) {
+      if (this.rowData.size() != getNumberOfColumns())
+        throw new SQWRLResultStateException(
+          "attempt to close a row with " + this.rowData.size() + " of " + getNumberOfColumns() + " values");
+
+      if (this.hasAggregates)
+        addRowToGroup(this.rowData);
+      else
+        addRow(this.rowData);
+    }
 
     this.isRowOpen = false;
   }
@@ -306,16 +359,195 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
       this.currentRowIndex = -1;
 
     if (this.hasAggregates)
-      this.rows = aggregate(this.rows); // Aggregation implies killing duplicate rows
-    else if (this.isDistinct)
-      this.rows = distinct(this.rows);
-
-    if (this.isOrdered && this.rows.size() > 0)
-      this.rows = orderBy(this.rows, this.isAscending);
+      aggregate();
 
+    this.rows = prepareRows(this.rows);
     this.rows = processSelectionOperators(this.rows);
 
-    prepareColumnVectors();
+    this.columnValuesMap = new HashMap<>(); // Column vectors are created on demand by getColumn()
+  }
+
+  @Override public void clearRows() throws SQWRLException
+  {
+    throwExceptionIfNotConfigured();
+
+    this.isPrepared = false;
+    this.isRowOpen = false;
+    this.currentRowDataColumnIndex = 0;
+    this.currentRowIndex = -1;
+
+    this.columnStore = new SQWRLResultColumnStore(this.numberOfColumns);
+    this.rows = new ArrayList<>();
+    this.rowData = new ArrayList<>();
+    this.columnValuesMap = new HashMap<>();
+    this.groupRowIndexes = new HashMap<>();
+    this.groupAccumulators = new ArrayList<>();
+    this.addedRowKeys = new HashSet<>();
+    this.numberOfAddedRows = 0;
+  }
+
+  @Override public boolean isStreamable() throws SQWRLException
+  {
+    throwExceptionIfNotConfigured();
+
+    return !this.hasAggregates && !this.isOrdered && (hasLimit() || !hasSelectionOperators());
+  }
+
+  @Override public void setRowListener(@Nullable SQWRLResultRowListener listener) throws SQWRLException
+  {
+    throwExceptionIfNotConfigured();
+
+    if (listener != null && !isStreamable())
+      throw new SQWRLResultStateException(
+        "only unordered results without aggregates or selection operators other than limit can be streamed");
+
+    this.rowListener = listener;
+    this.addedRowKeys = new HashSet<>();
+    this.numberOfAddedRows = 0;
+  }
+
+  @Override public boolean isRowLimitReached() throws SQWRLException
+  {
+    throwExceptionIfNotConfigured();
+
+    int rowLimit = getRowLimit();
+
+    return rowLimit != -1 && this.numberOfAddedRows >= rowLimit;
+  }
+
+  /**
+   * Add a completed row of a result without aggregates. Rows past the row limit of the result are dropped and, if the
+   * result is distinct and is streamed or has a row limit, so are duplicate rows, so that the row limit counts distinct
+   * rows.
+   */
+  private void addRow(@NonNull List<@NonNull SQWRLResultValue> rowData) throws SQWRLException
+  {
+    SQWRLResultRowListener listener = this.rowListener;
+    int rowLimit = getRowLimit();
+
+    if (rowLimit != -1 && this.numberOfAddedRows >= rowLimit)
+      return;
+
+    if (this.isDistinct && (listener != null || rowLimit != -1)) {
+      SQWRLResultRowComparator rowComparator = this.addedRowComparator;
+      if (rowComparator == null) {
+        rowComparator = createDistinctRowComparator();
+        this.addedRowComparator = rowComparator;
+      }
+      List<@NonNull SQWRLResultValue> row = new ArrayList<>(rowData); // The row data list is reused
+      try {
+        if (!this.addedRowKeys.add(new SQWRLResultRowKey(row, rowComparator)))
+          return;
+      } catch (RuntimeException e) {
+        throw new SQWRLException("Internal error comparing rows", e);
+      }
+    }
+
+    this.numberOfAddedRows++;
+
+    if (listener != null)
+      listener.rowAdded(new ArrayList<>(rowData)); // The row data list is reused
+    else
+      storeRow(rowData);
+  }
+
+  /**
+   * Rows are added to an unordered result without aggregates in the order in which the selection operators examine
+   * them, so the result is fully determined once the leading rows that they examine have been added.
+   *
+   * @return The number of distinct rows after which no more rows need to be added, or -1 if there is no such limit
+   */
+  private int getRowLimit()
+  {
+    if (this.isOrdered || this.hasAggregates)
+      return -1;
+    else
+      return getNumberOfLeadingRowsSelected();
+  }
+
+  /**
+   * Store a completed row of a result without aggregates. The row data list is reused for the next row so it must be
+   * copied if it is retained.
+   *
+   * @param rowData The values of the row
+   * @throws SQWRLException If an error occurs storing the row
+   */
+  protected void storeRow(@NonNull List<@NonNull SQWRLResultValue> rowData) throws SQWRLException
+  {
+    this.rows.add(this.columnStore.addRow(rowData));
+  }
+
+  protected int getNumberOfStoredRows()
+  {
+    return this.rows.size();
+  }
+
+  /**
+   * Remove the rows stored so far, e.g., to move them out of memory.
+   *
+   * @return The removed rows in the order in which they were stored
+   */
+  @NonNull protected List<@NonNull List<@NonNull SQWRLResultValue>> removeStoredRows()
+  {
+    List<@NonNull List<@NonNull SQWRLResultValue>> storedRows = this.rows;
+
+    this.rows = new ArrayList<>();
+    this.columnStore = new SQWRLResultColumnStore(this.numberOfColumns);
+
+    return storedRows;
+  }
+
+  /**
+   * Remove duplicate rows from, and order, the rows of a result before selection operators are applied. Called by
+   * {@link #prepared()} after any aggregation.
+   *
+   * @param rows The rows of the result
+   * @return The distinct, ordered rows
+   * @throws SQWRLException If an error occurs processing the rows
+   */
+  @NonNull protected List<@NonNull List<@NonNull SQWRLResultValue>> prepareRows(
+    @NonNull List<@NonNull List<@NonNull SQWRLResultValue>> rows) throws SQWRLException
+  {
+    List<@NonNull List<@NonNull SQWRLResultValue>> preparedRows = rows;
+
+    if (this.isDistinct && !this.hasAggregates) // Aggregation implies killing duplicate rows
+      preparedRows = distinct(preparedRows);
+
+    if (this.isOrdered && preparedRows.size() > 0) {
+      int numberOfSelectedRows = getNumberOfLeadingRowsSelected();
+
+      if (numberOfSelectedRows != -1 && numberOfSelectedRows < preparedRows.size())
+        preparedRows = orderByFirstN(preparedRows, this.isAscending, numberOfSelectedRows);
+      else
+        preparedRows = orderBy(preparedRows, this.isAscending);
+    }
+    return preparedRows;
+  }
+
+  protected boolean isDistinct()
+  {
+    return this.isDistinct;
+  }
+
+  protected boolean hasAggregates()
+  {
+    return this.hasAggregates;
+  }
+
+  /**
+   * @return A comparator that orders rows as specified by the order by clause of the query
+   */
+  @NonNull protected Comparator<@NonNull List<@NonNull SQWRLResultValue>> createOrderByRowComparator()
+  {
+    return new SQWRLResultRowComparator(this.allColumnNames, this.orderByColumnIndexes, this.isAscending);
+  }
+
+  /**
+   * @return A comparator that compares all columns of rows; rows are duplicates if it finds no difference
+   */
+  @NonNull SQWRLResultRowComparator createDistinctRowComparator()
+  {
+    return new SQWRLResultRowComparator(this.allColumnNames, true);
   }
 
   // Methods used to retrieve data after result has been prepared
@@ -507,7 +739,18 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
 
     checkColumnName(columnName);
 
-    return this.columnValuesMap.get(columnName);
+    List<@NonNull SQWRLResultValue> columnValues = this.columnValuesMap.get(columnName);
+
+    if (columnValues == null) { // Column vectors are created on demand
+      int columnIndex = getColumnIndex(columnName);
+      columnValues = new ArrayList<>(getNumberOfRows());
+
+      for (List<@NonNull SQWRLResultValue> row : this.rows)
+        columnValues.add(row.get(columnIndex));
+
+      this.columnValuesMap.put(columnName, columnValues);
+    }
+    return columnValues;
   }
 
   @Override public List<@NonNull SQWRLResultValue> getColumn(int columnIndex) throws SQWRLException
@@ -810,6 +1053,37 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
       return sourceRows;
   }
 
+  /**
+   * @return The number of leading rows that the selection operators examine, or -1 if they may examine any row
+   */
+  private int getNumberOfLeadingRowsSelected()
+  {
+    if (hasLimit())
+      return this.limit < 0 ? -1 : this.limit;
+    else if (hasNotNth() || hasNotFirstSelection() || hasLastSelection() || hasNotLastSelection()
+      || hasNotNthSliceSelection() || hasNthLastSliceSelection() || hasNotNthLastSliceSelection())
+      return -1;
+    else if (hasNth() || hasFirstSelection() || hasNthSliceSelection()) {
+      int numberOfRows = 0;
+
+      if (hasNth())
+        numberOfRows = Math.max(numberOfRows, Math.max(this.nth, 1));
+      if (hasFirstSelection())
+        numberOfRows = Math.max(numberOfRows, Math.max(this.firstN, 1));
+      if (hasNthSliceSelection())
+        numberOfRows = Math.max(numberOfRows, Math.max(this.firstN, 1) + Math.max(this.sliceSize, 0) - 1);
+      return numberOfRows;
+    } else
+      return -1;
+  }
+
+  private boolean hasSelectionOperators()
+  {
+    return hasLimit() || hasNth() || hasNotNth() || hasFirstSelection() || hasLastSelection() || hasNotFirstSelection()
+      || hasNotLastSelection() || hasNthSliceSelection() || hasNotNthSliceSelection() || hasNthLastSliceSelection()
+      || hasNotNthLastSliceSelection();
+  }
+
   private boolean hasLimit()
   {
     return this.limit != -1;
@@ -865,25 +1139,6 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     return this.notNthLastSliceSelection;
   }
 
-  private void prepareColumnVectors() throws SQWRLException
-  {
-    this.columnValuesMap = new HashMap<>();
-
-    if (getNumberOfColumns() > 0) {
-      List<@NonNull List<@NonNull SQWRLResultValue>> columns = new ArrayList<>(getNumberOfColumns());
-
-      for (int c = 0; c < getNumberOfColumns(); c++)
-        columns.add(new ArrayList<>(getNumberOfRows()));
-
-      for (int r = 0; r < getNumberOfRows(); r++)
-        for (int c = 0; c < getNumberOfColumns(); c++)
-          columns.get(c).add(this.rows.get(r).get(c));
-
-      for (int c = 0; c < getNumberOfColumns(); c++)
-        this.columnValuesMap.put(getColumnName(c), columns.get(c));
-    }
-  }
-
   @NonNull @SideEffectFree @Override public String toString()
   {
     String result =
@@ -987,19 +1242,17 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     return ((value instanceof SQWRLLiteralResultValue) && (((SQWRLLiteralResultValue)value).isNumeric()));
   }
 
-  // TODO Fix - very inefficient
   @NonNull private List<@NonNull List<@NonNull SQWRLResultValue>> distinct(
     @NonNull List<@NonNull List<@NonNull SQWRLResultValue>> sourceRows) throws SQWRLException
   {
-    List<@NonNull List<@NonNull SQWRLResultValue>> localRows = new ArrayList<>(sourceRows);
     List<@NonNull List<@NonNull SQWRLResultValue>> processedRows = new ArrayList<>();
     SQWRLResultRowComparator rowComparator = new SQWRLResultRowComparator(this.allColumnNames, true); // Look at the
     // entire row.
+    Set<@NonNull SQWRLResultRowKey> processedRowKeys = new HashSet<>();
 
     try {
-      Collections.sort(localRows, rowComparator); // Binary search is expecting a sorted list
-      for (List<@NonNull SQWRLResultValue> row : localRows) {
-        if (Collections.binarySearch(processedRows, row, rowComparator) < 0)
+      for (List<@NonNull SQWRLResultValue> row : sourceRows) {
+        if (processedRowKeys.add(new SQWRLResultRowKey(row, rowComparator)))
           processedRows.add(row);
       }
     } catch (RuntimeException e) {
@@ -1008,85 +1261,54 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     return processedRows;
   }
 
-  @NonNull private List<@NonNull List<@NonNull SQWRLResultValue>> aggregate(
-    @NonNull List<@NonNull List<@NonNull SQWRLResultValue>> sourceRows) throws SQWRLException
+  /**
+   * Add a row to the group of rows with the same values for non aggregated columns, starting a new group if there is
+   * none. The first row of a group stands for the group in the result and is the only row of the group that is copied
+   * into the column store; its aggregate values are set in {@link #aggregate()}.
+   */
+  private void addRowToGroup(@NonNull List<@NonNull SQWRLResultValue> row) throws SQWRLException
   {
-    List<@NonNull List<@NonNull SQWRLResultValue>> result = new ArrayList<>();
-    SQWRLResultRowComparator rowComparator = new SQWRLResultRowComparator(this.allColumnNames,
-      this.selectedColumnIndexes, true);
-    // Key is index of aggregated row in result, value is hash map of aggregate column index to list of original values.
-    Map<@NonNull Integer, Map<@NonNull Integer, @NonNull List<@NonNull SQWRLResultValue>>> aggregatesMap = new HashMap<>();
-    // Map of column indexes to value lists; used to accumulate values for aggregation.
-    Map<@NonNull Integer, @NonNull List<@NonNull SQWRLResultValue>> aggregateRowMap;
-    List<@NonNull SQWRLResultValue> values;
-    SQWRLResultValue value;
-
-    for (List<@NonNull SQWRLResultValue> row : sourceRows) {
-      Optional<@NonNull Integer> foundRowIndex = findRowIndex(result, row,
-        rowComparator); // Find row with same values for non aggregated columns
-
-      if (foundRowIndex.isPresent()) { // Row with same values for non aggregated columns not yet present in result.
-        aggregateRowMap = aggregatesMap.get(foundRowIndex.get()); // Find the aggregate map
-        for (Integer aggregateColumnIndex : this.aggregateColumnIndexes.keySet()) {
-          value = row.get(aggregateColumnIndex); // Find value
-          values = aggregateRowMap.get(aggregateColumnIndex); // Find row map
-          values.add(value); // Add value
-        }
-      } else { // We found a row that has the same values for the non aggregated columns.
-        aggregateRowMap = new HashMap<>();
-        // Find value for each aggregated column in row and add each to map indexed by result row
-        for (Integer aggregateColumnIndex : this.aggregateColumnIndexes.keySet()) {
-          values = new ArrayList<>();
-          value = row.get(aggregateColumnIndex);
-          values.add(value);
-          aggregateRowMap.put(aggregateColumnIndex, values);
-        }
-        aggregatesMap.put(result.size(), aggregateRowMap); //
-        result.add(row);
-      }
+    SQWRLResultRowComparator rowComparator = this.groupRowComparator;
+    SQWRLAggregateAccumulator[] accumulators;
+
+    if (rowComparator == null)
+      throw new SWRLAPIInternalException("no row comparator for aggregation");
+
+    try {
+      SQWRLResultRowKey rowKey = new SQWRLResultRowKey(row, rowComparator);
+      Integer resultRowIndex = this.groupRowIndexes.get(rowKey);
+
+      if (resultRowIndex == null) { // Row with same values for non aggregated columns not yet present in result.
+        accumulators = new SQWRLAggregateAccumulator[this.aggregateColumnIndexArray.length];
+        List<@NonNull SQWRLResultValue> storedRow = this.columnStore.addRow(row);
+
+        for (int i = 0; i < accumulators.length; i++)
+          accumulators[i] = SQWRLAggregateAccumulator
+            .create(this.aggregateFunctionNames[i], this.aggregateColumnIndexArray[i]);
+        this.groupRowIndexes.put(new SQWRLResultRowKey(storedRow, rowComparator), this.rows.size());
+        this.groupAccumulators.add(accumulators);
+        this.rows.add(storedRow);
+      } else
+        accumulators = this.groupAccumulators.get(resultRowIndex);
+    } catch (RuntimeException e) {
+      throw new SQWRLException("Internal error comparing rows", e);
     }
 
-    int rowIndex = 0;
-    for (List<@NonNull SQWRLResultValue> row : result) {
-      aggregateRowMap = aggregatesMap.get(rowIndex);
-
-      for (Integer aggregateColumnIndex : this.aggregateColumnIndexes.keySet()) {
-        String aggregateFunctionName = this.aggregateColumnIndexes.get(aggregateColumnIndex);
-        List<@NonNull SQWRLResultValue> columnValues = aggregateRowMap.get(aggregateColumnIndex);
-
-        // We have checked in addCell that only numeric data are added for sum, max, min, and avg
-        if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.MinAggregateFunction)) {
-          List<@NonNull SQWRLLiteralResultValue> literalColumnValues = convert2LiteralResultValues(columnValues,
-            aggregateColumnIndex);
-          value = min(literalColumnValues, aggregateColumnIndex);
-        } else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.MaxAggregateFunction)) {
-          List<@NonNull SQWRLLiteralResultValue> literalColumnValues = convert2LiteralResultValues(columnValues,
-            aggregateColumnIndex);
-          value = max(literalColumnValues, aggregateColumnIndex);
-        } else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.SumAggregateFunction)) {
-          List<@NonNull SQWRLLiteralResultValue> literalColumnValues = convert2LiteralResultValues(columnValues,
-            aggregateColumnIndex);
-          value = sum(literalColumnValues, aggregateColumnIndex);
-        } else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.AvgAggregateFunction)) {
-          List<@NonNull SQWRLLiteralResultValue> literalColumnValues = convert2LiteralResultValues(columnValues,
-            aggregateColumnIndex);
-          value = avg(literalColumnValues, aggregateColumnIndex);
-        } else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.MedianAggregateFunction)) {
-          List<@NonNull SQWRLLiteralResultValue> literalColumnValues = convert2LiteralResultValues(columnValues,
-            aggregateColumnIndex);
-          value = median(literalColumnValues, aggregateColumnIndex);
-        } else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.CountAggregateFunction))
-          value = count(columnValues);
-        else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.CountDistinctAggregateFunction))
-          value = countDistinct(columnValues);
-        else
-          throw new SQWRLInvalidAggregateFunctionNameException("invalid aggregate function " + aggregateFunctionName);
+    for (int i = 0; i < accumulators.length; i++)
+      accumulators[i].add(row.get(this.aggregateColumnIndexArray[i]));
+  }
 
-        row.set(aggregateColumnIndex, value);
-      }
-      rowIndex++;
+  private void aggregate() throws SQWRLException
+  {
+    for (int rowIndex = 0; rowIndex < this.rows.size(); rowIndex++) {
+      List<@NonNull SQWRLResultValue> row = this.rows.get(rowIndex);
+      SQWRLAggregateAccumulator[] accumulators = this.groupAccumulators.get(rowIndex);
+
+      for (int i = 0; i < accumulators.length; i++)
+        row.set(this.aggregateColumnIndexArray[i], accumulators[i].getResult(getSQWRLResultValueFactory()));
     }
-    return result;
+    this.groupRowIndexes = new HashMap<>();
+    this.groupAccumulators = new ArrayList<>();
   }
 
   @NonNull private List<@NonNull List<@NonNull SQWRLResultValue>> orderBy(
@@ -1105,174 +1327,49 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     return result;
   }
 
-  @NonNull private SQWRLLiteralResultValue min(@NonNull List<@NonNull SQWRLLiteralResultValue> columnValues,
-    int columnIndex) throws SQWRLException
+  /**
+   * Equivalent to the first n rows of {@link #orderBy}. Rows are selected with a bounded heap so this costs
+   * O(rows log n) rather than a full sort. Ties are broken on original position so the order is stable.
+   */
+  @NonNull private List<@NonNull List<@NonNull SQWRLResultValue>> orderByFirstN(
+    @NonNull List<@NonNull List<@NonNull SQWRLResultValue>> sourceRows, boolean ascending, int n) throws SQWRLException
   {
-    if (columnValues.isEmpty())
-      throw new SQWRLException("empty aggregate list for " + SQWRLResultNames.MinAggregateFunction);
-
-    SQWRLLiteralResultValue result = columnValues.get(0);
-
-    int rowIndex = 0;
-    for (SQWRLLiteralResultValue value : columnValues) {
-
-      if (!isNumericValue(value))
-        throw new SQWRLException(
-          "attempt to use " + SQWRLResultNames.MinAggregateFunction + " aggregate on column with non numeric literal "
-            + value + " with type " + value.getOWLDatatype() + "in (0-based) row " + rowIndex + ", column "
-            + columnIndex);
-
-      if (result == null)
-        result = value;
-      else if (value.compareTo(result) < 0)
-        result = value;
-      rowIndex++;
-    }
-
-    return result;
-  }
-
-  @NonNull private SQWRLLiteralResultValue max(@NonNull List<@NonNull SQWRLLiteralResultValue> columnValues,
-    int columnIndex) throws SQWRLException
-  {
-    if (columnValues.isEmpty())
-      throw new SQWRLException("empty aggregate list for " + SQWRLResultNames.MaxAggregateFunction);
-
-    SQWRLLiteralResultValue result = columnValues.get(0);
-
-    int rowIndex = 0;
-    for (SQWRLLiteralResultValue value : columnValues) {
-
-      if (!isNumericValue(value))
-        throw new SQWRLException(
-          "attempt to use " + SQWRLResultNames.MaxAggregateFunction + " aggregate with non numeric literal " + value
-            + " with type " + value.getOWLDatatype() + "in (0-based) row " + rowIndex + ", column " + columnIndex);
-
-      if (result == null)
-        result = value;
-      else if (value.compareTo(result) > 0)
-        result = value;
-      rowIndex++;
+    SQWRLResultRowComparator rowComparator = new SQWRLResultRowComparator(this.allColumnNames,
+      this.orderByColumnIndexes, ascending);
+    Comparator<@NonNull Integer> rowIndexComparator = (rowIndex1, rowIndex2) -> {
+      int diff = rowComparator.compare(sourceRows.get(rowIndex1), sourceRows.get(rowIndex2));
+      return diff != 0 ? diff : Integer.compare(rowIndex1, rowIndex2);
+    };
+    List<@NonNull List<@NonNull SQWRLResultValue>> result = new ArrayList<>(n);
+
+    if (n > 0) {
+      // Head of the heap is the last of the n rows selected so far
+      PriorityQueue<@NonNull Integer> selectedRowIndexes = new PriorityQueue<>(n, rowIndexComparator.reversed());
+
+      try {
+        for (int rowIndex = 0; rowIndex < sourceRows.size(); rowIndex++) {
+          if (selectedRowIndexes.size() < n)
+            selectedRowIndexes.add(rowIndex);
+          else if (rowIndexComparator.compare(rowIndex, selectedRowIndexes.peek()) < 0) {
+            selectedRowIndexes.poll();
+            selectedRowIndexes.add(rowIndex);
+          }
+        }
+        List<@NonNull Integer> orderedRowIndexes = new ArrayList<>(selectedRowIndexes);
+        Collections.sort(orderedRowIndexes, rowIndexComparator);
+        for (Integer rowIndex : orderedRowIndexes)
+          result.add(sourceRows.get(rowIndex));
+      } catch (RuntimeException e) {
+        throw new SQWRLException("Internal error comparing rows", e);
+      }
     }
-
     return result;
   }
 
-  @NonNull private SQWRLLiteralResultValue sum(@NonNull List<@NonNull SQWRLLiteralResultValue> columnValues,
-    int columnIndex) throws SQWRLException
+  static class SQWRLResultRowComparator implements Comparator<List<@NonNull SQWRLResultValue>>, Serializable
   {
-    double sum = 0;
-
-    if (columnValues.isEmpty())
-      throw new SQWRLException("empty aggregate list for " + SQWRLResultNames.SumAggregateFunction);
-
-    int rowIndex = 0;
-    for (SQWRLLiteralResultValue value : columnValues) {
+    private static final long serialVersionUID = 1L;
 
-      if (!isNumericValue(value))
-        throw new SQWRLException(
-          "attempt to use " + SQWRLResultNames.SumAggregateFunction + " aggregate  on non numeric value: " + value
-            + " with type " + value.getOWLDatatype() + " in (0-based) row " + rowIndex + ", column " + columnIndex);
-
-      double d = value.getDouble();
-
-      sum = sum + d;
-      rowIndex++;
-    }
-    return getSQWRLResultValueFactory().createLeastNarrowNumericLiteralValue(sum, columnValues);
-  }
-
-  @NonNull private SQWRLLiteralResultValue avg(@NonNull List<@NonNull SQWRLLiteralResultValue> columnValues,
-    int columnIndex) throws SQWRLException
-  {
-    double sum = 0;
-    int count = 0;
-
-    if (columnValues.isEmpty())
-      throw new SQWRLException("empty aggregate list for function " + SQWRLResultNames.AvgAggregateFunction);
-
-    int rowIndex = 0;
-    for (SQWRLLiteralResultValue value : columnValues) {
-
-      if (!isNumericValue(value))
-        throw new SQWRLException(
-          "attempt to use " + SQWRLResultNames.AvgAggregateFunction + " aggregate on column with non literal value "
-            + value + " with type " + value.getOWLDatatype() + " in (0-based) row " + rowIndex + ", column "
-            + columnIndex);
-
-      double d = value.getDouble();
-
-      count++;
-      sum = sum + d;
-      rowIndex++;
-    }
-    double avgValue = sum / count;
-
-    return getSQWRLResultValueFactory().createLeastNarrowNumericLiteralValue(avgValue, columnValues);
-  }
-
-  @NonNull private SQWRLLiteralResultValue median(@NonNull List<@NonNull SQWRLLiteralResultValue> columnValues,
-    int columnIndex) throws SQWRLException
-  {
-    double[] valueArray = new double[columnValues.size()];
-    int count = 0, middle = columnValues.size() / 2;
-    double medianValue;
-
-    int rowIndex = 0;
-    for (SQWRLLiteralResultValue value : columnValues) {
-      if (!isNumericValue(value))
-        throw new SQWRLException(
-          "attempt to use " + SQWRLResultNames.MedianAggregateFunction + " aggregate on column with non literal value "
-            + value + " with type " + value.getOWLDatatype() + " in (0-based) row " + rowIndex + ", column "
-            + columnIndex);
-
-      double d = value.getDouble();
-      valueArray[count++] = d;
-    }
-
-    Arrays.sort(valueArray);
-
-    if (columnValues.size() % 2 == 1)
-      medianValue = valueArray[middle];
-    else
-      medianValue = (valueArray[middle - 1] + valueArray[middle]) / 2;
-
-    return getSQWRLResultValueFactory().createLeastNarrowNumericLiteralValue(medianValue, columnValues);
-  }
-
-  @NonNull private SQWRLLiteralResultValue count(@NonNull List<@NonNull SQWRLResultValue> columnValues)
-  {
-    return getSQWRLResultValueFactory().getLiteralValue(columnValues.size());
-  }
-
-  @NonNull private SQWRLLiteralResultValue countDistinct(@NonNull List<@NonNull SQWRLResultValue> columnValues)
-  {
-    Set<@NonNull SQWRLResultValue> distinctValues = new HashSet<>(columnValues);
-
-    return getSQWRLResultValueFactory().getLiteralValue(distinctValues.size());
-  }
-
-  // TODO: linear search is not very efficient.
-  @NonNull private Optional<@NonNull Integer> findRowIndex(
-    @NonNull List<@NonNull List<@NonNull SQWRLResultValue>> result, @NonNull List<@NonNull SQWRLResultValue> rowToFind,
-    @NonNull Comparator<List<@NonNull SQWRLResultValue>> rowComparator) throws SQWRLException
-  {
-    int rowIndex = 0;
-
-    try {
-      for (List<@NonNull SQWRLResultValue> row : result) {
-        if (rowComparator.compare(rowToFind, row) == 0)
-          return Optional.of(rowIndex);
-        rowIndex++;
-      }
-    } catch (RuntimeException e) {
-      throw new SQWRLException("Internal error comparing rows", e);
-    }
-    return Optional.<@NonNull Integer>empty();
-  }
-
-  private static class SQWRLResultRowComparator implements Comparator<List<@NonNull SQWRLResultValue>>
-  {
     @NonNull private final List<@NonNull Integer> orderByColumnIndexes;
     @NonNull private final boolean ascending;
 
@@ -1326,25 +1423,61 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     }
   }
 
-  @NonNull private List<@NonNull SQWRLLiteralResultValue> convert2LiteralResultValues(
-    @NonNull List<@NonNull SQWRLResultValue> columnValues, int columnIndex) throws SQWRLException
+  /**
+   * Wraps a row so that rows can be grouped by hashing the values in the columns examined by a row comparator. Keys
+   * are equal if the comparator finds no difference between the rows and the hash code is consistent with that.
+   */
+  static class SQWRLResultRowKey implements Serializable
   {
-    List<@NonNull SQWRLLiteralResultValue> literalValues = new ArrayList<>();
+    private static final long serialVersionUID = 1L;
+
+    @NonNull private final List<@NonNull SQWRLResultValue> row;
+    @NonNull private final SQWRLResultRowComparator rowComparator;
+    private final int hashCode;
 
-    int rowIndex = 0;
-    for (SQWRLResultValue value : columnValues) {
+    public SQWRLResultRowKey(@NonNull List<@NonNull SQWRLResultValue> row,
+      @NonNull SQWRLResultRowComparator rowComparator) throws SQWRLException
+    {
+      this.row = row;
+      this.rowComparator = rowComparator;
+
+      int hash = 0;
+      for (Integer columnIndex : rowComparator.orderByColumnIndexes)
+        hash = 31 * hash + comparisonHashCode(row.get(columnIndex));
+      this.hashCode = hash;
+    }
+
+    @Override public boolean equals(@Nullable Object obj)
+    {
+      if (this == obj)
+        return true;
+      if ((obj == null) || (obj.getClass() != this.getClass()))
+        return false;
+      SQWRLResultRowKey k = (SQWRLResultRowKey)obj;
+
+      return this.hashCode == k.hashCode && this.rowComparator.compare(this.row, k.row) == 0;
+    }
+
+    @Override public int hashCode()
+    {
+      return this.hashCode;
+    }
+
+    // Consistent with the value comparisons performed by SQWRLResultRowComparator
+    private static int comparisonHashCode(@NonNull SQWRLResultValue value) throws SQWRLException
+    {
       if (value.isLiteral())
-        literalValues.add(value.asLiteralResult());
+        return OWLLiteralComparator.comparisonHashCode(value.asLiteralResult().getOWLLiteral());
+      else if (value.isClassExpression())
+        return value.asClassExpressionResult().getRendering().hashCode();
+      else if (value.isEntity())
+        return value.asEntityResult().getIRI().hashCode();
       else
-        throw new SQWRLException(
-          "Found non literal value " + value + " in (0-based) row " + rowIndex + ", column " + columnIndex
-            + " - expecting literal");
-      rowIndex++;
+        return 0;
     }
-    return literalValues;
   }
 
-  private SQWRLResultValueFactory getSQWRLResultValueFactory()
+  @NonNull protected SQWRLResultValueFactory getSQWRLResultValueFactory()
   {
     return this.sqwrlResultValueFactory;
   }
@@ -58,10 +58,7 @@ public class DefaultSQWRLResultValueFactory implements SQWRLResultValueFactory
 
   @NonNull @Override public SQWRLClassResultValue getClassValue(@NonNull IRI classIRI)
   {
-    String prefixedName = iri2PrefixedName(classIRI);
-    String shortForm = iri2ShortForm(classIRI);
-
-    return new DefaultSQWRLClassResultValue(classIRI, prefixedName, shortForm);
+    return new DefaultSQWRLClassResultValue(classIRI, getIRIResolver());
   }
 
   @NonNull @Override public SQWRLClassExpressionResultValue getClassExpressionValue(
@@ -76,18 +73,12 @@ public class DefaultSQWRLResultValueFactory implements SQWRLResultValueFactory
   @NonNull @Override public SQWRLNamedIndividualResultValue getNamedIndividualValue(
     @NonNull SWRLNamedIndividualBuiltInArgument individualArgument)
   {
-    String prefixedName = iri2PrefixedName(individualArgument.getIRI());
-    String shortForm = iri2ShortForm(individualArgument.getIRI());
-
-    return new DefaultSQWRLNamedIndividualResultValue(individualArgument.getIRI(), prefixedName, shortForm);
+    return new DefaultSQWRLNamedIndividualResultValue(individualArgument.getIRI(), getIRIResolver());
   }
 
   @NonNull @Override public SQWRLNamedIndividualResultValue getNamedIndividualValue(@NonNull IRI individualIRI)
   {
-    String prefixedName = iri2PrefixedName(individualIRI);
-    String shortForm = iri2ShortForm(individualIRI);
-
-    return new DefaultSQWRLNamedIndividualResultValue(individualIRI, prefixedName, shortForm);
+    return new DefaultSQWRLNamedIndividualResultValue(individualIRI, getIRIResolver());
   }
 
   @NonNull @Override public SQWRLObjectPropertyResultValue getObjectPropertyValue(
@@ -98,10 +89,7 @@ public class DefaultSQWRLResultValueFactory implements SQWRLResultValueFactory
 
   @NonNull @Override public SQWRLObjectPropertyResultValue getObjectPropertyValue(@NonNull IRI propertyIRI)
   {
-    String prefixedName = iri2PrefixedName(propertyIRI);
-    String shortForm = iri2ShortForm(propertyIRI);
-
-    return new DefaultSQWRLObjectPropertyResultValue(propertyIRI, prefixedName, shortForm);
+    return new DefaultSQWRLObjectPropertyResultValue(propertyIRI, getIRIResolver());
   }
 
   @NonNull @Override public SQWRLObjectPropertyExpressionResultValue getObjectPropertyExpressionValue(
@@ -116,18 +104,12 @@ public class DefaultSQWRLResultValueFactory implements SQWRLResultValueFactory
   @NonNull @Override public SQWRLDataPropertyResultValue getDataPropertyValue(
     @NonNull SWRLDataPropertyBuiltInArgument dataPropertyArgument)
   {
-    String prefixedName = iri2PrefixedName(dataPropertyArgument.getIRI());
-    String shortForm = iri2ShortForm(dataPropertyArgument.getIRI());
-
-    return new DefaultSQWRLDataPropertyResultValue(dataPropertyArgument.getIRI(), prefixedName, shortForm);
+    return new DefaultSQWRLDataPropertyResultValue(dataPropertyArgument.getIRI(), getIRIResolver());
   }
 
   @NonNull @Override public SQWRLDataPropertyResultValue getDataPropertyValue(@NonNull IRI propertyIRI)
   {
-    String prefixedName = iri2PrefixedName(propertyIRI);
-    String shortForm = iri2ShortForm(propertyIRI);
-
-    return new DefaultSQWRLDataPropertyResultValue(propertyIRI, prefixedName, shortForm);
+    return new DefaultSQWRLDataPropertyResultValue(propertyIRI, getIRIResolver());
   }
 
   @NonNull @Override public SQWRLDataPropertyExpressionResultValue getDataPropertyExpressionValue(
@@ -142,35 +124,23 @@ public class DefaultSQWRLResultValueFactory implements SQWRLResultValueFactory
   @NonNull @Override public SQWRLAnnotationPropertyResultValue getAnnotationPropertyValue(
     @NonNull SWRLAnnotationPropertyBuiltInArgument annotationPropertyArgument)
   {
-    String prefixedName = iri2PrefixedName(annotationPropertyArgument.getIRI());
-    String shortForm = iri2ShortForm(annotationPropertyArgument.getIRI());
-
-    return new DefaultSQWRLAnnotationPropertyResultValue(annotationPropertyArgument.getIRI(), prefixedName, shortForm);
+    return new DefaultSQWRLAnnotationPropertyResultValue(annotationPropertyArgument.getIRI(), getIRIResolver());
   }
 
   @NonNull @Override public SQWRLAnnotationPropertyResultValue getAnnotationPropertyValue(@NonNull IRI propertyIRI)
   {
-    String prefixedName = iri2PrefixedName(propertyIRI);
-    String shortForm = iri2ShortForm(propertyIRI);
-
-    return new DefaultSQWRLAnnotationPropertyResultValue(propertyIRI, prefixedName, shortForm);
+    return new DefaultSQWRLAnnotationPropertyResultValue(propertyIRI, getIRIResolver());
   }
 
   @NonNull @Override public SQWRLDatatypeResultValue getDatatypeValue(SWRLDatatypeBuiltInArgument datatypeArgument)
   {
     IRI propertyIRI = datatypeArgument.getOWLDatatype().getIRI();
-    String prefixedName = iri2PrefixedName(propertyIRI);
-    String shortForm = iri2ShortForm(propertyIRI);
-
-    return new DefaultSQWRLDatatypeResultValue(propertyIRI, prefixedName, shortForm);
+    return new DefaultSQWRLDatatypeResultValue(propertyIRI, getIRIResolver());
   }
 
   @NonNull @Override public SQWRLDatatypeResultValue getDatatypeValue(IRI propertyIRI)
   {
-    String prefixedName = iri2PrefixedName(propertyIRI);
-    String shortForm = iri2ShortForm(propertyIRI);
-
-    return new DefaultSQWRLDatatypeResultValue(propertyIRI, prefixedName, shortForm);
+    return new DefaultSQWRLDatatypeResultValue(propertyIRI, getIRIResolver());
   }
 
   @NonNull @Override public SQWRLLiteralResultValue getLiteralValue(byte b)
@@ -291,16 +261,6 @@ public class DefaultSQWRLResultValueFactory implements SQWRLResultValueFactory
       throw new IllegalArgumentException("could not get prefixed name for IRI " + iri);
   }
 
-  @NonNull private String iri2ShortForm(IRI iri)
-  {
-    Optional<@NonNull String> shortshortForm = this.iriResolver.iri2ShortForm(iri);
-
-    if (shortshortForm.isPresent())
-      return shortshortForm.get();
-    else
-      throw new IllegalArgumentException("could not get short form for IRI " + iri);
-  }
-
   @NonNull private OWLLiteralFactory getOWLLiteralFactory()
   {
     return this.owlLiteralFactory;
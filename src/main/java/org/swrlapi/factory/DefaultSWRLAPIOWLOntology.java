@@ -10,6 +10,7 @@ import org.semanticweb.owlapi.model.OWLAnnotationPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLAnnotationPropertyRangeAxiom;
 import org.semanticweb.owlapi.model.OWLAsymmetricObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLAxiomVisitor;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLClassExpression;
@@ -27,6 +28,7 @@ import org.semanticweb.owlapi.model.OWLDisjointClassesAxiom;
 import org.semanticweb.owlapi.model.OWLDisjointDataPropertiesAxiom;
 import org.semanticweb.owlapi.model.OWLDisjointObjectPropertiesAxiom;
 import org.semanticweb.owlapi.model.OWLDisjointUnionAxiom;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
 import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
 import org.semanticweb.owlapi.model.OWLEquivalentDataPropertiesAxiom;
@@ -45,6 +47,7 @@ import org.semanticweb.owlapi.model.OWLNegativeDataPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLNegativeObjectPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyCharacteristicAxiom;
 import org.semanticweb.owlapi.model.OWLObjectPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLObjectPropertyRangeAxiom;
@@ -68,6 +71,8 @@ import org.semanticweb.owlapi.model.SWRLLiteralArgument;
 import org.semanticweb.owlapi.model.SWRLPredicate;
 import org.semanticweb.owlapi.model.SWRLRule;
 import org.semanticweb.owlapi.model.SWRLVariable;
+import org.semanticweb.owlapi.model.SetOntologyID;
+import org.semanticweb.owlapi.model.parameters.AxiomAnnotations;
 import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.util.SimpleIRIMapper;
 import org.semanticweb.owlapi.vocab.OWL2Datatype;
@@ -87,6 +92,7 @@ import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.exceptions.SWRLRuleException;
 import org.swrlapi.parser.SWRLParseException;
 import org.swrlapi.parser.SWRLParser;
+import org.swrlapi.sqwrl.SQWRLPreparedQuery;
 import org.swrlapi.sqwrl.SQWRLQuery;
 import org.swrlapi.sqwrl.SQWRLQueryRenderer;
 import org.swrlapi.sqwrl.SQWRLResult;
@@ -106,7 +112,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChangeListener
 {
@@ -122,6 +127,10 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
   @NonNull private final Map<@NonNull String, @NonNull SWRLAPIRule> swrlRules; // Rules and queries extracted from ontology
   @NonNull private final Map<@NonNull String, @NonNull SWRLRule> owlapiRules; // All SWRL rules in supplied ontology
   @NonNull private final Map<@NonNull String, @NonNull SQWRLQuery> sqwrlQueries;
+  // Names generated for rules and queries in the ontology that do not have a name
+  @NonNull private final Set<@NonNull String> generatedRuleNames;
+  // Queries created from prepared queries; these are held outside the ontology so are not cleared by reset()
+  @NonNull private final Map<@NonNull String, @NonNull SQWRLQuery> preparedSQWRLQueries;
 
   // All asserted OWL axioms extracted from the supplied ontology; includes SWRL rules
   @NonNull private final Set<@NonNull OWLAxiom> assertedOWLAxioms;
@@ -131,10 +140,18 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
   @NonNull private final Map<@NonNull IRI, @NonNull OWLDeclarationAxiom> objectPropertyDeclarationAxioms;
   @NonNull private final Map<@NonNull IRI, @NonNull OWLDeclarationAxiom> dataPropertyDeclarationAxioms;
   @NonNull private final Map<@NonNull IRI, @NonNull OWLDeclarationAxiom> annotationPropertyDeclarationAxioms;
+  // Declarations generated for entities that had no asserted declaration when they were first referenced
+  @NonNull private final Set<@NonNull OWLDeclarationAxiom> generatedOWLDeclarationAxioms;
 
   @NonNull private final Set<SWRLRuleEngineModel> swrlRuleEngineModels;
 
+  // Prefixes in effect when the ontology was last processed; a change to these requires full reprocessing
+  @NonNull private final Map<@NonNull String, String> processedPrefixes;
+
+  @NonNull private final OWLAxiomProcessor axiomProcessor;
+
   private boolean hasOntologyChanged = true; // Ensure initial processing
+  private boolean hasUnprocessedOntologyChanges = false; // Changes made in event freeze mode are not processed
   private boolean eventFreezeMode = false;
 
   public DefaultSWRLAPIOWLOntology(@NonNull OWLOntology ontology, @NonNull IRIResolver iriResolver)
@@ -147,6 +164,8 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     this.swrlRules = new HashMap<>();
     this.owlapiRules = new HashMap<>();
     this.sqwrlQueries = new HashMap<>();
+    this.generatedRuleNames = new HashSet<>();
+    this.preparedSQWRLQueries = new HashMap<>();
 
     this.assertedOWLAxioms = new HashSet<>();
 
@@ -155,9 +174,13 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     this.objectPropertyDeclarationAxioms = new HashMap<>();
     this.dataPropertyDeclarationAxioms = new HashMap<>();
     this.annotationPropertyDeclarationAxioms = new HashMap<>();
+    this.generatedOWLDeclarationAxioms = new HashSet<>();
 
     this.swrlRuleEngineModels = new HashSet<>();
 
+    this.processedPrefixes = new HashMap<>();
+    this.axiomProcessor = new OWLAxiomProcessor();
+
     addSWRLAPIOntologies(this.ontology);
 
     iriResolver.updatePrefixes(this.ontology);
@@ -167,6 +190,7 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
   {
     reset(); // Will reset hasOntologyChanged
     this.iriResolver.updatePrefixes(this.ontology);
+    this.processedPrefixes.putAll(getOntologyPrefixes());
     processSWRLRulesAndSQWRLQueries();
     processOWLAxioms();
     notifyRegisteredRuleEngineModels();
@@ -177,6 +201,7 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     this.swrlRules.clear();
     this.owlapiRules.clear();
     this.sqwrlQueries.clear();
+    this.generatedRuleNames.clear();
 
     getIRIResolver().reset();
 
@@ -187,8 +212,12 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     this.objectPropertyDeclarationAxioms.clear();
     this.dataPropertyDeclarationAxioms.clear();
     this.annotationPropertyDeclarationAxioms.clear();
+    this.generatedOWLDeclarationAxioms.clear();
+
+    this.processedPrefixes.clear();
 
     this.hasOntologyChanged = false;
+    this.hasUnprocessedOntologyChanges = false;
   }
 
   @Override public void registerRuleEngineModel(SWRLRuleEngineModel swrlRuleEngineModel)
@@ -240,14 +269,9 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
   @Override public void deleteSWRLRule(@NonNull String ruleName)
   {
     if (this.swrlRules.containsKey(ruleName)) {
-      SWRLAPIRule rule = this.swrlRules.get(ruleName);
       SWRLRule owlapiRule = this.owlapiRules.get(ruleName);
 
-      if (rule.isSQWRLQuery())
-        this.sqwrlQueries.remove(ruleName);
-
-      this.swrlRules.remove(ruleName);
-      this.owlapiRules.remove(ruleName);
+      removeSWRLRule(ruleName);
 
       this.ontology.getOWLOntologyManager().removeAxiom(this.ontology, owlapiRule);
     }
@@ -279,6 +303,57 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
       throw new SWRLParseException("Unknown error - parser failed to generate a query");
   }
 
+  @NonNull @Override public SQWRLPreparedQuery prepareSQWRLQuery(@NonNull String queryName, @NonNull String queryText,
+    @NonNull Set<@NonNull String> parameterNames) throws SWRLParseException, SQWRLException, SWRLBuiltInException
+  {
+    checkPreparedSQWRLQueryName(queryName);
+
+    Optional<SWRLRule> owlapiRule = createSWRLParser().parseSWRLRule(queryText, false, queryName, "");
+
+    if (owlapiRule.isPresent()) {
+      SWRLAPIRule swrlapiRule = convertOWLAPIRule2SWRLAPIRule(owlapiRule.get(), queryName, "", true);
+
+      if (swrlapiRule.isSQWRLQuery())
+        return SWRLAPIInternalFactory
+          .createSQWRLPreparedQuery(queryName, owlapiRule.get(), parameterNames, getSWRLAPIOWLDataFactory(),
+            getIRIResolver());
+      else
+        throw new SWRLParseException(queryName + " is not a SQWRL query");
+    } else
+      throw new SWRLParseException("Unknown error - parser failed to generate a query");
+  }
+
+  @NonNull @Override public SQWRLQuery createSQWRLQuery(@NonNull SQWRLPreparedQuery preparedQuery,
+    @NonNull Map<@NonNull String, @NonNull OWLLiteral> parameterValues) throws SQWRLException, SWRLBuiltInException
+  {
+    String queryName = preparedQuery.getQueryName();
+
+    checkPreparedSQWRLQueryName(queryName);
+
+    SWRLRule owlapiRule = preparedQuery.bindParameters(parameterValues);
+    SWRLAPIRule swrlapiRule = convertOWLAPIRule2SWRLAPIRule(owlapiRule, queryName, "", true);
+    SQWRLQuery query = createSQWRLQueryFromSWRLRule(swrlapiRule);
+
+    this.preparedSQWRLQueries.put(queryName, query);
+
+    return query;
+  }
+
+  @Override public void deleteSQWRLPreparedQuery(@NonNull String queryName)
+  {
+    this.preparedSQWRLQueries.remove(queryName);
+  }
+
+  /**
+   * Prepared queries are looked up by name when they are run so they must not share a name with a rule or query in the
+   * ontology.
+   */
+  private void checkPreparedSQWRLQueryName(@NonNull String queryName) throws SQWRLException
+  {
+    if (this.swrlRules.containsKey(queryName))
+      throw new SQWRLException("a rule or query named " + queryName + " already exists in the ontology");
+  }
+
   @NonNull @Override public Set<@NonNull SWRLAPIRule> getSWRLRules()
   {
     return new HashSet<>(this.swrlRules.values());
@@ -286,33 +361,91 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
 
   private void processSWRLRulesAndSQWRLQueries() throws SWRLBuiltInException
   {
-    int ruleNameIndex = 0;
+    Set<@NonNull SWRLRule> unnamedOWLAPIRules = new HashSet<>();
 
     this.swrlRules.clear();
     this.owlapiRules.clear();
     this.sqwrlQueries.clear();
+    this.generatedRuleNames.clear();
 
     for (SWRLRule owlapiRule : getOWLOntology().getAxioms(AxiomType.SWRL_RULE, Imports.INCLUDED)) {
       Optional<@NonNull String> ruleName = getRuleName(owlapiRule);
-      boolean isActive = getIsRuleEnabled(owlapiRule);
-      String comment = getRuleComment(owlapiRule);
-      String finalRuleName = ruleName.isPresent() ? ruleName.get() : "S" + ++ruleNameIndex;
-
-      SWRLAPIRule swrlapiRule = convertOWLAPIRule2SWRLAPIRule(owlapiRule, finalRuleName, comment, isActive);
 
-      this.swrlRules.put(finalRuleName, swrlapiRule);
-      this.owlapiRules.put(finalRuleName, owlapiRule);
-      this.assertedOWLAxioms.add(swrlapiRule);
-
-      if (swrlapiRule.isSQWRLQuery()) {
-        SQWRLQuery query = createSQWRLQueryFromSWRLRule(swrlapiRule);
-        this.sqwrlQueries.put(finalRuleName, query);
-      }
+      if (ruleName.isPresent())
+        processSWRLRule(owlapiRule, ruleName.get());
+      else
+        unnamedOWLAPIRules.add(owlapiRule);
       // TODO Do we want to add axioms to OWLAPI rule that does not have them?
       // generateRuleAnnotations(ruleName, comment, true)
       // ontologyManager.removeAxiom(ontology, owlapiRule); // Remove the original annotated rule
       // ontologyManager.addAxiom(ontology, annotatedOWLAPIRule); // Replace with annotated rule
     }
+    processUnnamedSWRLRules(unnamedOWLAPIRules);
+  }
+
+  /**
+   * Rules without a name are given the first names from {@link #getNextRuleName()} that are not taken by a named rule,
+   * in the natural order of the rules, so their names depend only on the rules in the ontology. Used by both full and
+   * incremental processing; the latter names all unnamed rules again when a rule is added or removed.
+   */
+  private void processUnnamedSWRLRules(@NonNull Set<@NonNull SWRLRule> unnamedOWLAPIRules)
+    throws SWRLBuiltInException
+  {
+    List<@NonNull SWRLRule> orderedOWLAPIRules = new ArrayList<>(unnamedOWLAPIRules);
+
+    Collections.sort(orderedOWLAPIRules);
+
+    for (SWRLRule owlapiRule : orderedOWLAPIRules) {
+      Optional<@NonNull String> ruleName = getNextRuleName();
+
+      if (ruleName.isPresent()) {
+        processSWRLRule(owlapiRule, ruleName.get());
+        this.generatedRuleNames.add(ruleName.get());
+      }
+    }
+  }
+
+  // Remove the rules that were given a generated name, returning them so that they can be named again
+  @NonNull private Set<@NonNull SWRLRule> removeUnnamedSWRLRules()
+  {
+    Set<@NonNull SWRLRule> unnamedOWLAPIRules = new HashSet<>();
+
+    for (String ruleName : new ArrayList<>(this.generatedRuleNames)) {
+      SWRLRule owlapiRule = this.owlapiRules.get(ruleName);
+
+      if (owlapiRule != null)
+        unnamedOWLAPIRules.add(owlapiRule);
+      removeSWRLRule(ruleName);
+    }
+    return unnamedOWLAPIRules;
+  }
+
+  private void processSWRLRule(@NonNull SWRLRule owlapiRule, @NonNull String ruleName) throws SWRLBuiltInException
+  {
+    boolean isActive = getIsRuleEnabled(owlapiRule);
+    String comment = getRuleComment(owlapiRule);
+    SWRLAPIRule swrlapiRule = convertOWLAPIRule2SWRLAPIRule(owlapiRule, ruleName, comment, isActive);
+
+    this.swrlRules.put(ruleName, swrlapiRule);
+    this.owlapiRules.put(ruleName, owlapiRule);
+    this.assertedOWLAxioms.add(swrlapiRule);
+
+    if (swrlapiRule.isSQWRLQuery()) {
+      SQWRLQuery query = createSQWRLQueryFromSWRLRule(swrlapiRule);
+      this.sqwrlQueries.put(ruleName, query);
+    }
+  }
+
+  private void removeSWRLRule(@NonNull String ruleName)
+  {
+    SWRLAPIRule swrlapiRule = this.swrlRules.remove(ruleName);
+
+    if (swrlapiRule != null)
+      this.assertedOWLAxioms.remove(swrlapiRule);
+
+    this.owlapiRules.remove(ruleName);
+    this.sqwrlQueries.remove(ruleName);
+    this.generatedRuleNames.remove(ruleName);
   }
 
   @NonNull @Override public Optional<@NonNull SWRLAPIRule> getSWRLRule(@NonNull String ruleName)
@@ -426,10 +559,7 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
    */
   @NonNull @Override public SQWRLResult getSQWRLResult(@NonNull String queryName) throws SQWRLException
   {
-    if (!this.sqwrlQueries.containsKey(queryName))
-      throw new SQWRLInvalidQueryNameException(queryName);
-
-    return this.sqwrlQueries.get(queryName).getSQWRLResult();
+    return getSQWRLQuery(queryName).getSQWRLResult();
   }
 
   /**
@@ -438,10 +568,20 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
   @NonNull @Override public SQWRLResultGenerator getSQWRLResultGenerator(@NonNull String queryName)
     throws SQWRLException
   {
-    if (!this.sqwrlQueries.containsKey(queryName))
-      throw new SQWRLInvalidQueryNameException(queryName);
+    return getSQWRLQuery(queryName).getSQWRLResultGenerator();
+  }
 
-    return this.sqwrlQueries.get(queryName).getSQWRLResultGenerator();
+  /**
+   * Queries in the ontology take precedence over prepared queries.
+   */
+  @NonNull private SQWRLQuery getSQWRLQuery(@NonNull String queryName) throws SQWRLException
+  {
+    if (this.sqwrlQueries.containsKey(queryName))
+      return this.sqwrlQueries.get(queryName);
+    else if (this.preparedSQWRLQueries.containsKey(queryName))
+      return this.preparedSQWRLQueries.get(queryName);
+    else
+      throw new SQWRLInvalidQueryNameException(queryName);
   }
 
   @NonNull private SQWRLQuery createSQWRLQueryFromSWRLRule(@NonNull SWRLAPIRule rule) throws SWRLBuiltInException
@@ -844,316 +984,163 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
   }
 
   /**
-   * Process currently supported OWL axioms. The processing consists of recording any OWL properties in the processed
-   * axioms (with an instance of the {@link DefaultIRIResolver} class) and generating declaration
-   * axioms for these properties.
-   * <p>
-   * TODO The current approach is clunky. A better approach would be to walk the axioms with a visitor and recordOWLClassExpression the
-   * properties and generate the declaration axioms.
+   * Process currently supported OWL axioms. The processing consists of recording the asserted axioms and generating
+   * declaration axioms for any classes, individuals, and properties that they reference. Each ontology in the imports
+   * closure is walked once and its axioms are dispatched by an {@link OWLAxiomProcessor}.
    */
   private void processOWLAxioms()
   {
-    processOWLClassDeclarationAxioms();
-    processOWLIndividualDeclarationAxioms();
-    processOWLObjectPropertyDeclarationAxioms();
-    processOWLDataPropertyDeclarationAxioms();
-    processOWLAnnotationPropertyDeclarationAxioms();
-    processOWLClassAssertionAxioms();
-    processOWLObjectPropertyAssertionAxioms();
-    processOWLDataPropertyAssertionAxioms();
-    processOWLSameIndividualAxioms();
-    processOWLDifferentIndividualsAxioms();
-    processOWLSubClassOfAxioms();
-    processOWLEquivalentClassesAxioms();
-    processOWLSubObjectPropertyOfAxioms();
-    processOWLSubDataPropertyOfAxioms();
-    processOWLEquivalentDataPropertiesAxioms();
-    processOWLEquivalentObjectPropertiesAxioms();
-    processOWLTransitiveObjectPropertyAxioms();
-    processOWLSymmetricObjectPropertyAxioms();
-    processOWLFunctionalObjectPropertyAxioms();
-    processOWLInverseFunctionalObjectPropertyAxioms();
-    processOWLFunctionalDataPropertyAxioms();
-    processOWLObjectPropertyDomainAxioms();
-    processOWLDataPropertyDomainAxioms();
-    processOWLObjectPropertyRangeAxioms();
-    processOWLDataPropertyRangeAxioms();
-    processOWLInverseObjectPropertiesAxioms();
-    processOWLIrreflexiveObjectPropertyAxioms();
-    processOWLAsymmetricObjectPropertyAxioms();
-    processOWLDisjointObjectPropertiesAxioms();
-    processOWLDisjointDataPropertiesAxioms();
-  }
-
-  private void processOWLClassAssertionAxioms()
-  {
-    for (OWLClassAssertionAxiom axiom : getOWLClassAssertionAxioms()) {
-      generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getIndividual());
-      this.assertedOWLAxioms.add(axiom);
+    for (OWLOntology importedOntology : getOWLOntology().getImportsClosure()) {
+      for (OWLAxiom axiom : importedOntology.getAxioms())
+        axiom.accept(this.axiomProcessor);
     }
-
   }
 
-  private void processOWLObjectPropertyAssertionAxioms()
+  private void processOWLDeclarationAxiom(@NonNull OWLDeclarationAxiom axiom)
   {
-    for (OWLObjectPropertyAssertionAxiom axiom : getOWLObjectPropertyAssertionAxioms()) {
-      generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getSubject());
-      generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getObject());
-      this.assertedOWLAxioms.add(axiom);
-    }
-  }
+    OWLEntity entity = axiom.getEntity();
+    Optional<@NonNull Map<@NonNull IRI, @NonNull OWLDeclarationAxiom>> declarationAxioms = getOWLDeclarationAxioms(
+      entity);
 
-  private void processOWLDataPropertyAssertionAxioms()
-  {
-    for (OWLDataPropertyAssertionAxiom axiom : getOWLDataPropertyAssertionAxioms()) {
-      generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getSubject());
+    if (declarationAxioms.isPresent()) {
+      OWLDeclarationAxiom previousAxiom = declarationAxioms.get().put(entity.getIRI(), axiom);
+      // An asserted declaration replaces a generated one; an entity may have several asserted declarations
+      if (previousAxiom != null && this.generatedOWLDeclarationAxioms.remove(previousAxiom) && !previousAxiom
+        .equals(axiom))
+        this.assertedOWLAxioms.remove(previousAxiom);
       this.assertedOWLAxioms.add(axiom);
     }
   }
 
-  private void processOWLClassDeclarationAxioms()
+  private void processOWLClassAssertionAxiom(@NonNull OWLClassAssertionAxiom axiom)
   {
-    for (OWLDeclarationAxiom axiom : getOWLClassDeclarationAxioms()) {
-      OWLEntity cls = axiom.getEntity();
-      this.classDeclarationAxioms.put(cls.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
-    }
+    generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getIndividual());
+    this.assertedOWLAxioms.add(axiom);
   }
 
-  private void processOWLIndividualDeclarationAxioms()
+  private void processOWLObjectPropertyAssertionAxiom(@NonNull OWLObjectPropertyAssertionAxiom axiom)
   {
-    for (OWLDeclarationAxiom axiom : getOWLIndividualDeclarationAxioms()) {
-      OWLEntity individual = axiom.getEntity();
-      this.individualDeclarationAxioms.put(individual.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
-    }
+    generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getSubject());
+    generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getObject());
+    this.assertedOWLAxioms.add(axiom);
   }
 
-  private void processOWLObjectPropertyDeclarationAxioms()
+  private void processOWLDataPropertyAssertionAxiom(@NonNull OWLDataPropertyAssertionAxiom axiom)
   {
-    for (OWLDeclarationAxiom axiom : getOWLObjectPropertyDeclarationAxioms()) {
-      OWLEntity property = axiom.getEntity();
-      this.objectPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
-    }
+    generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getSubject());
+    this.assertedOWLAxioms.add(axiom);
   }
 
-  private void processOWLDataPropertyDeclarationAxioms()
+  private void processOWLSameIndividualAxiom(@NonNull OWLSameIndividualAxiom axiom)
   {
-    for (OWLDeclarationAxiom axiom : getOWLDataPropertyDeclarationAxioms()) {
-      OWLEntity property = axiom.getEntity();
-
-      this.dataPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
-    }
+    axiom.getIndividuals().forEach(this::generateOWLIndividualDeclarationAxiomIfNecessary);
+    this.assertedOWLAxioms.add(axiom);
   }
 
-  private void processOWLAnnotationPropertyDeclarationAxioms()
+  private void processOWLDifferentIndividualsAxiom(@NonNull OWLDifferentIndividualsAxiom axiom)
   {
-    for (OWLDeclarationAxiom axiom : getOWLAnnotationPropertyDeclarationAxioms()) {
-      OWLEntity property = axiom.getEntity();
-
-      this.annotationPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
-    }
-  }
-
-  private void processOWLSameIndividualAxioms()
-  {
-    Set<@NonNull OWLSameIndividualAxiom> axioms = getOWLSameIndividualAxioms();
-    for (OWLSameIndividualAxiom axiom : axioms) {
-      axiom.getIndividuals().forEach(this::generateOWLIndividualDeclarationAxiomIfNecessary);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
-  }
-
-  private void processOWLDifferentIndividualsAxioms()
-  {
-    Set<@NonNull OWLDifferentIndividualsAxiom> axioms = getOWLDifferentIndividualsAxioms();
-    for (OWLDifferentIndividualsAxiom axiom : axioms) {
-      axiom.getIndividuals().forEach(this::generateOWLIndividualDeclarationAxiomIfNecessary);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    axiom.getIndividuals().forEach(this::generateOWLIndividualDeclarationAxiomIfNecessary);
+    this.assertedOWLAxioms.add(axiom);
   }
 
-  private void processOWLSubClassOfAxioms()
+  private void processOWLSubClassOfAxiom(@NonNull OWLSubClassOfAxiom axiom)
   {
-    Set<@NonNull OWLSubClassOfAxiom> axioms = getOWLSubClassOfAxioms();
-    for (OWLSubClassOfAxiom axiom : axioms) {
-      generateOWLClassDeclarationAxiomIfNecessary(axiom.getSubClass());
-      generateOWLClassDeclarationAxiomIfNecessary(axiom.getSuperClass());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    generateOWLClassDeclarationAxiomIfNecessary(axiom.getSubClass());
+    generateOWLClassDeclarationAxiomIfNecessary(axiom.getSuperClass());
+    this.assertedOWLAxioms.add(axiom);
   }
 
-  private void processOWLEquivalentClassesAxioms()
+  private void processOWLEquivalentClassesAxiom(@NonNull OWLEquivalentClassesAxiom axiom)
   {
-    Set<@NonNull OWLEquivalentClassesAxiom> axioms = getOWLEquivalentClassesAxioms();
-    for (OWLEquivalentClassesAxiom axiom : axioms) {
-      axiom.getNamedClasses().forEach(this::generateOWLClassDeclarationAxiom);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    axiom.getNamedClasses().forEach(this::generateOWLClassDeclarationAxiom);
+    this.assertedOWLAxioms.add(axiom);
   }
 
-  private void processOWLSubObjectPropertyOfAxioms()
+  private void processOWLSubObjectPropertyOfAxiom(@NonNull OWLSubObjectPropertyOfAxiom axiom)
   {
-    Set<@NonNull OWLSubObjectPropertyOfAxiom> axioms = getOWLSubObjectPropertyOfAxioms();
-    for (OWLSubObjectPropertyOfAxiom axiom : axioms) {
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getSubProperty());
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getSuperProperty());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getSubProperty());
+    generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getSuperProperty());
+    this.assertedOWLAxioms.add(axiom);
   }
 
-  private void processOWLSubDataPropertyOfAxioms()
+  private void processOWLSubDataPropertyOfAxiom(@NonNull OWLSubDataPropertyOfAxiom axiom)
   {
-    Set<@NonNull OWLSubDataPropertyOfAxiom> axioms = getOWLSubDataPropertyOfAxioms();
-    for (OWLSubDataPropertyOfAxiom axiom : axioms) {
-      generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getSubProperty());
-      generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getSuperProperty());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getSubProperty());
+    generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getSuperProperty());
+    this.assertedOWLAxioms.add(axiom);
   }
 
-  private void processOWLTransitiveObjectPropertyAxioms()
-  {
-    Set<@NonNull OWLTransitiveObjectPropertyAxiom> axioms = getOWLTransitiveObjectPropertyAxioms();
-    for (OWLTransitiveObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
-  }
-
-  private void processOWLSymmetricObjectPropertyAxioms()
-  {
-    Set<@NonNull OWLSymmetricObjectPropertyAxiom> axioms = getOWLSymmetricObjectPropertyAxioms();
-    for (OWLSymmetricObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
-  }
-
-  private void processOWLFunctionalObjectPropertyAxioms()
-  {
-    Set<@NonNull OWLFunctionalObjectPropertyAxiom> axioms = getOWLFunctionalObjectPropertyAxioms();
-    for (OWLFunctionalObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
-  }
-
-  private void processOWLInverseFunctionalObjectPropertyAxioms()
-  {
-    Set<@NonNull OWLInverseFunctionalObjectPropertyAxiom> axioms = getOWLInverseFunctionalObjectPropertyAxioms();
-    for (OWLInverseFunctionalObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
-  }
-
-  private void processOWLFunctionalDataPropertyAxioms()
-  {
-    Set<@NonNull OWLFunctionalDataPropertyAxiom> axioms = getOWLFunctionalDataPropertyAxioms();
-    for (OWLFunctionalDataPropertyAxiom axiom : axioms)
-      generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
-  }
-
-  private void processOWLObjectPropertyDomainAxioms()
+  /**
+   * Transitive, symmetric, functional, inverse functional, irreflexive, and asymmetric object property axioms.
+   */
+  private void processOWLObjectPropertyCharacteristicAxiom(@NonNull OWLObjectPropertyCharacteristicAxiom axiom)
   {
-    Set<@NonNull OWLObjectPropertyDomainAxiom> axioms = getOWLObjectPropertyDomainAxioms();
-    for (OWLObjectPropertyDomainAxiom axiom : axioms) {
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-      generateOWLClassDeclarationAxiomIfNecessary(axiom.getDomain());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
+    this.assertedOWLAxioms.add(axiom);
   }
 
-  private void processOWLDataPropertyDomainAxioms()
+  private void processOWLFunctionalDataPropertyAxiom(@NonNull OWLFunctionalDataPropertyAxiom axiom)
   {
-    Set<@NonNull OWLDataPropertyDomainAxiom> axioms = getOWLDataPropertyDomainAxioms();
-    for (OWLDataPropertyDomainAxiom axiom : axioms) {
-      generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-      generateOWLClassDeclarationAxiomIfNecessary(axiom.getDomain());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
+    this.assertedOWLAxioms.add(axiom);
   }
 
-  private void processOWLObjectPropertyRangeAxioms()
+  private void processOWLObjectPropertyDomainAxiom(@NonNull OWLObjectPropertyDomainAxiom axiom)
   {
-    Set<@NonNull OWLObjectPropertyRangeAxiom> axioms = getOWLObjectPropertyRangeAxioms();
-    for (OWLObjectPropertyRangeAxiom axiom : axioms) {
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-      generateOWLClassDeclarationAxiomIfNecessary(axiom.getRange());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
+    generateOWLClassDeclarationAxiomIfNecessary(axiom.getDomain());
+    this.assertedOWLAxioms.add(axiom);
   }
 
-  private void processOWLDataPropertyRangeAxioms()
+  private void processOWLDataPropertyDomainAxiom(@NonNull OWLDataPropertyDomainAxiom axiom)
   {
-    Set<@NonNull OWLDataPropertyRangeAxiom> axioms = getOWLDataPropertyRangeAxioms();
-    for (OWLDataPropertyRangeAxiom axiom : axioms) {
-      generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
+    generateOWLClassDeclarationAxiomIfNecessary(axiom.getDomain());
+    this.assertedOWLAxioms.add(axiom);
   }
 
-  private void processOWLIrreflexiveObjectPropertyAxioms()
+  private void processOWLObjectPropertyRangeAxiom(@NonNull OWLObjectPropertyRangeAxiom axiom)
   {
-    Set<@NonNull OWLIrreflexiveObjectPropertyAxiom> axioms = getOWLIrreflexiveObjectPropertyAxioms();
-    for (OWLIrreflexiveObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
+    generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
+    generateOWLClassDeclarationAxiomIfNecessary(axiom.getRange());
+    this.assertedOWLAxioms.add(axiom);
   }
 
-  private void processOWLAsymmetricObjectPropertyAxioms()
+  private void processOWLDataPropertyRangeAxiom(@NonNull OWLDataPropertyRangeAxiom axiom)
   {
-    Set<@NonNull OWLAsymmetricObjectPropertyAxiom> axioms = getOWLAsymmetricObjectPropertyAxioms();
-    for (OWLAsymmetricObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
+    generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
+    this.assertedOWLAxioms.add(axiom);
   }
 
-  private void processOWLEquivalentObjectPropertiesAxioms()
+  private void processOWLEquivalentObjectPropertiesAxiom(@NonNull OWLEquivalentObjectPropertiesAxiom axiom)
   {
-    Set<@NonNull OWLEquivalentObjectPropertiesAxiom> axioms = getOWLEquivalentObjectPropertiesAxioms();
-    for (OWLEquivalentObjectPropertiesAxiom axiom : axioms) {
-      axiom.getProperties().forEach(this::generateOWLObjectPropertyDeclarationAxiomIfNecessary);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    axiom.getProperties().forEach(this::generateOWLObjectPropertyDeclarationAxiomIfNecessary);
+    this.assertedOWLAxioms.add(axiom);
   }
 
-  private void processOWLEquivalentDataPropertiesAxioms()
+  private void processOWLEquivalentDataPropertiesAxiom(@NonNull OWLEquivalentDataPropertiesAxiom axiom)
   {
-    Set<@NonNull OWLEquivalentDataPropertiesAxiom> axioms = getOWLEquivalentDataPropertiesAxioms();
-    for (OWLEquivalentDataPropertiesAxiom axiom : axioms) {
-      axiom.getProperties().forEach(this::generateOWLDataPropertyDeclarationAxiomIfNecessary);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    axiom.getProperties().forEach(this::generateOWLDataPropertyDeclarationAxiomIfNecessary);
+    this.assertedOWLAxioms.add(axiom);
   }
 
-  private void processOWLInverseObjectPropertiesAxioms()
+  private void processOWLInverseObjectPropertiesAxiom(@NonNull OWLInverseObjectPropertiesAxiom axiom)
   {
-    Set<@NonNull OWLInverseObjectPropertiesAxiom> axioms = getOWLInverseObjectPropertiesAxioms();
-    for (OWLInverseObjectPropertiesAxiom axiom : axioms) {
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getFirstProperty());
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getSecondProperty());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getFirstProperty());
+    generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getSecondProperty());
+    this.assertedOWLAxioms.add(axiom);
   }
 
-  private void processOWLDisjointObjectPropertiesAxioms()
+  private void processOWLDisjointObjectPropertiesAxiom(@NonNull OWLDisjointObjectPropertiesAxiom axiom)
   {
-    Set<@NonNull OWLDisjointObjectPropertiesAxiom> axioms = getOWLDisjointObjectPropertiesAxioms();
-    for (OWLDisjointObjectPropertiesAxiom axiom : axioms) {
-      axiom.getProperties().forEach(this::generateOWLObjectPropertyDeclarationAxiomIfNecessary);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    axiom.getProperties().forEach(this::generateOWLObjectPropertyDeclarationAxiomIfNecessary);
+    this.assertedOWLAxioms.add(axiom);
   }
 
-  private void processOWLDisjointDataPropertiesAxioms()
+  private void processOWLDisjointDataPropertiesAxiom(@NonNull OWLDisjointDataPropertiesAxiom axiom)
   {
-    Set<@NonNull OWLDisjointDataPropertiesAxiom> axioms = getOWLDisjointDataPropertiesAxioms();
-    for (OWLDisjointDataPropertiesAxiom axiom : axioms) {
-      axiom.getProperties().forEach(this::generateOWLDataPropertyDeclarationAxiomIfNecessary);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    axiom.getProperties().forEach(this::generateOWLDataPropertyDeclarationAxiomIfNecessary);
+    this.assertedOWLAxioms.add(axiom);
   }
 
   private void generateOWLClassDeclarationAxiom(@NonNull OWLClass cls)
@@ -1161,6 +1148,7 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     if (!this.classDeclarationAxioms.containsKey(cls.getIRI())) {
       OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLClassDeclarationAxiom(cls);
       this.classDeclarationAxioms.put(cls.getIRI(), axiom);
+      this.generatedOWLDeclarationAxioms.add(axiom);
       this.assertedOWLAxioms.add(axiom);
     }
   }
@@ -1180,6 +1168,7 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
       OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory()
         .getOWLIndividualDeclarationAxiom(individual.asOWLNamedIndividual());
       this.individualDeclarationAxioms.put(individual.asOWLNamedIndividual().getIRI(), axiom);
+      this.generatedOWLDeclarationAxioms.add(axiom);
       this.assertedOWLAxioms.add(axiom);
     }
   }
@@ -1192,6 +1181,7 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
       if (!this.objectPropertyDeclarationAxioms.containsKey(property.getIRI())) {
         OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLObjectPropertyDeclarationAxiom(property);
         this.objectPropertyDeclarationAxioms.put(property.getIRI(), axiom);
+        this.generatedOWLDeclarationAxioms.add(axiom);
         this.assertedOWLAxioms.add(axiom);
       }
     }
@@ -1204,239 +1194,351 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
       if (!this.dataPropertyDeclarationAxioms.containsKey(property.getIRI())) {
         OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLDataPropertyDeclarationAxiom(property);
         this.dataPropertyDeclarationAxioms.put(property.getIRI(), axiom);
+        this.generatedOWLDeclarationAxioms.add(axiom);
         this.assertedOWLAxioms.add(axiom);
       }
     }
   }
 
-  @NonNull private Set<@NonNull OWLSameIndividualAxiom> getOWLSameIndividualAxioms()
+  /**
+   * Axiom additions and removals in the imports closure are applied incrementally to the processed rules, queries,
+   * and asserted axioms. Import and ontology ID changes, prefix changes, and changes made while in event freeze mode
+   * fall back to a full reprocessing of the ontology.
+   */
+  @Override public void ontologiesChanged(@Nonnull List<? extends OWLOntologyChange> changes) throws OWLException
   {
-    return getOWLOntology().getAxioms(AxiomType.SAME_INDIVIDUAL, Imports.INCLUDED);
-  }
+    this.hasOntologyChanged = true;
 
-  @NonNull private Set<@NonNull OWLDifferentIndividualsAxiom> getOWLDifferentIndividualsAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DIFFERENT_INDIVIDUALS, Imports.INCLUDED);
+    if (!eventFreezeMode) {
+      try {
+        if (requiresOntologyReprocessing(changes))
+          processOntology();
+        else
+          processOntologyChanges(changes);
+      } catch (SWRLBuiltInException e) {
+        String message = "error processing SQWRL queries in ontology: " + e.getMessage();
+        throw new OWLException(message);
+      }
+    } else
+      this.hasUnprocessedOntologyChanges = true;
   }
 
-  @NonNull private Set<@NonNull OWLSubObjectPropertyOfAxiom> getOWLSubObjectPropertyOfAxioms()
+  private boolean requiresOntologyReprocessing(@NonNull List<? extends OWLOntologyChange> changes)
   {
-    return getOWLOntology().getAxioms(AxiomType.SUB_OBJECT_PROPERTY, Imports.INCLUDED);
-  }
+    if (this.hasUnprocessedOntologyChanges || !this.processedPrefixes.equals(getOntologyPrefixes()))
+      return true;
 
-  @NonNull private Set<@NonNull OWLSubDataPropertyOfAxiom> getOWLSubDataPropertyOfAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.SUB_DATA_PROPERTY, Imports.INCLUDED);
+    for (OWLOntologyChange change : changes) {
+      if (change.isImportChange() || change instanceof SetOntologyID)
+        return true;
+    }
+    return false;
   }
 
-  @NonNull private Set<@NonNull OWLEquivalentClassesAxiom> getOWLEquivalentClassesAxioms()
+  private void processOntologyChanges(@NonNull List<? extends OWLOntologyChange> changes) throws SWRLBuiltInException
   {
-    return getOWLOntology().getAxioms(AxiomType.EQUIVALENT_CLASSES, Imports.INCLUDED);
-  }
+    Set<@NonNull OWLOntology> importsClosure = getOWLOntology().getImportsClosure();
 
-  @NonNull private Set<@NonNull OWLClassAssertionAxiom> getOWLClassAssertionAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.CLASS_ASSERTION, Imports.INCLUDED);
+    for (OWLOntologyChange change : changes) {
+      if (change.isAxiomChange() && importsClosure.contains(change.getOntology())) {
+        if (change.isAddAxiom())
+          processAddedOWLAxiom(change.getAxiom());
+        else
+          processRemovedOWLAxiom(change.getAxiom());
+      }
+    }
+    this.hasOntologyChanged = false;
+    notifyRegisteredRuleEngineModels();
   }
 
-  @NonNull private Set<@NonNull OWLObjectPropertyAssertionAxiom> getOWLObjectPropertyAssertionAxioms()
+  private void processAddedOWLAxiom(@NonNull OWLAxiom axiom) throws SWRLBuiltInException
   {
-    return getOWLOntology().getAxioms(AxiomType.OBJECT_PROPERTY_ASSERTION, Imports.INCLUDED);
-  }
+    if (axiom.isOfType(AxiomType.SWRL_RULE)) {
+      SWRLRule owlapiRule = (SWRLRule)axiom;
+      Optional<@NonNull String> ruleName = getRuleName(owlapiRule);
 
-  @NonNull private Set<@NonNull OWLDataPropertyAssertionAxiom> getOWLDataPropertyAssertionAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DATA_PROPERTY_ASSERTION, Imports.INCLUDED);
-  }
+      if (ruleName.isPresent() && owlapiRule.equals(this.owlapiRules.get(ruleName.get())))
+        return; // Already recorded by createSWRLRule or createSQWRLQuery
 
-  @NonNull private Set<@NonNull OWLSubClassOfAxiom> getOWLSubClassOfAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.SUBCLASS_OF, Imports.INCLUDED);
-  }
+      Set<@NonNull SWRLRule> unnamedOWLAPIRules = removeUnnamedSWRLRules();
 
-  @NonNull @SuppressWarnings("unused") private Set<@NonNull OWLDisjointClassesAxiom> getOWLDisjointClassesAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DISJOINT_CLASSES, Imports.INCLUDED);
+      if (ruleName.isPresent()) {
+        removeSWRLRule(ruleName.get()); // A rule with the same name is replaced
+        processSWRLRule(owlapiRule, ruleName.get());
+      } else
+        unnamedOWLAPIRules.add(owlapiRule);
+      processUnnamedSWRLRules(unnamedOWLAPIRules);
+    } else
+      axiom.accept(this.axiomProcessor);
   }
 
-  @NonNull private Set<@NonNull OWLEquivalentDataPropertiesAxiom> getOWLEquivalentDataPropertiesAxioms()
+  private void processRemovedOWLAxiom(@NonNull OWLAxiom axiom) throws SWRLBuiltInException
   {
-    return getOWLOntology().getAxioms(AxiomType.EQUIVALENT_DATA_PROPERTIES, Imports.INCLUDED);
-  }
+    if (getOWLOntology().containsAxiom(axiom, Imports.INCLUDED, AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS))
+      return; // Still asserted in another ontology in the imports closure
 
-  @NonNull private Set<@NonNull OWLEquivalentObjectPropertiesAxiom> getOWLEquivalentObjectPropertiesAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.EQUIVALENT_OBJECT_PROPERTIES, Imports.INCLUDED);
-  }
+    if (axiom.isOfType(AxiomType.SWRL_RULE)) {
+      Optional<@NonNull String> ruleName = this.owlapiRules.entrySet().stream()
+        .filter(entry -> entry.getValue().equals(axiom)).map(Map.Entry::getKey).findFirst();
 
-  @NonNull private Set<@NonNull OWLDisjointDataPropertiesAxiom> getOWLDisjointDataPropertiesAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DISJOINT_DATA_PROPERTIES, Imports.INCLUDED);
-  }
+      if (ruleName.isPresent()) {
+        removeSWRLRule(ruleName.get());
+        processUnnamedSWRLRules(removeUnnamedSWRLRules()); // A generated name may now be free
+      }
+    } else
+      this.assertedOWLAxioms.remove(axiom);
 
-  @NonNull private Set<@NonNull OWLDisjointObjectPropertiesAxiom> getOWLDisjointObjectPropertiesAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DISJOINT_OBJECT_PROPERTIES, Imports.INCLUDED);
+    axiom.getSignature().forEach(this::updateOWLDeclarationAxiom);
   }
 
-  @NonNull private Set<@NonNull OWLObjectPropertyDomainAxiom> getOWLObjectPropertyDomainAxioms()
+  /**
+   * Called for the entities referenced by a removed axiom. If the recorded declaration for an entity is no longer
+   * asserted we drop it. Any other asserted declarations of the entity are then recorded again and the remaining axioms
+   * that reference the entity are processed again so that a declaration is regenerated only if one of them would have
+   * generated it during full processing.
+   */
+  private void updateOWLDeclarationAxiom(@NonNull OWLEntity entity)
   {
-    return getOWLOntology().getAxioms(AxiomType.OBJECT_PROPERTY_DOMAIN, Imports.INCLUDED);
-  }
+    Optional<@NonNull Map<@NonNull IRI, @NonNull OWLDeclarationAxiom>> declarationAxioms = getOWLDeclarationAxioms(
+      entity);
 
-  @NonNull private Set<@NonNull OWLDataPropertyDomainAxiom> getOWLDataPropertyDomainAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DATA_PROPERTY_DOMAIN, Imports.INCLUDED);
-  }
+    if (declarationAxioms.isPresent()) {
+      IRI iri = entity.getIRI();
+      OWLDeclarationAxiom axiom = declarationAxioms.get().get(iri);
 
-  @NonNull private Set<@NonNull OWLObjectPropertyRangeAxiom> getOWLObjectPropertyRangeAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.OBJECT_PROPERTY_RANGE, Imports.INCLUDED);
-  }
+      if (axiom != null && !getOWLOntology()
+        .containsAxiom(axiom, Imports.INCLUDED, AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS)) {
+        declarationAxioms.get().remove(iri);
+        this.generatedOWLDeclarationAxioms.remove(axiom);
+        this.assertedOWLAxioms.remove(axiom);
 
-  @NonNull private Set<@NonNull OWLDataPropertyRangeAxiom> getOWLDataPropertyRangeAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DATA_PROPERTY_RANGE, Imports.INCLUDED);
-  }
+        for (OWLOntology importedOntology : getOWLOntology().getImportsClosure())
+          importedOntology.getDeclarationAxioms(entity).forEach(this::processOWLDeclarationAxiom);
 
-  @NonNull private Set<@NonNull OWLFunctionalObjectPropertyAxiom> getOWLFunctionalObjectPropertyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.FUNCTIONAL_OBJECT_PROPERTY, Imports.INCLUDED);
+        for (OWLAxiom referencingAxiom : getOWLOntology().getReferencingAxioms(entity, Imports.INCLUDED)) {
+          if (!referencingAxiom.isOfType(AxiomType.SWRL_RULE))
+            referencingAxiom.accept(this.axiomProcessor);
+        }
+      }
+    }
   }
 
-  @NonNull private Set<@NonNull OWLFunctionalDataPropertyAxiom> getOWLFunctionalDataPropertyAxioms()
+  @NonNull private Optional<@NonNull Map<@NonNull IRI, @NonNull OWLDeclarationAxiom>> getOWLDeclarationAxioms(
+    @NonNull OWLEntity entity)
   {
-    return getOWLOntology().getAxioms(AxiomType.FUNCTIONAL_DATA_PROPERTY, Imports.INCLUDED);
+    if (entity.isOWLClass())
+      return Optional.of(this.classDeclarationAxioms);
+    else if (entity.isOWLNamedIndividual())
+      return Optional.of(this.individualDeclarationAxioms);
+    else if (entity.isOWLObjectProperty())
+      return Optional.of(this.objectPropertyDeclarationAxioms);
+    else if (entity.isOWLDataProperty())
+      return Optional.of(this.dataPropertyDeclarationAxioms);
+    else if (entity.isOWLAnnotationProperty())
+      return Optional.of(this.annotationPropertyDeclarationAxioms);
+    else
+      return Optional.empty();
   }
 
-  @NonNull private Set<@NonNull OWLIrreflexiveObjectPropertyAxiom> getOWLIrreflexiveObjectPropertyAxioms()
+  @NonNull private Map<@NonNull String, String> getOntologyPrefixes()
   {
-    return getOWLOntology().getAxioms(AxiomType.IRREFLEXIVE_OBJECT_PROPERTY, Imports.INCLUDED);
-  }
+    OWLDocumentFormat ontologyFormat = getOWLOntologyManager().getOntologyFormat(this.ontology);
 
-  @NonNull private Set<@NonNull OWLInverseFunctionalObjectPropertyAxiom> getOWLInverseFunctionalObjectPropertyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.INVERSE_FUNCTIONAL_OBJECT_PROPERTY, Imports.INCLUDED);
+    if (ontologyFormat != null && ontologyFormat.isPrefixOWLOntologyFormat())
+      return ontologyFormat.asPrefixOWLOntologyFormat().getPrefixName2PrefixMap();
+    else
+      return Collections.emptyMap();
   }
 
-  @NonNull private Set<@NonNull OWLTransitiveObjectPropertyAxiom> getOWLTransitiveObjectPropertyAxioms()
+  /**
+   * Dispatches each axiom to the appropriate processing method. Used both for the single sweep over the imports closure
+   * in {@link #processOWLAxioms()} and for incrementally processing added axioms. Unsupported axiom types are ignored.
+   */
+  private class OWLAxiomProcessor implements OWLAxiomVisitor
   {
-    return getOWLOntology().getAxioms(AxiomType.TRANSITIVE_OBJECT_PROPERTY, Imports.INCLUDED);
-  }
+    @Override public void visit(@NonNull OWLDeclarationAxiom axiom)
+    {
+      processOWLDeclarationAxiom(axiom);
+    }
 
-  @NonNull private Set<@NonNull OWLSymmetricObjectPropertyAxiom> getOWLSymmetricObjectPropertyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.SYMMETRIC_OBJECT_PROPERTY, Imports.INCLUDED);
-  }
+    @Override public void visit(@NonNull OWLClassAssertionAxiom axiom)
+    {
+      processOWLClassAssertionAxiom(axiom);
+    }
 
-  @NonNull private Set<@NonNull OWLAsymmetricObjectPropertyAxiom> getOWLAsymmetricObjectPropertyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.ASYMMETRIC_OBJECT_PROPERTY, Imports.INCLUDED);
-  }
+    @Override public void visit(@NonNull OWLObjectPropertyAssertionAxiom axiom)
+    {
+      processOWLObjectPropertyAssertionAxiom(axiom);
+    }
 
-  @NonNull private Set<@NonNull OWLInverseObjectPropertiesAxiom> getOWLInverseObjectPropertiesAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.INVERSE_OBJECT_PROPERTIES, Imports.INCLUDED);
-  }
+    @Override public void visit(@NonNull OWLDataPropertyAssertionAxiom axiom)
+    {
+      processOWLDataPropertyAssertionAxiom(axiom);
+    }
 
-  @NonNull private Set<@NonNull OWLNegativeDataPropertyAssertionAxiom> getOWLNegativeDataPropertyAssertionAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.NEGATIVE_DATA_PROPERTY_ASSERTION, Imports.INCLUDED);
-  }
+    @Override public void visit(@NonNull OWLSameIndividualAxiom axiom)
+    {
+      processOWLSameIndividualAxiom(axiom);
+    }
 
-  @NonNull private Set<@NonNull OWLNegativeObjectPropertyAssertionAxiom> getOWLNegativeObjectPropertyAssertionAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.NEGATIVE_OBJECT_PROPERTY_ASSERTION, Imports.INCLUDED);
-  }
+    @Override public void visit(@NonNull OWLDifferentIndividualsAxiom axiom)
+    {
+      processOWLDifferentIndividualsAxiom(axiom);
+    }
 
-  @NonNull private Set<@NonNull OWLReflexiveObjectPropertyAxiom> getOWLReflexiveObjectPropertyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.REFLEXIVE_OBJECT_PROPERTY, Imports.INCLUDED);
-  }
+    @Override public void visit(@NonNull OWLSubClassOfAxiom axiom)
+    {
+      processOWLSubClassOfAxiom(axiom);
+    }
 
-  @NonNull private Set<@NonNull OWLDisjointUnionAxiom> getOWLDisjointUnionAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DISJOINT_UNION, Imports.INCLUDED);
-  }
+    @Override public void visit(@NonNull OWLEquivalentClassesAxiom axiom)
+    {
+      processOWLEquivalentClassesAxiom(axiom);
+    }
 
-  @NonNull private Set<@NonNull OWLAnnotationAssertionAxiom> getOWLAnnotationAssertionAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.ANNOTATION_ASSERTION, Imports.INCLUDED);
-  }
+    @Override public void visit(@NonNull OWLSubObjectPropertyOfAxiom axiom)
+    {
+      processOWLSubObjectPropertyOfAxiom(axiom);
+    }
 
-  @NonNull private Set<@NonNull OWLSubPropertyChainOfAxiom> getOWLSubPropertyChainOfAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.SUB_PROPERTY_CHAIN_OF, Imports.INCLUDED);
-  }
+    @Override public void visit(@NonNull OWLSubDataPropertyOfAxiom axiom)
+    {
+      processOWLSubDataPropertyOfAxiom(axiom);
+    }
 
-  @NonNull private Set<@NonNull OWLHasKeyAxiom> getOWLHasKeyAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.HAS_KEY, Imports.INCLUDED);
-  }
+    @Override public void visit(@NonNull OWLEquivalentObjectPropertiesAxiom axiom)
+    {
+      processOWLEquivalentObjectPropertiesAxiom(axiom);
+    }
 
-  @NonNull @SuppressWarnings("unused") private Set<@NonNull OWLDatatypeDefinitionAxiom> getOWLDatatypeDefinitionAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DATATYPE_DEFINITION, Imports.INCLUDED);
-  }
+    @Override public void visit(@NonNull OWLEquivalentDataPropertiesAxiom axiom)
+    {
+      processOWLEquivalentDataPropertiesAxiom(axiom);
+    }
 
-  @NonNull @SuppressWarnings("unused") private Set<@NonNull OWLAnnotationPropertyRangeAxiom> getOWLAnnotationPropertyRangeAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.ANNOTATION_PROPERTY_RANGE, Imports.INCLUDED);
-  }
+    @Override public void visit(@NonNull OWLTransitiveObjectPropertyAxiom axiom)
+    {
+      processOWLObjectPropertyCharacteristicAxiom(axiom);
+    }
 
-  @NonNull @SuppressWarnings("unused") private Set<@NonNull OWLAnnotationPropertyDomainAxiom> getOWLAnnotationPropertyDomainAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.ANNOTATION_PROPERTY_DOMAIN, Imports.INCLUDED);
-  }
+    @Override public void visit(@NonNull OWLSymmetricObjectPropertyAxiom axiom)
+    {
+      processOWLObjectPropertyCharacteristicAxiom(axiom);
+    }
 
-  @NonNull @SuppressWarnings("unused") private Set<@NonNull OWLSubAnnotationPropertyOfAxiom> getOWLSubAnnotationPropertyOfAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.SUB_ANNOTATION_PROPERTY_OF, Imports.INCLUDED);
-  }
+    @Override public void visit(@NonNull OWLFunctionalObjectPropertyAxiom axiom)
+    {
+      processOWLObjectPropertyCharacteristicAxiom(axiom);
+    }
 
-  @NonNull private Set<@NonNull OWLDeclarationAxiom> getOWLClassDeclarationAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED).stream()
-      .filter(owlDeclarationAxiom -> owlDeclarationAxiom.getEntity().isOWLClass()).collect(Collectors.toSet());
-  }
+    @Override public void visit(@NonNull OWLInverseFunctionalObjectPropertyAxiom axiom)
+    {
+      processOWLObjectPropertyCharacteristicAxiom(axiom);
+    }
 
-  @NonNull private Set<@NonNull OWLDeclarationAxiom> getOWLIndividualDeclarationAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED).stream()
-      .filter(owlDeclarationAxiom -> owlDeclarationAxiom.getEntity().isOWLNamedIndividual())
-      .collect(Collectors.toSet());
-  }
+    @Override public void visit(@NonNull OWLIrreflexiveObjectPropertyAxiom axiom)
+    {
+      processOWLObjectPropertyCharacteristicAxiom(axiom);
+    }
 
-  @NonNull private Set<@NonNull OWLDeclarationAxiom> getOWLObjectPropertyDeclarationAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED).stream()
-      .filter(owlDeclarationAxiom -> owlDeclarationAxiom.getEntity().isOWLObjectProperty()).collect(Collectors.toSet());
-  }
+    @Override public void visit(@NonNull OWLAsymmetricObjectPropertyAxiom axiom)
+    {
+      processOWLObjectPropertyCharacteristicAxiom(axiom);
+    }
 
-  @NonNull private Set<@NonNull OWLDeclarationAxiom> getOWLDataPropertyDeclarationAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED).stream()
-      .filter(owlDeclarationAxiom -> owlDeclarationAxiom.getEntity().isOWLDataProperty()).collect(Collectors.toSet());
-  }
+    @Override public void visit(@NonNull OWLFunctionalDataPropertyAxiom axiom)
+    {
+      processOWLFunctionalDataPropertyAxiom(axiom);
+    }
 
-  @NonNull private Set<@NonNull OWLDeclarationAxiom> getOWLAnnotationPropertyDeclarationAxioms()
-  {
-    return getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED).stream()
-      .filter(owlDeclarationAxiom -> owlDeclarationAxiom.getEntity().isOWLAnnotationProperty())
-      .collect(Collectors.toSet());
-  }
+    @Override public void visit(@NonNull OWLObjectPropertyDomainAxiom axiom)
+    {
+      processOWLObjectPropertyDomainAxiom(axiom);
+    }
 
-  @Override public void ontologiesChanged(@Nonnull List<? extends OWLOntologyChange> list) throws OWLException
-  {
-    this.hasOntologyChanged = true;
+    @Override public void visit(@NonNull OWLDataPropertyDomainAxiom axiom)
+    {
+      processOWLDataPropertyDomainAxiom(axiom);
+    }
 
-    if (!eventFreezeMode) {
-      try {
-        processOntology();
-      } catch (SWRLBuiltInException e) {
-        String message = "error processing SQWRL queries in ontology: " + e.getMessage();
-        throw new OWLException(message);
-      }
+    @Override public void visit(@NonNull OWLObjectPropertyRangeAxiom axiom)
+    {
+      processOWLObjectPropertyRangeAxiom(axiom);
+    }
+
+    @Override public void visit(@NonNull OWLDataPropertyRangeAxiom axiom)
+    {
+      processOWLDataPropertyRangeAxiom(axiom);
+    }
+
+    @Override public void visit(@NonNull OWLInverseObjectPropertiesAxiom axiom)
+    {
+      processOWLInverseObjectPropertiesAxiom(axiom);
+    }
+
+    @Override public void visit(@NonNull OWLDisjointObjectPropertiesAxiom axiom)
+    {
+      processOWLDisjointObjectPropertiesAxiom(axiom);
+    }
+
+    @Override public void visit(@NonNull OWLDisjointDataPropertiesAxiom axiom)
+    {
+      processOWLDisjointDataPropertiesAxiom(axiom);
+    }
+
+    // Axiom types not currently processed
+
+    @Override public void visit(@NonNull OWLNegativeObjectPropertyAssertionAxiom axiom)
+    {
+    }
+
+    @Override public void visit(@NonNull OWLNegativeDataPropertyAssertionAxiom axiom)
+    {
+    }
+
+    @Override public void visit(@NonNull OWLReflexiveObjectPropertyAxiom axiom)
+    {
+    }
+
+    @Override public void visit(@NonNull OWLDisjointClassesAxiom axiom)
+    {
+    }
+
+    @Override public void visit(@NonNull OWLDisjointUnionAxiom axiom)
+    {
+    }
+
+    @Override public void visit(@NonNull OWLSubPropertyChainOfAxiom axiom)
+    {
+    }
+
+    @Override public void visit(@NonNull OWLHasKeyAxiom axiom)
+    {
+    }
+
+    @Override public void visit(@NonNull OWLDatatypeDefinitionAxiom axiom)
+    {
+    }
+
+    @Override public void visit(@NonNull OWLAnnotationAssertionAxiom axiom)
+    {
+    }
+
+    @Override public void visit(@NonNull OWLSubAnnotationPropertyOfAxiom axiom)
+    {
+    }
+
+    @Override public void visit(@NonNull OWLAnnotationPropertyDomainAxiom axiom)
+    {
+    }
+
+    @Override public void visit(@NonNull OWLAnnotationPropertyRangeAxiom axiom)
+    {
+    }
+
+    @Override public void visit(@NonNull SWRLRule rule)
+    {
+      // SWRL rules are processed separately
     }
   }
 
@@ -12,12 +12,15 @@ import org.swrlapi.bridge.TargetSWRLRuleEngine;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.core.IRIResolver;
 import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLAPIRule;
 import org.swrlapi.exceptions.SWRLBuiltInBridgeException;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.exceptions.SWRLRuleEngineBridgeException;
 import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
 import org.swrlapi.owl2rl.OWL2RLPersistenceLayer;
 import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.SQWRLNames;
+import org.swrlapi.sqwrl.SQWRLQuery;
 import org.swrlapi.sqwrl.SQWRLResultGenerator;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
 
@@ -58,6 +61,17 @@ public class DefaultSWRLBridge implements SWRLBridge
    */
   @MonotonicNonNull private TargetSWRLRuleEngine targetSWRLRuleEngine;
 
+  /**
+   * Set when the rule engine is asked to stop; read by the thread running the rule engine.
+   */
+  private volatile boolean ruleEngineStopRequested;
+
+  /**
+   * SQWRL queries whose result has reached its row limit in the current run. Built-ins invoked by these queries
+   * evaluate to false so that the queries stop generating rows without holding up other rules.
+   */
+  @NonNull private final Set<@NonNull String> rowLimitedSQWRLQueryNames;
+
   public DefaultSWRLBridge(@NonNull SWRLAPIOWLOntology swrlapiOWLOntology,
     @NonNull OWL2RLPersistenceLayer owl2RLPersistenceLayer) throws SWRLBuiltInBridgeException
   {
@@ -66,6 +80,7 @@ public class DefaultSWRLBridge implements SWRLBridge
 
     this.inferredOWLAxioms = new HashSet<>();
     this.injectedOWLAxioms = new HashSet<>();
+    this.rowLimitedSQWRLQueryNames = new HashSet<>();
 
     this.swrlapiOWLOntology.getSWRLBuiltInLibraryManager().invokeAllBuiltInLibrariesResetMethod(this);
   }
@@ -77,12 +92,21 @@ public class DefaultSWRLBridge implements SWRLBridge
 
   @Override public void reset() throws SWRLBuiltInBridgeException
   {
+    this.ruleEngineStopRequested = false;
+    this.rowLimitedSQWRLQueryNames.clear();
     this.inferredOWLAxioms.clear();
     this.injectedOWLAxioms.clear();
 
     this.swrlapiOWLOntology.getSWRLBuiltInLibraryManager().invokeAllBuiltInLibrariesResetMethod(this);
   }
 
+  @Override public void resetRule(@NonNull String ruleName) throws SWRLBuiltInBridgeException
+  {
+    this.ruleEngineStopRequested = false; // Rules are reset before a query is run in a SQWRL query session
+    this.rowLimitedSQWRLQueryNames.remove(ruleName);
+    this.swrlapiOWLOntology.getSWRLBuiltInLibraryManager().invokeAllBuiltInLibrariesRuleResetMethod(this, ruleName);
+  }
+
   @Override public boolean hasOntologyChanged()
   {
     return this.swrlapiOWLOntology.hasOntologyChanged();
@@ -142,12 +166,60 @@ public class DefaultSWRLBridge implements SWRLBridge
       this.inferredOWLAxioms.add(axiom);
   }
 
+  @Override public boolean isRuleEngineStopRequested()
+  {
+    return this.ruleEngineStopRequested;
+  }
+
+  @Override public void requestRuleEngineStop()
+  {
+    this.ruleEngineStopRequested = true;
+
+    if (this.targetSWRLRuleEngine != null)
+      this.targetSWRLRuleEngine.stopRuleEngine();
+  }
+
   @NonNull @Override public List<@NonNull List<@NonNull SWRLBuiltInArgument>> invokeSWRLBuiltIn(
     @NonNull String ruleName, @NonNull String builtInName, int builtInIndex, boolean isInConsequent,
     @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    return this.swrlapiOWLOntology.getSWRLBuiltInLibraryManager()
+    // Starve rules of matches so that engines that do not poll the request finish
+    if (this.ruleEngineStopRequested || this.rowLimitedSQWRLQueryNames.contains(ruleName))
+      return Collections.emptyList();
+
+    List<@NonNull List<@NonNull SWRLBuiltInArgument>> result = this.swrlapiOWLOntology.getSWRLBuiltInLibraryManager()
       .invokeSWRLBuiltIn(this, ruleName, builtInName, builtInIndex, isInConsequent, arguments);
+
+    if (isInConsequent && builtInName.startsWith(SQWRLNames.SQWRL_PREFIX) && getSQWRLResultGenerator(ruleName)
+      .isRowLimitReached()) {
+      this.rowLimitedSQWRLQueryNames.add(ruleName);
+      if (canStopRuleEngineEarly())
+        requestRuleEngineStop();
+    }
+
+    return result;
+  }
+
+  /**
+   * The whole rule engine can stop early only if its run produces nothing but SQWRL results, i.e., there are no SWRL
+   * rules other than queries and no enabled OWL 2 RL rules, and every active query has reached its row limit. Stopping
+   * otherwise would lose inferred axioms.
+   */
+  private boolean canStopRuleEngineEarly()
+  {
+    if (this.targetSWRLRuleEngine == null || !this.targetSWRLRuleEngine.getOWL2RLEngine().getEnabledRules().isEmpty())
+      return false;
+
+    for (SWRLAPIRule rule : this.swrlapiOWLOntology.getSWRLRules()) {
+      if (!rule.isSQWRLQuery())
+        return false;
+    }
+
+    for (SQWRLQuery query : this.swrlapiOWLOntology.getSQWRLQueries()) {
+      if (query.isActive() && !this.rowLimitedSQWRLQueryNames.contains(query.getQueryName()))
+        return false;
+    }
+    return true;
   }
 
   public boolean isOWLClass(@NonNull IRI iri)
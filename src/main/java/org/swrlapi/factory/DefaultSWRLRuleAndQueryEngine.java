@@ -1,12 +1,18 @@
 package org.swrlapi.factory;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.semanticweb.owlapi.model.AddAxiom;
+import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.SWRLBuiltInAtom;
+import org.semanticweb.owlapi.model.SWRLRule;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.swrlapi.bridge.SWRLRuleEngineBridgeController;
 import org.swrlapi.bridge.TargetSWRLRuleEngine;
@@ -23,30 +29,51 @@ import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
 import org.swrlapi.owl2rl.OWL2RLEngine;
 import org.swrlapi.parser.SWRLParseException;
 import org.swrlapi.parser.SWRLParser;
+import org.swrlapi.sqwrl.SQWRLNames;
+import org.swrlapi.sqwrl.SQWRLPreparedQuery;
 import org.swrlapi.sqwrl.SQWRLQuery;
 import org.swrlapi.sqwrl.SQWRLQueryEngine;
 import org.swrlapi.sqwrl.SQWRLQueryRenderer;
 import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.SQWRLResultCursor;
+import org.swrlapi.sqwrl.SQWRLResultGenerator;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.exceptions.SQWRLInvalidQueryNameException;
 import org.swrlapi.ui.model.SWRLAutoCompleter;
 
 import javax.swing.*;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * This class provides an implementation of some of the core functionality required by a SWRL rule engine.
  */
 class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
 {
+  @NonNull private static final Comparator<@NonNull AxiomType<?>> AXIOM_TYPE_EXPORT_ORDER = Comparator
+    .<AxiomType<?>>comparingInt(DefaultSWRLRuleAndQueryEngine::getAxiomTypeExportGroup)
+    .thenComparing(AxiomType::getName);
+
   @NonNull private final SWRLAPIOWLOntology swrlapiOWLOntology;
   @NonNull private final TargetSWRLRuleEngine targetSWRLRuleEngine;
   @NonNull private final SWRLBuiltInBridgeController builtInBridgeController;
   @NonNull private final SWRLRuleEngineBridgeController ruleEngineBridgeController;
+  @NonNull private final OWLOntologyChangeListener sqwrlQuerySessionChangeListener;
+
+  // In a SQWRL query session the asserted OWL axioms and SWRL rules stay loaded in the target rule engine between
+  // queries. The session is reloaded after any ontology change other than the addition or removal of a SQWRL query.
+  private boolean isInSQWRLQuerySession = false;
+  private boolean isSQWRLQuerySessionLoaded = false;
+  @Nullable private SQWRLQuery sqwrlQuerySessionQuery = null; // The query currently defined in the target rule engine
 
   public DefaultSWRLRuleAndQueryEngine(@NonNull SWRLAPIOWLOntology swrlapiOWLOntology,
     @NonNull TargetSWRLRuleEngine targetSWRLRuleEngine,
@@ -57,6 +84,7 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     this.targetSWRLRuleEngine = targetSWRLRuleEngine;
     this.builtInBridgeController = builtInBridgeController;
     this.ruleEngineBridgeController = ruleEngineBridgeController;
+    this.sqwrlQuerySessionChangeListener = this::sqwrlQuerySessionOntologiesChanged;
   }
 
   @Override public void importAssertedOWLAxioms() throws SWRLRuleEngineException
@@ -114,7 +142,7 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
   @NonNull @Override public SQWRLResult runSQWRLQuery(@NonNull String queryName) throws SQWRLException
   {
     try {
-      importSQWRLQueryAndOWLAxioms(queryName);
+      importSQWRLQuery(queryName);
       run();
       return getSQWRLResult(queryName);
     } catch (SWRLAPIException | SWRLBuiltInException e) {
@@ -122,6 +150,66 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     }
   }
 
+  @NonNull @Override public SQWRLResultCursor openSQWRLResultCursor(@NonNull String queryName, int bufferSize)
+    throws SQWRLException
+  {
+    SQWRLResultGenerator resultGenerator = getSQWRLQuery(queryName).getSQWRLResultGenerator();
+
+    if (!resultGenerator.isStreamable())
+      return new PreparedSQWRLResultCursor(runSQWRLQuery(queryName));
+
+    StreamingSQWRLResultCursor cursor = new StreamingSQWRLResultCursor(resultGenerator.getColumnNames(), bufferSize,
+      this.ruleEngineBridgeController::requestRuleEngineStop);
+
+    cursor.start(() -> streamSQWRLQuery(queryName, cursor), "SQWRL query " + queryName);
+
+    return cursor;
+  }
+
+  @NonNull @Override public SQWRLPreparedQuery prepareSQWRLQuery(@NonNull String queryName, @NonNull String queryText,
+    @NonNull Set<@NonNull String> parameterNames) throws SWRLParseException, SQWRLException
+  {
+    try {
+      return this.swrlapiOWLOntology.prepareSQWRLQuery(queryName, queryText, parameterNames);
+    } catch (RuntimeException | SWRLBuiltInException e) {
+      throw new SQWRLException("error preparing SQWRL query: " + (e.getMessage() != null ? e.getMessage() : ""), e);
+    }
+  }
+
+  @NonNull @Override public SQWRLResult runSQWRLQuery(@NonNull SQWRLPreparedQuery preparedQuery,
+    @NonNull Map<@NonNull String, @NonNull OWLLiteral> parameterValues) throws SQWRLException
+  {
+    try {
+      SQWRLQuery query;
+
+      if (canRunSQWRLQueryInSession()) {
+        loadSQWRLQuerySession();
+        query = this.swrlapiOWLOntology.createSQWRLQuery(preparedQuery, parameterValues);
+        importSQWRLQueryInSession(query);
+      } else {
+        importAssertedOWLAxioms(); // Import will call reset()
+        query = this.swrlapiOWLOntology.createSQWRLQuery(preparedQuery, parameterValues);
+        query.setActive(true);
+        exportSQWRLQuery2TargetRuleEngine(query);
+      }
+      run();
+      return query.getSQWRLResult();
+    } catch (SWRLAPIException | SWRLBuiltInException e) {
+      throw new SQWRLException("error running SQWRL query: " + (e.getMessage() != null ? e.getMessage() : ""), e);
+    }
+  }
+
+  @Override public void deleteSQWRLPreparedQuery(@NonNull SQWRLPreparedQuery preparedQuery)
+  {
+    String queryName = preparedQuery.getQueryName();
+
+    if (this.sqwrlQuerySessionQuery != null && this.sqwrlQuerySessionQuery.getQueryName().equals(queryName)) {
+      getTargetSWRLRuleEngine().undefineSQWRLQuery(this.sqwrlQuerySessionQuery);
+      this.sqwrlQuerySessionQuery = null;
+    }
+    this.swrlapiOWLOntology.deleteSQWRLPreparedQuery(queryName);
+  }
+
   @Override public void runSQWRLQueries() throws SQWRLException
   {
     try {
@@ -138,6 +226,30 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     }
   }
 
+  @Override public void startSQWRLQuerySession()
+  {
+    if (!this.isInSQWRLQuerySession) {
+      getOWLOntologyManager().addOntologyChangeListener(this.sqwrlQuerySessionChangeListener);
+      this.isInSQWRLQuerySession = true;
+      this.isSQWRLQuerySessionLoaded = false;
+    }
+  }
+
+  @Override public void finishSQWRLQuerySession()
+  {
+    if (this.isInSQWRLQuerySession) {
+      getOWLOntologyManager().removeOntologyChangeListener(this.sqwrlQuerySessionChangeListener);
+      this.isInSQWRLQuerySession = false;
+      this.isSQWRLQuerySessionLoaded = false;
+      this.sqwrlQuerySessionQuery = null;
+    }
+  }
+
+  @Override public boolean isInSQWRLQuerySession()
+  {
+    return this.isInSQWRLQuerySession;
+  }
+
   @Override public SQWRLQuery createSQWRLQuery(@NonNull String queryName, @NonNull String queryText)
     throws SWRLParseException, SQWRLException
   {
@@ -366,6 +478,9 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
 
   private void reset()
   {
+    this.isSQWRLQuerySessionLoaded = false;
+    this.sqwrlQuerySessionQuery = null;
+
     try {
       getTargetSWRLRuleEngine().resetRuleEngine(); // Reset the target rule engine
       getBuiltInBridgeController().reset();
@@ -377,6 +492,121 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     }
   }
 
+  /**
+   * Load a query and the relevant OWL axioms and SWRL rules into the target rule engine, within a SQWRL query session
+   * if one is in progress.
+   */
+  private void importSQWRLQuery(@NonNull String queryName) throws SWRLBuiltInException
+  {
+    if (canRunSQWRLQueryInSession()) {
+      loadSQWRLQuerySession();
+      importSQWRLQueryInSession(getSQWRLQuery(queryName));
+    } else
+      importSQWRLQueryAndOWLAxioms(queryName);
+  }
+
+  /**
+   * Run a query on the current thread, passing the rows of its result to a cursor as they are generated.
+   */
+  private void streamSQWRLQuery(@NonNull String queryName, @NonNull StreamingSQWRLResultCursor cursor)
+  {
+    SQWRLResultGenerator resultGenerator = null;
+    SQWRLException error = null;
+
+    try {
+      importSQWRLQuery(queryName); // The import may recreate the query and its result
+      if (!cursor.isClosed()) {
+        resultGenerator = getSQWRLQuery(queryName).getSQWRLResultGenerator();
+        resultGenerator.setRowListener(cursor);
+        run();
+      }
+    } catch (SQWRLException e) {
+      error = e;
+    } catch (SWRLAPIException | SWRLBuiltInException e) {
+      error = new SQWRLException("error running SQWRL query: " + (e.getMessage() != null ? e.getMessage() : ""), e);
+    } catch (RuntimeException e) {
+      error = new SQWRLException("internal error running SQWRL query: " + e, e);
+    } finally {
+      try {
+        if (resultGenerator != null)
+          resultGenerator.setRowListener(null);
+      } catch (SQWRLException e) {
+        if (error == null)
+          error = e;
+      }
+      cursor.finished(error);
+    }
+  }
+
+  private boolean canRunSQWRLQueryInSession() throws SWRLRuleEngineException
+  {
+    return this.isInSQWRLQuerySession && getTargetSWRLRuleEngine().canUndefineSQWRLQueries();
+  }
+
+  /**
+   * Load the asserted OWL axioms and SWRL rules if the session is not yet loaded; otherwise undefine the previously run
+   * query.
+   */
+  private void loadSQWRLQuerySession() throws SWRLRuleEngineException, TargetSWRLRuleEngineException
+  {
+    if (!this.isSQWRLQuerySessionLoaded) {
+      importAssertedOWLAxioms(); // Import will call reset()
+      this.isSQWRLQuerySessionLoaded = true;
+    } else if (this.sqwrlQuerySessionQuery != null) {
+      getTargetSWRLRuleEngine().undefineSQWRLQuery(this.sqwrlQuerySessionQuery);
+      this.sqwrlQuerySessionQuery = null;
+    }
+  }
+
+  /**
+   * Clear the result and collections of a query and define it in the loaded session.
+   */
+  private void importSQWRLQueryInSession(@NonNull SQWRLQuery query)
+    throws SWRLRuleEngineException, TargetSWRLRuleEngineException, SWRLBuiltInException
+  {
+    SQWRLResultGenerator resultGenerator = query.getSQWRLResultGenerator();
+
+    getBuiltInBridgeController().resetRule(query.getQueryName());
+    if (resultGenerator.isConfigured())
+      resultGenerator.clearRows();
+
+    query.setActive(true);
+    exportSQWRLQuery2TargetRuleEngine(query);
+    this.sqwrlQuerySessionQuery = query;
+  }
+
+  @NonNull private SQWRLQuery getSQWRLQuery(@NonNull String queryName) throws SQWRLException
+  {
+    return this.swrlapiOWLOntology.getSQWRLQueries().stream()
+      .filter(query -> query.getQueryName().equalsIgnoreCase(queryName)).findFirst()
+      .orElseThrow(() -> new SQWRLInvalidQueryNameException(queryName));
+  }
+
+  private void sqwrlQuerySessionOntologiesChanged(@NonNull List<? extends OWLOntologyChange> changes)
+  {
+    Set<@NonNull OWLOntology> importsClosure = getOWLOntology().getImportsClosure();
+
+    for (OWLOntologyChange change : changes) {
+      if (importsClosure.contains(change.getOntology()) && !(change.isAxiomChange() && isSQWRLQuery(
+        change.getAxiom()))) {
+        this.isSQWRLQuerySessionLoaded = false;
+        return;
+      }
+    }
+  }
+
+  private static boolean isSQWRLQuery(@NonNull OWLAxiom axiom)
+  {
+    if (axiom.isOfType(AxiomType.SWRL_RULE)) {
+      SWRLRule rule = (SWRLRule)axiom;
+
+      return Stream.concat(rule.getBody().stream(), rule.getHead().stream())
+        .filter(atom -> atom instanceof SWRLBuiltInAtom)
+        .anyMatch(atom -> ((SWRLBuiltInAtom)atom).getPredicate().toString().startsWith(SQWRLNames.SQWRL_NAMESPACE));
+    } else
+      return false;
+  }
+
   private void exportSQWRLQuery2TargetRuleEngine(@NonNull String activeQueryName)
     throws SWRLRuleEngineException, TargetSWRLRuleEngineException, SWRLBuiltInException
   {
@@ -412,8 +642,35 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
   private void exportOWLAxioms2TargetRuleEngine(@NonNull Set<@NonNull OWLAxiom> axioms)
     throws SWRLRuleEngineException, TargetSWRLRuleEngineException
   {
-    for (OWLAxiom axiom : axioms)
-      getTargetSWRLRuleEngine().defineOWLAxiom(axiom);
+    getTargetSWRLRuleEngine().defineOWLAxioms(groupOWLAxiomsByType(axioms));
+  }
+
+  /**
+   * Group axioms by type so that declarations precede class and property axioms, which precede assertions and SWRL
+   * rules. Axioms of the same type are contiguous.
+   */
+  @NonNull private List<@NonNull OWLAxiom> groupOWLAxiomsByType(@NonNull Set<@NonNull OWLAxiom> axioms)
+  {
+    Map<@NonNull AxiomType<?>, List<@NonNull OWLAxiom>> axiomsByType = axioms.stream()
+      .collect(Collectors.groupingBy(OWLAxiom::getAxiomType, () -> new TreeMap<>(AXIOM_TYPE_EXPORT_ORDER),
+        Collectors.toList()));
+    List<@NonNull OWLAxiom> groupedAxioms = new ArrayList<>(axioms.size());
+
+    axiomsByType.values().forEach(groupedAxioms::addAll);
+
+    return groupedAxioms;
+  }
+
+  private static int getAxiomTypeExportGroup(@NonNull AxiomType<?> axiomType)
+  {
+    if (axiomType == AxiomType.DECLARATION)
+      return 0;
+    else if (AxiomType.TBoxAndRBoxAxiomTypes.contains(axiomType))
+      return 1;
+    else if (AxiomType.ABoxAxiomTypes.contains(axiomType))
+      return 2;
+    else
+      return 3; // SWRL rules and any remaining axiom types
   }
 
   private void writeOWLAxioms2OWLOntology(@NonNull Set<@NonNull OWLAxiom> axioms) throws SWRLRuleEngineException
@@ -0,0 +1,69 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.SQWRLResultCursor;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+
+import java.util.List;
+
+/**
+ * A cursor over a SQWRL result that has already been prepared, used for results that cannot be streamed.
+ *
+ * @see org.swrlapi.factory.StreamingSQWRLResultCursor
+ */
+class PreparedSQWRLResultCursor implements SQWRLResultCursor
+{
+  @NonNull private final SQWRLResult result;
+
+  private boolean isClosed;
+
+  public PreparedSQWRLResultCursor(@NonNull SQWRLResult result) throws SQWRLException
+  {
+    this.result = result;
+    this.isClosed = false;
+
+    this.result.reset();
+  }
+
+  @NonNull @Override public List<@NonNull String> getColumnNames() throws SQWRLException
+  {
+    return this.result.getColumnNames();
+  }
+
+  @Override public int getNumberOfColumns() throws SQWRLException
+  {
+    return this.result.getNumberOfColumns();
+  }
+
+  @Override public boolean next() throws SQWRLException
+  {
+    return !this.isClosed && this.result.next();
+  }
+
+  @NonNull @Override public List<@NonNull SQWRLResultValue> getRow() throws SQWRLException
+  {
+    return this.result.getRow();
+  }
+
+  @NonNull @Override public SQWRLResultValue getValue(int columnIndex) throws SQWRLException
+  {
+    return this.result.getValue(columnIndex);
+  }
+
+  @NonNull @Override public SQWRLResultValue getValue(@NonNull String columnName) throws SQWRLException
+  {
+    return this.result.getValue(columnName);
+  }
+
+  @Override public boolean isClosed()
+  {
+    return this.isClosed;
+  }
+
+  @Override public void close()
+  {
+    this.isClosed = true;
+  }
+}
@@ -0,0 +1,315 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.IRI;
+import org.swrlapi.sqwrl.SQWRLResultNames;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.exceptions.SQWRLInvalidAggregateFunctionNameException;
+import org.swrlapi.sqwrl.values.SQWRLLiteralResultValue;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The running state of a SQWRL aggregate function for one group of result rows. Values are added to the accumulator as
+ * rows are added to a result, so a result keeps one accumulator for each group and aggregate column rather than every
+ * aggregated value.
+ * <p>
+ * Min, max, sum, avg and count need constant space. Median and count distinct need all values (or all distinct
+ * values) of a group and keep them in specialized structures.
+ *
+ * @see org.swrlapi.factory.DefaultSQWRLResultManager
+ */
+abstract class SQWRLAggregateAccumulator implements Serializable
+{
+  private static final long serialVersionUID = 1L;
+
+  protected final int columnIndex;
+  protected int rowIndex; // (0-based) index of the value in the group; used in error messages
+
+  protected SQWRLAggregateAccumulator(int columnIndex)
+  {
+    this.columnIndex = columnIndex;
+    this.rowIndex = 0;
+  }
+
+  /**
+   * @param aggregateFunctionName The name of an aggregate function
+   * @param columnIndex           The index of the aggregated column
+   * @return A new accumulator for the function
+   * @throws SQWRLInvalidAggregateFunctionNameException If the function name is invalid
+   */
+  @NonNull static SQWRLAggregateAccumulator create(@NonNull String aggregateFunctionName, int columnIndex)
+    throws SQWRLInvalidAggregateFunctionNameException
+  {
+    if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.MinAggregateFunction))
+      return new MinAccumulator(columnIndex);
+    else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.MaxAggregateFunction))
+      return new MaxAccumulator(columnIndex);
+    else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.SumAggregateFunction))
+      return new SumAccumulator(columnIndex);
+    else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.AvgAggregateFunction))
+      return new AvgAccumulator(columnIndex);
+    else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.MedianAggregateFunction))
+      return new MedianAccumulator(columnIndex);
+    else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.CountAggregateFunction))
+      return new CountAccumulator(columnIndex);
+    else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.CountDistinctAggregateFunction))
+      return new CountDistinctAccumulator(columnIndex);
+    else
+      throw new SQWRLInvalidAggregateFunctionNameException("invalid aggregate function " + aggregateFunctionName);
+  }
+
+  public void add(@NonNull SQWRLResultValue value) throws SQWRLException
+  {
+    accumulate(value);
+    this.rowIndex++;
+  }
+
+  protected abstract void accumulate(@NonNull SQWRLResultValue value) throws SQWRLException;
+
+  @NonNull public abstract SQWRLLiteralResultValue getResult(@NonNull SQWRLResultValueFactory resultValueFactory)
+    throws SQWRLException;
+
+  /**
+   * Accumulators for functions whose result has the narrowest numeric type that can hold any of the input values. The
+   * result type depends only on which numeric types have been seen so we keep one value of each type.
+   */
+  private static abstract class NumericAccumulator extends SQWRLAggregateAccumulator
+  {
+    private static final long serialVersionUID = 1L;
+
+    @NonNull private final String aggregateFunctionName;
+    @NonNull private final Map<@NonNull IRI, @NonNull SQWRLLiteralResultValue> valuesByDatatype;
+
+    protected NumericAccumulator(@NonNull String aggregateFunctionName, int columnIndex)
+    {
+      super(columnIndex);
+      this.aggregateFunctionName = aggregateFunctionName;
+      this.valuesByDatatype = new LinkedHashMap<>();
+    }
+
+    @NonNull protected SQWRLLiteralResultValue getNumericLiteral(@NonNull SQWRLResultValue value) throws SQWRLException
+    {
+      if (!value.isLiteral())
+        throw new SQWRLException(
+          "Found non literal value " + value + " in (0-based) row " + this.rowIndex + ", column " + this.columnIndex
+            + " - expecting literal");
+
+      SQWRLLiteralResultValue literal = value.asLiteralResult();
+
+      if (!literal.isNumeric())
+        throw new SQWRLException(
+          "attempt to use " + this.aggregateFunctionName + " aggregate on column with non numeric literal " + literal
+            + " with type " + literal.getOWLDatatype() + " in (0-based) row " + this.rowIndex + ", column "
+            + this.columnIndex);
+
+      this.valuesByDatatype.putIfAbsent(literal.getOWLLiteral().getDatatype().getIRI(), literal);
+
+      return literal;
+    }
+
+    @NonNull protected SQWRLLiteralResultValue createResult(@NonNull SQWRLResultValueFactory resultValueFactory,
+      double value) throws SQWRLException
+    {
+      if (this.rowIndex == 0)
+        throw new SQWRLException("empty aggregate list for " + this.aggregateFunctionName);
+
+      return resultValueFactory
+        .createLeastNarrowNumericLiteralValue(value, new ArrayList<>(this.valuesByDatatype.values()));
+    }
+  }
+
+  private static class MinAccumulator extends NumericAccumulator
+  {
+    private static final long serialVersionUID = 1L;
+
+    @Nullable private SQWRLLiteralResultValue min;
+
+    public MinAccumulator(int columnIndex)
+    {
+      super(SQWRLResultNames.MinAggregateFunction, columnIndex);
+    }
+
+    @Override protected void accumulate(@NonNull SQWRLResultValue value) throws SQWRLException
+    {
+      SQWRLLiteralResultValue literal = getNumericLiteral(value);
+
+      if (this.min == null || literal.compareTo(this.min) < 0)
+        this.min = literal;
+    }
+
+    @NonNull @Override public SQWRLLiteralResultValue getResult(@NonNull SQWRLResultValueFactory resultValueFactory)
+      throws SQWRLException
+    {
+      if (this.min == null)
+        throw new SQWRLException("empty aggregate list for " + SQWRLResultNames.MinAggregateFunction);
+
+      return this.min;
+    }
+  }
+
+  private static class MaxAccumulator extends NumericAccumulator
+  {
+    private static final long serialVersionUID = 1L;
+
+    @Nullable private SQWRLLiteralResultValue max;
+
+    public MaxAccumulator(int columnIndex)
+    {
+      super(SQWRLResultNames.MaxAggregateFunction, columnIndex);
+    }
+
+    @Override protected void accumulate(@NonNull SQWRLResultValue value) throws SQWRLException
+    {
+      SQWRLLiteralResultValue literal = getNumericLiteral(value);
+
+      if (this.max == null || literal.compareTo(this.max) > 0)
+        this.max = literal;
+    }
+
+    @NonNull @Override public SQWRLLiteralResultValue getResult(@NonNull SQWRLResultValueFactory resultValueFactory)
+      throws SQWRLException
+    {
+      if (this.max == null)
+        throw new SQWRLException("empty aggregate list for " + SQWRLResultNames.MaxAggregateFunction);
+
+      return this.max;
+    }
+  }
+
+  private static class SumAccumulator extends NumericAccumulator
+  {
+    private static final long serialVersionUID = 1L;
+
+    private double sum;
+
+    public SumAccumulator(int columnIndex)
+    {
+      super(SQWRLResultNames.SumAggregateFunction, columnIndex);
+    }
+
+    @Override protected void accumulate(@NonNull SQWRLResultValue value) throws SQWRLException
+    {
+      this.sum += getNumericLiteral(value).getDouble();
+    }
+
+    @NonNull @Override public SQWRLLiteralResultValue getResult(@NonNull SQWRLResultValueFactory resultValueFactory)
+      throws SQWRLException
+    {
+      return createResult(resultValueFactory, this.sum);
+    }
+  }
+
+  private static class AvgAccumulator extends NumericAccumulator
+  {
+    private static final long serialVersionUID = 1L;
+
+    private double sum;
+
+    public AvgAccumulator(int columnIndex)
+    {
+      super(SQWRLResultNames.AvgAggregateFunction, columnIndex);
+    }
+
+    @Override protected void accumulate(@NonNull SQWRLResultValue value) throws SQWRLException
+    {
+      this.sum += getNumericLiteral(value).getDouble();
+    }
+
+    @NonNull @Override public SQWRLLiteralResultValue getResult(@NonNull SQWRLResultValueFactory resultValueFactory)
+      throws SQWRLException
+    {
+      return createResult(resultValueFactory, this.sum / this.rowIndex);
+    }
+  }
+
+  private static class MedianAccumulator extends NumericAccumulator
+  {
+    private static final long serialVersionUID = 1L;
+
+    @NonNull private double[] values;
+
+    public MedianAccumulator(int columnIndex)
+    {
+      super(SQWRLResultNames.MedianAggregateFunction, columnIndex);
+      this.values = new double[8];
+    }
+
+    @Override protected void accumulate(@NonNull SQWRLResultValue value) throws SQWRLException
+    {
+      double d = getNumericLiteral(value).getDouble();
+
+      if (this.rowIndex == this.values.length)
+        this.values = Arrays.copyOf(this.values, this.values.length * 2);
+
+      this.values[this.rowIndex] = d;
+    }
+
+    @NonNull @Override public SQWRLLiteralResultValue getResult(@NonNull SQWRLResultValueFactory resultValueFactory)
+      throws SQWRLException
+    {
+      double[] valueArray = Arrays.copyOf(this.values, this.rowIndex);
+      int middle = valueArray.length / 2;
+      double medianValue;
+
+      Arrays.sort(valueArray);
+
+      if (valueArray.length % 2 == 1)
+        medianValue = valueArray[middle];
+      else
+        medianValue = (valueArray[middle - 1] + valueArray[middle]) / 2;
+
+      return createResult(resultValueFactory, medianValue);
+    }
+  }
+
+  private static class CountAccumulator extends SQWRLAggregateAccumulator
+  {
+    private static final long serialVersionUID = 1L;
+
+    public CountAccumulator(int columnIndex)
+    {
+      super(columnIndex);
+    }
+
+    @Override protected void accumulate(@NonNull SQWRLResultValue value)
+    {
+    }
+
+    @NonNull @Override public SQWRLLiteralResultValue getResult(@NonNull SQWRLResultValueFactory resultValueFactory)
+    {
+      return resultValueFactory.getLiteralValue(this.rowIndex);
+    }
+  }
+
+  private static class CountDistinctAccumulator extends SQWRLAggregateAccumulator
+  {
+    private static final long serialVersionUID = 1L;
+
+    @NonNull private final Set<@NonNull SQWRLResultValue> distinctValues;
+
+    public CountDistinctAccumulator(int columnIndex)
+    {
+      super(columnIndex);
+      this.distinctValues = new HashSet<>();
+    }
+
+    @Override protected void accumulate(@NonNull SQWRLResultValue value)
+    {
+      this.distinctValues.add(value);
+    }
+
+    @NonNull @Override public SQWRLLiteralResultValue getResult(@NonNull SQWRLResultValueFactory resultValueFactory)
+    {
+      return resultValueFactory.getLiteralValue(this.distinctValues.size());
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.swrlapi.sqwrl.values.SQWRLLiteralResultValue;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Column oriented storage for the rows of a SQWRL result. Each column is an array of int codes into a dictionary of
+ * the distinct values in the result, so a value that appears in many rows (typically an entity) is held once and a
+ * cell costs four bytes.
+ * <p>
+ * Rows are exposed as lightweight list views that decode their cells on access. Literals are dictionary encoded on
+ * their exact OWL literal so that the lexical form and datatype of a stored literal are preserved.
+ *
+ * @see org.swrlapi.factory.DefaultSQWRLResultManager
+ */
+class SQWRLResultColumnStore implements Serializable
+{
+  private static final long serialVersionUID = 1L;
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final int numberOfColumns;
+  @NonNull private final int[][] columns; // Column index -> row index -> value code
+  @NonNull private final List<@NonNull SQWRLResultValue> dictionary; // Value code -> value
+  @NonNull private final Map<@NonNull Object, @NonNull Integer> dictionaryCodes; // Value key -> value code
+  private int numberOfRows;
+
+  public SQWRLResultColumnStore(int numberOfColumns)
+  {
+    this.numberOfColumns = numberOfColumns;
+    this.columns = new int[numberOfColumns][INITIAL_CAPACITY];
+    this.dictionary = new ArrayList<>();
+    this.dictionaryCodes = new HashMap<>();
+    this.numberOfRows = 0;
+  }
+
+  /**
+   * @param values The values of a row
+   * @return A view of the stored row
+   */
+  @NonNull public List<@NonNull SQWRLResultValue> addRow(@NonNull List<@NonNull SQWRLResultValue> values)
+  {
+    if (values.size() != this.numberOfColumns)
+      throw new IllegalArgumentException("expecting " + this.numberOfColumns + " values, got " + values.size());
+
+    int rowIndex = this.numberOfRows;
+
+    if (rowIndex == capacity()) {
+      int newCapacity = rowIndex * 2;
+      for (int c = 0; c < this.numberOfColumns; c++)
+        this.columns[c] = Arrays.copyOf(this.columns[c], newCapacity);
+    }
+
+    for (int c = 0; c < this.numberOfColumns; c++)
+      this.columns[c][rowIndex] = encode(values.get(c));
+
+    this.numberOfRows++;
+
+    return new Row(this, rowIndex);
+  }
+
+  public int getNumberOfRows()
+  {
+    return this.numberOfRows;
+  }
+
+  @NonNull public SQWRLResultValue getValue(int rowIndex, int columnIndex)
+  {
+    return this.dictionary.get(this.columns[columnIndex][rowIndex]);
+  }
+
+  public void setValue(int rowIndex, int columnIndex, @NonNull SQWRLResultValue value)
+  {
+    this.columns[columnIndex][rowIndex] = encode(value);
+  }
+
+  private int capacity()
+  {
+    return this.numberOfColumns == 0 ? Integer.MAX_VALUE : this.columns[0].length;
+  }
+
+  private int encode(@NonNull SQWRLResultValue value)
+  {
+    Object key = value instanceof SQWRLLiteralResultValue ? ((SQWRLLiteralResultValue)value).getOWLLiteral() : value;
+    Integer code = this.dictionaryCodes.get(key);
+
+    if (code == null) {
+      code = this.dictionary.size();
+      this.dictionary.add(value);
+      this.dictionaryCodes.put(key, code);
+    }
+    return code;
+  }
+
+  private static class Row extends AbstractList<@NonNull SQWRLResultValue> implements RandomAccess, Serializable
+  {
+    private static final long serialVersionUID = 1L;
+
+    @NonNull private final SQWRLResultColumnStore store;
+    private final int rowIndex;
+
+    public Row(@NonNull SQWRLResultColumnStore store, int rowIndex)
+    {
+      this.store = store;
+      this.rowIndex = rowIndex;
+    }
+
+    @NonNull @Override public SQWRLResultValue get(int columnIndex)
+    {
+      checkColumnIndex(columnIndex);
+
+      return this.store.getValue(this.rowIndex, columnIndex);
+    }
+
+    @NonNull @Override public SQWRLResultValue set(int columnIndex, @NonNull SQWRLResultValue value)
+    {
+      checkColumnIndex(columnIndex);
+
+      SQWRLResultValue previousValue = this.store.getValue(this.rowIndex, columnIndex);
+      this.store.setValue(this.rowIndex, columnIndex, value);
+
+      return previousValue;
+    }
+
+    @Override public int size()
+    {
+      return this.store.numberOfColumns;
+    }
+
+    private void checkColumnIndex(int columnIndex)
+    {
+      if (columnIndex < 0 || columnIndex >= this.store.numberOfColumns)
+        throw new IndexOutOfBoundsException("invalid column index " + columnIndex);
+    }
+  }
+}
@@ -0,0 +1,247 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A temporary file of SQWRL result rows encoded by a {@link SQWRLResultValueCodec}. Rows are appended together with
+ * their ordinal (their position in the order in which they were added to the result) and can be read back sequentially
+ * or, once writing has finished, by index.
+ * <p>
+ * Each record is the length of its content followed by the ordinal and the encoded values of the row.
+ * <p>
+ * The file is deleted by {@link #close()}. It is not registered with {@link File#deleteOnExit()}, which would keep its
+ * path in memory until the JVM exits however many files a long-running process creates.
+ *
+ * @see org.swrlapi.factory.SpillingSQWRLResultManager
+ */
+class SQWRLResultSpillFile implements Closeable
+{
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  @NonNull private final File file;
+  @NonNull private final SQWRLResultValueCodec codec;
+  private final int numberOfColumns;
+  @NonNull private final ByteArrayOutputStream recordBuffer;
+  @NonNull private final DataOutputStream recordOut;
+
+  @Nullable private DataOutputStream out;
+  @Nullable private RandomAccessFile randomAccessFile;
+  @NonNull private long[] offsets; // Row index -> offset of record
+  private int numberOfRows;
+  private long length;
+
+  // The most recently read row; rows are usually read one column at a time
+  private int cachedRowIndex = -1;
+  @Nullable private List<@NonNull SQWRLResultValue> cachedRow;
+
+  /**
+   * @param directory       The directory to create the file in; null for the default temporary file directory
+   * @param codec           The codec used to encode rows
+   * @param numberOfColumns The number of columns of each row
+   * @throws IOException If the file cannot be created
+   */
+  public SQWRLResultSpillFile(@Nullable File directory, @NonNull SQWRLResultValueCodec codec, int numberOfColumns)
+    throws IOException
+  {
+    this.file = File.createTempFile("sqwrl", ".rows", directory);
+    this.codec = codec;
+    this.numberOfColumns = numberOfColumns;
+    this.recordBuffer = new ByteArrayOutputStream();
+    this.recordOut = new DataOutputStream(this.recordBuffer);
+    this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(this.file), BUFFER_SIZE));
+    this.offsets = new long[16];
+    this.numberOfRows = 0;
+    this.length = 0;
+  }
+
+  public void append(long ordinal, @NonNull List<@NonNull SQWRLResultValue> row) throws IOException
+  {
+    DataOutputStream out = this.out;
+
+    if (out == null)
+      throw new IOException("spill file " + this.file + " is not open for writing");
+
+    this.recordBuffer.reset();
+    SQWRLResultValueCodec.writeVarLong(this.recordOut, ordinal);
+    this.codec.writeRow(this.recordOut, row);
+
+    if (this.numberOfRows == this.offsets.length)
+      this.offsets = Arrays.copyOf(this.offsets, this.offsets.length * 2);
+    this.offsets[this.numberOfRows++] = this.length;
+
+    int recordLength = this.recordBuffer.size();
+    int startSize = out.size();
+    SQWRLResultValueCodec.writeVarInt(out, recordLength);
+    this.recordBuffer.writeTo(out);
+    this.length += out.size() - startSize; // DataOutputStream.size() wraps at 2GB so we only use differences
+  }
+
+  /**
+   * Finish writing; the rows of the file can be read after this call.
+   */
+  public void finishWriting() throws IOException
+  {
+    DataOutputStream out = this.out;
+
+    if (out != null) {
+      this.out = null;
+      out.close();
+    }
+  }
+
+  public int getNumberOfRows()
+  {
+    return this.numberOfRows;
+  }
+
+  @NonNull public Reader openReader() throws IOException
+  {
+    finishWriting();
+
+    return new Reader(
+      new DataInputStream(new BufferedInputStream(new FileInputStream(this.file), BUFFER_SIZE)));
+  }
+
+  @NonNull public List<@NonNull SQWRLResultValue> readRow(int rowIndex) throws IOException
+  {
+    List<@NonNull SQWRLResultValue> row = this.cachedRow;
+
+    if (row != null && this.cachedRowIndex == rowIndex)
+      return row;
+
+    if (rowIndex < 0 || rowIndex >= this.numberOfRows)
+      throw new IndexOutOfBoundsException("invalid row index " + rowIndex);
+
+    RandomAccessFile randomAccessFile = this.randomAccessFile;
+
+    if (randomAccessFile == null) {
+      finishWriting();
+      randomAccessFile = this.randomAccessFile = new RandomAccessFile(this.file, "r");
+    }
+
+    randomAccessFile.seek(this.offsets[rowIndex]);
+    byte[] record = new byte[SQWRLResultValueCodec.readVarInt(randomAccessFile)];
+    randomAccessFile.readFully(record);
+
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+    SQWRLResultValueCodec.readVarLong(in); // Skip ordinal
+    row = this.codec.readRow(in, this.numberOfColumns);
+
+    this.cachedRowIndex = rowIndex;
+    this.cachedRow = row;
+
+    return row;
+  }
+
+  /**
+   * Close and delete the file.
+   */
+  @Override public void close()
+  {
+    this.cachedRow = null;
+    this.cachedRowIndex = -1;
+    this.offsets = new long[0];
+    this.numberOfRows = 0;
+    try {
+      finishWriting();
+    } catch (IOException e) {
+      // Ignore - the file is deleted anyway
+    }
+    try {
+      if (this.randomAccessFile != null)
+        this.randomAccessFile.close();
+    } catch (IOException e) {
+      // Ignore - the file is deleted anyway
+    }
+    this.randomAccessFile = null;
+    this.file.delete();
+  }
+
+  @Override public String toString()
+  {
+    return this.file.toString();
+  }
+
+  /**
+   * A row read from a spill file together with its ordinal.
+   */
+  static class Record
+  {
+    final long ordinal;
+    @NonNull final List<@NonNull SQWRLResultValue> row;
+
+    Record(long ordinal, @NonNull List<@NonNull SQWRLResultValue> row)
+    {
+      this.ordinal = ordinal;
+      this.row = row;
+    }
+  }
+
+  /**
+   * A source of records that are read one at a time.
+   */
+  interface RecordSource extends Closeable
+  {
+    /**
+     * @return The next record or null if there are no more records
+     * @throws IOException If an error occurs reading the record
+     */
+    @Nullable Record next() throws IOException;
+  }
+
+  /**
+   * Reads the records of a spill file sequentially.
+   */
+  class Reader implements RecordSource
+  {
+    @NonNull private final DataInputStream in;
+    private int rowIndex;
+
+    private Reader(@NonNull DataInputStream in)
+    {
+      this.in = in;
+      this.rowIndex = 0;
+    }
+
+    @Nullable @Override public Record next() throws IOException
+    {
+      if (this.rowIndex == SQWRLResultSpillFile.this.numberOfRows)
+        return null;
+
+      try {
+        SQWRLResultValueCodec.readVarInt(this.in); // Record length
+        long ordinal = SQWRLResultValueCodec.readVarLong(this.in);
+        List<@NonNull SQWRLResultValue> row = SQWRLResultSpillFile.this.codec
+          .readRow(this.in, SQWRLResultSpillFile.this.numberOfColumns);
+        this.rowIndex++;
+
+        return new Record(ordinal, row);
+      } catch (EOFException e) {
+        throw new IOException("unexpected end of spill file " + SQWRLResultSpillFile.this.file, e);
+      }
+    }
+
+    @Override public void close() throws IOException
+    {
+      this.in.close();
+    }
+  }
+}
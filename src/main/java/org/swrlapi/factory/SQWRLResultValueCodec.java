@@ -0,0 +1,234 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.swrlapi.sqwrl.values.SQWRLAnnotationPropertyResultValue;
+import org.swrlapi.sqwrl.values.SQWRLClassExpressionResultValue;
+import org.swrlapi.sqwrl.values.SQWRLClassResultValue;
+import org.swrlapi.sqwrl.values.SQWRLDataPropertyExpressionResultValue;
+import org.swrlapi.sqwrl.values.SQWRLDataPropertyResultValue;
+import org.swrlapi.sqwrl.values.SQWRLDatatypeResultValue;
+import org.swrlapi.sqwrl.values.SQWRLEntityResultValue;
+import org.swrlapi.sqwrl.values.SQWRLExpressionResultValue;
+import org.swrlapi.sqwrl.values.SQWRLLiteralResultValue;
+import org.swrlapi.sqwrl.values.SQWRLNamedIndividualResultValue;
+import org.swrlapi.sqwrl.values.SQWRLObjectPropertyExpressionResultValue;
+import org.swrlapi.sqwrl.values.SQWRLObjectPropertyResultValue;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+import uk.ac.manchester.cs.owl.owlapi.OWLLiteralImpl;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of SQWRL result rows that is used to spill results to disk. Each value is written as a type
+ * tag followed by its content. IRIs (of entities and of literal datatypes) are written as variable length codes into a
+ * dictionary that is kept in memory, so the dictionary grows with the number of distinct IRIs in a result rather than
+ * with the number of rows.
+ *
+ * @see org.swrlapi.factory.SpillingSQWRLResultManager
+ */
+class SQWRLResultValueCodec
+{
+  private static final byte LITERAL = 0;
+  private static final byte CLASS = 1;
+  private static final byte NAMED_INDIVIDUAL = 2;
+  private static final byte OBJECT_PROPERTY = 3;
+  private static final byte DATA_PROPERTY = 4;
+  private static final byte ANNOTATION_PROPERTY = 5;
+  private static final byte DATATYPE = 6;
+  private static final byte CLASS_EXPRESSION = 7;
+  private static final byte OBJECT_PROPERTY_EXPRESSION = 8;
+  private static final byte DATA_PROPERTY_EXPRESSION = 9;
+
+  @NonNull private final SQWRLResultValueFactory resultValueFactory;
+  @NonNull private final OWLDatatypeFactory datatypeFactory;
+  @NonNull private final Map<@NonNull IRI, @NonNull Integer> iriCodes;
+  @NonNull private final List<@NonNull IRI> iris;
+
+  public SQWRLResultValueCodec(@NonNull SQWRLResultValueFactory resultValueFactory)
+  {
+    this.resultValueFactory = resultValueFactory;
+    this.datatypeFactory = SWRLAPIInternalFactory.createOWLDatatypeFactory();
+    this.iriCodes = new HashMap<>();
+    this.iris = new ArrayList<>();
+  }
+
+  public void writeRow(@NonNull DataOutput out, @NonNull List<@NonNull SQWRLResultValue> row) throws IOException
+  {
+    for (SQWRLResultValue value : row)
+      writeValue(out, value);
+  }
+
+  @NonNull public List<@NonNull SQWRLResultValue> readRow(@NonNull DataInput in, int numberOfColumns)
+    throws IOException
+  {
+    List<@NonNull SQWRLResultValue> row = new ArrayList<>(numberOfColumns);
+
+    for (int columnIndex = 0; columnIndex < numberOfColumns; columnIndex++)
+      row.add(readValue(in));
+
+    return row;
+  }
+
+  private void writeValue(@NonNull DataOutput out, @NonNull SQWRLResultValue value) throws IOException
+  {
+    if (value instanceof SQWRLLiteralResultValue) {
+      OWLLiteral literal = ((SQWRLLiteralResultValue)value).getOWLLiteral();
+      out.writeByte(LITERAL);
+      writeString(out, literal.getLiteral());
+      writeString(out, literal.getLang());
+      writeIRI(out, literal.getDatatype().getIRI());
+    } else if (value instanceof SQWRLClassResultValue)
+      writeEntity(out, CLASS, (SQWRLEntityResultValue)value);
+    else if (value instanceof SQWRLNamedIndividualResultValue)
+      writeEntity(out, NAMED_INDIVIDUAL, (SQWRLEntityResultValue)value);
+    else if (value instanceof SQWRLObjectPropertyResultValue)
+      writeEntity(out, OBJECT_PROPERTY, (SQWRLEntityResultValue)value);
+    else if (value instanceof SQWRLDataPropertyResultValue)
+      writeEntity(out, DATA_PROPERTY, (SQWRLEntityResultValue)value);
+    else if (value instanceof SQWRLAnnotationPropertyResultValue)
+      writeEntity(out, ANNOTATION_PROPERTY, (SQWRLEntityResultValue)value);
+    else if (value instanceof SQWRLDatatypeResultValue)
+      writeEntity(out, DATATYPE, (SQWRLEntityResultValue)value);
+    else if (value instanceof SQWRLClassExpressionResultValue)
+      writeExpression(out, CLASS_EXPRESSION, (SQWRLExpressionResultValue)value);
+    else if (value instanceof SQWRLObjectPropertyExpressionResultValue)
+      writeExpression(out, OBJECT_PROPERTY_EXPRESSION, (SQWRLExpressionResultValue)value);
+    else if (value instanceof SQWRLDataPropertyExpressionResultValue)
+      writeExpression(out, DATA_PROPERTY_EXPRESSION, (SQWRLExpressionResultValue)value);
+    else
+      throw new IOException("cannot encode SQWRL result value of type " + value.getClass().getName());
+  }
+
+  @NonNull private SQWRLResultValue readValue(@NonNull DataInput in) throws IOException
+  {
+    byte tag = in.readByte();
+
+    switch (tag) {
+    case LITERAL:
+      String lexicalForm = readString(in);
+      String language = readString(in);
+      IRI datatypeIRI = readIRI(in);
+      return this.resultValueFactory.getLiteralValue(
+        new OWLLiteralImpl(lexicalForm, language, this.datatypeFactory.getOWLDatatype(datatypeIRI)));
+    case CLASS:
+      return this.resultValueFactory.getClassValue(readIRI(in));
+    case NAMED_INDIVIDUAL:
+      return this.resultValueFactory.getNamedIndividualValue(readIRI(in));
+    case OBJECT_PROPERTY:
+      return this.resultValueFactory.getObjectPropertyValue(readIRI(in));
+    case DATA_PROPERTY:
+      return this.resultValueFactory.getDataPropertyValue(readIRI(in));
+    case ANNOTATION_PROPERTY:
+      return this.resultValueFactory.getAnnotationPropertyValue(readIRI(in));
+    case DATATYPE:
+      return this.resultValueFactory.getDatatypeValue(readIRI(in));
+    case CLASS_EXPRESSION:
+      return new DefaultSQWRLClassExpressionResultValue(readString(in));
+    case OBJECT_PROPERTY_EXPRESSION:
+      return new DefaultSQWRLObjectPropertyExpressionResultValue(readString(in));
+    case DATA_PROPERTY_EXPRESSION:
+      return new DefaultSQWRLDataPropertyExpressionResultValue(readString(in));
+    default:
+      throw new IOException("invalid SQWRL result value tag " + tag);
+    }
+  }
+
+  private void writeEntity(@NonNull DataOutput out, byte tag, @NonNull SQWRLEntityResultValue value)
+    throws IOException
+  {
+    out.writeByte(tag);
+    writeIRI(out, value.getIRI());
+  }
+
+  private void writeExpression(@NonNull DataOutput out, byte tag, @NonNull SQWRLExpressionResultValue value)
+    throws IOException
+  {
+    out.writeByte(tag);
+    writeString(out, value.getRendering());
+  }
+
+  private void writeIRI(@NonNull DataOutput out, @NonNull IRI iri) throws IOException
+  {
+    Integer code = this.iriCodes.get(iri);
+
+    if (code == null) {
+      code = this.iris.size();
+      this.iris.add(iri);
+      this.iriCodes.put(iri, code);
+    }
+    writeVarInt(out, code);
+  }
+
+  @NonNull private IRI readIRI(@NonNull DataInput in) throws IOException
+  {
+    int code = readVarInt(in);
+
+    if (code < 0 || code >= this.iris.size())
+      throw new IOException("invalid IRI code " + code);
+
+    return this.iris.get(code);
+  }
+
+  private static void writeString(@NonNull DataOutput out, @NonNull String s) throws IOException
+  {
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+
+    writeVarInt(out, bytes.length);
+    out.write(bytes);
+  }
+
+  @NonNull private static String readString(@NonNull DataInput in) throws IOException
+  {
+    byte[] bytes = new byte[readVarInt(in)];
+
+    in.readFully(bytes);
+
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  static void writeVarInt(@NonNull DataOutput out, int value) throws IOException
+  {
+    writeVarLong(out, value & 0xFFFFFFFFL);
+  }
+
+  static int readVarInt(@NonNull DataInput in) throws IOException
+  {
+    return (int)readVarLong(in);
+  }
+
+  // Seven bits per byte, low bits first; the high bit of a byte is set if more bytes follow
+  static void writeVarLong(@NonNull DataOutput out, long value) throws IOException
+  {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int)((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int)value);
+  }
+
+  static long readVarLong(@NonNull DataInput in) throws IOException
+  {
+    long value = 0;
+    int shift = 0;
+    byte b;
+
+    do {
+      if (shift > 63)
+        throw new IOException("malformed variable length integer");
+      b = in.readByte();
+      value |= (long)(b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+
+    return value;
+  }
+}
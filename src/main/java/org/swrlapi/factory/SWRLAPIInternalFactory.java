@@ -1,12 +1,15 @@
 package org.swrlapi.factory;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLRule;
 import org.swrlapi.bridge.SWRLBridge;
 import org.swrlapi.builtins.SWRLBuiltInLibraryManager;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
@@ -23,6 +26,7 @@ import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.literal.Literal;
 import org.swrlapi.owl2rl.OWL2RLEngine;
 import org.swrlapi.owl2rl.OWL2RLPersistenceLayer;
+import org.swrlapi.sqwrl.SQWRLPreparedQuery;
 import org.swrlapi.sqwrl.SQWRLQuery;
 import org.swrlapi.sqwrl.SQWRLQueryRenderer;
 import org.swrlapi.sqwrl.SQWRLResultGenerator;
@@ -38,6 +42,7 @@ import javax.swing.*;
 import java.io.File;
 import java.net.URL;
 import java.util.List;
+import java.util.Set;
 
 /**
  * @see SWRLRuleAndQueryEngineFactory
@@ -106,6 +111,18 @@ public class SWRLAPIInternalFactory
     return new DefaultSQWRLResultManager(iriResolver);
   }
 
+  /**
+   * @param iriResolver    An IRI resolver
+   * @param spillThreshold The number of rows held in memory before rows are spilled to disk
+   * @param spillDirectory The directory for temporary files; null for the default temporary file directory
+   * @return A SQWRL result that spills large numbers of rows to temporary files
+   */
+  @NonNull public static SQWRLResultManager createSpillingSQWRLResultManager(@NonNull IRIResolver iriResolver,
+    int spillThreshold, @Nullable File spillDirectory)
+  {
+    return new SpillingSQWRLResultManager(iriResolver, spillThreshold, spillDirectory);
+  }
+
   /**
    * @param ontology An OWL ontology
    * @return An OWL 2 RL persistence layer
@@ -141,6 +158,13 @@ public class SWRLAPIInternalFactory
     return new DefaultSQWRLQuery(queryName, bodyAtoms, headAtoms, active, comment, literalFactory, iriResolver);
   }
 
+  @NonNull public static SQWRLPreparedQuery createSQWRLPreparedQuery(@NonNull String queryName, @NonNull SWRLRule rule,
+    @NonNull Set<@NonNull String> parameterNames, @NonNull OWLDataFactory dataFactory,
+    @NonNull IRIResolver iriResolver) throws SQWRLException
+  {
+    return new DefaultSQWRLPreparedQuery(queryName, rule, parameterNames, dataFactory, iriResolver);
+  }
+
   /**
    * @param iriResolver An IRI resolver
    * @return A SWRLAPI-based OWL data factory
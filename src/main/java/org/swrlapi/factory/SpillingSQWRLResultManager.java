@@ -0,0 +1,500 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.swrlapi.core.IRIResolver;
+import org.swrlapi.exceptions.SWRLAPIException;
+import org.swrlapi.factory.SQWRLResultSpillFile.Record;
+import org.swrlapi.factory.SQWRLResultSpillFile.RecordSource;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * A SQWRL result manager that moves rows out of memory once a configurable number of rows is held. Rows are written
+ * in chunks to temporary files by a {@link SQWRLResultValueCodec}.
+ * <p>
+ * When the result is prepared, duplicate rows are removed by hash partitioning the spilled rows into files that are
+ * each deduplicated in memory, and rows are ordered by an external merge sort of sorted runs. The prepared result is
+ * read from disk on demand, a row at a time. Ordering is stable and duplicates keep their first occurrence so results
+ * are the same as those of a {@link DefaultSQWRLResultManager}.
+ * <p>
+ * Results with aggregate functions are not spilled: their rows are folded into one row per group as they are added so
+ * their size is bounded by the number of groups.
+ * <p>
+ * Temporary files are deleted by {@link #clearRows()} and {@link #close()}, so a spilling result should be closed once
+ * it has been read.
+ *
+ * @see org.swrlapi.sqwrl.SQWRLResultManager
+ */
+class SpillingSQWRLResultManager extends DefaultSQWRLResultManager
+{
+  private static final long serialVersionUID = 1L;
+
+  private static final int MAX_MERGE_WIDTH = 64; // Maximum number of files that are merged at the same time
+  private static final int PARTITION_HASH_BITS = 6; // Hash bits needed to choose between MAX_MERGE_WIDTH partitions
+  private static final int MAX_PARTITIONING_DEPTH = 5; // Levels of partitioning before the bits of the hash run out
+
+  private final int spillThreshold;
+  @Nullable private final File spillDirectory;
+  @NonNull private final SQWRLResultValueCodec codec;
+  @NonNull private final List<@NonNull SQWRLResultSpillFile> spillFiles; // Spilled chunks of rows in order
+  @NonNull private final List<@NonNull SQWRLResultSpillFile> temporaryFiles; // All files; see deleteFiles()
+  private long numberOfSpilledRows;
+
+  /**
+   * @param iriResolver    An IRI resolver
+   * @param spillThreshold The number of rows held in memory before rows are spilled to disk
+   * @param spillDirectory The directory for temporary files; null for the default temporary file directory
+   */
+  public SpillingSQWRLResultManager(@NonNull IRIResolver iriResolver, int spillThreshold,
+    @Nullable File spillDirectory)
+  {
+    super(iriResolver);
+
+    if (spillThreshold < 1)
+      throw new IllegalArgumentException("spill threshold must be at least 1, got " + spillThreshold);
+
+    this.spillThreshold = spillThreshold;
+    this.spillDirectory = spillDirectory;
+    this.codec = new SQWRLResultValueCodec(getSQWRLResultValueFactory());
+    this.spillFiles = new ArrayList<>();
+    this.temporaryFiles = new ArrayList<>();
+    this.numberOfSpilledRows = 0;
+  }
+
+  @Override protected void storeRow(@NonNull List<@NonNull SQWRLResultValue> rowData) throws SQWRLException
+  {
+    super.storeRow(rowData);
+
+    if (getNumberOfStoredRows() >= this.spillThreshold)
+      spill(removeStoredRows());
+  }
+
+  @NonNull @Override protected List<@NonNull List<@NonNull SQWRLResultValue>> prepareRows(
+    @NonNull List<@NonNull List<@NonNull SQWRLResultValue>> rows) throws SQWRLException
+  {
+    if (this.spillFiles.isEmpty())
+      return super.prepareRows(rows);
+
+    if (!rows.isEmpty())
+      spill(rows);
+
+    try {
+      List<@NonNull SQWRLResultSpillFile> inputFiles = new ArrayList<>(this.spillFiles);
+      this.spillFiles.clear();
+
+      if (isDistinct())
+        inputFiles = removeDuplicateRows(inputFiles);
+
+      if (isOrdered())
+        inputFiles = Collections.singletonList(sortRows(inputFiles));
+
+      return new SpilledRowList(inputFiles);
+    } catch (IOException e) {
+      throw new SQWRLException("error processing SQWRL result rows spilled to disk: " + e.getMessage(), e);
+    }
+  }
+
+  @Override public void clearRows() throws SQWRLException
+  {
+    deleteFiles();
+
+    super.clearRows();
+  }
+
+  /**
+   * Delete the temporary files of the result. Spilled rows cannot be read once the result is closed.
+   */
+  @Override public void close()
+  {
+    deleteFiles();
+  }
+
+  private void spill(@NonNull List<@NonNull List<@NonNull SQWRLResultValue>> rows) throws SQWRLException
+  {
+    List<@NonNull Record> records = new ArrayList<>(rows.size());
+
+    for (List<@NonNull SQWRLResultValue> row : rows)
+      records.add(new Record(this.numberOfSpilledRows++, row));
+
+    // Without duplicate removal, chunks can be sorted now and merged when the result is prepared
+    if (isOrdered() && !isDistinct())
+      sortRecords(records);
+
+    try {
+      this.spillFiles.add(write(records));
+    } catch (IOException e) {
+      throw new SQWRLException("error spilling SQWRL result rows to disk: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Remove duplicate rows, keeping the first occurrence of each row.
+   *
+   * @return Files holding the distinct rows, together in their original order
+   */
+  @NonNull private List<@NonNull SQWRLResultSpillFile> removeDuplicateRows(
+    @NonNull List<@NonNull SQWRLResultSpillFile> inputFiles) throws IOException, SQWRLException
+  {
+    SQWRLResultRowComparator rowComparator = createDistinctRowComparator();
+    List<@NonNull SQWRLResultSpillFile> distinctFiles = new ArrayList<>();
+
+    try {
+      removeDuplicateRows(inputFiles, this.numberOfSpilledRows, 0, rowComparator, distinctFiles);
+    } catch (RuntimeException e) {
+      throw new SQWRLException("Internal error comparing rows", e);
+    }
+
+    // Partitions are each in original order; merging them on ordinal restores the original order of all rows
+    return Collections.singletonList(merge(distinctFiles, Comparator.comparingLong(record -> record.ordinal)));
+  }
+
+  /**
+   * Partition rows on their hash so that all duplicates of a row end up in the same partition, then deduplicate each
+   * partition in memory. A partition that still holds more rows than are kept in memory is partitioned again on other
+   * bits of the hash. Partitioning stops after {@link #MAX_PARTITIONING_DEPTH} levels or when it no longer splits the
+   * rows, which happens when a partition holds many duplicates of a few rows; deduplicating such a partition in memory
+   * only holds its distinct rows.
+   */
+  private void removeDuplicateRows(@NonNull List<@NonNull SQWRLResultSpillFile> inputFiles, long numberOfRows,
+    int depth, @NonNull SQWRLResultRowComparator rowComparator,
+    @NonNull List<@NonNull SQWRLResultSpillFile> distinctFiles) throws IOException
+  {
+    // Aim for partitions that hold about as many rows as we keep in memory
+    int numberOfPartitions = (int)Math
+      .max(1, Math.min(MAX_MERGE_WIDTH, (numberOfRows + this.spillThreshold - 1) / this.spillThreshold));
+    List<@NonNull SQWRLResultSpillFile> partitionFiles = new ArrayList<>(numberOfPartitions);
+
+    try {
+      for (int i = 0; i < numberOfPartitions; i++)
+        partitionFiles.add(createSpillFile());
+
+      for (SQWRLResultSpillFile inputFile : inputFiles) {
+        try (SQWRLResultSpillFile.Reader reader = inputFile.openReader()) {
+          Record record;
+          while ((record = reader.next()) != null) {
+            int hash = new SQWRLResultRowKey(record.row, rowComparator).hashCode();
+            partitionFiles.get(getPartition(hash, depth, numberOfPartitions)).append(record.ordinal, record.row);
+          }
+        }
+        inputFile.close();
+      }
+
+      for (SQWRLResultSpillFile partitionFile : partitionFiles) {
+        int numberOfPartitionRows = partitionFile.getNumberOfRows();
+
+        if (numberOfPartitionRows > this.spillThreshold && numberOfPartitionRows < numberOfRows
+          && depth + 1 < MAX_PARTITIONING_DEPTH)
+          removeDuplicateRows(Collections.singletonList(partitionFile), numberOfPartitionRows, depth + 1,
+            rowComparator, distinctFiles);
+        else {
+          Set<@NonNull SQWRLResultRowKey> rowKeys = new HashSet<>();
+          List<@NonNull Record> distinctRecords = new ArrayList<>();
+
+          try (SQWRLResultSpillFile.Reader reader = partitionFile.openReader()) {
+            Record record;
+            while ((record = reader.next()) != null) {
+              if (rowKeys.add(new SQWRLResultRowKey(record.row, rowComparator)))
+                distinctRecords.add(record);
+            }
+          }
+          partitionFile.close();
+          distinctFiles.add(write(distinctRecords));
+        }
+      }
+    } finally {
+      for (SQWRLResultSpillFile partitionFile : partitionFiles)
+        partitionFile.close();
+    }
+  }
+
+  // Each level of partitioning uses different bits of the hash
+  private static int getPartition(int hash, int depth, int numberOfPartitions)
+  {
+    return Math.floorMod(Integer.rotateRight(hash, PARTITION_HASH_BITS * depth), numberOfPartitions);
+  }
+
+  /**
+   * Order rows with an external merge sort. Unless spilled chunks are sorted already, the rows are read back in chunks
+   * that are sorted in memory. The sorted runs are then merged, at most {@link #MAX_MERGE_WIDTH} at a time.
+   */
+  @NonNull private SQWRLResultSpillFile sortRows(@NonNull List<@NonNull SQWRLResultSpillFile> inputFiles)
+    throws IOException, SQWRLException
+  {
+    List<@NonNull SQWRLResultSpillFile> runs;
+
+    try {
+      if (isDistinct()) { // Chunks were spilled unsorted
+        runs = new ArrayList<>();
+        for (SQWRLResultSpillFile inputFile : inputFiles) {
+          try (SQWRLResultSpillFile.Reader reader = inputFile.openReader()) {
+            List<@NonNull Record> records = new ArrayList<>(this.spillThreshold);
+            Record record;
+            while ((record = reader.next()) != null) {
+              records.add(record);
+              if (records.size() == this.spillThreshold) {
+                sortRecords(records);
+                runs.add(write(records));
+                records.clear();
+              }
+            }
+            if (!records.isEmpty()) {
+              sortRecords(records);
+              runs.add(write(records));
+            }
+          }
+          inputFile.close();
+        }
+      } else
+        runs = new ArrayList<>(inputFiles);
+
+      Comparator<@NonNull Record> recordComparator = createRecordComparator();
+
+      while (runs.size() > 1) {
+        List<@NonNull SQWRLResultSpillFile> mergedRuns = new ArrayList<>();
+
+        for (int i = 0; i < runs.size(); i += MAX_MERGE_WIDTH)
+          mergedRuns.add(merge(runs.subList(i, Math.min(i + MAX_MERGE_WIDTH, runs.size())), recordComparator));
+        runs = mergedRuns;
+      }
+    } catch (RuntimeException e) {
+      throw new SQWRLException("Internal error comparing rows", e);
+    }
+    return runs.get(0);
+  }
+
+  /**
+   * Merge files whose records are each ordered by the supplied comparator into a single file. The input files are
+   * deleted.
+   */
+  @NonNull private SQWRLResultSpillFile merge(@NonNull List<@NonNull SQWRLResultSpillFile> inputFiles,
+    @NonNull Comparator<@NonNull Record> recordComparator) throws IOException
+  {
+    if (inputFiles.size() == 1)
+      return inputFiles.get(0);
+
+    SQWRLResultSpillFile outputFile = createSpillFile();
+
+    try (MergingRecordSource source = new MergingRecordSource(inputFiles, recordComparator)) {
+      Record record;
+      while ((record = source.next()) != null)
+        outputFile.append(record.ordinal, record.row);
+    }
+    for (SQWRLResultSpillFile inputFile : inputFiles)
+      inputFile.close();
+
+    outputFile.finishWriting();
+
+    return outputFile;
+  }
+
+  private void sortRecords(@NonNull List<@NonNull Record> records) throws SQWRLException
+  {
+    try {
+      records.sort(createRecordComparator());
+    } catch (RuntimeException e) {
+      throw new SQWRLException("Internal error comparing rows", e);
+    }
+  }
+
+  // Ties are broken on ordinal so that ordering is stable
+  @NonNull private Comparator<@NonNull Record> createRecordComparator()
+  {
+    Comparator<@NonNull List<@NonNull SQWRLResultValue>> rowComparator = createOrderByRowComparator();
+
+    return (record1, record2) -> {
+      int diff = rowComparator.compare(record1.row, record2.row);
+      return diff != 0 ? diff : Long.compare(record1.ordinal, record2.ordinal);
+    };
+  }
+
+  @NonNull private SQWRLResultSpillFile write(@NonNull List<@NonNull Record> records) throws IOException
+  {
+    SQWRLResultSpillFile file = createSpillFile();
+
+    for (Record record : records)
+      file.append(record.ordinal, record.row);
+
+    file.finishWriting();
+
+    return file;
+  }
+
+  @NonNull private SQWRLResultSpillFile createSpillFile() throws IOException
+  {
+    SQWRLResultSpillFile file = new SQWRLResultSpillFile(this.spillDirectory, this.codec,
+      getNumberOfColumnsUnchecked());
+
+    this.temporaryFiles.add(file);
+
+    return file;
+  }
+
+  private int getNumberOfColumnsUnchecked()
+  {
+    try {
+      return getNumberOfColumns();
+    } catch (SQWRLException e) {
+      throw new SWRLAPIException("result is not configured", e);
+    }
+  }
+
+  private void deleteFiles()
+  {
+    for (SQWRLResultSpillFile file : this.temporaryFiles)
+      file.close();
+
+    this.temporaryFiles.clear();
+    this.spillFiles.clear();
+    this.numberOfSpilledRows = 0;
+  }
+
+  /**
+   * Merges sources whose records are each ordered by a comparator.
+   */
+  private static class MergingRecordSource implements RecordSource
+  {
+    @NonNull private final List<@NonNull RecordSource> sources;
+    @NonNull private final PriorityQueue<@NonNull SourceHead> heads;
+
+    public MergingRecordSource(@NonNull List<@NonNull SQWRLResultSpillFile> files,
+      @NonNull Comparator<@NonNull Record> recordComparator) throws IOException
+    {
+      this.sources = new ArrayList<>(files.size());
+      this.heads = new PriorityQueue<>(Math.max(1, files.size()),
+        (head1, head2) -> recordComparator.compare(head1.record, head2.record));
+
+      for (SQWRLResultSpillFile file : files) {
+        RecordSource source = file.openReader();
+        this.sources.add(source);
+        advance(source);
+      }
+    }
+
+    @Nullable @Override public Record next() throws IOException
+    {
+      SourceHead head = this.heads.poll();
+
+      if (head == null)
+        return null;
+
+      advance(head.source);
+
+      return head.record;
+    }
+
+    @Override public void close() throws IOException
+    {
+      for (RecordSource source : this.sources)
+        source.close();
+    }
+
+    private void advance(@NonNull RecordSource source) throws IOException
+    {
+      Record record = source.next();
+
+      if (record != null)
+        this.heads.add(new SourceHead(record, source));
+    }
+  }
+
+  private static class SourceHead
+  {
+    @NonNull private final Record record;
+    @NonNull private final RecordSource source;
+
+    public SourceHead(@NonNull Record record, @NonNull RecordSource source)
+    {
+      this.record = record;
+      this.source = source;
+    }
+  }
+
+  /**
+   * The rows of a prepared result, read from spill files on demand. Rows are handles that read their values when a
+   * value is requested.
+   */
+  private static class SpilledRowList extends AbstractList<@NonNull List<@NonNull SQWRLResultValue>>
+    implements RandomAccess
+  {
+    @NonNull private final List<@NonNull SQWRLResultSpillFile> files;
+    @NonNull private final int[] firstRowIndexes; // File index -> index of its first row in the list
+    private final int size;
+
+    public SpilledRowList(@NonNull List<@NonNull SQWRLResultSpillFile> files)
+    {
+      int rowIndex = 0;
+
+      this.files = files;
+      this.firstRowIndexes = new int[files.size()];
+      for (int fileIndex = 0; fileIndex < files.size(); fileIndex++) {
+        this.firstRowIndexes[fileIndex] = rowIndex;
+        rowIndex += files.get(fileIndex).getNumberOfRows();
+      }
+      this.size = rowIndex;
+    }
+
+    @NonNull @Override public List<@NonNull SQWRLResultValue> get(int rowIndex)
+    {
+      if (rowIndex < 0 || rowIndex >= this.size)
+        throw new IndexOutOfBoundsException("invalid row index " + rowIndex);
+
+      int searchResult = Arrays.binarySearch(this.firstRowIndexes, rowIndex);
+      int fileIndex = searchResult >= 0 ? searchResult : -searchResult - 2;
+
+      while (rowIndex - this.firstRowIndexes[fileIndex] >= this.files.get(fileIndex).getNumberOfRows())
+        fileIndex++; // Skip empty files
+
+      return new SpilledRow(this.files.get(fileIndex), rowIndex - this.firstRowIndexes[fileIndex]);
+    }
+
+    @Override public int size()
+    {
+      return this.size;
+    }
+  }
+
+  private static class SpilledRow extends AbstractList<@NonNull SQWRLResultValue> implements RandomAccess
+  {
+    @NonNull private final SQWRLResultSpillFile file;
+    private final int rowIndex;
+
+    public SpilledRow(@NonNull SQWRLResultSpillFile file, int rowIndex)
+    {
+      this.file = file;
+      this.rowIndex = rowIndex;
+    }
+
+    @NonNull @Override public SQWRLResultValue get(int columnIndex)
+    {
+      return read().get(columnIndex);
+    }
+
+    @Override public int size()
+    {
+      return read().size();
+    }
+
+    @NonNull private List<@NonNull SQWRLResultValue> read()
+    {
+      try {
+        return this.file.readRow(this.rowIndex);
+      } catch (IOException e) {
+        throw new SWRLAPIException("error reading SQWRL result row from " + this.file + ": " + e.getMessage(), e);
+      }
+    }
+  }
+}
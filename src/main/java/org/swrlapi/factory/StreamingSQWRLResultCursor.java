@@ -0,0 +1,250 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.swrlapi.sqwrl.SQWRLResultCursor;
+import org.swrlapi.sqwrl.SQWRLResultRowListener;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.exceptions.SQWRLInvalidColumnIndexException;
+import org.swrlapi.sqwrl.exceptions.SQWRLInvalidColumnNameException;
+import org.swrlapi.sqwrl.exceptions.SQWRLResultStateException;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A cursor over the rows of a streamable SQWRL result that is generated by a rule engine running on another thread.
+ * Rows pass from the rule engine to the reader of the cursor through a bounded buffer: when the buffer is full the rule
+ * engine waits until rows are read or the cursor is closed. Closing the cursor, or reading to the end of the result,
+ * waits for the rule engine thread to finish so that the query engine is idle afterwards.
+ *
+ * @see org.swrlapi.factory.DefaultSWRLRuleAndQueryEngine#openSQWRLResultCursor(String, int)
+ */
+class StreamingSQWRLResultCursor implements SQWRLResultCursor, SQWRLResultRowListener
+{
+  private static final long OFFER_TIMEOUT_MILLISECONDS = 100; // How often a waiting rule engine checks for close
+  private static final long POLL_TIMEOUT_MILLISECONDS = 100; // How often a waiting reader checks for close or finish
+
+  // Marks the end of the result in the buffer; compared by identity
+  @NonNull private static final List<@NonNull SQWRLResultValue> END_OF_RESULT = Collections
+    .unmodifiableList(new ArrayList<>());
+
+  @NonNull private final List<@NonNull String> columnNames;
+  @NonNull private final BlockingQueue<@NonNull List<@NonNull SQWRLResultValue>> buffer;
+  @NonNull private final Runnable stopRequester;
+
+  @Nullable private volatile Thread ruleEngineThread;
+  private volatile boolean isClosed;
+  private volatile boolean isFinished; // Set before END_OF_RESULT is put, which fails if the rule engine is interrupted
+  @Nullable private volatile SQWRLException error; // Written by the rule engine thread before isFinished
+
+  // Only used by the reader of the cursor
+  private boolean isAtEnd;
+  @Nullable private List<@NonNull SQWRLResultValue> currentRow;
+
+  /**
+   * @param columnNames   The column names of the result
+   * @param bufferSize    The maximum number of rows held for the reader of the cursor
+   * @param stopRequester Asks the rule engine to stop; called when the cursor is closed
+   */
+  public StreamingSQWRLResultCursor(@NonNull List<@NonNull String> columnNames, int bufferSize,
+    @NonNull Runnable stopRequester)
+  {
+    if (bufferSize < 1)
+      throw new IllegalArgumentException("buffer size must be at least 1, got " + bufferSize);
+
+    this.columnNames = Collections.unmodifiableList(new ArrayList<>(columnNames));
+    this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    this.stopRequester = stopRequester;
+    this.ruleEngineThread = null;
+    this.isClosed = false;
+    this.isFinished = false;
+    this.error = null;
+    this.isAtEnd = false;
+    this.currentRow = null;
+  }
+
+  /**
+   * Run the rule engine on a new daemon thread. The run must end by calling {@link #finished(SQWRLException)}.
+   *
+   * @param ruleEngineRun Runs the rule engine, passing rows to this cursor
+   * @param threadName    The name of the rule engine thread
+   */
+  public void start(@NonNull Runnable ruleEngineRun, @NonNull String threadName)
+  {
+    if (this.ruleEngineThread != null)
+      throw new IllegalStateException("rule engine thread already started");
+
+    Thread thread = new Thread(ruleEngineRun, threadName);
+
+    thread.setDaemon(true);
+    this.ruleEngineThread = thread;
+    thread.start();
+  }
+
+  // Called on the thread running the rule engine
+
+  @Override public void rowAdded(@NonNull List<@NonNull SQWRLResultValue> row) throws SQWRLException
+  {
+    put(row);
+  }
+
+  /**
+   * Signal the end of the result. Called on the thread running the rule engine once the engine has finished.
+   *
+   * @param error An error that ended the run of the rule engine; null if it finished normally
+   */
+  public void finished(@Nullable SQWRLException error)
+  {
+    this.error = error;
+    this.isFinished = true;
+
+    try {
+      put(END_OF_RESULT);
+    } catch (SQWRLException e) {
+      // The rule engine thread was interrupted; a waiting reader sees isFinished when its poll times out
+    }
+  }
+
+  private void put(@NonNull List<@NonNull SQWRLResultValue> row) throws SQWRLException
+  {
+    try {
+      while (!this.isClosed) {
+        if (this.buffer.offer(row, OFFER_TIMEOUT_MILLISECONDS, TimeUnit.MILLISECONDS))
+          return;
+      } // Rows offered after the cursor is closed are discarded
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQWRLException("interrupted while passing a row to a SQWRL result cursor", e);
+    }
+  }
+
+  // Called by the reader of the cursor
+
+  @NonNull @Override public List<@NonNull String> getColumnNames()
+  {
+    return this.columnNames;
+  }
+
+  @Override public int getNumberOfColumns()
+  {
+    return this.columnNames.size();
+  }
+
+  @Override public boolean next() throws SQWRLException
+  {
+    this.currentRow = null;
+
+    if (this.isClosed || this.isAtEnd)
+      return false;
+
+    List<@NonNull SQWRLResultValue> row = poll();
+
+    if (row == null)
+      return false; // Closed while waiting
+
+    if (row == END_OF_RESULT) {
+      this.isAtEnd = true;
+      joinRuleEngineThread();
+      SQWRLException error = this.error;
+      if (error != null)
+        throw error;
+      return false;
+    }
+
+    this.currentRow = row;
+
+    return true;
+  }
+
+  /**
+   * Wait for the next row or the end of the result.
+   *
+   * @return The next row; {@link #END_OF_RESULT} at the end of the result; null if the cursor is closed while waiting
+   */
+  @Nullable private List<@NonNull SQWRLResultValue> poll() throws SQWRLException
+  {
+    try {
+      while (!this.isClosed) {
+        boolean wasFinished = this.isFinished; // Read before polling; all rows are in the buffer once it is set
+        List<@NonNull SQWRLResultValue> row = this.buffer.poll(POLL_TIMEOUT_MILLISECONDS, TimeUnit.MILLISECONDS);
+
+        if (row != null)
+          return row;
+        else if (wasFinished)
+          return END_OF_RESULT; // The end of the result could not be put in the buffer
+      }
+      return null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQWRLException("interrupted while waiting for the next row of a SQWRL result", e);
+    }
+  }
+
+  @NonNull @Override public List<@NonNull SQWRLResultValue> getRow() throws SQWRLException
+  {
+    List<@NonNull SQWRLResultValue> row = this.currentRow;
+
+    if (row == null)
+      throw new SQWRLResultStateException("no current row - next() must be called and return true");
+
+    return Collections.unmodifiableList(row);
+  }
+
+  @NonNull @Override public SQWRLResultValue getValue(int columnIndex) throws SQWRLException
+  {
+    if (columnIndex < 0 || columnIndex >= getNumberOfColumns())
+      throw new SQWRLInvalidColumnIndexException("column index " + columnIndex + " out of bounds");
+
+    return getRow().get(columnIndex);
+  }
+
+  @NonNull @Override public SQWRLResultValue getValue(@NonNull String columnName) throws SQWRLException
+  {
+    int columnIndex = this.columnNames.indexOf(columnName);
+
+    if (columnIndex == -1)
+      throw new SQWRLInvalidColumnNameException("invalid column name " + columnName);
+
+    return getValue(columnIndex);
+  }
+
+  @Override public boolean isClosed()
+  {
+    return this.isClosed;
+  }
+
+  @Override public void close()
+  {
+    if (!this.isClosed) {
+      this.isClosed = true;
+      this.currentRow = null;
+      this.buffer.clear();
+      if (!this.isAtEnd)
+        this.stopRequester.run();
+    }
+    joinRuleEngineThread();
+  }
+
+  /**
+   * Wait for the rule engine thread to finish so that the query engine can be used again. Returns at once if called on
+   * the rule engine thread itself or if the waiting thread is interrupted.
+   */
+  private void joinRuleEngineThread()
+  {
+    Thread thread = this.ruleEngineThread;
+
+    if (thread != null && thread != Thread.currentThread()) {
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
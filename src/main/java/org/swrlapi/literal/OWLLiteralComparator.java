@@ -51,6 +51,53 @@ public final class OWLLiteralComparator implements Comparator<OWLLiteral>
       .equals(XSDVocabulary.UNSIGNED_BYTE.getIRI());
   }
 
+  /**
+   * Generate a hash code that is consistent with this comparator: literals that compare as equal have the same hash
+   * code. Numeric literals of different types can compare as equal so their hash is based on their value only. Other
+   * literals whose different lexical forms may denote the same value are hashed on the value they denote.
+   *
+   * @param literal A literal
+   * @return A hash code for the literal
+   */
+  public static int comparisonHashCode(@NonNull OWLLiteral literal)
+  {
+    if (isNumeric(literal)) {
+      try { // Literals that compare as equal have the same value at float precision
+        float value = Float.parseFloat(literal.getLiteral());
+
+        return Float.hashCode(value == 0.0f ? 0.0f : value); // -0.0 compares equal to 0 as an xsd:decimal
+      } catch (NumberFormatException e) {
+        return literal.getLiteral().hashCode();
+      }
+    } else {
+      int hash = literal.getDatatype().getIRI().hashCode();
+
+      try {
+        return 31 * hash + valueHashCode(literal);
+      } catch (IllegalArgumentException e) {
+        return hash; // Invalid literals cannot be compared
+      }
+    }
+  }
+
+  private static int valueHashCode(@NonNull OWLLiteral literal)
+  {
+    if (literal.getDatatype().isBoolean())
+      return Boolean.hashCode(Boolean.parseBoolean(literal.getLiteral()));
+    else if (literal.getDatatype().getIRI().equals(XSDVocabulary.ANY_URI.getIRI()))
+      return URI.create(literal.getLiteral()).hashCode();
+    else if (literal.getDatatype().getIRI().equals(XSDVocabulary.TIME.getIRI()))
+      return new XSDTime(literal.getLiteral()).getTime().hashCode();
+    else if (literal.getDatatype().getIRI().equals(XSDVocabulary.DATE.getIRI()))
+      return new XSDDate(literal.getLiteral()).getDate().hashCode();
+    else if (literal.getDatatype().getIRI().equals(XSDVocabulary.DATE_TIME.getIRI()))
+      return new XSDDateTime(literal.getLiteral()).getDateTime().hashCode();
+    else if (literal.getDatatype().getIRI().equals(XSDVocabulary.DURATION.getIRI()))
+      return XSDTimeUtil.axisDurationHashCode(XSDTimeUtil.xsdDurationString2AxisDuration(literal.getLiteral()));
+    else
+      return naturalOrderHashCode(literal.getLiteral());
+  }
+
   private int compareOWLLiterals(@NonNull OWLLiteral l1, @NonNull OWLLiteral l2)
   {
     try {
@@ -144,6 +191,31 @@ public final class OWLLiteralComparator implements Comparator<OWLLiteral>
     }
   }
 
+  // The natural order comparator ignores leading zeros in runs of digits
+  private static int naturalOrderHashCode(@NonNull String s)
+  {
+    int hash = 0;
+    boolean inDigits = false, leadingZero = false;
+
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+
+      if (Character.isDigit(c)) {
+        if (!inDigits) {
+          inDigits = true;
+          leadingZero = true;
+        }
+        if (leadingZero && c == '0' && i + 1 < s.length() && Character.isDigit(s.charAt(i + 1)))
+          continue;
+        leadingZero = false;
+      } else
+        inDigits = false;
+
+      hash = 31 * hash + c;
+    }
+    return hash;
+  }
+
   private boolean areTypesIdentical(@NonNull OWLLiteral literal1, @NonNull OWLLiteral literal2)
   {
     return literal1.getDatatype().getIRI().equals(literal2.getDatatype().getIRI());
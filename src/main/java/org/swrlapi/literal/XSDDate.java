@@ -6,24 +6,37 @@ import org.checkerframework.dataflow.qual.Deterministic;
 import org.checkerframework.dataflow.qual.SideEffectFree;
 import org.semanticweb.owlapi.vocab.XSDVocabulary;
 
+import java.time.LocalDate;
 import java.util.Date;
 
 public class XSDDate extends XSDType<XSDDate>
 {
-  @NonNull private final Date date;
+  @NonNull private final LocalDate date;
 
   public XSDDate(@NonNull String content)
   {
     super(content, XSDVocabulary.DATE.getIRI());
 
-    this.date = XSDTimeUtil.xsdDateString2UtilDate(content);
+    this.date = XSDTimeUtil.xsdDateString2LocalDate(content);
   }
 
   public XSDDate(@NonNull Date date)
   {
     super(XSDTimeUtil.utilDate2XSDDateString(date), XSDVocabulary.DATE.getIRI());
 
-    this.date = new Date(date.getTime());
+    this.date = XSDTimeUtil.utilDate2LocalDate(date);
+  }
+
+  public XSDDate(@NonNull LocalDate date)
+  {
+    super(XSDTimeUtil.localDate2XSDDateString(date), XSDVocabulary.DATE.getIRI());
+
+    this.date = date;
+  }
+
+  @NonNull public LocalDate getDate()
+  {
+    return this.date;
   }
 
   @Override protected void validate()
@@ -60,6 +73,6 @@ public class XSDDate extends XSDType<XSDDate>
     if (this == o)
       return 0;
 
-    return XSDTimeUtil.compareDates(this.date, o.date);
+    return this.date.compareTo(o.date);
   }
 }
@@ -6,24 +6,40 @@ import org.checkerframework.dataflow.qual.Deterministic;
 import org.checkerframework.dataflow.qual.SideEffectFree;
 import org.semanticweb.owlapi.vocab.XSDVocabulary;
 
+import java.time.LocalDateTime;
 import java.util.Date;
 
 public class XSDDateTime extends XSDType<XSDDateTime>
 {
-  @NonNull private final Date datetime;
+  @NonNull private final LocalDateTime datetime;
 
   public XSDDateTime(@NonNull String content)
   {
     super(content, XSDVocabulary.DATE_TIME.getIRI());
 
-    this.datetime = XSDTimeUtil.xsdDateTimeString2UtilDate(content);
+    this.datetime = XSDTimeUtil.xsdDateTimeString2LocalDateTime(content);
   }
 
   public XSDDateTime(@NonNull Date datetime)
   {
     super(XSDTimeUtil.utilDate2XSDDateTimeString(datetime), XSDVocabulary.DATE_TIME.getIRI());
 
-    this.datetime = new Date(datetime.getTime());
+    this.datetime = XSDTimeUtil.utilDate2LocalDateTime(datetime);
+  }
+
+  public XSDDateTime(@NonNull LocalDateTime datetime)
+  {
+    super(XSDTimeUtil.localDateTime2XSDDateTimeString(datetime), XSDVocabulary.DATE_TIME.getIRI());
+
+    this.datetime = datetime;
+  }
+
+  /**
+   * @return The date and time; one with a timezone is normalized to UTC
+   */
+  @NonNull public LocalDateTime getDateTime()
+  {
+    return this.datetime;
   }
 
   @Override protected void validate()
@@ -63,6 +79,6 @@ public class XSDDateTime extends XSDType<XSDDateTime>
     if (this == o)
       return 0;
 
-    return XSDTimeUtil.compareDateTimes(this.datetime, o.datetime);
+    return this.datetime.compareTo(o.datetime);
   }
 }
@@ -4,27 +4,42 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.dataflow.qual.Deterministic;
 import org.checkerframework.dataflow.qual.SideEffectFree;
-import org.apache.axis.types.Time;
 import org.semanticweb.owlapi.vocab.XSDVocabulary;
 
+import java.time.LocalTime;
 import java.util.Date;
 
 public class XSDTime extends XSDType<XSDTime>
 {
-  private final @NonNull Time time;
+  private final @NonNull LocalTime time;
 
   public XSDTime(@NonNull String content)
   {
     super(content, XSDVocabulary.TIME.getIRI());
 
-    this.time = XSDTimeUtil.xsdTimeString2AxisTime(content);
+    this.time = XSDTimeUtil.xsdTimeString2LocalTime(content);
   }
 
   public XSDTime(@NonNull Date date)
   {
     super(XSDTimeUtil.utilDate2XSDTimeString(date), XSDVocabulary.TIME.getIRI());
 
-    this.time = XSDTimeUtil.utilDate2XSDTime(date);
+    this.time = XSDTimeUtil.utilDate2LocalTime(date);
+  }
+
+  public XSDTime(@NonNull LocalTime time)
+  {
+    super(XSDTimeUtil.localTime2XSDTimeString(time), XSDVocabulary.TIME.getIRI());
+
+    this.time = time;
+  }
+
+  /**
+   * @return The time; one with a timezone is normalized to UTC
+   */
+  @NonNull public LocalTime getTime()
+  {
+    return this.time;
   }
 
   @Override protected void validate()
@@ -64,6 +79,6 @@ public class XSDTime extends XSDType<XSDTime>
     if (this == o)
       return 0;
 
-    return XSDTimeUtil.compareAxisTimes(this.time, o.time);
+    return this.time.compareTo(o.time);
   }
 }
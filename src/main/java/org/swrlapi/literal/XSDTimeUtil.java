@@ -1,24 +1,60 @@
 package org.swrlapi.literal;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
-
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAccessor;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
 
+/**
+ * Conversion, comparison and arithmetic methods for the XSD date, time, dateTime and duration types.
+ * <p>
+ * Lexical forms are parsed and formatted with immutable java.time formatters so all methods may be called
+ * concurrently. The canonical forms <tt>yyyy-MM-dd</tt>, <tt>HH:mm:ss</tt> and <tt>yyyy-MM-ddTHH:mm:ss</tt> are
+ * parsed directly. Dates and times with a timezone are normalized to UTC so that the same instant always has the
+ * same value, whatever the default timezone; those without a timezone are kept as they are and are taken to be in the
+ * default timezone when converted to a {@link java.util.Date}.
+ */
 public class XSDTimeUtil
 {
-  @NonNull private static final String xsdDateTimeFormatString = "yyyy-MM-dd'T'hh:mm:ss";
-  @NonNull private static final String xsdDateFormatString = "yyyy-MM-dd";
-  @NonNull private static final String jdbcDateTimeFormatString = "y-M-d h:m:s.S";
-  @NonNull private static final String jdbcDateFormatString = "y-M-d";
-
-  @NonNull private static final DateFormat xsdDateTimeFormat = new SimpleDateFormat(xsdDateTimeFormatString);
-  @NonNull private static final DateFormat xsdDateFormat = new SimpleDateFormat(xsdDateFormatString);
-  @NonNull private static final DateFormat jdbcDateTimeFormat = new SimpleDateFormat(jdbcDateTimeFormatString);
-  @NonNull private static final DateFormat jdbcDateFormat = new SimpleDateFormat(jdbcDateFormatString);
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+  @NonNull private static final DateTimeFormatter xsdTimeOfDayFormatter = new DateTimeFormatterBuilder()
+    .appendValue(ChronoField.HOUR_OF_DAY, 2).appendLiteral(':').appendValue(ChronoField.MINUTE_OF_HOUR, 2)
+    .appendLiteral(':').appendValue(ChronoField.SECOND_OF_MINUTE, 2)
+    .appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true).toFormatter();
+
+  @NonNull private static final DateTimeFormatter xsdDateTimeFormatter = new DateTimeFormatterBuilder()
+    .append(DateTimeFormatter.ISO_LOCAL_DATE).appendLiteral('T').append(xsdTimeOfDayFormatter).optionalStart()
+    .appendOffset("+HH:MM", "Z").optionalEnd().toFormatter().withResolverStyle(ResolverStyle.STRICT);
+  @NonNull private static final DateTimeFormatter xsdDateFormatter = new DateTimeFormatterBuilder()
+    .append(DateTimeFormatter.ISO_LOCAL_DATE).optionalStart().appendOffset("+HH:MM", "Z").optionalEnd().toFormatter()
+    .withResolverStyle(ResolverStyle.STRICT);
+  @NonNull private static final DateTimeFormatter xsdTimeFormatter = new DateTimeFormatterBuilder()
+    .append(xsdTimeOfDayFormatter).optionalStart().appendOffset("+HH:MM", "Z").optionalEnd().toFormatter()
+    .withResolverStyle(ResolverStyle.STRICT);
+  @NonNull private static final DateTimeFormatter jdbcDateFormatter = new DateTimeFormatterBuilder()
+    .appendValue(ChronoField.YEAR).appendLiteral('-').appendValue(ChronoField.MONTH_OF_YEAR).appendLiteral('-')
+    .appendValue(ChronoField.DAY_OF_MONTH).toFormatter().withResolverStyle(ResolverStyle.STRICT);
+  @NonNull private static final DateTimeFormatter jdbcDateTimeFormatter = new DateTimeFormatterBuilder()
+    .append(jdbcDateFormatter).appendLiteral(' ').appendValue(ChronoField.HOUR_OF_DAY).appendLiteral(':')
+    .appendValue(ChronoField.MINUTE_OF_HOUR).appendLiteral(':').appendValue(ChronoField.SECOND_OF_MINUTE)
+    .appendFraction(ChronoField.NANO_OF_SECOND, 1, 9, true).toFormatter().withResolverStyle(ResolverStyle.STRICT);
 
   public static org.apache.axis.types.Duration addAxisDurations(org.apache.axis.types.@NonNull Duration duration1,
     org.apache.axis.types.@NonNull Duration duration2)
@@ -58,83 +94,40 @@ public class XSDTimeUtil
     if (diff != 0)
       return diff;
 
-    // TODO Look at this
-    diff = (int)getSecondsFromAxisDuration(duration1) - (int)getSecondsFromAxisDuration(duration2);
-
-    return diff;
+    return Double.compare(getSecondsFromAxisDuration(duration1), getSecondsFromAxisDuration(duration2));
   }
 
-  public static int compareDateTimes(java.util.@NonNull Date date1, java.util.@NonNull Date date2)
+  /**
+   * Generate a hash code that is consistent with {@link #compareAxisDurations}.
+   */
+  public static int axisDurationHashCode(org.apache.axis.types.@NonNull Duration duration)
   {
-    Calendar calendar1 = new GregorianCalendar();
-    Calendar calendar2 = new GregorianCalendar();
-    calendar1.setTime(date1);
-    calendar2.setTime(date2);
-
-    int diff = calendar1.get(Calendar.YEAR) - calendar2.get(Calendar.YEAR);
-    if (diff != 0)
-      return diff;
-
-    diff = calendar1.get(Calendar.MONTH) - calendar2.get(Calendar.MONTH);
-    if (diff != 0)
-      return diff;
-
-    diff = calendar1.get(Calendar.DAY_OF_MONTH) - calendar2.get(Calendar.DAY_OF_MONTH);
-    if (diff != 0)
-      return diff;
+    int hash = getYearsFromAxisDuration(duration);
 
-    diff = calendar1.get(Calendar.HOUR) - calendar2.get(Calendar.HOUR);
-    if (diff != 0)
-      return diff;
+    hash = 31 * hash + getMonthsFromAxisDuration(duration);
+    hash = 31 * hash + getDaysFromAxisDuration(duration);
+    hash = 31 * hash + getHoursFromAxisDuration(duration);
+    hash = 31 * hash + getMinutesFromAxisDuration(duration);
 
-    diff = calendar1.get(Calendar.MINUTE) - calendar2.get(Calendar.MINUTE);
-    if (diff != 0)
-      return diff;
-
-    diff = calendar1.get(Calendar.SECOND) - calendar2.get(Calendar.SECOND);
+    return 31 * hash + Double.hashCode(getSecondsFromAxisDuration(duration));
+  }
 
-    return diff;
+  public static int compareDateTimes(java.util.@NonNull Date date1, java.util.@NonNull Date date2)
+  {
+    return utilDate2LocalDateTime(date1).truncatedTo(ChronoUnit.SECONDS)
+      .compareTo(utilDate2LocalDateTime(date2).truncatedTo(ChronoUnit.SECONDS));
   }
 
   public static int compareDates(java.util.@NonNull Date date1, java.util.@NonNull Date date2)
   {
-    Calendar calendar1 = new GregorianCalendar();
-    Calendar calendar2 = new GregorianCalendar();
-    calendar1.setTime(date1);
-    calendar2.setTime(date2);
-
-    int diff = calendar1.get(Calendar.YEAR) - calendar2.get(Calendar.YEAR);
-    if (diff != 0)
-      return diff;
-
-    diff = calendar1.get(Calendar.MONTH) - calendar2.get(Calendar.MONTH);
-    if (diff != 0)
-      return diff;
-
-    diff = calendar1.get(Calendar.DAY_OF_MONTH) - calendar2.get(Calendar.DAY_OF_MONTH);
-
-    return diff;
+    return utilDate2LocalDate(date1).compareTo(utilDate2LocalDate(date2));
   }
 
   public static int compareAxisTimes(org.apache.axis.types.@NonNull Time time1,
     org.apache.axis.types.@NonNull Time time2)
   {
-    Calendar calendar1 = time1.getAsCalendar();
-    Calendar calendar2 = time2.getAsCalendar();
-
-    int diff = calendar1.get(Calendar.HOUR) - calendar2.get(Calendar.HOUR);
-    if (diff != 0)
-      return diff;
-
-    diff = calendar1.get(Calendar.MINUTE) - calendar2.get(Calendar.MINUTE);
-    if (diff != 0)
-      return diff;
-
-    diff = calendar1.get(Calendar.SECOND) - calendar2.get(Calendar.SECOND);
-    if (diff != 0)
-      return diff;
-
-    return diff;
+    return axisTime2LocalTime(time1).truncatedTo(ChronoUnit.SECONDS)
+      .compareTo(axisTime2LocalTime(time2).truncatedTo(ChronoUnit.SECONDS));
   }
 
   public static org.apache.axis.types.@NonNull Duration subtractAxisDurations(
@@ -280,17 +273,15 @@ public class XSDTimeUtil
 
   public static org.apache.axis.types.Duration subtractDates(java.util.Date date1, java.util.Date date2)
   {
-    Calendar calendar1 = new GregorianCalendar();
-    Calendar calendar2 = new GregorianCalendar();
-    calendar1.setTime(date1);
-    calendar2.setTime(date2);
+    LocalDateTime dateTime1 = utilDate2LocalDateTime(date1);
+    LocalDateTime dateTime2 = utilDate2LocalDateTime(date2);
 
-    int years = calendar1.get(Calendar.YEAR) - calendar2.get(Calendar.YEAR);
-    int months = calendar1.get(Calendar.MONTH) - calendar2.get(Calendar.MONTH);
-    int days = calendar1.get(Calendar.DAY_OF_MONTH) - calendar2.get(Calendar.DAY_OF_MONTH);
-    int hours = calendar1.get(Calendar.HOUR) - calendar2.get(Calendar.HOUR);
-    int minutes = calendar1.get(Calendar.MINUTE) - calendar2.get(Calendar.MINUTE);
-    double seconds = calendar1.get(Calendar.SECOND) - calendar2.get(Calendar.SECOND);
+    int years = dateTime1.getYear() - dateTime2.getYear();
+    int months = dateTime1.getMonthValue() - dateTime2.getMonthValue();
+    int days = dateTime1.getDayOfMonth() - dateTime2.getDayOfMonth();
+    int hours = dateTime1.getHour() - dateTime2.getHour();
+    int minutes = dateTime1.getMinute() - dateTime2.getMinute();
+    double seconds = dateTime1.getSecond() - dateTime2.getSecond();
 
     return new org.apache.axis.types.Duration(false, years, months, days, hours, minutes, seconds);
   }
@@ -298,143 +289,93 @@ public class XSDTimeUtil
   public static org.apache.axis.types.Duration subtractTimes(org.apache.axis.types.Time time1,
     org.apache.axis.types.Time time2)
   {
-    Calendar calendar1 = time1.getAsCalendar();
-    Calendar calendar2 = time2.getAsCalendar();
-    org.apache.axis.types.Duration result = new org.apache.axis.types.Duration();
-
-    int hours = calendar1.get(Calendar.HOUR) - calendar2.get(Calendar.HOUR);
-    int minutes = calendar1.get(Calendar.MINUTE) - calendar2.get(Calendar.MINUTE);
-    double seconds = calendar1.get(Calendar.SECOND) - calendar2.get(Calendar.SECOND);
+    return subtractTimes(axisTime2LocalTime(time1), axisTime2LocalTime(time2));
+  }
 
-    result.setHours(hours);
-    result.setMinutes(minutes);
-    result.setSeconds(seconds);
+  public static org.apache.axis.types.@NonNull Duration subtractTimes(@NonNull LocalTime time1,
+    @NonNull LocalTime time2)
+  {
+    long nanos = ChronoUnit.NANOS.between(time2, time1);
+    boolean isNegative = nanos < 0;
+    long absoluteNanos = Math.abs(nanos);
+    long seconds = absoluteNanos / NANOS_PER_SECOND;
 
-    return result;
+    return new org.apache.axis.types.Duration(isNegative, 0, 0, 0, (int)(seconds / 3600), (int)(seconds / 60 % 60),
+      seconds % 60 + (double)(absoluteNanos % NANOS_PER_SECOND) / NANOS_PER_SECOND);
   }
 
   public static java.util.Date addYearMonthDurationToUtilDateTime(java.util.Date date,
     org.apache.axis.types.Duration duration)
   {
-    Calendar calendar = new GregorianCalendar(), result = new GregorianCalendar();
-
-    calendar.setTime(date);
-
-    result.set(calendar.get(Calendar.YEAR) + getYearsFromAxisDuration(duration),
-      calendar.get(Calendar.MONTH) + getMonthsFromAxisDuration(duration), calendar.get(Calendar.DAY_OF_MONTH),
-      calendar.get(Calendar.HOUR), calendar.get(Calendar.MINUTE), calendar.get(Calendar.SECOND));
-
-    return result.getTime();
+    return localDateTime2UtilDate(utilDate2LocalDateTime(date).plusYears(getYearsFromAxisDuration(duration))
+      .plusMonths(getMonthsFromAxisDuration(duration)));
   }
 
   public static java.util.Date addYearMonthDurationToUtilDate(java.util.Date date,
     org.apache.axis.types.Duration duration)
   {
-    Calendar calendar = new GregorianCalendar(), resultCalendar = new GregorianCalendar();
-
-    calendar.setTime(date);
-
-    resultCalendar.set(calendar.get(Calendar.YEAR) + getYearsFromAxisDuration(duration),
-      calendar.get(Calendar.MONTH) + getMonthsFromAxisDuration(duration), calendar.get(Calendar.DAY_OF_MONTH));
-
-    return resultCalendar.getTime();
+    return localDate2UtilDate(utilDate2LocalDate(date).plusYears(getYearsFromAxisDuration(duration))
+      .plusMonths(getMonthsFromAxisDuration(duration)));
   }
 
   public static java.util.Date subtractYearMonthDurationFromUtilDateTime(java.util.Date date,
     org.apache.axis.types.Duration duration)
   {
-    Calendar calendar = new GregorianCalendar(), result = new GregorianCalendar();
-
-    calendar.setTime(date);
-
-    result.set(calendar.get(Calendar.YEAR) - getYearsFromAxisDuration(duration),
-      calendar.get(Calendar.MONTH) - getMonthsFromAxisDuration(duration), calendar.get(Calendar.DAY_OF_MONTH),
-      calendar.get(Calendar.HOUR), calendar.get(Calendar.MINUTE), calendar.get(Calendar.SECOND));
-
-    return result.getTime();
+    return localDateTime2UtilDate(utilDate2LocalDateTime(date).minusYears(getYearsFromAxisDuration(duration))
+      .minusMonths(getMonthsFromAxisDuration(duration)));
   }
 
   public static java.util.@NonNull Date subtractYearMonthDurationFromUtilDate(java.util.@NonNull Date date,
     org.apache.axis.types.@NonNull Duration duration)
   {
-    Calendar calendar = new GregorianCalendar(), resultCalendar = new GregorianCalendar();
-
-    calendar.setTime(date);
-
-    resultCalendar.set(calendar.get(Calendar.YEAR) - getYearsFromAxisDuration(duration),
-      calendar.get(Calendar.MONTH) - getMonthsFromAxisDuration(duration), calendar.get(Calendar.DAY_OF_MONTH));
-
-    return resultCalendar.getTime();
+    return localDate2UtilDate(utilDate2LocalDate(date).minusYears(getYearsFromAxisDuration(duration))
+      .minusMonths(getMonthsFromAxisDuration(duration)));
   }
 
   public static java.util.@NonNull Date addDayTimeDurationToUtilDate(java.util.@NonNull Date date,
     org.apache.axis.types.@NonNull Duration duration)
   {
-    Calendar calendar = new GregorianCalendar(), resultCalendar = new GregorianCalendar();
-
-    calendar.setTime(date);
-
-    resultCalendar.set(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH),
-      calendar.get(Calendar.DAY_OF_MONTH) + getDaysFromAxisDuration(duration),
-      calendar.get(Calendar.HOUR) + getHoursFromAxisDuration(duration),
-      calendar.get(Calendar.MINUTE) + getMinutesFromAxisDuration(duration),
-      (int)(calendar.get(Calendar.SECOND) + getSecondsFromAxisDuration(duration)));
-
-    return resultCalendar.getTime();
+    return localDateTime2UtilDate(addDayTimeDuration(utilDate2LocalDateTime(date), duration, 1));
   }
 
   public static java.util.@NonNull Date subtractDayTimeDurationFromUtilDate(java.util.@NonNull Date date,
     org.apache.axis.types.@NonNull Duration duration)
   {
-    Calendar calendar = new GregorianCalendar(), resultCalendar = new GregorianCalendar();
-
-    calendar.setTime(date);
-
-    resultCalendar.set(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH),
-      calendar.get(Calendar.DAY_OF_MONTH) - getDaysFromAxisDuration(duration),
-      calendar.get(Calendar.HOUR) - getHoursFromAxisDuration(duration),
-      calendar.get(Calendar.MINUTE) - getMinutesFromAxisDuration(duration),
-      (int)(calendar.get(Calendar.SECOND) - getSecondsFromAxisDuration(duration)));
-
-    return resultCalendar.getTime();
+    return localDateTime2UtilDate(addDayTimeDuration(utilDate2LocalDateTime(date), duration, -1));
   }
 
   public static org.apache.axis.types.@NonNull Time addDayTimeDurationToTime(org.apache.axis.types.@NonNull Time time,
     org.apache.axis.types.@NonNull Duration duration)
   {
-    Calendar calendar = time.getAsCalendar(), resultCalendar = new GregorianCalendar();
-
-    resultCalendar.set(0, calendar.get(Calendar.DAY_OF_MONTH) + getDaysFromAxisDuration(duration),
-      calendar.get(Calendar.HOUR) + getHoursFromAxisDuration(duration),
-      calendar.get(Calendar.MINUTE) + getMinutesFromAxisDuration(duration),
-      (int)(calendar.get(Calendar.SECOND) + getSecondsFromAxisDuration(duration)));
+    return localTime2AxisTime(addDayTimeDurationToTime(axisTime2LocalTime(time), duration));
+  }
 
-    return new org.apache.axis.types.Time(resultCalendar);
+  @NonNull public static LocalTime addDayTimeDurationToTime(@NonNull LocalTime time,
+    org.apache.axis.types.@NonNull Duration duration)
+  {
+    return addDayTimeDuration(LocalDate.ofEpochDay(0).atTime(time), duration, 1).toLocalTime();
   }
 
   public static org.apache.axis.types.Time subtractDayTimeDurationFromTime(org.apache.axis.types.@NonNull Time time,
     org.apache.axis.types.@NonNull Duration duration)
   {
-    Calendar calendar = time.getAsCalendar(), resultCalendar = new GregorianCalendar();
-
-    resultCalendar.set(0, calendar.get(Calendar.DAY_OF_MONTH) - getDaysFromAxisDuration(duration),
-      calendar.get(Calendar.HOUR) - getHoursFromAxisDuration(duration),
-      calendar.get(Calendar.MINUTE) - getMinutesFromAxisDuration(duration),
-      (int)(calendar.get(Calendar.SECOND) - getSecondsFromAxisDuration(duration)));
+    return localTime2AxisTime(subtractDayTimeDurationFromTime(axisTime2LocalTime(time), duration));
+  }
 
-    return new org.apache.axis.types.Time(resultCalendar);
+  @NonNull public static LocalTime subtractDayTimeDurationFromTime(@NonNull LocalTime time,
+    org.apache.axis.types.@NonNull Duration duration)
+  {
+    return addDayTimeDuration(LocalDate.ofEpochDay(0).atTime(time), duration, -1).toLocalTime();
   }
 
   public static org.apache.axis.types.@NonNull Duration subtractUtilDatesYieldingYearMonthDuration(
     java.util.@NonNull Date date1, java.util.@NonNull Date date2)
   {
-    Calendar calendar1 = new GregorianCalendar();
-    Calendar calendar2 = new GregorianCalendar();
-    calendar1.setTime(date1);
-    calendar2.setTime(date2);
+    LocalDate localDate1 = utilDate2LocalDate(date1);
+    LocalDate localDate2 = utilDate2LocalDate(date2);
 
-    int years = calendar1.get(Calendar.YEAR) - calendar2.get(Calendar.YEAR);
-    int months = calendar1.get(Calendar.MONTH) - calendar2.get(Calendar.MONTH);
+    int years = localDate1.getYear() - localDate2.getYear();
+    int months = localDate1.getMonthValue() - localDate2.getMonthValue();
 
     return new org.apache.axis.types.Duration(false, years, months, 0, 0, 0, 0);
   }
@@ -442,35 +383,45 @@ public class XSDTimeUtil
   public static org.apache.axis.types.@NonNull Duration subtractUtilDatesYieldingDayTimeDuration(
     java.util.@NonNull Date date1, java.util.@NonNull Date date2)
   {
-    Calendar calendar1 = new GregorianCalendar();
-    Calendar calendar2 = new GregorianCalendar();
-    calendar1.setTime(date1);
-    calendar2.setTime(date2);
+    LocalDateTime dateTime1 = utilDate2LocalDateTime(date1);
+    LocalDateTime dateTime2 = utilDate2LocalDateTime(date2);
 
-    int days = calendar1.get(Calendar.DAY_OF_MONTH) - calendar2.get(Calendar.DAY_OF_MONTH);
-    int hours = calendar1.get(Calendar.HOUR) - calendar2.get(Calendar.HOUR);
-    int minutes = calendar1.get(Calendar.MINUTE) - calendar2.get(Calendar.MINUTE);
-    double seconds = calendar1.get(Calendar.SECOND) - calendar2.get(Calendar.SECOND);
+    int days = dateTime1.getDayOfMonth() - dateTime2.getDayOfMonth();
+    int hours = dateTime1.getHour() - dateTime2.getHour();
+    int minutes = dateTime1.getMinute() - dateTime2.getMinute();
+    double seconds = dateTime1.getSecond() - dateTime2.getSecond();
 
     return new org.apache.axis.types.Duration(false, 0, 0, days, hours, minutes, seconds);
   }
 
   @NonNull public static String utilDate2XSDDateTimeString(java.util.@NonNull Date date)
   {
-    return xsdDateTimeFormat.format(date);
+    return localDateTime2XSDDateTimeString(utilDate2LocalDateTime(date));
+  }
+
+  @NonNull public static String localDateTime2XSDDateTimeString(@NonNull LocalDateTime dateTime)
+  {
+    return xsdDateTimeFormatter.format(dateTime);
   }
 
   @NonNull public static String utilDate2XSDDateString(java.util.@NonNull Date date)
   {
-    return xsdDateFormat.format(date);
+    return localDate2XSDDateString(utilDate2LocalDate(date));
+  }
+
+  @NonNull public static String localDate2XSDDateString(@NonNull LocalDate date)
+  {
+    return xsdDateFormatter.format(date);
   }
 
   @NonNull public static String utilDate2XSDTimeString(java.util.@NonNull Date date)
   {
-    Calendar calendar = new GregorianCalendar();
-    calendar.setTime(date);
-    org.apache.axis.types.Time time = new org.apache.axis.types.Time(calendar);
-    return time.toString();
+    return localTime2XSDTimeString(utilDate2LocalTime(date));
+  }
+
+  @NonNull public static String localTime2XSDTimeString(@NonNull LocalTime time)
+  {
+    return xsdTimeFormatter.format(time);
   }
 
   public static org.apache.axis.types.@NonNull Time utilDate2XSDTime(java.util.@NonNull Date date)
@@ -480,6 +431,32 @@ public class XSDTimeUtil
     return new org.apache.axis.types.Time(calendar);
   }
 
+  @NonNull public static LocalDateTime utilDate2LocalDateTime(java.util.@NonNull Date date)
+  {
+    // Date.toInstant is not supported by java.sql.Date
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(date.getTime()), ZoneId.systemDefault());
+  }
+
+  @NonNull public static LocalDate utilDate2LocalDate(java.util.@NonNull Date date)
+  {
+    return utilDate2LocalDateTime(date).toLocalDate();
+  }
+
+  @NonNull public static LocalTime utilDate2LocalTime(java.util.@NonNull Date date)
+  {
+    return utilDate2LocalDateTime(date).toLocalTime();
+  }
+
+  public static java.util.@NonNull Date localDateTime2UtilDate(@NonNull LocalDateTime dateTime)
+  {
+    return java.util.Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+  }
+
+  public static java.util.@NonNull Date localDate2UtilDate(@NonNull LocalDate date)
+  {
+    return java.util.Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+  }
+
   public static java.util.@NonNull Date xsdDateTime2UtilDate(@NonNull XSDDateTime dateTime)
   {
     return xsdDateTimeString2UtilDate(dateTime.getContent());
@@ -487,32 +464,99 @@ public class XSDTimeUtil
 
   public static java.util.@NonNull Date xsdDateTimeString2UtilDate(@NonNull String content)
   {
+    LocalDateTime dateTime = xsdDateTimeString2LocalDateTime(content);
+
+    if (hasTimezone(content))
+      return java.util.Date.from(dateTime.toInstant(ZoneOffset.UTC));
+    else
+      return localDateTime2UtilDate(dateTime);
+  }
+
+  @NonNull public static LocalDateTime xsdDateTimeString2LocalDateTime(@NonNull String content)
+  {
+    LocalDateTime dateTime = parseCanonicalDateTime(content);
+
+    if (dateTime != null)
+      return dateTime;
+
     try {
-      return xsdDateTimeFormat.parse(content);
-    } catch (ParseException e) {
-      throw new IllegalArgumentException("Invalid xsd:DateTime " + content);
+      TemporalAccessor parsed = xsdDateTimeFormatter.parse(content);
+      dateTime = LocalDateTime.from(parsed);
+
+      if (parsed.isSupported(ChronoField.OFFSET_SECONDS))
+        return OffsetDateTime.of(dateTime, ZoneOffset.from(parsed)).withOffsetSameInstant(ZoneOffset.UTC)
+          .toLocalDateTime();
+      else
+        return dateTime;
+    } catch (DateTimeException e) {
+      throw new IllegalArgumentException("Invalid xsd:DateTime " + content, e);
     }
   }
 
   public static java.util.@NonNull Date xsdDate2UtilDate(@NonNull XSDDate date)
   {
-    return xsdDateString2UtilDate(date.getContent());
+    return localDate2UtilDate(date.getDate());
   }
 
   public static java.util.@NonNull Date xsdDateString2UtilDate(@NonNull String content)
   {
-    try {
-      return xsdDateFormat.parse(content);
-    } catch (ParseException e) {
-      throw new IllegalArgumentException("Invalid xsd:Date " + content);
+    return localDate2UtilDate(xsdDateString2LocalDate(content));
+  }
+
+  @NonNull public static LocalDate xsdDateString2LocalDate(@NonNull String content)
+  {
+    LocalDate date = content.length() == 10 ? parseCanonicalDate(content, 0) : null;
+
+    if (date != null)
+      return date;
+
+    try { // A timezone is allowed but does not change the date
+      return LocalDate.from(xsdDateFormatter.parse(content));
+    } catch (DateTimeException e) {
+      throw new IllegalArgumentException("Invalid xsd:Date " + content, e);
     }
   }
 
   public static java.util.@NonNull Date xsdTimeString2UtilDate(@NonNull String content)
   {
-    org.apache.axis.types.Time time = new org.apache.axis.types.Time(content);
+    LocalDateTime dateTime = LocalDate.ofEpochDay(0).atTime(xsdTimeString2LocalTime(content));
 
-    return time.getAsCalendar().getTime();
+    if (hasTimezone(content))
+      return java.util.Date.from(dateTime.toInstant(ZoneOffset.UTC));
+    else
+      return localDateTime2UtilDate(dateTime);
+  }
+
+  @NonNull public static LocalTime xsdTimeString2LocalTime(@NonNull String content)
+  {
+    LocalTime time = content.length() == 8 ? parseCanonicalTime(content, 0) : null;
+
+    if (time != null)
+      return time;
+
+    try {
+      TemporalAccessor parsed = xsdTimeFormatter.parse(content);
+      time = LocalTime.from(parsed);
+
+      if (parsed.isSupported(ChronoField.OFFSET_SECONDS))
+        return OffsetTime.of(time, ZoneOffset.from(parsed)).withOffsetSameInstant(ZoneOffset.UTC).toLocalTime();
+      else
+        return time;
+    } catch (DateTimeException e) {
+      throw new IllegalArgumentException("Invalid xsd:Time " + content, e);
+    }
+  }
+
+  // A timezone in an xsd:dateTime or xsd:time is either Z or a +hh:mm or -hh:mm offset at the end of the content
+  private static boolean hasTimezone(@NonNull String content)
+  {
+    int length = content.length();
+
+    if (length > 0 && content.charAt(length - 1) == 'Z')
+      return true;
+    else
+      return length >= 6 && (content.charAt(length - 6) == '+' || content.charAt(length - 6) == '-')
+        && content.charAt(length - 3) == ':';
   }
 
   public static org.apache.axis.types.@NonNull Time xsdTimeString2AxisTime(@NonNull String content)
@@ -532,38 +576,38 @@ public class XSDTimeUtil
 
   @NonNull public static String date2JDBCDateTimeString(java.util.@NonNull Date date)
   {
-    return jdbcDateTimeFormat.format(date);
+    return jdbcDateTimeFormatter.format(utilDate2LocalDateTime(date));
   }
 
   @NonNull public static String date2JDBCDateString(java.util.Date date)
   {
-    return jdbcDateFormat.format(date);
+    return jdbcDateFormatter.format(utilDate2LocalDate(date));
   }
 
   public static java.util.@NonNull Date jdbcDateTimeString2UtilDate(@NonNull String content)
   {
     try {
-      return jdbcDateTimeFormat.parse(content);
-    } catch (ParseException e) {
-      throw new IllegalArgumentException("Invalid JDBC datetime " + content);
+      return localDateTime2UtilDate(LocalDateTime.from(jdbcDateTimeFormatter.parse(content)));
+    } catch (DateTimeException e) {
+      throw new IllegalArgumentException("Invalid JDBC datetime " + content, e);
     }
   }
 
   public static java.util.@NonNull Date jdbcDateString2UtilDate(@NonNull String content)
   {
     try {
-      return jdbcDateFormat.parse(content);
-    } catch (ParseException e) {
-      throw new IllegalArgumentException("Invalid JDBC date " + content);
+      return localDate2UtilDate(LocalDate.from(jdbcDateFormatter.parse(content)));
+    } catch (DateTimeException e) {
+      throw new IllegalArgumentException("Invalid JDBC date " + content, e);
     }
   }
 
   public static boolean isValidXSDDateTimeString(@NonNull String content)
   {
     try {
-      xsdDateTimeFormat.parse(content);
+      xsdDateTimeString2LocalDateTime(content);
       return true;
-    } catch (ParseException e) {
+    } catch (IllegalArgumentException e) {
       return false;
     }
   }
@@ -571,9 +615,9 @@ public class XSDTimeUtil
   public static boolean isValidXSDDateString(@NonNull String content)
   {
     try {
-      xsdDateFormat.parse(content);
+      xsdDateString2LocalDate(content);
       return true;
-    } catch (ParseException e) {
+    } catch (IllegalArgumentException e) {
       return false;
     }
   }
@@ -581,9 +625,9 @@ public class XSDTimeUtil
   public static boolean isValidXSDTimeString(@NonNull String content)
   {
     try {
-      new org.apache.axis.types.Time(content);
+      xsdTimeString2LocalTime(content);
       return true;
-    } catch (NumberFormatException e) {
+    } catch (IllegalArgumentException e) {
       return false;
     }
   }
@@ -601,9 +645,9 @@ public class XSDTimeUtil
   public static boolean isValidJDBCDateTimeString(@NonNull String content)
   {
     try {
-      jdbcDateTimeFormat.parse(content);
+      jdbcDateTimeFormatter.parse(content);
       return true;
-    } catch (ParseException e) {
+    } catch (DateTimeException e) {
       return false;
     }
   }
@@ -727,4 +771,100 @@ public class XSDTimeUtil
     else
       return duration.getSeconds();
   }
+
+  @NonNull private static LocalDateTime addDayTimeDuration(@NonNull LocalDateTime dateTime,
+    org.apache.axis.types.@NonNull Duration duration, int sign)
+  {
+    return dateTime.plusDays(sign * (long)getDaysFromAxisDuration(duration))
+      .plusHours(sign * (long)getHoursFromAxisDuration(duration))
+      .plusMinutes(sign * (long)getMinutesFromAxisDuration(duration))
+      .plusNanos(Math.round(sign * getSecondsFromAxisDuration(duration) * NANOS_PER_SECOND));
+  }
+
+  @NonNull private static LocalTime axisTime2LocalTime(org.apache.axis.types.@NonNull Time time)
+  {
+    Calendar calendar = time.getAsCalendar();
+
+    return LocalTime.of(calendar.get(Calendar.HOUR_OF_DAY), calendar.get(Calendar.MINUTE),
+      calendar.get(Calendar.SECOND), calendar.get(Calendar.MILLISECOND) * 1_000_000);
+  }
+
+  private static org.apache.axis.types.@NonNull Time localTime2AxisTime(@NonNull LocalTime time)
+  {
+    Calendar calendar = new GregorianCalendar();
+
+    calendar.clear();
+    calendar.set(Calendar.HOUR_OF_DAY, time.getHour());
+    calendar.set(Calendar.MINUTE, time.getMinute());
+    calendar.set(Calendar.SECOND, time.getSecond());
+    calendar.set(Calendar.MILLISECOND, time.getNano() / 1_000_000);
+
+    return new org.apache.axis.types.Time(calendar);
+  }
+
+  // Fast path for the canonical form yyyy-MM-ddTHH:mm:ss; null if the content is not in this form
+  @Nullable private static LocalDateTime parseCanonicalDateTime(@NonNull String content)
+  {
+    if (content.length() != 19 || content.charAt(10) != 'T')
+      return null;
+
+    LocalDate date = parseCanonicalDate(content, 0);
+    LocalTime time = parseCanonicalTime(content, 11);
+
+    return date != null && time != null ? LocalDateTime.of(date, time) : null;
+  }
+
+  // Fast path for the canonical form yyyy-MM-dd at the start index; null if the content is not in this form
+  @Nullable private static LocalDate parseCanonicalDate(@NonNull String content, int start)
+  {
+    if (content.charAt(start + 4) != '-' || content.charAt(start + 7) != '-')
+      return null;
+
+    int year = parseDigits(content, start, start + 4);
+    int month = parseDigits(content, start + 5, start + 7);
+    int day = parseDigits(content, start + 8, start + 10);
+
+    if (year < 0 || month < 0 || day < 0)
+      return null;
+
+    try {
+      return LocalDate.of(year, month, day);
+    } catch (DateTimeException e) {
+      return null; // Left to the formatter to report
+    }
+  }
+
+  // Fast path for the canonical form HH:mm:ss at the start index; null if the content is not in this form
+  @Nullable private static LocalTime parseCanonicalTime(@NonNull String content, int start)
+  {
+    if (content.charAt(start + 2) != ':' || content.charAt(start + 5) != ':')
+      return null;
+
+    int hour = parseDigits(content, start, start + 2);
+    int minute = parseDigits(content, start + 3, start + 5);
+    int second = parseDigits(content, start + 6, start + 8);
+
+    if (hour < 0 || minute < 0 || second < 0)
+      return null;
+
+    try {
+      return LocalTime.of(hour, minute, second);
+    } catch (DateTimeException e) {
+      return null; // Left to the formatter to report
+    }
+  }
+
+  // Returns -1 if a character in the range is not a digit
+  private static int parseDigits(@NonNull String content, int start, int end)
+  {
+    int value = 0;
+
+    for (int i = start; i < end; i++) {
+      char c = content.charAt(i);
+      if (c < '0' || c > '9')
+        return -1;
+      value = value * 10 + (c - '0');
+    }
+    return value;
+  }
 }
@@ -0,0 +1,54 @@
+package org.swrlapi.sqwrl;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.SWRLRule;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents a parsed SQWRL query that is held outside the ontology. Unlike queries created with
+ * {@link org.swrlapi.sqwrl.SQWRLQueryEngine#createSQWRLQuery(String, String)}, a prepared query is never added to the
+ * underlying OWL ontology, so preparing and running it does not trigger ontology change processing.
+ * <p>
+ * A prepared query may declare parameters. A parameter is a SWRL variable in the query that acts as a placeholder for
+ * a literal value supplied each time the query is run. Parameters may appear only where a literal is allowed, i.e., as
+ * built-in arguments, as the object of a data property atom, or as the argument of a data range atom.
+ * <p>
+ * The following is an example of preparing and running a parameterized query:
+ * <pre>
+ * SQWRLPreparedQuery query = queryEngine.prepareSQWRLQuery(&quot;q1&quot;,
+ *   &quot;Person(?p) ^ hasAge(?p, ?age) ^ swrlb:greaterThan(?age, ?minAge) -&gt; sqwrl:select(?p)&quot;,
+ *   Collections.singleton(&quot;minAge&quot;));
+ *
+ * SQWRLResult result = queryEngine.runSQWRLQuery(query, Collections.singletonMap(&quot;minAge&quot;, dataFactory.getOWLLiteral(18)));
+ * </pre>
+ *
+ * @see org.swrlapi.sqwrl.SQWRLQueryEngine#prepareSQWRLQuery(String, String, Set)
+ * @see org.swrlapi.sqwrl.SQWRLQueryEngine#runSQWRLQuery(SQWRLPreparedQuery, Map)
+ * @see org.swrlapi.sqwrl.SQWRLQuery
+ */
+public interface SQWRLPreparedQuery
+{
+  /**
+   * @return The name of the query
+   */
+  @NonNull String getQueryName();
+
+  /**
+   * @return The names of the parameters of the query
+   */
+  @NonNull Set<@NonNull String> getParameterNames();
+
+  /**
+   * Generate a SWRL rule in which each parameter of the query is replaced by its supplied literal value.
+   *
+   * @param parameterValues A map of parameter names to values; a value must be supplied for every parameter
+   * @return A SWRL rule representing the bound query
+   * @throws SQWRLException If a parameter has no value or if a value is supplied for an unknown parameter
+   */
+  @NonNull SWRLRule bindParameters(@NonNull Map<@NonNull String, @NonNull OWLLiteral> parameterValues)
+    throws SQWRLException;
+}
@@ -1,6 +1,7 @@
 package org.swrlapi.sqwrl;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLLiteral;
 import org.swrlapi.core.SWRLRuleEngine;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.exceptions.SWRLRuleEngineException;
@@ -8,6 +9,7 @@ import org.swrlapi.parser.SWRLParseException;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
 
 import javax.swing.*;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -52,6 +54,57 @@ public interface SQWRLQueryEngine extends SWRLRuleEngine
    */
   @NonNull SQWRLResult runSQWRLQuery(@NonNull String queryName) throws SQWRLException;
 
+  /**
+   * Run a named SQWRL query and return a cursor over its result. If the result of the query is streamable the rule
+   * engine is run in the background and rows can be read as soon as they are generated; at most
+   * <code>bufferSize</code> unread rows are held before the rule engine has to wait for the reader. Closing the cursor
+   * before the end of the result asks the rule engine to stop. Other results are generated in full before the cursor
+   * is returned.
+   * <p>
+   * The query engine must not be used while the cursor is open. Rows delivered to a cursor are not available from
+   * {@link #getSQWRLResult(String)}.
+   *
+   * @param queryName  The name of the query
+   * @param bufferSize The maximum number of rows held for the reader of the cursor
+   * @return A cursor over the result of the query; it must be closed
+   * @throws SQWRLException If an exception occurs during processing
+   * @see org.swrlapi.sqwrl.SQWRLResultGenerator#isStreamable()
+   */
+  @NonNull SQWRLResultCursor openSQWRLResultCursor(@NonNull String queryName, int bufferSize) throws SQWRLException;
+
+  /**
+   * Prepare a SQWRL query. The query is parsed but is not added to the associated ontology.
+   *
+   * @param queryName      The name of the query
+   * @param queryText      The query
+   * @param parameterNames The names of variables in the query that are bound to literal values on each run
+   * @return A prepared query
+   * @throws SWRLParseException If a parsing error occurs during processing
+   * @throws SQWRLException     If a SQWRL-specific error occurs during processing
+   * @see org.swrlapi.sqwrl.SQWRLPreparedQuery
+   */
+  @NonNull SQWRLPreparedQuery prepareSQWRLQuery(@NonNull String queryName, @NonNull String queryText,
+    @NonNull Set<@NonNull String> parameterNames) throws SWRLParseException, SQWRLException;
+
+  /**
+   * Run a prepared SQWRL query with the supplied parameter values. SWRL rules will also be executed and any inferences
+   * produced by them will be available in the query.
+   *
+   * @param query           A prepared query
+   * @param parameterValues A map of parameter names to values; a value must be supplied for every parameter
+   * @return The result of the query
+   * @throws SQWRLException If an exception occurs during processing
+   */
+  @NonNull SQWRLResult runSQWRLQuery(@NonNull SQWRLPreparedQuery query,
+    @NonNull Map<@NonNull String, @NonNull OWLLiteral> parameterValues) throws SQWRLException;
+
+  /**
+   * Discard the result of the most recent run of a prepared SQWRL query. The prepared query itself can still be run.
+   *
+   * @param query A prepared query
+   */
+  void deleteSQWRLPreparedQuery(@NonNull SQWRLPreparedQuery query);
+
   /**
    * Run all enabled SQWRL queries. The {@link #getSQWRLResult(String)} method can be used to retrieve the
    * results of these queries.
@@ -60,6 +113,29 @@ public interface SQWRLQueryEngine extends SWRLRuleEngine
    */
   void runSQWRLQueries() throws SQWRLException;
 
+  /**
+   * Start a SQWRL query session. Within a session the asserted OWL axioms and SWRL rules are loaded into the target
+   * rule engine once. Each subsequent call to {@link #runSQWRLQuery(String)} then defines and runs only the named
+   * query, clearing only that query's result and collections. Any change to the ontology other than the addition or
+   * removal of SQWRL queries causes a full reload before the next query is run.
+   * <p>
+   * Sessions have no effect on target rule engines that cannot undefine SQWRL queries; every query is then run with a
+   * full import.
+   *
+   * @see org.swrlapi.bridge.TargetSWRLRuleEngine#canUndefineSQWRLQueries()
+   */
+  void startSQWRLQuerySession();
+
+  /**
+   * Finish a SQWRL query session. Subsequent queries are run with a full import.
+   */
+  void finishSQWRLQuerySession();
+
+  /**
+   * @return True if a SQWRL query session is in progress
+   */
+  boolean isInSQWRLQuerySession();
+
   /**
    * Get the results from a previously executed SQWRL query.
    * A {@link org.swrlapi.sqwrl.exceptions.SQWRLInvalidQueryNameException} is thrown if no result is present.
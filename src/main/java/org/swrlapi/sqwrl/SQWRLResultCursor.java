@@ -0,0 +1,85 @@
+package org.swrlapi.sqwrl;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+
+import java.util.List;
+
+/**
+ * A forward-only cursor over the rows of a SQWRL query result.
+ * <p>
+ * If the result of a query is streamable (see {@link org.swrlapi.sqwrl.SQWRLResultGenerator#isStreamable()}) rows
+ * are available as soon as the rule engine produces them. The rule engine runs in the background and is held up when
+ * the buffer of rows not yet read by the cursor is full. Closing a cursor before all rows have been read asks the rule
+ * engine to stop. Otherwise, the query is run to completion before the cursor is returned.
+ * <p>
+ * A cursor must be closed when it is no longer needed and the query engine should not be used while a cursor is
+ * open. Once a cursor is closed, or {@link #next()} has returned false at the end of the result, the rule engine has
+ * finished and the query engine can be used again. Example:
+ *
+ * <pre>
+ * try (SQWRLResultCursor cursor = queryEngine.openSQWRLResultCursor("Q1")) {
+ *   while (cursor.next()) {
+ *     SQWRLResultValue value = cursor.getValue(0);
+ *     ...
+ *   }
+ * }
+ * </pre>
+ *
+ * @see org.swrlapi.sqwrl.SQWRLQueryEngine#openSQWRLResultCursor(String, int)
+ * @see org.swrlapi.sqwrl.SQWRLResult
+ */
+public interface SQWRLResultCursor extends AutoCloseable
+{
+  /**
+   * @return The result column names
+   * @throws SQWRLException If an error occurs
+   */
+  @NonNull List<@NonNull String> getColumnNames() throws SQWRLException;
+
+  /**
+   * @return The number of columns in the result
+   * @throws SQWRLException If an error occurs
+   */
+  int getNumberOfColumns() throws SQWRLException;
+
+  /**
+   * Advance to the next row, waiting for the rule engine to produce it if necessary.
+   *
+   * @return True if there is a next row; false at the end of the result or if the cursor is closed
+   * @throws SQWRLException If an error occurred running the query
+   */
+  boolean next() throws SQWRLException;
+
+  /**
+   * @return The values of the current row
+   * @throws SQWRLException If there is no current row
+   */
+  @NonNull List<@NonNull SQWRLResultValue> getRow() throws SQWRLException;
+
+  /**
+   * @param columnIndex A column index
+   * @return The value of the column in the current row
+   * @throws SQWRLException If there is no current row or the column index is invalid
+   */
+  @NonNull SQWRLResultValue getValue(int columnIndex) throws SQWRLException;
+
+  /**
+   * @param columnName A column name
+   * @return The value of the column in the current row
+   * @throws SQWRLException If there is no current row or the column name is invalid
+   */
+  @NonNull SQWRLResultValue getValue(@NonNull String columnName) throws SQWRLException;
+
+  /**
+   * @return True if the cursor is closed
+   */
+  boolean isClosed();
+
+  /**
+   * Close the cursor. If the rule engine is still running it is asked to stop and any rows it produces are discarded.
+   * Returns once the rule engine has stopped, after which the query engine can be used again.
+   */
+  @Override void close();
+}
@@ -1,6 +1,7 @@
 package org.swrlapi.sqwrl;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
 import org.swrlapi.sqwrl.values.SQWRLResultValue;
 
@@ -81,6 +82,12 @@ public interface SQWRLResultGenerator
 	 */
 	void configured() throws SQWRLException;
 
+	/**
+	 * @return The result column names
+	 * @throws SQWRLException If the result is not yet configured
+	 */
+	@NonNull List<@NonNull String> getColumnNames() throws SQWRLException;
+
 	/**
 	 * Add a row to the result.
 	 *
@@ -124,6 +131,45 @@ public interface SQWRLResultGenerator
 	 */
 	void prepared() throws SQWRLException;
 
+	/**
+	 * Discard all rows and return to the preparation phase so that the result can be regenerated. The configuration of
+	 * the result is retained.
+	 *
+	 * @throws SQWRLException If the result is not yet configured
+	 */
+	void clearRows() throws SQWRLException;
+
+	/**
+	 * A result is streamable if its rows can be handed out in the order in which they are added, i.e., if it is not
+	 * ordered, has no aggregate columns, and uses no selection operator other than limit. Duplicate rows of a
+	 * distinct result are dropped as they are added.
+	 *
+	 * @return True if the rows of the result can be delivered to a row listener as they are added
+	 * @throws SQWRLException If the result is not yet configured
+	 */
+	boolean isStreamable() throws SQWRLException;
+
+	/**
+	 * Deliver the rows of a streamable result to a listener as they are added instead of storing them. Rows that are
+	 * excluded by the distinct or limit operators are not delivered. A prepared result does not contain the
+	 * delivered rows.
+	 *
+	 * @param listener A row listener; null to store rows again
+	 * @throws SQWRLException If the result is not configured or is not streamable
+	 * @see org.swrlapi.sqwrl.SQWRLResultCursor
+	 */
+	void setRowListener(@Nullable SQWRLResultRowListener listener) throws SQWRLException;
+
+	/**
+	 * A rule engine can stop generating rows for a result once its row limit is reached. Only unordered results without
+	 * aggregates that use the limit, nth, firstN, or nthSlice operators have a row limit; rows added after it has been
+	 * reached are ignored.
+	 *
+	 * @return True if the rows added so far fully determine the result
+	 * @throws SQWRLException If the result is not configured
+	 */
+	boolean isRowLimitReached() throws SQWRLException;
+
 	void setLimit(int limit);
 
 	/**
@@ -83,5 +83,13 @@ import org.swrlapi.sqwrl.values.SQWRLResultValue;
  * }
  * </pre>
  */
-public interface SQWRLResultManager extends SQWRLResultGenerator, SQWRLResult
-{}
+public interface SQWRLResultManager extends SQWRLResultGenerator, SQWRLResult, AutoCloseable
+{
+  /**
+   * Release any resources, such as temporary files, held by the result. Rows may not be readable once the result is
+   * closed. The default implementation does nothing.
+   */
+  @Override default void close()
+  {
+  }
+}
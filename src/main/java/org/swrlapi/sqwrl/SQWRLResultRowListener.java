@@ -0,0 +1,24 @@
+package org.swrlapi.sqwrl;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+
+import java.util.List;
+
+/**
+ * A listener that receives the rows of a streamable SQWRL result as they are generated by a rule engine. Rows are
+ * delivered on the thread that runs the rule engine, so a listener that blocks slows the rule engine down.
+ *
+ * @see org.swrlapi.sqwrl.SQWRLResultGenerator#setRowListener(SQWRLResultRowListener)
+ * @see org.swrlapi.sqwrl.SQWRLResultCursor
+ */
+@FunctionalInterface
+public interface SQWRLResultRowListener
+{
+  /**
+   * @param row The values of a completed row; the list is owned by the listener
+   * @throws SQWRLException If an error occurs processing the row
+   */
+  void rowAdded(@NonNull List<@NonNull SQWRLResultValue> row) throws SQWRLException;
+}
@@ -0,0 +1,218 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.exceptions.SWRLBuiltInLibraryException;
+import org.swrlapi.exceptions.SWRLBuiltInMethodRuntimeException;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @see AbstractSWRLBuiltInLibrary#invokeBuiltInMethod
+ */
+public class AbstractSWRLBuiltInLibraryTest
+{
+  @Rule public final ExpectedException thrown = ExpectedException.none();
+
+  private SWRLBuiltInBridge bridge;
+  private TestSWRLBuiltInLibrary library;
+
+  @Before public void setUp() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+    bridge = SWRLAPIInternalFactory.createSWRLBridge(SWRLAPIInternalFactory.createSWRLAPIOntology(ontology),
+      SWRLAPIInternalFactory.createOWL2RLPersistenceLayer(ontology));
+    library = new TestSWRLBuiltInLibrary();
+  }
+
+  @Test public void testInvocationContextIsBoundDuringInvocation() throws Exception
+  {
+    SWRLBuiltInInvocationContext context = createContext("r1", "outer", 2);
+    List<SWRLBuiltInInvocationContext> seenContexts = new ArrayList<>();
+    List<Integer> seenBuiltInIndexes = new ArrayList<>();
+
+    assertTrue(library.invokeBuiltInMethod((l, a) -> {
+      seenBuiltInIndexes.add(l.getInvokingBuiltInIndex());
+      return seenContexts.add(l.getInvocationContext());
+    }, context, noArguments()));
+
+    assertEquals(Collections.singletonList(context), seenContexts);
+    assertEquals(Collections.singletonList(2), seenBuiltInIndexes);
+  }
+
+  @Test public void testEnclosingInvocationContextIsRestoredAfterNestedInvocation() throws Exception
+  {
+    SWRLBuiltInInvocationContext outerContext = createContext("r1", "outer", 0);
+    SWRLBuiltInInvocationContext innerContext = createContext("r2", "inner", 1);
+    List<String> seenRuleNames = new ArrayList<>();
+
+    library.invokeBuiltInMethod((l, a) -> {
+      seenRuleNames.add(l.getInvokingRuleName());
+      l.invokeBuiltInMethod((il, ia) -> seenRuleNames.add(il.getInvokingRuleName()), innerContext, noArguments());
+      return seenRuleNames.add(l.getInvokingRuleName());
+    }, outerContext, noArguments());
+
+    assertEquals(Arrays.asList("r1", "r2", "r1"), seenRuleNames);
+    assertNoInvocationContext();
+  }
+
+  @Test public void testInvocationContextIsClearedAfterBuiltInException() throws Exception
+  {
+    try {
+      library.invokeBuiltInMethod((l, a) -> {
+        throw new SWRLBuiltInException("built-in failed");
+      }, createContext("r1", "failing", 0), noArguments());
+      fail("expecting SWRLBuiltInException");
+    } catch (SWRLBuiltInException e) {
+      assertTrue(e.getMessage().contains("test:failing"));
+    }
+
+    assertNoInvocationContext();
+  }
+
+  @Test public void testInvocationContextIsClearedAfterRuntimeException() throws Exception
+  {
+    try {
+      library.invokeBuiltInMethod((l, a) -> {
+        throw new IllegalStateException("built-in failed");
+      }, createContext("r1", "failing", 0), noArguments());
+      fail("expecting SWRLBuiltInMethodRuntimeException");
+    } catch (SWRLBuiltInMethodRuntimeException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    assertNoInvocationContext();
+  }
+
+  @Test public void testErrorIsPropagatedUnwrapped() throws Exception
+  {
+    OutOfMemoryError error = new OutOfMemoryError("built-in error");
+
+    try {
+      library.invokeBuiltInMethod((l, a) -> {
+        throw error;
+      }, createContext("r1", "failing", 0), noArguments());
+      fail("expecting OutOfMemoryError");
+    } catch (OutOfMemoryError e) {
+      assertSame(error, e);
+    }
+
+    assertNoInvocationContext();
+  }
+
+  @Test public void testInvocationContextIsUnavailableOutsideBuiltIn() throws Exception
+  {
+    thrown.expect(SWRLBuiltInLibraryException.class);
+    thrown.expectMessage("getInvokingRuleName");
+
+    library.getInvokingRuleName();
+  }
+
+  @Test public void testLibrariesAreLockedDuringInvocationByDefault() throws Exception
+  {
+    assertFalse(library.isThreadSafe());
+    assertTrue(invokeRecordingLock(library));
+  }
+
+  @Test public void testThreadSafeLibrariesAreNotLockedDuringInvocation() throws Exception
+  {
+    SWRLBuiltInLibrary swrlbLibrary = new org.swrlapi.builtins.swrlb.SWRLBuiltInLibraryImpl();
+    SWRLBuiltInLibrary swrlmLibrary = new org.swrlapi.builtins.swrlm.SWRLBuiltInLibraryImpl();
+
+    assertTrue(swrlbLibrary.isThreadSafe());
+    assertFalse(invokeRecordingLock(swrlbLibrary));
+    assertTrue(swrlmLibrary.isThreadSafe());
+    assertFalse(invokeRecordingLock(swrlmLibrary));
+  }
+
+  @Test public void testNumericArgumentsWithEqualValuesHaveEqualInvocationPatterns() throws Exception
+  {
+    SWRLBuiltInArgumentFactory argumentFactory = SWRLAPIInternalFactory
+      .createSWRLBuiltInArgumentFactory(bridge.getIRIResolver());
+
+    SWRLBuiltInInvocationPattern intPattern = createInvocationPatternKey(argumentFactory.getLiteralBuiltInArgument(1));
+    SWRLBuiltInInvocationPattern longPattern = createInvocationPatternKey(
+      argumentFactory.getLiteralBuiltInArgument(1L));
+    SWRLBuiltInInvocationPattern decimalPattern = createInvocationPatternKey(
+      argumentFactory.getLiteralBuiltInArgument(new BigDecimal("1.00")));
+    SWRLBuiltInInvocationPattern stringPattern = createInvocationPatternKey(
+      argumentFactory.getLiteralBuiltInArgument("1"));
+
+    assertEquals(intPattern, longPattern);
+    assertEquals(intPattern.hashCode(), longPattern.hashCode());
+    assertEquals(intPattern, decimalPattern);
+    assertNotEquals(intPattern, stringPattern);
+    assertNotEquals(intPattern, createInvocationPatternKey(argumentFactory.getLiteralBuiltInArgument(2)));
+  }
+
+  // Returns true if the library's monitor is held by the invoking thread while the built-in runs
+  private boolean invokeRecordingLock(@NonNull SWRLBuiltInLibrary library) throws SWRLBuiltInException
+  {
+    return library.invokeBuiltInMethod((l, a) -> Thread.holdsLock(l), createContext("r1", "lock", 0), noArguments());
+  }
+
+  @NonNull private SWRLBuiltInInvocationPattern createInvocationPatternKey(@NonNull SWRLBuiltInArgument argument)
+    throws SWRLBuiltInException
+  {
+    return library.createInvocationPatternKey(bridge, "r1", 0, false, Collections.singletonList(argument));
+  }
+
+  private void assertNoInvocationContext() throws SWRLBuiltInException
+  {
+    try {
+      library.getInvocationContext();
+      fail("expecting SWRLBuiltInLibraryException");
+    } catch (SWRLBuiltInLibraryException e) {
+      // Expected
+    }
+  }
+
+  @NonNull private SWRLBuiltInInvocationContext createContext(@NonNull String ruleName,
+    @NonNull String builtInMethodName, int builtInIndex)
+  {
+    return new SWRLBuiltInInvocationContext(bridge, ruleName, TestSWRLBuiltInLibrary.PREFIX, builtInMethodName,
+      builtInIndex, false);
+  }
+
+  @NonNull private static List<@NonNull SWRLBuiltInArgument> noArguments()
+  {
+    return new ArrayList<>();
+  }
+
+  private static class TestSWRLBuiltInLibrary extends AbstractSWRLBuiltInLibrary
+  {
+    private static final String PREFIX = "test";
+
+    private static final String NAMESPACE = "http://org.swrlapi.test/test#";
+
+    public TestSWRLBuiltInLibrary()
+    {
+      super(PREFIX, NAMESPACE, Collections.emptySet());
+    }
+
+    @Override public void reset()
+    {
+    }
+  }
+}
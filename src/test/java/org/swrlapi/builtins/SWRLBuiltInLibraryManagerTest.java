@@ -0,0 +1,134 @@
+package org.swrlapi.builtins;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see SWRLBuiltInLibraryManager
+ */
+public class SWRLBuiltInLibraryManagerTest
+{
+  private static final String EXTERNAL_LIBRARY_CLASS_NAME = "org.swrlapi.builtins.external.SWRLBuiltInLibraryImpl";
+
+  @Rule public final ExpectedException thrown = ExpectedException.none();
+
+  private SWRLBuiltInBridge bridge;
+  private SWRLBuiltInLibraryManager libraryManager;
+  private ExternalLibraryClassLoader classLoader;
+
+  @Before public void setUp() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+    bridge = SWRLAPIInternalFactory.createSWRLBridge(SWRLAPIInternalFactory.createSWRLAPIOntology(ontology),
+      SWRLAPIInternalFactory.createOWL2RLPersistenceLayer(ontology));
+    libraryManager = new SWRLBuiltInLibraryManager();
+    classLoader = new ExternalLibraryClassLoader(getClass().getClassLoader());
+  }
+
+  @Test public void testExternalLibraryBuiltInsAreInvoked() throws Exception
+  {
+    libraryManager.loadExternalSWRLBuiltInLibrary("external", classLoader);
+
+    assertTrue(classLoader.isExternalLibraryDefined());
+    assertTrue(libraryManager.isSWRLBuiltIn("external:succeed"));
+    assertEquals(1, invoke("external:succeed").size());
+    assertTrue(invoke("external:fail").isEmpty());
+  }
+
+  @Test public void testExternalLibraryBuiltInExceptionIsPropagated() throws Exception
+  {
+    libraryManager.loadExternalSWRLBuiltInLibrary("external", classLoader);
+
+    thrown.expect(SWRLBuiltInException.class);
+    thrown.expectMessage("external built-in failed");
+
+    invoke("external:error");
+  }
+
+  @Test public void testExternalLibraryWithMismatchedDirectoryNameIsNotLoaded()
+  {
+    libraryManager.loadExternalSWRLBuiltInLibrary("other", classLoader);
+
+    assertFalse(libraryManager.isSWRLBuiltIn("external:succeed"));
+  }
+
+  private List<List<SWRLBuiltInArgument>> invoke(String builtInPrefixedName) throws SWRLBuiltInException
+  {
+    return libraryManager.invokeSWRLBuiltIn(bridge, "r1", builtInPrefixedName, 0, false, new ArrayList<>());
+  }
+
+  /**
+   * Defines the external library class itself, rather than delegating to its parent, so that the class is not visible
+   * to the class loader of the library manager. Everything else is loaded by the parent.
+   */
+  private static class ExternalLibraryClassLoader extends ClassLoader
+  {
+    private boolean isExternalLibraryDefined = false;
+
+    public ExternalLibraryClassLoader(ClassLoader parent)
+    {
+      super(parent);
+    }
+
+    public boolean isExternalLibraryDefined()
+    {
+      return this.isExternalLibraryDefined;
+    }
+
+    @Override protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException
+    {
+      if (!name.equals(EXTERNAL_LIBRARY_CLASS_NAME))
+        return super.loadClass(name, resolve);
+
+      synchronized (getClassLoadingLock(name)) {
+        Class<?> cls = findLoadedClass(name);
+
+        if (cls == null) {
+          byte[] classBytes = readClassBytes(name);
+          cls = defineClass(name, classBytes, 0, classBytes.length);
+          this.isExternalLibraryDefined = true;
+        }
+        if (resolve)
+          resolveClass(cls);
+
+        return cls;
+      }
+    }
+
+    private byte[] readClassBytes(String name) throws ClassNotFoundException
+    {
+      try (InputStream inputStream = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+        if (inputStream == null)
+          throw new ClassNotFoundException(name);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int length;
+        while ((length = inputStream.read(buffer)) != -1)
+          outputStream.write(buffer, 0, length);
+
+        return outputStream.toByteArray();
+      } catch (IOException e) {
+        throw new ClassNotFoundException(name, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,132 @@
+package org.swrlapi.builtins.abox;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+
+/**
+ * @see ABoxIndex
+ */
+public class ABoxIndexTest extends IntegrationTestBase
+{
+  private static final IRI IMPORTED_ONTOLOGY_IRI = iri("http://org.swrlapi.test/imported");
+  private static final OWLClass PERSON = Class(iri(NS + "Person"));
+  private static final OWLClass MALE = Class(iri(NS + "Male"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri(NS + "p1"));
+  private static final OWLNamedIndividual P2 = NamedIndividual(iri(NS + "p2"));
+  private static final OWLNamedIndividual P3 = NamedIndividual(iri(NS + "p3"));
+
+  private OWLOntology ontology;
+  private ABoxIndex aboxIndex;
+
+  @Before public void setUp() throws Exception
+  {
+    ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+    addOWLAxioms(ontology, ClassAssertion(PERSON, P1), ClassAssertion(MALE, P2));
+
+    aboxIndex = ABoxIndex.create(ontology);
+  }
+
+  @After public void tearDown()
+  {
+    aboxIndex.dispose();
+  }
+
+  @Test public void testCandidateAxioms()
+  {
+    assertEquals(axioms(ClassAssertion(PERSON, P1)), axioms(aboxIndex.getClassAssertionAxioms(argument(0, PERSON))));
+    assertEquals(axioms(ClassAssertion(MALE, P2)), axioms(aboxIndex.getClassAssertionAxioms(argument(1, P2))));
+    assertEquals(axioms(ClassAssertion(PERSON, P1), ClassAssertion(MALE, P2)),
+      axioms(aboxIndex.getClassAssertionAxioms(Collections.emptyMap())));
+    assertTrue(aboxIndex.getClassAssertionAxioms(argument(1, P3)).isEmpty());
+    assertTrue(aboxIndex.hasAxioms(AxiomType.CLASS_ASSERTION));
+    assertFalse(aboxIndex.hasAxioms(AxiomType.SAME_INDIVIDUAL));
+  }
+
+  @Test public void testAddedAxiomIsIndexed()
+  {
+    addOWLAxioms(ontology, ClassAssertion(PERSON, P3));
+
+    assertTrue(aboxIndex.isCurrentIndexOf(ontology));
+    assertEquals(axioms(ClassAssertion(PERSON, P1), ClassAssertion(PERSON, P3)),
+      axioms(aboxIndex.getClassAssertionAxioms(argument(0, PERSON))));
+  }
+
+  @Test public void testRemovedAxiomIsNoLongerIndexed()
+  {
+    ontology.getOWLOntologyManager().removeAxiom(ontology, ClassAssertion(PERSON, P1));
+
+    assertTrue(aboxIndex.isCurrentIndexOf(ontology));
+    assertTrue(aboxIndex.getClassAssertionAxioms(argument(0, PERSON)).isEmpty());
+  }
+
+  @Test public void testImportsChangeMakesIndexStale() throws Exception
+  {
+    OWLOntologyManager ontologyManager = ontology.getOWLOntologyManager();
+    OWLOntology importedOntology = ontologyManager.createOntology(IMPORTED_ONTOLOGY_IRI);
+
+    addOWLAxioms(importedOntology, ClassAssertion(PERSON, P3));
+    ontologyManager.applyChange(new AddImport(ontology,
+      ontologyManager.getOWLDataFactory().getOWLImportsDeclaration(IMPORTED_ONTOLOGY_IRI)));
+
+    assertFalse(aboxIndex.isCurrentIndexOf(ontology));
+
+    ABoxIndex rebuiltABoxIndex = ABoxIndex.create(ontology);
+    try {
+      assertEquals(axioms(ClassAssertion(PERSON, P1), ClassAssertion(PERSON, P3)),
+        axioms(rebuiltABoxIndex.getClassAssertionAxioms(argument(0, PERSON))));
+    } finally {
+      rebuiltABoxIndex.dispose();
+    }
+  }
+
+  @Test public void testDisposedIndexIsNotUpdated()
+  {
+    aboxIndex.dispose();
+
+    addOWLAxioms(ontology, ClassAssertion(PERSON, P3));
+
+    assertEquals(axioms(ClassAssertion(PERSON, P1)), axioms(aboxIndex.getClassAssertionAxioms(argument(0, PERSON))));
+  }
+
+  private static Map<Integer, OWLObject> argument(int argumentNumber, OWLObject value)
+  {
+    return Collections.singletonMap(argumentNumber, value);
+  }
+
+  private static Set<OWLAxiom> axioms(OWLAxiom... axioms)
+  {
+    return new HashSet<>(Arrays.asList(axioms));
+  }
+
+  private static Set<OWLAxiom> axioms(Collection<? extends OWLAxiom> axioms)
+  {
+    return new HashSet<>(axioms);
+  }
+}
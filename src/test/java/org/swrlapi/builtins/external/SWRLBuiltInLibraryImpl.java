@@ -0,0 +1,47 @@
+package org.swrlapi.builtins.external;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Library used by {@link org.swrlapi.builtins.SWRLBuiltInLibraryManagerTest} to stand in for an external built-in
+ * library. The test defines this class in its own class loader.
+ */
+public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
+{
+  private static final String PREFIX = "external";
+
+  private static final String NAMESPACE = "http://org.swrlapi.test/external#";
+
+  private static final String[] BUILT_IN_NAMES = { "succeed", "fail", "error" };
+
+  public SWRLBuiltInLibraryImpl()
+  {
+    super(PREFIX, NAMESPACE, new HashSet<>(Arrays.asList(BUILT_IN_NAMES)));
+  }
+
+  @Override public void reset()
+  {
+  }
+
+  public boolean succeed(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    return true;
+  }
+
+  public boolean fail(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    return false;
+  }
+
+  public boolean error(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    throw new SWRLBuiltInException("external built-in failed");
+  }
+}
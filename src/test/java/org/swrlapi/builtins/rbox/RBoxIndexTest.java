@@ -0,0 +1,145 @@
+package org.swrlapi.builtins.rbox;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubObjectPropertyOf;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.TransitiveObjectProperty;
+
+/**
+ * @see RBoxIndex
+ */
+public class RBoxIndexTest extends IntegrationTestBase
+{
+  private static final IRI IMPORTED_ONTOLOGY_IRI = iri("http://org.swrlapi.test/imported");
+  private static final OWLObjectProperty HAS_PARENT = ObjectProperty(iri(NS + "hasParent"));
+  private static final OWLObjectProperty HAS_FATHER = ObjectProperty(iri(NS + "hasFather"));
+  private static final OWLObjectProperty HAS_MOTHER = ObjectProperty(iri(NS + "hasMother"));
+  private static final OWLObjectProperty HAS_ANCESTOR = ObjectProperty(iri(NS + "hasAncestor"));
+  private static final OWLClass PERSON = Class(iri(NS + "Person"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri(NS + "p1"));
+
+  private OWLOntology ontology;
+  private RBoxIndex rboxIndex;
+
+  @Before public void setUp() throws Exception
+  {
+    ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+    addOWLAxioms(ontology, SubObjectPropertyOf(HAS_FATHER, HAS_PARENT), TransitiveObjectProperty(HAS_ANCESTOR));
+
+    rboxIndex = RBoxIndex.create(ontology);
+  }
+
+  @After public void tearDown()
+  {
+    rboxIndex.dispose();
+  }
+
+  @Test public void testCandidateAxioms()
+  {
+    assertEquals(axioms(SubObjectPropertyOf(HAS_FATHER, HAS_PARENT)),
+      axioms(rboxIndex.getSubObjectPropertyOfAxioms().getCandidateAxioms(argument(1, HAS_PARENT))));
+    assertTrue(rboxIndex.getSubObjectPropertyOfAxioms().getCandidateAxioms(argument(0, HAS_PARENT)).isEmpty());
+    assertEquals(axioms(TransitiveObjectProperty(HAS_ANCESTOR)),
+      axioms(rboxIndex.getTransitiveObjectPropertyAxioms().getCandidateAxioms(argument(0, HAS_ANCESTOR))));
+    assertTrue(rboxIndex.getTransitiveObjectPropertyAxioms().getCandidateAxioms(argument(0, HAS_PARENT)).isEmpty());
+  }
+
+  @Test public void testAddedAxiomMakesIndexStale()
+  {
+    addOWLAxioms(ontology, SubObjectPropertyOf(HAS_MOTHER, HAS_PARENT));
+
+    assertFalse(rboxIndex.isCurrentIndexOf(ontology));
+    assertEquals(axioms(SubObjectPropertyOf(HAS_FATHER, HAS_PARENT), SubObjectPropertyOf(HAS_MOTHER, HAS_PARENT)),
+      axioms(rebuild().getSubObjectPropertyOfAxioms().getCandidateAxioms(argument(1, HAS_PARENT))));
+  }
+
+  @Test public void testRemovedAxiomMakesIndexStale()
+  {
+    ontology.getOWLOntologyManager().removeAxiom(ontology, TransitiveObjectProperty(HAS_ANCESTOR));
+
+    assertFalse(rboxIndex.isCurrentIndexOf(ontology));
+    assertTrue(rebuild().getTransitiveObjectPropertyAxioms().isEmpty());
+  }
+
+  @Test public void testUnindexedAxiomKeepsIndexCurrent()
+  {
+    addOWLAxioms(ontology, ClassAssertion(PERSON, P1));
+
+    assertTrue(rboxIndex.isCurrentIndexOf(ontology));
+  }
+
+  @Test public void testImportsChangeMakesIndexStale() throws Exception
+  {
+    OWLOntologyManager ontologyManager = ontology.getOWLOntologyManager();
+    OWLOntology importedOntology = ontologyManager.createOntology(IMPORTED_ONTOLOGY_IRI);
+
+    addOWLAxioms(importedOntology, SubObjectPropertyOf(HAS_MOTHER, HAS_PARENT));
+    ontologyManager.applyChange(new AddImport(ontology,
+      ontologyManager.getOWLDataFactory().getOWLImportsDeclaration(IMPORTED_ONTOLOGY_IRI)));
+
+    assertFalse(rboxIndex.isCurrentIndexOf(ontology));
+    assertEquals(axioms(SubObjectPropertyOf(HAS_MOTHER, HAS_PARENT)),
+      axioms(rebuild().getSubObjectPropertyOfAxioms().getCandidateAxioms(argument(0, HAS_MOTHER))));
+  }
+
+  @Test public void testDisposedIndexIsNotUpdated()
+  {
+    rboxIndex.dispose();
+
+    addOWLAxioms(ontology, SubObjectPropertyOf(HAS_MOTHER, HAS_PARENT));
+
+    assertTrue(rboxIndex.isCurrentIndexOf(ontology)); // No longer listening for changes
+  }
+
+  // Replaces the index in the same way as the RBox library when the index is stale
+  private RBoxIndex rebuild()
+  {
+    rboxIndex.dispose();
+    rboxIndex = RBoxIndex.create(ontology);
+
+    return rboxIndex;
+  }
+
+  private static Map<Integer, OWLObject> argument(int argumentNumber, OWLObject value)
+  {
+    return Collections.singletonMap(argumentNumber, value);
+  }
+
+  private static Set<OWLAxiom> axioms(OWLAxiom... axioms)
+  {
+    return new HashSet<>(Arrays.asList(axioms));
+  }
+
+  private static Set<OWLAxiom> axioms(Collection<? extends OWLAxiom> axioms)
+  {
+    return new HashSet<>(axioms);
+  }
+}
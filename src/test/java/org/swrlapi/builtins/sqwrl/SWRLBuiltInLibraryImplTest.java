@@ -0,0 +1,269 @@
+package org.swrlapi.builtins.sqwrl;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.bridge.SWRLBridge;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Invokes the SQWRL collection built-ins through the bridge in the same way as a target rule engine evaluating the
+ * antecedent of a query.
+ *
+ * @see SWRLBuiltInLibraryImpl
+ */
+public class SWRLBuiltInLibraryImplTest extends IntegrationTestBase
+{
+  private static final String QUERY_NAME = "q1";
+
+  private SWRLBridge bridge;
+  private SWRLBuiltInArgumentFactory argumentFactory;
+
+  @Before public void setUp() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+    bridge = SWRLAPIInternalFactory.createSWRLBridge(SWRLAPIInternalFactory.createSWRLAPIOntology(ontology),
+      SWRLAPIInternalFactory.createOWL2RLPersistenceLayer(ontology));
+    argumentFactory = bridge.getSWRLBuiltInArgumentFactory();
+  }
+
+  @Test public void testOrderStatisticsReflectElementsAddedToBag() throws Exception
+  {
+    makeBag("s", 3, 1);
+
+    assertEquals("1", nth("s", 1));
+    assertEquals("3", greatest("s"));
+
+    makeBag("s", 0, 5); // Discards the sorted view cached by the operators above
+
+    assertEquals("0", nth("s", 1));
+    assertEquals("3", nth("s", 3));
+    assertEquals("5", greatest("s"));
+  }
+
+  @Test public void testNegatedOrderStatisticsDoNotModifySortedView() throws Exception
+  {
+    makeBag("s", 3, 1, 2);
+
+    assertEquals("1", nth("s", 1)); // Caches the sorted view of the bag
+
+    invoke("sqwrl:notNth", unbound("r1"), variable("s"), literal(1));
+    invoke("sqwrl:notGreatest", unbound("r2"), variable("s"));
+
+    assertEquals(elements("2", "3"), distinctElements("r1"));
+    assertEquals(elements("1", "2"), distinctElements("r2"));
+    assertEquals("1", nth("s", 1));
+    assertEquals("2", nth("s", 2));
+    assertEquals("3", nth("s", 3));
+    assertEquals("3", greatest("s"));
+    assertEquals("3", size("s"));
+  }
+
+  @Test public void testIntersectionOfBagAndSetOfDifferentSizes() throws Exception
+  {
+    makeBag("b", 1, 2, 2, 3);
+    makeSet("t", 2, 4);
+
+    invoke("sqwrl:intersection", unbound("r1"), variable("b"), variable("t"));
+    invoke("sqwrl:intersection", unbound("r2"), variable("t"), variable("b"));
+
+    assertEquals(elements("2"), distinctElements("r1"));
+    assertEquals("1", size("r1"));
+    assertEquals(elements("2"), distinctElements("r2"));
+    assertEquals("1", size("r2"));
+  }
+
+  @Test public void testIntersectsOfBagAndSetOfDifferentSizes() throws Exception
+  {
+    makeBag("b", 1, 2, 2, 3);
+    makeSet("t", 3, 9);
+    makeSet("u", 4, 5, 6, 7, 8);
+
+    assertTrue(invoke("sqwrl:intersects", variable("b"), variable("t")));
+    assertTrue(invoke("sqwrl:intersects", variable("t"), variable("b")));
+    assertFalse(invoke("sqwrl:intersects", variable("b"), variable("u")));
+    assertFalse(invoke("sqwrl:intersects", variable("u"), variable("b")));
+  }
+
+  @Test public void testDifferenceOfBagAndSetOfDifferentSizes() throws Exception
+  {
+    makeBag("b", 1, 2, 2, 3);
+    makeSet("t", 2, 4, 5);
+
+    invoke("sqwrl:difference", unbound("r1"), variable("b"), variable("t"));
+    invoke("sqwrl:difference", unbound("r2"), variable("t"), variable("b"));
+
+    assertEquals(elements("1", "3"), distinctElements("r1"));
+    assertEquals(elements("4", "5"), distinctElements("r2"));
+  }
+
+  @Test public void testAppendOfBagAndSet() throws Exception
+  {
+    makeBag("b", 1, 2);
+    makeSet("t", 2, 3);
+
+    invoke("sqwrl:append", unbound("r1"), variable("b"), variable("t"));
+    invoke("sqwrl:append", unbound("r2"), variable("t"), variable("b"));
+
+    assertEquals(elements("1", "2", "3"), distinctElements("r1"));
+    assertEquals("4", size("r1")); // Appending keeps duplicates
+    assertEquals("4", size("r2"));
+    assertEquals("1", nth("r1", 1));
+    assertEquals("3", greatest("r2"));
+  }
+
+  @Test public void testElementAddedToBagIsSeenBySetOperators() throws Exception
+  {
+    makeBag("b", 1, 2);
+    makeSet("t", 3);
+
+    assertFalse(invoke("sqwrl:intersects", variable("b"), variable("t"))); // Caches a hashed view of the bag
+
+    makeBag("b", 3);
+
+    assertTrue(invoke("sqwrl:intersects", variable("b"), variable("t")));
+    assertTrue(invoke("sqwrl:contains", variable("b"), variable("t")));
+
+    invoke("sqwrl:intersection", unbound("r1"), variable("b"), variable("t"));
+    invoke("sqwrl:difference", unbound("r2"), variable("t"), variable("b"));
+
+    assertEquals(elements("3"), distinctElements("r1"));
+    assertEquals("0", size("r2"));
+  }
+
+  @Test public void testNumericGroupArgumentsAreGroupedByValue() throws Exception
+  {
+    invoke("sqwrl:makeBag", unbound("s"), literal(5), literal(1));
+    invoke("sqwrl:makeBag", unbound("s"), literal(6), literal(1L));
+    invoke("sqwrl:makeBag", unbound("s"), literal(7), literal(new BigDecimal("1.0")));
+    invoke("sqwrl:makeBag", unbound("s"), literal(8), literal(2));
+    invoke("sqwrl:makeBag", unbound("s"), literal(9), literal("1"));
+
+    assertEquals("3", invokeForValue("sqwrl:size", unbound("n"), variable("s"), literal(1)));
+    assertEquals("3", invokeForValue("sqwrl:size", unbound("n"), variable("s"), literal(1L)));
+    assertEquals("1", invokeForValue("sqwrl:size", unbound("n"), variable("s"), literal(2)));
+    assertEquals("1", invokeForValue("sqwrl:size", unbound("n"), variable("s"), literal("1")));
+  }
+
+  private void makeBag(@NonNull String bagName, int... elements) throws SWRLBuiltInException
+  {
+    for (int element : elements)
+      invoke("sqwrl:makeBag", unbound(bagName), literal(element));
+  }
+
+  private void makeSet(@NonNull String setName, int... elements) throws SWRLBuiltInException
+  {
+    for (int element : elements)
+      invoke("sqwrl:makeSet", unbound(setName), literal(element));
+  }
+
+  @Nullable private String nth(@NonNull String collectionName, int n) throws SWRLBuiltInException
+  {
+    return invokeForValue("sqwrl:nth", unbound("x"), variable(collectionName), literal(n));
+  }
+
+  @Nullable private String greatest(@NonNull String collectionName) throws SWRLBuiltInException
+  {
+    return invokeForValue("sqwrl:greatest", unbound("x"), variable(collectionName));
+  }
+
+  @Nullable private String size(@NonNull String collectionName) throws SWRLBuiltInException
+  {
+    return invokeForValue("sqwrl:size", unbound("n"), variable(collectionName));
+  }
+
+  // Duplicate elements of a bag produce the same argument pattern so only distinct elements are seen
+  @NonNull private SortedSet<@NonNull String> distinctElements(@NonNull String collectionName)
+    throws SWRLBuiltInException
+  {
+    SortedSet<@NonNull String> elements = new TreeSet<>();
+
+    for (List<@NonNull SWRLBuiltInArgument> pattern : bridge
+      .invokeSWRLBuiltIn(QUERY_NAME, "sqwrl:element", 0, false, arguments(unbound("e"), variable(collectionName))))
+      elements.add(getValue(pattern.get(0)));
+
+    return elements;
+  }
+
+  @NonNull private static SortedSet<@NonNull String> elements(@NonNull String... elements)
+  {
+    return new TreeSet<>(Arrays.asList(elements));
+  }
+
+  private boolean invoke(@NonNull String builtInName, @NonNull SWRLBuiltInArgument... arguments)
+    throws SWRLBuiltInException
+  {
+    return !bridge.invokeSWRLBuiltIn(QUERY_NAME, builtInName, 0, false, arguments(arguments)).isEmpty();
+  }
+
+  // The lexical value bound to the first argument; null if the built-in evaluates to false
+  @Nullable private String invokeForValue(@NonNull String builtInName, @NonNull SWRLBuiltInArgument... arguments)
+    throws SWRLBuiltInException
+  {
+    List<@NonNull SWRLBuiltInArgument> argumentList = arguments(arguments);
+
+    if (bridge.invokeSWRLBuiltIn(QUERY_NAME, builtInName, 0, false, argumentList).isEmpty())
+      return null;
+    else
+      return getValue(argumentList.get(0));
+  }
+
+  @NonNull private static String getValue(@NonNull SWRLBuiltInArgument argument) throws SWRLBuiltInException
+  {
+    return argument.asSWRLLiteralBuiltInArgument().getLiteral().getLiteral();
+  }
+
+  @NonNull private static List<@NonNull SWRLBuiltInArgument> arguments(@NonNull SWRLBuiltInArgument... arguments)
+  {
+    return new ArrayList<>(Arrays.asList(arguments)); // Bound results are written back into the list
+  }
+
+  @NonNull private SWRLBuiltInArgument unbound(@NonNull String variableName)
+  {
+    return argumentFactory.getUnboundVariableBuiltInArgument(iri(NS + variableName));
+  }
+
+  @NonNull private SWRLBuiltInArgument variable(@NonNull String variableName)
+  {
+    return argumentFactory.getVariableBuiltInArgument(iri(NS + variableName));
+  }
+
+  @NonNull private SWRLBuiltInArgument literal(int value)
+  {
+    return argumentFactory.getLiteralBuiltInArgument(value);
+  }
+
+  @NonNull private SWRLBuiltInArgument literal(long value)
+  {
+    return argumentFactory.getLiteralBuiltInArgument(value);
+  }
+
+  @NonNull private SWRLBuiltInArgument literal(@NonNull BigDecimal value)
+  {
+    return argumentFactory.getLiteralBuiltInArgument(value);
+  }
+
+  @NonNull private SWRLBuiltInArgument literal(@NonNull String value)
+  {
+    return argumentFactory.getLiteralBuiltInArgument(value);
+  }
+}
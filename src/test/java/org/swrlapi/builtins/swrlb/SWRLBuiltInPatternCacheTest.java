@@ -0,0 +1,90 @@
+package org.swrlapi.builtins.swrlb;
+
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * @see SWRLBuiltInPatternCache
+ */
+public class SWRLBuiltInPatternCacheTest
+{
+  @Test public void testRepeatedRegexIsCompiledOnce()
+  {
+    SWRLBuiltInPatternCache cache = new SWRLBuiltInPatternCache();
+
+    Pattern pattern = cache.getPattern("a+b");
+
+    assertSame(pattern, cache.getPattern("a+b"));
+    assertEquals("a+b", pattern.pattern());
+    assertEquals(1, cache.getSize());
+    assertEquals(1, cache.getNumberOfHits());
+    assertEquals(1, cache.getNumberOfMisses());
+  }
+
+  @Test public void testDistinctRegexesAreCachedSeparately()
+  {
+    SWRLBuiltInPatternCache cache = new SWRLBuiltInPatternCache();
+
+    Pattern pattern1 = cache.getPattern("a+");
+    Pattern pattern2 = cache.getPattern("b+");
+
+    assertNotSame(pattern1, pattern2);
+    assertEquals(2, cache.getSize());
+    assertEquals(0, cache.getNumberOfHits());
+    assertEquals(2, cache.getNumberOfMisses());
+  }
+
+  @Test public void testLeastRecentlyUsedPatternIsEvicted()
+  {
+    SWRLBuiltInPatternCache cache = new SWRLBuiltInPatternCache(2);
+
+    Pattern patternA = cache.getPattern("a");
+    Pattern patternB = cache.getPattern("b");
+    cache.getPattern("a"); // b is now the least recently used pattern
+    cache.getPattern("c");
+
+    assertEquals(2, cache.getSize());
+    assertSame(patternA, cache.getPattern("a"));
+    assertNotSame(patternB, cache.getPattern("b"));
+    assertEquals(2, cache.getSize());
+  }
+
+  @Test public void testInvalidRegexIsNotCached()
+  {
+    SWRLBuiltInPatternCache cache = new SWRLBuiltInPatternCache();
+
+    try {
+      cache.getPattern("(");
+      fail("invalid regular expression was compiled");
+    } catch (PatternSyntaxException e) {
+      // Expected
+    }
+
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test public void testClear()
+  {
+    SWRLBuiltInPatternCache cache = new SWRLBuiltInPatternCache();
+
+    cache.getPattern("a");
+    cache.getPattern("a");
+    cache.clear();
+
+    assertEquals(0, cache.getSize());
+    assertEquals(0, cache.getNumberOfHits());
+    assertEquals(0, cache.getNumberOfMisses());
+  }
+
+  @Test(expected = IllegalArgumentException.class) public void testInvalidMaximumSize()
+  {
+    new SWRLBuiltInPatternCache(0);
+  }
+}
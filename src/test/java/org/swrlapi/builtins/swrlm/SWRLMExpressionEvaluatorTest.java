@@ -0,0 +1,88 @@
+package org.swrlapi.builtins.swrlm;
+
+import org.junit.Test;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @see SWRLMExpressionEvaluator
+ */
+public class SWRLMExpressionEvaluatorTest
+{
+  private static final double DELTA = 1e-9;
+
+  @Test public void testRepeatedExpressionIsParsedOnce() throws Exception
+  {
+    SWRLMExpressionEvaluator evaluator = new SWRLMExpressionEvaluator();
+
+    assertEquals(7.0, evaluator.evaluate("2 * x + 1", Collections.singletonMap("x", 3.0)), DELTA);
+    assertEquals(7.0, evaluator.evaluate("2 * x + 1", Collections.singletonMap("x", 3.0)), DELTA);
+
+    assertTrue(evaluator.isCached("2 * x + 1"));
+    assertEquals(1, evaluator.getNumberOfCachedExpressions());
+  }
+
+  @Test public void testDistinctExpressionsAreCachedSeparately() throws Exception
+  {
+    SWRLMExpressionEvaluator evaluator = new SWRLMExpressionEvaluator();
+
+    assertEquals(4.0, evaluator.evaluate("x + 1", Collections.singletonMap("x", 3.0)), DELTA);
+    assertEquals(6.0, evaluator.evaluate("x * 2", Collections.singletonMap("x", 3.0)), DELTA);
+
+    assertTrue(evaluator.isCached("x + 1"));
+    assertTrue(evaluator.isCached("x * 2"));
+    assertEquals(2, evaluator.getNumberOfCachedExpressions());
+  }
+
+  @Test public void testCachedExpressionUsesNewVariableValues() throws Exception
+  {
+    SWRLMExpressionEvaluator evaluator = new SWRLMExpressionEvaluator();
+    Map<String, Double> variableValues = new HashMap<>();
+
+    variableValues.put("x", 1.0);
+    variableValues.put("y", 2.0);
+    assertEquals(5.0, evaluator.evaluate("x + 2 * y", variableValues), DELTA);
+
+    variableValues.put("x", 10.0);
+    variableValues.put("y", 20.0);
+    assertEquals(50.0, evaluator.evaluate("x + 2 * y", variableValues), DELTA);
+    assertEquals(1, evaluator.getNumberOfCachedExpressions());
+  }
+
+  @Test public void testLeastRecentlyUsedExpressionIsEvicted() throws Exception
+  {
+    SWRLMExpressionEvaluator evaluator = new SWRLMExpressionEvaluator(2);
+
+    evaluator.evaluate("1 + 1", Collections.emptyMap());
+    evaluator.evaluate("2 + 2", Collections.emptyMap());
+    evaluator.evaluate("1 + 1", Collections.emptyMap()); // 2 + 2 is now the least recently used expression
+    assertEquals(6.0, evaluator.evaluate("3 + 3", Collections.emptyMap()), DELTA);
+
+    assertEquals(2, evaluator.getNumberOfCachedExpressions());
+    assertTrue(evaluator.isCached("1 + 1"));
+    assertFalse(evaluator.isCached("2 + 2"));
+    assertTrue(evaluator.isCached("3 + 3"));
+  }
+
+  @Test public void testInvalidExpressionIsNotCached()
+  {
+    SWRLMExpressionEvaluator evaluator = new SWRLMExpressionEvaluator();
+
+    try {
+      evaluator.evaluate("2 * (x", Collections.singletonMap("x", 1.0));
+      fail("invalid expression was evaluated");
+    } catch (SWRLBuiltInException e) {
+      // Expected
+    }
+
+    assertEquals(0, evaluator.getNumberOfCachedExpressions());
+  }
+}
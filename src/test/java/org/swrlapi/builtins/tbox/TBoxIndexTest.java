@@ -0,0 +1,144 @@
+package org.swrlapi.builtins.tbox;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+/**
+ * @see TBoxIndex
+ */
+public class TBoxIndexTest extends IntegrationTestBase
+{
+  private static final IRI IMPORTED_ONTOLOGY_IRI = iri("http://org.swrlapi.test/imported");
+  private static final OWLClass PERSON = Class(iri(NS + "Person"));
+  private static final OWLClass MALE = Class(iri(NS + "Male"));
+  private static final OWLClass FEMALE = Class(iri(NS + "Female"));
+  private static final OWLClass BOY = Class(iri(NS + "Boy"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri(NS + "p1"));
+
+  private OWLOntology ontology;
+  private TBoxIndex tboxIndex;
+
+  @Before public void setUp() throws Exception
+  {
+    ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+    addOWLAxioms(ontology, Declaration(PERSON), SubClassOf(MALE, PERSON), SubClassOf(FEMALE, PERSON));
+
+    tboxIndex = TBoxIndex.create(ontology);
+  }
+
+  @After public void tearDown()
+  {
+    tboxIndex.dispose();
+  }
+
+  @Test public void testCandidateAxioms()
+  {
+    assertEquals(axioms(SubClassOf(MALE, PERSON), SubClassOf(FEMALE, PERSON)),
+      axioms(tboxIndex.getSubClassOfAxioms().getCandidateAxioms(argument(1, PERSON))));
+    assertEquals(axioms(SubClassOf(MALE, PERSON)),
+      axioms(tboxIndex.getSubClassOfAxioms().getCandidateAxioms(argument(0, MALE))));
+    assertTrue(tboxIndex.getSubClassOfAxioms().getCandidateAxioms(argument(0, PERSON)).isEmpty());
+    assertEquals(axioms(Declaration(PERSON)),
+      axioms(tboxIndex.getClassDeclarationAxioms().getCandidateAxioms(argument(0, PERSON))));
+  }
+
+  @Test public void testAddedAxiomMakesIndexStale()
+  {
+    addOWLAxioms(ontology, SubClassOf(BOY, MALE));
+
+    assertFalse(tboxIndex.isCurrentIndexOf(ontology));
+    assertEquals(axioms(SubClassOf(BOY, MALE)),
+      axioms(rebuild().getSubClassOfAxioms().getCandidateAxioms(argument(1, MALE))));
+  }
+
+  @Test public void testRemovedAxiomMakesIndexStale()
+  {
+    ontology.getOWLOntologyManager().removeAxiom(ontology, SubClassOf(MALE, PERSON));
+
+    assertFalse(tboxIndex.isCurrentIndexOf(ontology));
+    assertEquals(axioms(SubClassOf(FEMALE, PERSON)),
+      axioms(rebuild().getSubClassOfAxioms().getCandidateAxioms(argument(1, PERSON))));
+  }
+
+  @Test public void testUnindexedAxiomKeepsIndexCurrent()
+  {
+    addOWLAxioms(ontology, ClassAssertion(PERSON, P1));
+
+    assertTrue(tboxIndex.isCurrentIndexOf(ontology));
+  }
+
+  @Test public void testImportsChangeMakesIndexStale() throws Exception
+  {
+    OWLOntologyManager ontologyManager = ontology.getOWLOntologyManager();
+    OWLOntology importedOntology = ontologyManager.createOntology(IMPORTED_ONTOLOGY_IRI);
+
+    addOWLAxioms(importedOntology, SubClassOf(BOY, MALE));
+    ontologyManager.applyChange(new AddImport(ontology,
+      ontologyManager.getOWLDataFactory().getOWLImportsDeclaration(IMPORTED_ONTOLOGY_IRI)));
+
+    assertFalse(tboxIndex.isCurrentIndexOf(ontology));
+    assertEquals(axioms(SubClassOf(BOY, MALE)),
+      axioms(rebuild().getSubClassOfAxioms().getCandidateAxioms(argument(0, BOY))));
+  }
+
+  @Test public void testDisposedIndexIsNotUpdated()
+  {
+    tboxIndex.dispose();
+
+    addOWLAxioms(ontology, SubClassOf(BOY, MALE));
+
+    assertTrue(tboxIndex.isCurrentIndexOf(ontology)); // No longer listening for changes
+  }
+
+  // Replaces the index in the same way as the TBox library when the index is stale
+  private TBoxIndex rebuild()
+  {
+    tboxIndex.dispose();
+    tboxIndex = TBoxIndex.create(ontology);
+
+    return tboxIndex;
+  }
+
+  private static Map<Integer, OWLObject> argument(int argumentNumber, OWLObject value)
+  {
+    return Collections.singletonMap(argumentNumber, value);
+  }
+
+  private static Set<OWLAxiom> axioms(OWLAxiom... axioms)
+  {
+    return new HashSet<>(Arrays.asList(axioms));
+  }
+
+  private static Set<OWLAxiom> axioms(Collection<? extends OWLAxiom> axioms)
+  {
+    return new HashSet<>(axioms);
+  }
+}
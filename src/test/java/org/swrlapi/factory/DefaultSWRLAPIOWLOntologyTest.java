@@ -0,0 +1,234 @@
+package org.swrlapi.factory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLRule;
+import org.semanticweb.owlapi.model.SWRLVariable;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NegativeObjectPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+/**
+ * Checks that axiom changes applied incrementally give the same view of the ontology as processing it in full.
+ *
+ * @see DefaultSWRLAPIOWLOntology
+ */
+public class DefaultSWRLAPIOWLOntologyTest extends IntegrationTestBase
+{
+  private static final OWLClass PERSON = Class(iri(NS + "Person"));
+  private static final OWLClass MALE = Class(iri(NS + "Male"));
+  private static final OWLClass FEMALE = Class(iri(NS + "Female"));
+  private static final OWLClass CHILD = Class(iri(NS + "Child"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri(NS + "p1"));
+  private static final OWLNamedIndividual P2 = NamedIndividual(iri(NS + "p2"));
+  private static final OWLObjectProperty HAS_UNCLE = ObjectProperty(iri(NS + "hasUncle"));
+  private static final OWLDeclarationAxiom ANNOTATED_MALE_DECLARATION = annotatedDeclaration(MALE);
+
+  private OWLOntology ontology;
+  private DefaultSWRLAPIOWLOntology swrlapiOWLOntology;
+
+  @Before public void setUp() throws Exception
+  {
+    ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+    addOWLAxioms(ontology, Declaration(PERSON), Declaration(HAS_UNCLE));
+
+    swrlapiOWLOntology = new DefaultSWRLAPIOWLOntology(ontology, SWRLAPIFactory.createIRIResolver());
+    swrlapiOWLOntology.processOntology();
+    ontology.getOWLOntologyManager().addOntologyChangeListener(swrlapiOWLOntology);
+  }
+
+  @Test public void testAddedAxioms() throws Exception
+  {
+    addOWLAxioms(ontology, ClassAssertion(PERSON, P1), ObjectPropertyAssertion(HAS_UNCLE, P1, P2),
+      SubClassOf(MALE, PERSON));
+
+    assertEquals(getFullyProcessedOWLAxioms(), swrlapiOWLOntology.getOWLAxioms());
+    assertTrue(swrlapiOWLOntology.hasAssertedOWLAxiom(ClassAssertion(PERSON, P1)));
+    assertTrue(swrlapiOWLOntology.hasAssertedOWLAxiom(Declaration(P2)));
+    assertTrue(swrlapiOWLOntology.hasAssertedOWLAxiom(Declaration(MALE)));
+  }
+
+  @Test public void testRemovedAxioms() throws Exception
+  {
+    addOWLAxioms(ontology, ClassAssertion(PERSON, P1), ObjectPropertyAssertion(HAS_UNCLE, P1, P2));
+
+    removeOWLAxioms(ObjectPropertyAssertion(HAS_UNCLE, P1, P2));
+
+    assertEquals(getFullyProcessedOWLAxioms(), swrlapiOWLOntology.getOWLAxioms());
+    assertTrue(swrlapiOWLOntology.hasAssertedOWLAxiom(Declaration(P1))); // Still referenced by the class assertion
+    assertFalse(swrlapiOWLOntology.hasAssertedOWLAxiom(Declaration(P2)));
+  }
+
+  @Test public void testRemovedAxiomDoesNotRegenerateUnprocessedDeclaration() throws Exception
+  {
+    // Negative property assertions are not processed so do not generate declarations for their individuals
+    addOWLAxioms(ontology, ClassAssertion(PERSON, P1), NegativeObjectPropertyAssertion(HAS_UNCLE, P1, P2));
+
+    removeOWLAxioms(ClassAssertion(PERSON, P1));
+
+    assertEquals(getFullyProcessedOWLAxioms(), swrlapiOWLOntology.getOWLAxioms());
+    assertFalse(swrlapiOWLOntology.hasAssertedOWLAxiom(Declaration(P1)));
+  }
+
+  @Test public void testRemovedAssertedDeclaration() throws Exception
+  {
+    addOWLAxioms(ontology, Declaration(MALE), SubClassOf(MALE, PERSON));
+
+    removeOWLAxioms(Declaration(MALE));
+
+    assertEquals(getFullyProcessedOWLAxioms(), swrlapiOWLOntology.getOWLAxioms());
+    assertTrue(swrlapiOWLOntology.hasAssertedOWLAxiom(Declaration(MALE))); // Regenerated for the subclass axiom
+  }
+
+  @Test public void testEntityDeclaredTwice() throws Exception
+  {
+    addOWLAxioms(ontology, Declaration(MALE), ANNOTATED_MALE_DECLARATION, SubClassOf(MALE, PERSON));
+
+    assertEquals(getFullyProcessedOWLAxioms(), swrlapiOWLOntology.getOWLAxioms());
+    assertTrue(getFullyProcessedOWLAxioms().contains(Declaration(MALE)));
+    assertTrue(getFullyProcessedOWLAxioms().contains(ANNOTATED_MALE_DECLARATION));
+  }
+
+  @Test public void testAssertedDeclarationReplacesGeneratedDeclaration() throws Exception
+  {
+    addOWLAxioms(ontology, SubClassOf(MALE, PERSON));
+    addOWLAxioms(ontology, ANNOTATED_MALE_DECLARATION);
+
+    assertEquals(getFullyProcessedOWLAxioms(), swrlapiOWLOntology.getOWLAxioms());
+    assertFalse(swrlapiOWLOntology.hasAssertedOWLAxiom(Declaration(MALE)));
+    assertTrue(swrlapiOWLOntology.hasAssertedOWLAxiom(ANNOTATED_MALE_DECLARATION));
+  }
+
+  @Test public void testRemovedOneOfTwoAssertedDeclarations() throws Exception
+  {
+    addOWLAxioms(ontology, Declaration(MALE), ANNOTATED_MALE_DECLARATION);
+
+    removeOWLAxioms(ANNOTATED_MALE_DECLARATION);
+
+    assertEquals(getFullyProcessedOWLAxioms(), swrlapiOWLOntology.getOWLAxioms());
+    assertTrue(swrlapiOWLOntology.hasAssertedOWLAxiom(Declaration(MALE)));
+    assertFalse(swrlapiOWLOntology.hasAssertedOWLAxiom(ANNOTATED_MALE_DECLARATION));
+  }
+
+  @Test public void testAddedAndRemovedUnnamedRules() throws Exception
+  {
+    SWRLRule rule1 = rule(PERSON, MALE);
+
+    addOWLAxioms(ontology, rule1);
+    addOWLAxioms(ontology, rule(PERSON, FEMALE));
+    addOWLAxioms(ontology, rule(PERSON, CHILD));
+    removeOWLAxioms(rule1);
+
+    assertEquals(getFullyProcessedRuleHeads(), getRuleHeads(swrlapiOWLOntology));
+    assertEquals(new HashSet<>(Arrays.asList("S1", "S2")), getRuleHeads(swrlapiOWLOntology).keySet());
+  }
+
+  @Test public void testNamedRuleTakesGeneratedRuleName() throws Exception
+  {
+    addOWLAxioms(ontology, rule(PERSON, MALE));
+    addOWLAxioms(ontology, namedRule("S1", PERSON, FEMALE));
+
+    assertEquals(getFullyProcessedRuleHeads(), getRuleHeads(swrlapiOWLOntology));
+    assertEquals(2, swrlapiOWLOntology.getNumberOfSWRLRules());
+    assertEquals(head(FEMALE), getRuleHeads(swrlapiOWLOntology).get("S1"));
+  }
+
+  @Test public void testRemovedNamedRuleFreesRuleName() throws Exception
+  {
+    SWRLRule namedRule = namedRule("S1", PERSON, FEMALE);
+
+    addOWLAxioms(ontology, namedRule, rule(PERSON, MALE));
+    removeOWLAxioms(namedRule);
+
+    assertEquals(getFullyProcessedRuleHeads(), getRuleHeads(swrlapiOWLOntology));
+    assertEquals(head(MALE), getRuleHeads(swrlapiOWLOntology).get("S1"));
+  }
+
+  private void removeOWLAxioms(OWLAxiom... axioms)
+  {
+    for (OWLAxiom axiom : axioms)
+      ontology.getOWLOntologyManager().removeAxiom(ontology, axiom);
+  }
+
+  private Set<OWLAxiom> getFullyProcessedOWLAxioms() throws Exception
+  {
+    return SWRLAPIInternalFactory.createSWRLAPIOntology(ontology).getOWLAxioms();
+  }
+
+  private static OWLDeclarationAxiom annotatedDeclaration(OWLClass cls)
+  {
+    OWLDataFactory dataFactory = OWLManager.getOWLDataFactory();
+
+    return dataFactory.getOWLDeclarationAxiom(cls, Collections
+      .singleton(dataFactory.getOWLAnnotation(dataFactory.getRDFSComment(), dataFactory.getOWLLiteral("A male"))));
+  }
+
+  private Map<String, Set<SWRLAtom>> getFullyProcessedRuleHeads() throws Exception
+  {
+    return getRuleHeads(SWRLAPIInternalFactory.createSWRLAPIOntology(ontology));
+  }
+
+  private static Map<String, Set<SWRLAtom>> getRuleHeads(SWRLAPIOWLOntology swrlapiOWLOntology)
+  {
+    Map<String, Set<SWRLAtom>> ruleHeads = new HashMap<>();
+
+    for (SWRLAPIRule rule : swrlapiOWLOntology.getSWRLRules())
+      ruleHeads.put(rule.getRuleName(), rule.getHead());
+
+    return ruleHeads;
+  }
+
+  // A rule that classifies every member of one class as a member of another
+  private static SWRLRule rule(OWLClass bodyClass, OWLClass headClass)
+  {
+    OWLDataFactory dataFactory = OWLManager.getOWLDataFactory();
+    SWRLVariable x = dataFactory.getSWRLVariable(iri(NS + "x"));
+
+    return dataFactory.getSWRLRule(Collections.singleton(dataFactory.getSWRLClassAtom(bodyClass, x)), head(headClass));
+  }
+
+  private static SWRLRule namedRule(String ruleName, OWLClass bodyClass, OWLClass headClass)
+  {
+    OWLDataFactory dataFactory = OWLManager.getOWLDataFactory();
+    SWRLRule rule = rule(bodyClass, headClass);
+
+    return dataFactory.getSWRLRule(rule.getBody(), rule.getHead(), Collections
+      .singleton(dataFactory.getOWLAnnotation(dataFactory.getRDFSLabel(), dataFactory.getOWLLiteral(ruleName))));
+  }
+
+  private static Set<SWRLAtom> head(OWLClass headClass)
+  {
+    OWLDataFactory dataFactory = OWLManager.getOWLDataFactory();
+
+    return Collections.singleton(dataFactory.getSWRLClassAtom(headClass, dataFactory.getSWRLVariable(iri(NS + "x"))));
+  }
+}
@@ -0,0 +1,124 @@
+package org.swrlapi.factory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.bridge.SWRLBridge;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+
+/**
+ * @see DefaultSWRLBridge#invokeSWRLBuiltIn(String, String, int, boolean, java.util.List)
+ */
+public class DefaultSWRLBridgeTest extends IntegrationTestBase
+{
+  private static final OWLClass PERSON = Class(iri(NS + "Person"));
+  private static final OWLClass MALE = Class(iri(NS + "Male"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri(NS + "p1"));
+  private static final OWLAxiom INFERRED_AXIOM = ClassAssertion(MALE, P1);
+
+  private SWRLAPIOWLOntology swrlapiOWLOntology;
+  private SWRLBridge bridge;
+
+  @Before public void setUp() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+    addOWLAxioms(ontology, Declaration(PERSON), Declaration(MALE), ClassAssertion(PERSON, P1));
+
+    swrlapiOWLOntology = SWRLAPIInternalFactory.createSWRLAPIOntology(ontology);
+    bridge = SWRLAPIInternalFactory
+      .createSWRLBridge(swrlapiOWLOntology, SWRLAPIInternalFactory.createOWL2RLPersistenceLayer(ontology));
+  }
+
+  @Test public void testRuleEngineStopsWhenOnlyQueryHasReachedItsLimit() throws Exception
+  {
+    RecordingTargetSWRLRuleEngine targetRuleEngine = createTargetRuleEngine();
+    DefaultSWRLRuleAndQueryEngine ruleEngine = createRuleEngine(targetRuleEngine);
+
+    ruleEngine.createSQWRLQuery("q1", "Person(?p) -> sqwrl:select(?p) ^ sqwrl:limit(1)");
+    ruleEngine.runSQWRLQueries();
+
+    assertEquals(1, ruleEngine.getSQWRLResult("q1").getNumberOfRows());
+    assertTrue(bridge.isRuleEngineStopRequested());
+  }
+
+  @Test public void testLimitedQueryDoesNotStopSWRLRules() throws Exception
+  {
+    RecordingTargetSWRLRuleEngine targetRuleEngine = createTargetRuleEngine();
+    DefaultSWRLRuleAndQueryEngine ruleEngine = createRuleEngine(targetRuleEngine);
+
+    ruleEngine.createSWRLRule("r1", "Person(?p) -> Male(?p)");
+    ruleEngine.createSQWRLQuery("q1", "Person(?p) -> sqwrl:select(?p) ^ sqwrl:limit(1)");
+    ruleEngine.runSQWRLQueries();
+
+    assertEquals(1, ruleEngine.getSQWRLResult("q1").getNumberOfRows());
+    assertFalse(bridge.isRuleEngineStopRequested());
+    assertTrue(bridge.getInferredOWLAxioms().contains(INFERRED_AXIOM));
+  }
+
+  @Test public void testOnlyQueryThatHasReachedItsLimitIsStarved() throws Exception
+  {
+    RecordingTargetSWRLRuleEngine targetRuleEngine = createTargetRuleEngine();
+    DefaultSWRLRuleAndQueryEngine ruleEngine = createRuleEngine(targetRuleEngine);
+
+    ruleEngine.createSQWRLQuery("q1", "Person(?p) -> sqwrl:select(?p) ^ sqwrl:limit(1)");
+    ruleEngine.createSQWRLQuery("q2", "Person(?p) -> sqwrl:select(?p) ^ sqwrl:limit(5)");
+    ruleEngine.runSQWRLQueries();
+
+    assertEquals(1, ruleEngine.getSQWRLResult("q1").getNumberOfRows());
+    assertEquals(3, ruleEngine.getSQWRLResult("q2").getNumberOfRows());
+    assertFalse(bridge.isRuleEngineStopRequested());
+    assertTrue(bridge.getInferredOWLAxioms().contains(INFERRED_AXIOM));
+  }
+
+  @Test public void testResetRuleClearsRowLimitOfQuery() throws Exception
+  {
+    RecordingTargetSWRLRuleEngine targetRuleEngine = createTargetRuleEngine();
+    DefaultSWRLRuleAndQueryEngine ruleEngine = createRuleEngine(targetRuleEngine);
+
+    ruleEngine.createSQWRLQuery("q1", "Person(?p) -> sqwrl:select(?p) ^ sqwrl:limit(1)");
+    ruleEngine.startSQWRLQuerySession();
+
+    assertEquals(1, ruleEngine.runSQWRLQuery("q1").getNumberOfRows());
+    assertTrue(bridge.isRuleEngineStopRequested());
+
+    bridge.resetRule("q1");
+
+    assertFalse(bridge.isRuleEngineStopRequested());
+    assertEquals(1, ruleEngine.runSQWRLQuery("q1").getNumberOfRows()); // The query is not starved in the session
+    assertEquals(1, targetRuleEngine.getNumberOfResets());
+  }
+
+  private RecordingTargetSWRLRuleEngine createTargetRuleEngine()
+  {
+    RecordingTargetSWRLRuleEngine targetRuleEngine = new RecordingTargetSWRLRuleEngine(bridge, true);
+
+    targetRuleEngine.setNumberOfRowsPerQuery(3);
+    targetRuleEngine.setRuleInferredOWLAxioms(Collections.singleton(INFERRED_AXIOM));
+
+    return targetRuleEngine;
+  }
+
+  private DefaultSWRLRuleAndQueryEngine createRuleEngine(RecordingTargetSWRLRuleEngine targetRuleEngine)
+    throws Exception
+  {
+    bridge.setTargetSWRLRuleEngine(targetRuleEngine);
+
+    return new DefaultSWRLRuleAndQueryEngine(swrlapiOWLOntology, targetRuleEngine, bridge, bridge);
+  }
+}
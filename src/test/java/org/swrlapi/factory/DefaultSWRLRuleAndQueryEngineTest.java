@@ -0,0 +1,163 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.bridge.SWRLBridge;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.TransitiveObjectProperty;
+
+/**
+ * @see DefaultSWRLRuleAndQueryEngine#importAssertedOWLAxioms()
+ * @see org.swrlapi.bridge.TargetSWRLRuleEngine#defineOWLAxioms(Collection)
+ */
+public class DefaultSWRLRuleAndQueryEngineTest extends IntegrationTestBase
+{
+  private static final OWLClass PERSON = Class(iri(NS + "Person"));
+  private static final OWLClass MALE = Class(iri(NS + "Male"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri(NS + "p1"));
+  private static final OWLNamedIndividual P2 = NamedIndividual(iri(NS + "p2"));
+  private static final OWLObjectProperty HAS_UNCLE = ObjectProperty(iri(NS + "hasUncle"));
+
+  private SWRLAPIOWLOntology swrlapiOWLOntology;
+  private SWRLBridge bridge;
+
+  @Before public void setUp() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+    addOWLAxioms(ontology, ClassAssertion(PERSON, P1), ObjectPropertyAssertion(HAS_UNCLE, P1, P2),
+      SubClassOf(MALE, PERSON), TransitiveObjectProperty(HAS_UNCLE), Declaration(PERSON));
+
+    swrlapiOWLOntology = SWRLAPIInternalFactory.createSWRLAPIOntology(ontology);
+    bridge = SWRLAPIInternalFactory
+      .createSWRLBridge(swrlapiOWLOntology, SWRLAPIInternalFactory.createOWL2RLPersistenceLayer(ontology));
+  }
+
+  @Test public void testAxiomsAreDefinedIndividuallyByDefault() throws Exception
+  {
+    RecordingTargetSWRLRuleEngine targetRuleEngine = new RecordingTargetSWRLRuleEngine(bridge, true);
+    List<OWLAxiom> axioms = Arrays.asList(ClassAssertion(PERSON, P1), SubClassOf(MALE, PERSON), Declaration(MALE));
+
+    targetRuleEngine.defineOWLAxioms(axioms);
+
+    assertEquals(axioms, targetRuleEngine.getDefinedOWLAxiomSequence());
+  }
+
+  @Test public void testAxiomsAreDefinedInTypeGroups() throws Exception
+  {
+    RecordingTargetSWRLRuleEngine targetRuleEngine = new RecordingTargetSWRLRuleEngine(bridge, true);
+    DefaultSWRLRuleAndQueryEngine ruleEngine = createRuleEngine(targetRuleEngine);
+
+    ruleEngine.createSWRLRule("r1", "Person(?p) -> Male(?p)");
+    ruleEngine.importAssertedOWLAxioms();
+
+    List<OWLAxiom> definedAxioms = targetRuleEngine.getDefinedOWLAxiomSequence();
+
+    assertEquals(new HashSet<>(swrlapiOWLOntology.getOWLAxioms()), new HashSet<>(definedAxioms));
+    assertEquals(definedAxioms.size(), swrlapiOWLOntology.getOWLAxioms().size());
+    assertInTypeGroups(definedAxioms);
+    assertEquals(AxiomType.SWRL_RULE, definedAxioms.get(definedAxioms.size() - 1).getAxiomType());
+  }
+
+  @Test public void testBulkDefinitionReceivesAllAxiomsAtOnce() throws Exception
+  {
+    BulkRecordingTargetSWRLRuleEngine targetRuleEngine = new BulkRecordingTargetSWRLRuleEngine(bridge);
+    DefaultSWRLRuleAndQueryEngine ruleEngine = createRuleEngine(targetRuleEngine);
+
+    ruleEngine.importAssertedOWLAxioms();
+
+    assertEquals(1, targetRuleEngine.getBatches().size());
+    assertEquals(swrlapiOWLOntology.getOWLAxioms(), new HashSet<>(targetRuleEngine.getBatches().get(0)));
+    assertInTypeGroups(targetRuleEngine.getBatches().get(0));
+    assertTrue(targetRuleEngine.getDefinedOWLAxiomSequence().isEmpty()); // No per-axiom definitions
+  }
+
+  // Declarations come first, then class and property axioms, then assertions, then any others such as SWRL rules;
+  // the axioms of each type are contiguous
+  private static void assertInTypeGroups(List<OWLAxiom> axioms)
+  {
+    Set<AxiomType<?>> completedAxiomTypes = new HashSet<>();
+    AxiomType<?> previousAxiomType = null;
+
+    for (OWLAxiom axiom : axioms) {
+      AxiomType<?> axiomType = axiom.getAxiomType();
+
+      if (previousAxiomType != null && axiomType != previousAxiomType) {
+        assertTrue(getGroup(previousAxiomType) <= getGroup(axiomType));
+        completedAxiomTypes.add(previousAxiomType);
+      }
+      assertFalse(completedAxiomTypes.contains(axiomType));
+      previousAxiomType = axiomType;
+    }
+  }
+
+  private static int getGroup(AxiomType<?> axiomType)
+  {
+    if (axiomType == AxiomType.DECLARATION)
+      return 0;
+    else if (AxiomType.TBoxAndRBoxAxiomTypes.contains(axiomType))
+      return 1;
+    else if (AxiomType.ABoxAxiomTypes.contains(axiomType))
+      return 2;
+    else
+      return 3;
+  }
+
+  private DefaultSWRLRuleAndQueryEngine createRuleEngine(RecordingTargetSWRLRuleEngine targetRuleEngine)
+    throws Exception
+  {
+    bridge.setTargetSWRLRuleEngine(targetRuleEngine);
+
+    return new DefaultSWRLRuleAndQueryEngine(swrlapiOWLOntology, targetRuleEngine, bridge, bridge);
+  }
+
+  /**
+   * A target rule engine that loads OWL axioms in bulk and records each batch it receives.
+   */
+  private static class BulkRecordingTargetSWRLRuleEngine extends RecordingTargetSWRLRuleEngine
+  {
+    @NonNull private final List<@NonNull List<@NonNull OWLAxiom>> batches = new ArrayList<>();
+
+    public BulkRecordingTargetSWRLRuleEngine(@NonNull SWRLBridge bridge)
+    {
+      super(bridge, true);
+    }
+
+    @Override public void defineOWLAxioms(@NonNull Collection<? extends @NonNull OWLAxiom> axioms)
+    {
+      this.batches.add(new ArrayList<>(axioms));
+    }
+
+    @NonNull public List<@NonNull List<@NonNull OWLAxiom>> getBatches()
+    {
+      return this.batches;
+    }
+  }
+}
@@ -0,0 +1,220 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.swrlapi.bridge.SWRLRuleEngineBridge;
+import org.swrlapi.bridge.TargetSWRLRuleEngine;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.exceptions.SWRLRuleEngineBridgeException;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
+import org.swrlapi.owl2rl.AbstractOWL2RLEngine;
+import org.swrlapi.owl2rl.OWL2RLEngine;
+import org.swrlapi.sqwrl.SQWRLNames;
+import org.swrlapi.sqwrl.SQWRLQuery;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A target rule engine for tests that records the definitions it receives. Running the engine fires the consequent of
+ * each active SQWRL query a fixed number of times by invoking sqwrl:select through the bridge; each cell holds the name
+ * of the query. It then infers a given set of axioms, standing in for the SWRL rules. The engine stops once the bridge
+ * asks it to stop and records whether it is ever run or reset by two threads at once.
+ */
+class RecordingTargetSWRLRuleEngine implements TargetSWRLRuleEngine
+{
+  @NonNull private final SWRLRuleEngineBridge bridge;
+  @NonNull private final OWL2RLEngine owl2RLEngine;
+  private final boolean canUndefineSQWRLQueries;
+
+  @NonNull private final Set<@NonNull OWLAxiom> definedOWLAxioms = new HashSet<>();
+  @NonNull private final List<@NonNull OWLAxiom> definedOWLAxiomSequence = new ArrayList<>();
+  @NonNull private final Map<@NonNull String, @NonNull SQWRLQuery> definedSQWRLQueries = new LinkedHashMap<>();
+  @NonNull private final List<@NonNull String> undefinedSQWRLQueryNames = new ArrayList<>();
+  private int numberOfResets = 0;
+  private int numberOfRowsPerQuery = 1;
+  @NonNull private Set<@NonNull OWLAxiom> ruleInferredOWLAxioms = Collections.emptySet();
+  @NonNull private final AtomicInteger numberOfActiveCalls = new AtomicInteger();
+  private volatile boolean isRunning = false;
+  private volatile boolean wasUsedConcurrently = false;
+
+  public RecordingTargetSWRLRuleEngine(@NonNull SWRLRuleEngineBridge bridge, boolean canUndefineSQWRLQueries)
+  {
+    this.bridge = bridge;
+    this.owl2RLEngine = new AbstractOWL2RLEngine(bridge.getOWL2RLPersistenceLayer(), Collections.emptySet(),
+      Collections.emptySet(), Collections.emptySet())
+    {
+    };
+    this.canUndefineSQWRLQueries = canUndefineSQWRLQueries;
+  }
+
+  @Override public void defineOWLAxiom(@NonNull OWLAxiom axiom)
+  {
+    this.definedOWLAxioms.add(axiom);
+    this.definedOWLAxiomSequence.add(axiom);
+  }
+
+  @Override public void defineSQWRLQuery(@NonNull SQWRLQuery query)
+  {
+    this.definedSQWRLQueries.put(query.getQueryName(), query);
+  }
+
+  @Override public boolean canUndefineSQWRLQueries()
+  {
+    return this.canUndefineSQWRLQueries;
+  }
+
+  @Override public void undefineSQWRLQuery(@NonNull SQWRLQuery query) throws TargetSWRLRuleEngineException
+  {
+    if (!this.canUndefineSQWRLQueries)
+      throw new TargetSWRLRuleEngineException("undefining SQWRL queries is not enabled");
+
+    this.definedSQWRLQueries.remove(query.getQueryName());
+    this.undefinedSQWRLQueryNames.add(query.getQueryName());
+  }
+
+  @Override public void runRuleEngine() throws TargetSWRLRuleEngineException
+  {
+    enter();
+    this.isRunning = true;
+    try {
+      for (SQWRLQuery query : this.definedSQWRLQueries.values()) {
+        if (query.isActive())
+          addRows(query);
+      }
+      for (OWLAxiom axiom : this.ruleInferredOWLAxioms) {
+        if (!this.bridge.isRuleEngineStopRequested())
+          this.bridge.inferOWLAxiom(axiom);
+      }
+    } catch (SWRLBuiltInException e) {
+      throw new TargetSWRLRuleEngineException("error adding rows to result: " + e.getMessage(), e);
+    } catch (SWRLRuleEngineBridgeException e) {
+      throw new TargetSWRLRuleEngineException("error inferring axioms: " + e.getMessage(), e);
+    } finally {
+      this.isRunning = false;
+      exit();
+    }
+  }
+
+  @Override public void resetRuleEngine()
+  {
+    enter();
+    try {
+      this.definedOWLAxioms.clear();
+      this.definedOWLAxiomSequence.clear();
+      this.definedSQWRLQueries.clear();
+      this.numberOfResets++;
+    } finally {
+      exit();
+    }
+  }
+
+  @NonNull @Override public String getTargetRuleEngineName()
+  {
+    return "Recording";
+  }
+
+  @NonNull @Override public String getTargetRuleEngineVersion()
+  {
+    return "1.0";
+  }
+
+  @NonNull @Override public Icon getTargetRuleEngineIcon()
+  {
+    return new ImageIcon();
+  }
+
+  @NonNull @Override public OWLReasoner getOWLReasoner()
+  {
+    throw new UnsupportedOperationException("no OWL reasoner");
+  }
+
+  @NonNull @Override public OWL2RLEngine getOWL2RLEngine()
+  {
+    return this.owl2RLEngine;
+  }
+
+  public void setNumberOfRowsPerQuery(int numberOfRowsPerQuery)
+  {
+    this.numberOfRowsPerQuery = numberOfRowsPerQuery;
+  }
+
+  /**
+   * @param ruleInferredOWLAxioms The axioms to infer on each run after the SQWRL queries have been fired
+   */
+  public void setRuleInferredOWLAxioms(@NonNull Set<@NonNull OWLAxiom> ruleInferredOWLAxioms)
+  {
+    this.ruleInferredOWLAxioms = new HashSet<>(ruleInferredOWLAxioms);
+  }
+
+  @NonNull public Set<@NonNull OWLAxiom> getDefinedOWLAxioms()
+  {
+    return Collections.unmodifiableSet(this.definedOWLAxioms);
+  }
+
+  /**
+   * @return The OWL axioms defined since the last reset in the order in which they were defined
+   */
+  @NonNull public List<@NonNull OWLAxiom> getDefinedOWLAxiomSequence()
+  {
+    return Collections.unmodifiableList(this.definedOWLAxiomSequence);
+  }
+
+  @NonNull public Set<@NonNull String> getDefinedSQWRLQueryNames()
+  {
+    return Collections.unmodifiableSet(this.definedSQWRLQueries.keySet());
+  }
+
+  @NonNull public List<@NonNull String> getUndefinedSQWRLQueryNames()
+  {
+    return Collections.unmodifiableList(this.undefinedSQWRLQueryNames);
+  }
+
+  public int getNumberOfResets()
+  {
+    return this.numberOfResets;
+  }
+
+  public boolean isRunning()
+  {
+    return this.isRunning;
+  }
+
+  public boolean wasUsedConcurrently()
+  {
+    return this.wasUsedConcurrently;
+  }
+
+  private void enter()
+  {
+    if (this.numberOfActiveCalls.incrementAndGet() > 1)
+      this.wasUsedConcurrently = true;
+  }
+
+  private void exit()
+  {
+    this.numberOfActiveCalls.decrementAndGet();
+  }
+
+  // Each invocation of sqwrl:select adds a row; the bridge may evaluate it to false once the query has its rows
+  private void addRows(@NonNull SQWRLQuery query) throws SWRLBuiltInException
+  {
+    int numberOfColumns = query.getSQWRLResultGenerator().getCurrentNumberOfColumns();
+    List<@NonNull SWRLBuiltInArgument> arguments = new ArrayList<>();
+
+    for (int column = 0; column < numberOfColumns; column++)
+      arguments.add(this.bridge.getSWRLBuiltInArgumentFactory().getLiteralBuiltInArgument(query.getQueryName()));
+
+    for (int row = 0; row < this.numberOfRowsPerQuery && !this.bridge.isRuleEngineStopRequested(); row++)
+      this.bridge.invokeSWRLBuiltIn(query.getQueryName(), SQWRLNames.Select, 0, true, new ArrayList<>(arguments));
+  }
+}
@@ -0,0 +1,156 @@
+package org.swrlapi.factory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.bridge.SWRLBridge;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.sqwrl.SQWRLPreparedQuery;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+
+/**
+ * @see DefaultSWRLRuleAndQueryEngine#startSQWRLQuerySession()
+ */
+public class SQWRLQuerySessionTest extends IntegrationTestBase
+{
+  private static final OWLClass PERSON = Class(iri("Person"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri("p1"));
+
+  private OWLOntology ontology;
+  private SWRLAPIOWLOntology swrlapiOWLOntology;
+  private SWRLBridge bridge;
+
+  @Before public void setUp() throws Exception
+  {
+    ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+    addOWLAxioms(ontology, Declaration(PERSON));
+
+    swrlapiOWLOntology = SWRLAPIInternalFactory.createSWRLAPIOntology(ontology);
+    bridge = SWRLAPIInternalFactory
+      .createSWRLBridge(swrlapiOWLOntology, SWRLAPIInternalFactory.createOWL2RLPersistenceLayer(ontology));
+  }
+
+  @Test public void testSessionLoadsOntologyOnce() throws Exception
+  {
+    RecordingTargetSWRLRuleEngine targetRuleEngine = new RecordingTargetSWRLRuleEngine(bridge, true);
+    DefaultSWRLRuleAndQueryEngine queryEngine = createQueryEngine(targetRuleEngine);
+
+    queryEngine.createSQWRLQuery("q1", "Person(?p) -> sqwrl:select(?p)");
+    queryEngine.createSQWRLQuery("q2", "Person(?p) -> sqwrl:select(?p)");
+    queryEngine.startSQWRLQuerySession();
+
+    queryEngine.runSQWRLQuery("q1");
+    queryEngine.runSQWRLQuery("q2");
+    SQWRLResult result = queryEngine.runSQWRLQuery("q1");
+
+    assertEquals(1, targetRuleEngine.getNumberOfResets());
+    assertEquals(Arrays.asList("q1", "q2"), targetRuleEngine.getUndefinedSQWRLQueryNames());
+    assertEquals(Collections.singleton("q1"), targetRuleEngine.getDefinedSQWRLQueryNames());
+    assertEquals(1, result.getNumberOfRows()); // Rows from the earlier run of the query are cleared
+  }
+
+  @Test public void testCreatingQueryKeepsSessionLoaded() throws Exception
+  {
+    RecordingTargetSWRLRuleEngine targetRuleEngine = new RecordingTargetSWRLRuleEngine(bridge, true);
+    DefaultSWRLRuleAndQueryEngine queryEngine = createQueryEngine(targetRuleEngine);
+
+    queryEngine.createSQWRLQuery("q1", "Person(?p) -> sqwrl:select(?p)");
+    queryEngine.startSQWRLQuerySession();
+    queryEngine.runSQWRLQuery("q1");
+
+    queryEngine.runSQWRLQuery("q2", "Person(?p) -> sqwrl:select(?p)");
+
+    assertEquals(1, targetRuleEngine.getNumberOfResets());
+    assertEquals(Collections.singleton("q2"), targetRuleEngine.getDefinedSQWRLQueryNames());
+  }
+
+  @Test public void testOntologyChangeReloadsSession() throws Exception
+  {
+    RecordingTargetSWRLRuleEngine targetRuleEngine = new RecordingTargetSWRLRuleEngine(bridge, true);
+    DefaultSWRLRuleAndQueryEngine queryEngine = createQueryEngine(targetRuleEngine);
+
+    queryEngine.createSQWRLQuery("q1", "Person(?p) -> sqwrl:select(?p)");
+    queryEngine.startSQWRLQuerySession();
+    queryEngine.runSQWRLQuery("q1");
+
+    addOWLAxioms(ontology, ClassAssertion(PERSON, P1));
+    queryEngine.runSQWRLQuery("q1");
+
+    assertEquals(2, targetRuleEngine.getNumberOfResets());
+    assertTrue(targetRuleEngine.getDefinedOWLAxioms().contains(ClassAssertion(PERSON, P1)));
+    assertTrue(targetRuleEngine.getUndefinedSQWRLQueryNames().isEmpty());
+  }
+
+  @Test public void testFinishedSessionImportsOntologyForEachQuery() throws Exception
+  {
+    RecordingTargetSWRLRuleEngine targetRuleEngine = new RecordingTargetSWRLRuleEngine(bridge, true);
+    DefaultSWRLRuleAndQueryEngine queryEngine = createQueryEngine(targetRuleEngine);
+
+    queryEngine.createSQWRLQuery("q1", "Person(?p) -> sqwrl:select(?p)");
+    queryEngine.startSQWRLQuerySession();
+    queryEngine.runSQWRLQuery("q1");
+    queryEngine.finishSQWRLQuerySession();
+
+    queryEngine.runSQWRLQuery("q1");
+    queryEngine.runSQWRLQuery("q1");
+
+    assertFalse(queryEngine.isInSQWRLQuerySession());
+    assertEquals(3, targetRuleEngine.getNumberOfResets());
+    assertTrue(targetRuleEngine.getUndefinedSQWRLQueryNames().isEmpty());
+  }
+
+  @Test public void testSessionWithoutUndefineSupportImportsOntologyForEachQuery() throws Exception
+  {
+    RecordingTargetSWRLRuleEngine targetRuleEngine = new RecordingTargetSWRLRuleEngine(bridge, false);
+    DefaultSWRLRuleAndQueryEngine queryEngine = createQueryEngine(targetRuleEngine);
+
+    queryEngine.createSQWRLQuery("q1", "Person(?p) -> sqwrl:select(?p)");
+    queryEngine.startSQWRLQuerySession();
+
+    queryEngine.runSQWRLQuery("q1");
+    SQWRLResult result = queryEngine.runSQWRLQuery("q1");
+
+    assertEquals(2, targetRuleEngine.getNumberOfResets());
+    assertEquals(1, result.getNumberOfRows());
+  }
+
+  @Test public void testDeletePreparedQueryUndefinesItInSession() throws Exception
+  {
+    RecordingTargetSWRLRuleEngine targetRuleEngine = new RecordingTargetSWRLRuleEngine(bridge, true);
+    DefaultSWRLRuleAndQueryEngine queryEngine = createQueryEngine(targetRuleEngine);
+
+    SQWRLPreparedQuery preparedQuery = queryEngine
+      .prepareSQWRLQuery("q1", "Person(?p) -> sqwrl:select(?p)", Collections.emptySet());
+    queryEngine.startSQWRLQuerySession();
+    queryEngine.runSQWRLQuery(preparedQuery, Collections.emptyMap());
+
+    queryEngine.deleteSQWRLPreparedQuery(preparedQuery);
+
+    assertEquals(Collections.singletonList("q1"), targetRuleEngine.getUndefinedSQWRLQueryNames());
+    assertTrue(targetRuleEngine.getDefinedSQWRLQueryNames().isEmpty());
+  }
+
+  private DefaultSWRLRuleAndQueryEngine createQueryEngine(RecordingTargetSWRLRuleEngine targetRuleEngine)
+    throws Exception
+  {
+    bridge.setTargetSWRLRuleEngine(targetRuleEngine);
+
+    return new DefaultSWRLRuleAndQueryEngine(swrlapiOWLOntology, targetRuleEngine, bridge, bridge);
+  }
+}
@@ -21,6 +21,8 @@ public class SQWRLResultValueFactoryTest
 {
   private static final String TEST_PREFIX = "test";
   private static final String TEST_NAMESPACE = "http://example.org#";
+  private static final String OTHER_PREFIX = "other:";
+  private static final String OTHER_NAMESPACE = "http://example.org/other#";
 
   private OWLOntologyManager ontologyManager;
   private IRIResolver iriResolver;
@@ -56,4 +58,17 @@ public class SQWRLResultValueFactoryTest
 
     assertEquals(classIRI, value.getIRI());
   }
+
+  @Test public void testEntityNamesDoNotChangeWithPrefixes() throws Exception
+  {
+    IRI classIRI = IRI.create(OTHER_NAMESPACE + "AClass");
+    String prefixedName = iriResolver.iri2PrefixedName(classIRI).get(); // No prefix yet so a prefix is generated
+    SQWRLClassResultValue value = this.resultValueFactory.getClassValue(classIRI);
+
+    iriResolver.setPrefix(OTHER_PREFIX, OTHER_NAMESPACE);
+
+    assertEquals(prefixedName, value.getPrefixedName());
+    assertEquals(prefixedName, value.toString());
+    assertEquals(OTHER_PREFIX + "AClass", this.resultValueFactory.getClassValue(classIRI).getPrefixedName());
+  }
 }
@@ -0,0 +1,226 @@
+package org.swrlapi.factory;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.bridge.SWRLBridge;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.SQWRLResultCursor;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+
+/**
+ * @see StreamingSQWRLResultCursor
+ * @see DefaultSWRLRuleAndQueryEngine#openSQWRLResultCursor(String, int)
+ */
+public class StreamingSQWRLResultCursorTest extends IntegrationTestBase
+{
+  private static final OWLClass PERSON = Class(iri("Person"));
+
+  @Rule public final ExpectedException thrown = ExpectedException.none();
+
+  private SQWRLResultValueFactory resultValueFactory;
+  private SWRLAPIOWLOntology swrlapiOWLOntology;
+  private SWRLBridge bridge;
+
+  @Before public void setUp() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+    addOWLAxioms(ontology, Declaration(PERSON));
+
+    swrlapiOWLOntology = SWRLAPIInternalFactory.createSWRLAPIOntology(ontology);
+    bridge = SWRLAPIInternalFactory
+      .createSWRLBridge(swrlapiOWLOntology, SWRLAPIInternalFactory.createOWL2RLPersistenceLayer(ontology));
+    resultValueFactory = SWRLAPIInternalFactory.createSQWRLResultValueFactory(bridge.getIRIResolver());
+  }
+
+  @Test(timeout = 10000) public void testRowsArePassedToReader() throws Exception
+  {
+    StreamingSQWRLResultCursor cursor = createCursor(() -> {
+    });
+
+    start(cursor, () -> {
+      cursor.rowAdded(createRow("a"));
+      cursor.rowAdded(createRow("b"));
+      cursor.rowAdded(createRow("c"));
+    });
+
+    assertTrue(cursor.next());
+    assertEquals(createValue("a"), cursor.getValue("x"));
+    assertTrue(cursor.next());
+    assertEquals(createValue("b"), cursor.getValue(0));
+    assertTrue(cursor.next());
+    assertEquals(createValue("c"), cursor.getValue(0));
+    assertFalse(cursor.next());
+    assertFalse(cursor.isClosed());
+
+    cursor.close();
+  }
+
+  @Test(timeout = 10000) public void testErrorIsThrownAtEndOfResult() throws Exception
+  {
+    StreamingSQWRLResultCursor cursor = createCursor(() -> {
+    });
+
+    start(cursor, () -> {
+      cursor.rowAdded(createRow("a"));
+      throw new SQWRLException("rule engine failed");
+    });
+
+    assertTrue(cursor.next());
+
+    thrown.expect(SQWRLException.class);
+    thrown.expectMessage("rule engine failed");
+
+    cursor.next();
+  }
+
+  @Test(timeout = 10000) public void testCloseWaitsForStoppedRuleEngine() throws Exception
+  {
+    AtomicBoolean isStopRequested = new AtomicBoolean(false);
+    AtomicBoolean isRuleEngineFinished = new AtomicBoolean(false);
+    StreamingSQWRLResultCursor cursor = createCursor(() -> isStopRequested.set(true));
+
+    start(cursor, () -> {
+      while (!isStopRequested.get())
+        cursor.rowAdded(createRow("a"));
+      sleep(100); // A rule engine that takes a while to stop
+      isRuleEngineFinished.set(true);
+    });
+
+    assertTrue(cursor.next());
+    cursor.close();
+
+    assertTrue(isStopRequested.get());
+    assertTrue(isRuleEngineFinished.get());
+    assertTrue(cursor.isClosed());
+    assertFalse(cursor.next());
+  }
+
+  @Test(timeout = 10000) public void testInterruptedRuleEngineDoesNotBlockReader() throws Exception
+  {
+    StreamingSQWRLResultCursor cursor = createCursor(() -> {
+    });
+
+    start(cursor, () -> {
+      cursor.rowAdded(createRow("a"));
+      Thread.currentThread().interrupt(); // The end of the result then cannot be put in the buffer
+    });
+
+    assertTrue(cursor.next());
+    assertFalse(cursor.next());
+  }
+
+  @Test(timeout = 10000) public void testQueryCanBeRunAfterCursorIsClosedEarly() throws Exception
+  {
+    RecordingTargetSWRLRuleEngine targetRuleEngine = new RecordingTargetSWRLRuleEngine(bridge, true);
+    DefaultSWRLRuleAndQueryEngine queryEngine = createQueryEngine(targetRuleEngine);
+
+    targetRuleEngine.setNumberOfRowsPerQuery(1000);
+    queryEngine.createSQWRLQuery("q1", "Person(?p) -> sqwrl:select(?p)");
+
+    try (SQWRLResultCursor cursor = queryEngine.openSQWRLResultCursor("q1", 1)) {
+      assertTrue(cursor instanceof StreamingSQWRLResultCursor);
+      assertTrue(cursor.next());
+    }
+
+    assertFalse(targetRuleEngine.isRunning());
+
+    targetRuleEngine.setNumberOfRowsPerQuery(2);
+    SQWRLResult result = queryEngine.runSQWRLQuery("q1");
+
+    assertEquals(2, result.getNumberOfRows());
+    assertFalse(targetRuleEngine.wasUsedConcurrently());
+  }
+
+  @Test(timeout = 10000) public void testQueryCanBeRunAfterCursorIsRead() throws Exception
+  {
+    RecordingTargetSWRLRuleEngine targetRuleEngine = new RecordingTargetSWRLRuleEngine(bridge, true);
+    DefaultSWRLRuleAndQueryEngine queryEngine = createQueryEngine(targetRuleEngine);
+
+    targetRuleEngine.setNumberOfRowsPerQuery(3);
+    queryEngine.createSQWRLQuery("q1", "Person(?p) -> sqwrl:select(?p)");
+
+    SQWRLResultCursor cursor = queryEngine.openSQWRLResultCursor("q1", 1);
+    int numberOfRows = 0;
+    while (cursor.next())
+      numberOfRows++;
+
+    assertEquals(3, numberOfRows);
+    assertFalse(targetRuleEngine.isRunning());
+
+    queryEngine.runSQWRLQuery("q1");
+
+    assertFalse(targetRuleEngine.wasUsedConcurrently());
+    cursor.close();
+  }
+
+  private interface RuleEngineRun
+  {
+    void run() throws SQWRLException;
+  }
+
+  private StreamingSQWRLResultCursor createCursor(Runnable stopRequester)
+  {
+    return new StreamingSQWRLResultCursor(Collections.singletonList("x"), 1, stopRequester);
+  }
+
+  // Passes any error to the cursor in the same way as the query engine
+  private void start(StreamingSQWRLResultCursor cursor, RuleEngineRun ruleEngineRun)
+  {
+    cursor.start(() -> {
+      SQWRLException error = null;
+      try {
+        ruleEngineRun.run();
+      } catch (SQWRLException e) {
+        error = e;
+      } finally {
+        cursor.finished(error);
+      }
+    }, "test rule engine");
+  }
+
+  private List<SQWRLResultValue> createRow(String value)
+  {
+    return Collections.singletonList(createValue(value));
+  }
+
+  private SQWRLResultValue createValue(String value)
+  {
+    return resultValueFactory.getLiteralValue(value);
+  }
+
+  private static void sleep(long milliseconds) throws SQWRLException
+  {
+    try {
+      Thread.sleep(milliseconds);
+    } catch (InterruptedException e) {
+      throw new SQWRLException("interrupted", e);
+    }
+  }
+
+  private DefaultSWRLRuleAndQueryEngine createQueryEngine(RecordingTargetSWRLRuleEngine targetRuleEngine)
+    throws Exception
+  {
+    bridge.setTargetSWRLRuleEngine(targetRuleEngine);
+
+    return new DefaultSWRLRuleAndQueryEngine(swrlapiOWLOntology, targetRuleEngine, bridge, bridge);
+  }
+}
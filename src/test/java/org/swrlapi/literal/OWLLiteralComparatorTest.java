@@ -7,6 +7,9 @@ import org.swrlapi.factory.OWLDatatypeFactory;
 import org.swrlapi.factory.OWLLiteralFactory;
 import org.swrlapi.factory.SWRLAPIInternalFactory;
 
+import java.util.HashSet;
+import java.util.Set;
+
 public class OWLLiteralComparatorTest
 {
   private static final OWLLiteralFactory literalFactory = SWRLAPIInternalFactory.createOWLLiteralFactory();
@@ -78,4 +81,82 @@ public class OWLLiteralComparatorTest
     Assert.assertFalse(OWLLiteralComparator.isNumeric(l));
   }
 
+  @Test public void testComparisonHashCodeOfEqualNumericLiterals() throws Exception
+  {
+    OWLLiteral l1 = literalFactory.getOWLLiteral("3", datatypeFactory.getIntDatatype());
+    OWLLiteral l2 = literalFactory.getOWLLiteral("3.0", datatypeFactory.getDecimalDatatype());
+
+    Assert.assertEquals(0, OWLLiteralComparator.COMPARATOR.compare(l1, l2));
+    Assert.assertEquals(OWLLiteralComparator.comparisonHashCode(l1), OWLLiteralComparator.comparisonHashCode(l2));
+  }
+
+  @Test public void testComparisonHashCodeOfSignedZero() throws Exception
+  {
+    OWLLiteral l1 = literalFactory.getOWLLiteral("-0.0", datatypeFactory.getDoubleDatatype());
+    OWLLiteral l2 = literalFactory.getOWLLiteral("0", datatypeFactory.getIntDatatype());
+
+    Assert.assertEquals(0, OWLLiteralComparator.COMPARATOR.compare(l1, l2));
+    Assert.assertEquals(OWLLiteralComparator.comparisonHashCode(l1), OWLLiteralComparator.comparisonHashCode(l2));
+  }
+
+  @Test public void testComparisonHashCodeOfEqualStringLiterals() throws Exception
+  {
+    OWLLiteral l1 = literalFactory.getOWLLiteral("a01b1");
+    OWLLiteral l2 = literalFactory.getOWLLiteral("a1b1");
+
+    Assert.assertEquals(0, OWLLiteralComparator.COMPARATOR.compare(l1, l2));
+    Assert.assertEquals(OWLLiteralComparator.comparisonHashCode(l1), OWLLiteralComparator.comparisonHashCode(l2));
+  }
+
+  @Test public void testComparisonHashCodeOfDistinctDateTimeLiterals() throws Exception
+  {
+    Set<Integer> hashCodes = new HashSet<>();
+
+    for (int minute = 0; minute < 100; minute++) {
+      OWLLiteral l = literalFactory
+        .getOWLLiteral(String.format("2020-01-01T%02d:%02d:00", minute / 60, minute % 60),
+          datatypeFactory.getDateTimeDatatype());
+      hashCodes.add(OWLLiteralComparator.comparisonHashCode(l));
+    }
+
+    Assert.assertEquals(100, hashCodes.size());
+  }
+
+  @Test public void testComparisonHashCodeOfEqualDateTimeLiterals() throws Exception
+  {
+    OWLLiteral l1 = literalFactory.getOWLLiteral("2020-01-01T10:00:00+02:00", datatypeFactory.getDateTimeDatatype());
+    OWLLiteral l2 = literalFactory.getOWLLiteral("2020-01-01T08:00:00Z", datatypeFactory.getDateTimeDatatype());
+
+    Assert.assertEquals(0, OWLLiteralComparator.COMPARATOR.compare(l1, l2));
+    Assert.assertEquals(OWLLiteralComparator.comparisonHashCode(l1), OWLLiteralComparator.comparisonHashCode(l2));
+  }
+
+  @Test public void testComparisonHashCodeOfDistinctTemporalLiterals() throws Exception
+  {
+    assertDistinctComparisonHashCodes(literalFactory.getOWLLiteral("2020-01-01", datatypeFactory.getDateDatatype()),
+      literalFactory.getOWLLiteral("2020-01-02", datatypeFactory.getDateDatatype()));
+    assertDistinctComparisonHashCodes(literalFactory.getOWLLiteral("10:00:00", datatypeFactory.getTimeDatatype()),
+      literalFactory.getOWLLiteral("10:00:01", datatypeFactory.getTimeDatatype()));
+    assertDistinctComparisonHashCodes(literalFactory.getOWLLiteral("P1D", datatypeFactory.getDurationDatatype()),
+      literalFactory.getOWLLiteral("P2D", datatypeFactory.getDurationDatatype()));
+    assertDistinctComparisonHashCodes(
+      literalFactory.getOWLLiteral("http://example.org/a", datatypeFactory.getURIDatatype()),
+      literalFactory.getOWLLiteral("http://example.org/b", datatypeFactory.getURIDatatype()));
+  }
+
+  @Test public void testComparisonHashCodeOfEqualDurationLiterals() throws Exception
+  {
+    OWLLiteral l1 = literalFactory.getOWLLiteral("P1DT0H", datatypeFactory.getDurationDatatype());
+    OWLLiteral l2 = literalFactory.getOWLLiteral("P1D", datatypeFactory.getDurationDatatype());
+
+    Assert.assertEquals(0, OWLLiteralComparator.COMPARATOR.compare(l1, l2));
+    Assert.assertEquals(OWLLiteralComparator.comparisonHashCode(l1), OWLLiteralComparator.comparisonHashCode(l2));
+  }
+
+  private static void assertDistinctComparisonHashCodes(OWLLiteral l1, OWLLiteral l2)
+  {
+    Assert.assertTrue(OWLLiteralComparator.COMPARATOR.compare(l1, l2) < 0);
+    Assert.assertNotEquals(OWLLiteralComparator.comparisonHashCode(l1), OWLLiteralComparator.comparisonHashCode(l2));
+  }
+
 }
\ No newline at end of file
@@ -2,6 +2,11 @@ package org.swrlapi.literal;
 
 import org.junit.Test;
 
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 /**
  * @see XSDDate
  */
@@ -17,4 +22,25 @@ public class XSDDateTest
     XSDDate date = new XSDDate("1999-01-02");
     date.validate();
   }
+
+  @Test(expected = IllegalArgumentException.class) public void testInvalidDayOfMonth()
+  {
+    XSDDate date = new XSDDate("1999-02-30");
+  }
+
+  @Test public void testTimezone()
+  {
+    XSDDate date = new XSDDate("1999-01-02Z");
+
+    assertEquals(LocalDate.of(1999, 1, 2), date.getDate());
+  }
+
+  @Test public void testCompareTo()
+  {
+    XSDDate date1 = new XSDDate("1999-01-02");
+    XSDDate date2 = new XSDDate("1999-10-02");
+
+    assertTrue(date1.compareTo(date2) < 0);
+    assertEquals(0, date1.compareTo(new XSDDate(LocalDate.of(1999, 1, 2))));
+  }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package org.swrlapi.literal;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see XSDDateTime
+ */
+public class XSDDateTimeTest
+{
+  private TimeZone defaultTimeZone;
+
+  @Before public void setUp()
+  {
+    defaultTimeZone = TimeZone.getDefault();
+    TimeZone.setDefault(TimeZone.getTimeZone("America/New_York")); // Observes daylight saving time
+  }
+
+  @After public void tearDown()
+  {
+    TimeZone.setDefault(defaultTimeZone);
+  }
+
+  @Test(expected = IllegalArgumentException.class) public void testConstruction()
+  {
+    XSDDateTime dateTime = new XSDDateTime("X");
+  }
+
+  @Test public void testWithoutTimezone()
+  {
+    XSDDateTime dateTime = new XSDDateTime("2020-01-01T10:00:00");
+
+    assertEquals(LocalDateTime.of(2020, 1, 1, 10, 0), dateTime.getDateTime());
+  }
+
+  @Test public void testOffsetIsNormalizedToUTC()
+  {
+    assertEquals(LocalDateTime.of(2020, 1, 1, 8, 0), new XSDDateTime("2020-01-01T10:00:00+02:00").getDateTime());
+    assertEquals(LocalDateTime.of(2020, 7, 1, 15, 30), new XSDDateTime("2020-07-01T10:30:00-05:00").getDateTime());
+    assertEquals(LocalDateTime.of(2020, 7, 1, 10, 0), new XSDDateTime("2020-07-01T10:00:00Z").getDateTime());
+  }
+
+  @Test public void testOffsetCrossesDay()
+  {
+    assertEquals(LocalDateTime.of(2019, 12, 31, 23, 0), new XSDDateTime("2020-01-01T01:00:00+02:00").getDateTime());
+  }
+
+  @Test public void testNormalizationDoesNotDependOnDefaultTimezone()
+  {
+    TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+
+    assertEquals(LocalDateTime.of(2020, 7, 1, 8, 0), new XSDDateTime("2020-07-01T10:00:00+02:00").getDateTime());
+  }
+
+  @Test public void testSameInstantWithDifferentOffsets()
+  {
+    XSDDateTime dateTime1 = new XSDDateTime("2020-07-01T10:00:00+02:00");
+    XSDDateTime dateTime2 = new XSDDateTime("2020-07-01T03:00:00-05:00");
+
+    assertEquals(dateTime1, dateTime2);
+    assertEquals(dateTime1.hashCode(), dateTime2.hashCode());
+    assertEquals(0, dateTime1.compareTo(dateTime2));
+  }
+
+  @Test public void testCompareToWithOffsets()
+  {
+    XSDDateTime dateTime1 = new XSDDateTime("2020-07-01T10:00:00+02:00"); // 08:00 UTC
+    XSDDateTime dateTime2 = new XSDDateTime("2020-07-01T09:00:00+00:00");
+
+    assertTrue(dateTime1.compareTo(dateTime2) < 0);
+  }
+
+  @Test public void testUtilDateWithOffsetIsSameInstant()
+  {
+    assertEquals(Instant.parse("2020-01-01T08:00:00Z"),
+      XSDTimeUtil.xsdDateTimeString2UtilDate("2020-01-01T10:00:00+02:00").toInstant());
+    assertEquals(Instant.parse("2020-07-01T08:00:00Z"),
+      XSDTimeUtil.xsdDateTime2UtilDate(new XSDDateTime("2020-07-01T10:00:00+02:00")).toInstant());
+    assertEquals(Instant.parse("2020-07-01T08:00:00Z"),
+      XSDTimeUtil.xsdDateTimeString2UtilDate("2020-07-01T08:00:00Z").toInstant());
+  }
+
+  @Test public void testUtilDateWithoutTimezoneIsInDefaultTimezone()
+  {
+    assertEquals(Instant.parse("2020-07-01T14:00:00Z"), // New York is at -04:00 in July
+      XSDTimeUtil.xsdDateTimeString2UtilDate("2020-07-01T10:00:00").toInstant());
+  }
+}
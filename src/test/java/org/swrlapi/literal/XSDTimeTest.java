@@ -0,0 +1,80 @@
+package org.swrlapi.literal;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see XSDTime
+ */
+public class XSDTimeTest
+{
+  private TimeZone defaultTimeZone;
+
+  @Before public void setUp()
+  {
+    defaultTimeZone = TimeZone.getDefault();
+    TimeZone.setDefault(TimeZone.getTimeZone("Europe/London")); // Observes daylight saving time
+  }
+
+  @After public void tearDown()
+  {
+    TimeZone.setDefault(defaultTimeZone);
+  }
+
+  @Test(expected = IllegalArgumentException.class) public void testConstruction()
+  {
+    XSDTime time = new XSDTime("X");
+  }
+
+  @Test public void testWithoutTimezone()
+  {
+    assertEquals(LocalTime.of(10, 0), new XSDTime("10:00:00").getTime());
+    assertEquals(LocalTime.of(10, 0, 0, 500_000_000), new XSDTime("10:00:00.5").getTime());
+  }
+
+  @Test public void testOffsetIsNormalizedToUTC()
+  {
+    assertEquals(LocalTime.of(15, 0), new XSDTime("10:00:00-05:00").getTime());
+    assertEquals(LocalTime.of(8, 30), new XSDTime("10:00:00+01:30").getTime());
+    assertEquals(LocalTime.of(10, 0), new XSDTime("10:00:00Z").getTime());
+  }
+
+  @Test public void testOffsetWrapsAroundMidnight()
+  {
+    assertEquals(LocalTime.of(23, 0), new XSDTime("01:00:00+02:00").getTime());
+    assertEquals(LocalTime.of(1, 0, 0, 250_000_000), new XSDTime("20:00:00.25-05:00").getTime());
+  }
+
+  @Test public void testNormalizationDoesNotDependOnDefaultTimezone()
+  {
+    TimeZone.setDefault(TimeZone.getTimeZone("Australia/Sydney"));
+
+    assertEquals(LocalTime.of(15, 0), new XSDTime("10:00:00-05:00").getTime());
+  }
+
+  @Test public void testSameInstantWithDifferentOffsets()
+  {
+    XSDTime time1 = new XSDTime("10:00:00+02:00");
+    XSDTime time2 = new XSDTime("03:00:00-05:00");
+
+    assertEquals(time1, time2);
+    assertEquals(time1.hashCode(), time2.hashCode());
+    assertEquals(0, time1.compareTo(time2));
+    assertTrue(time1.compareTo(new XSDTime("09:00:00Z")) < 0);
+  }
+
+  @Test public void testUtilDateWithOffsetIsSameInstant()
+  {
+    assertEquals(Instant.parse("1970-01-01T08:00:00Z"),
+      XSDTimeUtil.xsdTimeString2UtilDate("10:00:00+02:00").toInstant());
+    assertEquals(Instant.parse("1970-01-01T10:00:00Z"), XSDTimeUtil.xsdTimeString2UtilDate("10:00:00Z").toInstant());
+  }
+}
@@ -0,0 +1,119 @@
+package org.swrlapi.sqwrl;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.SWRLDataPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLLiteralArgument;
+import org.semanticweb.owlapi.model.SWRLRule;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.exceptions.SQWRLInvalidQueryNameException;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+
+/**
+ * @see SQWRLPreparedQuery
+ */
+public class SQWRLPreparedQueryTest extends IntegrationTestBase
+{
+  private static final OWLClass PERSON = Class(iri("Person"));
+  private static final OWLDataProperty HAS_NAME = DataProperty(iri("hasName"));
+
+  @Rule public final ExpectedException thrown = ExpectedException.none();
+
+  private OWLOntology ontology;
+  private SWRLAPIOWLOntology swrlapiOWLOntology;
+
+  @Before public void setUp() throws Exception
+  {
+    ontology = OWLManager.createOWLOntologyManager().createOntology();
+    swrlapiOWLOntology = SWRLAPIInternalFactory.createSWRLAPIOntology(ontology);
+
+    addOWLAxioms(ontology, Declaration(PERSON), Declaration(HAS_NAME));
+  }
+
+  @Test public void testPrepareDoesNotModifyOntology() throws Exception
+  {
+    int numberOfAxioms = ontology.getAxiomCount();
+
+    SQWRLPreparedQuery query = swrlapiOWLOntology
+      .prepareSQWRLQuery("q1", "Person(?p) ^ hasName(?p, ?n) -> sqwrl:select(?p)", Collections.emptySet());
+    swrlapiOWLOntology.createSQWRLQuery(query, Collections.emptyMap());
+
+    assertEquals(numberOfAxioms, ontology.getAxiomCount());
+    assertTrue(swrlapiOWLOntology.getSQWRLQueryNames().isEmpty());
+    assertTrue(swrlapiOWLOntology.getSQWRLResultGenerator("q1").isConfigured());
+  }
+
+  @Test public void testCreatedQueryIsKeptWhenOntologyIsProcessed() throws Exception
+  {
+    SQWRLPreparedQuery query = swrlapiOWLOntology
+      .prepareSQWRLQuery("q1", "Person(?p) ^ hasName(?p, ?n) -> sqwrl:select(?p)", Collections.emptySet());
+    swrlapiOWLOntology.createSQWRLQuery(query, Collections.emptyMap());
+
+    swrlapiOWLOntology.processOntology();
+
+    assertTrue(swrlapiOWLOntology.getSQWRLResultGenerator("q1").isConfigured());
+  }
+
+  @Test public void testDeletePreparedQuery() throws Exception
+  {
+    thrown.expect(SQWRLInvalidQueryNameException.class);
+
+    SQWRLPreparedQuery query = swrlapiOWLOntology
+      .prepareSQWRLQuery("q1", "Person(?p) ^ hasName(?p, ?n) -> sqwrl:select(?p)", Collections.emptySet());
+    swrlapiOWLOntology.createSQWRLQuery(query, Collections.emptyMap());
+
+    swrlapiOWLOntology.deleteSQWRLPreparedQuery("q1");
+
+    swrlapiOWLOntology.getSQWRLResultGenerator("q1");
+  }
+
+  @Test public void testBindParameter() throws Exception
+  {
+    SQWRLPreparedQuery query = swrlapiOWLOntology
+      .prepareSQWRLQuery("q1", "Person(?p) ^ hasName(?p, ?name) -> sqwrl:select(?p)",
+        Collections.singleton("name"));
+    SWRLRule rule = query.bindParameters(Collections.singletonMap("name", Literal("Fred")));
+
+    SWRLDataPropertyAtom atom = rule.getBody().stream().filter(a -> a instanceof SWRLDataPropertyAtom)
+      .map(a -> (SWRLDataPropertyAtom)a).findFirst().get();
+
+    assertTrue(atom.getSecondArgument() instanceof SWRLLiteralArgument);
+    assertEquals(Literal("Fred"), ((SWRLLiteralArgument)atom.getSecondArgument()).getLiteral());
+  }
+
+  @Test public void testMissingParameterValue() throws Exception
+  {
+    thrown.expect(SQWRLException.class);
+    thrown.expectMessage("no value supplied for parameter name");
+
+    SQWRLPreparedQuery query = swrlapiOWLOntology
+      .prepareSQWRLQuery("q1", "Person(?p) ^ hasName(?p, ?name) -> sqwrl:select(?p)",
+        Collections.singleton("name"));
+    query.bindParameters(Collections.emptyMap());
+  }
+
+  @Test public void testParameterInIndividualPosition() throws Exception
+  {
+    thrown.expect(SQWRLException.class);
+    thrown.expectMessage("is used where a literal is not allowed");
+
+    swrlapiOWLOntology.prepareSQWRLQuery("q1", "Person(?p) -> sqwrl:select(?p)", Collections.singleton("p"));
+  }
+}
@@ -6,11 +6,14 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.swrlapi.core.IRIResolver;
+import org.swrlapi.factory.SQWRLResultValueFactory;
 import org.swrlapi.factory.SWRLAPIFactory;
 import org.swrlapi.factory.SWRLAPIInternalFactory;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -26,6 +29,7 @@ import static org.junit.Assert.assertTrue;
 public class SQWRLResultGeneratorTest
 {
   private SQWRLResultManager resultManager;
+  private SQWRLResultValueFactory valueFactory;
 
   private static final String TEST_PREFIX = "test:";
   private static final String TEST_NAMESPACE = "http://example.org#";
@@ -41,6 +45,7 @@ public class SQWRLResultGeneratorTest
     iriResolver.setPrefix(TEST_PREFIX, TEST_NAMESPACE);
 
     resultManager = SWRLAPIInternalFactory.createSQWRLResultManager(iriResolver);
+    valueFactory = SWRLAPIInternalFactory.createSQWRLResultValueFactory(iriResolver);
   }
 
   @Test public void testAddColumns() throws Exception
@@ -129,4 +134,89 @@ public class SQWRLResultGeneratorTest
 
     assertFalse(resultManager.isRowOpen());
   }
+
+  @Test public void testRowListenerReceivesDistinctRowsUpToLimit() throws Exception
+  {
+    List<List<SQWRLResultValue>> streamedRows = new ArrayList<>();
+
+    resultManager.addColumn(columnName);
+    resultManager.setIsDistinct();
+    resultManager.setLimit(2);
+    resultManager.configured();
+
+    assertTrue(resultManager.isStreamable());
+
+    resultManager.setRowListener(streamedRows::add);
+
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(1)));
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(1)));
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(2)));
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(3)));
+
+    assertEquals(2, streamedRows.size());
+    assertEquals(1, streamedRows.get(0).get(0).asLiteralResult().getInt());
+    assertEquals(2, streamedRows.get(1).get(0).asLiteralResult().getInt());
+
+    resultManager.prepared();
+
+    assertEquals(0, resultManager.getNumberOfRows());
+  }
+
+  @Test public void testOrderedResultIsNotStreamable() throws Exception
+  {
+    resultManager.addColumn(columnName);
+    resultManager.setOrderByColumn(0, true);
+    resultManager.configured();
+
+    assertFalse(resultManager.isStreamable());
+
+    thrown.expect(SQWRLException.class);
+    resultManager.setRowListener(row -> {
+    });
+  }
+
+  @Test public void testRowLimitReachedWithFirstN() throws Exception
+  {
+    resultManager.addColumn(columnName);
+    resultManager.setIsDistinct();
+    resultManager.setFirst(2);
+    resultManager.configured();
+
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(1)));
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(1)));
+
+    assertFalse(resultManager.isRowLimitReached());
+
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(2)));
+
+    assertTrue(resultManager.isRowLimitReached());
+
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(3)));
+    resultManager.prepared();
+
+    assertEquals(2, resultManager.getNumberOfRows());
+    assertTrue(resultManager.next());
+    assertEquals(1, resultManager.getValue(0).asLiteralResult().getInt());
+    assertTrue(resultManager.next());
+    assertEquals(2, resultManager.getValue(0).asLiteralResult().getInt());
+  }
+
+  @Test public void testOrderedResultHasNoRowLimit() throws Exception
+  {
+    resultManager.addColumn(columnName);
+    resultManager.setOrderByColumn(0, true);
+    resultManager.setLimit(1);
+    resultManager.configured();
+
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(2)));
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(1)));
+
+    assertFalse(resultManager.isRowLimitReached());
+
+    resultManager.prepared();
+
+    assertEquals(1, resultManager.getNumberOfRows());
+    assertTrue(resultManager.next());
+    assertEquals(1, resultManager.getValue(0).asLiteralResult().getInt());
+  }
 }
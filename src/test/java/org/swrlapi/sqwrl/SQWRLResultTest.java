@@ -4,6 +4,7 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.swrlapi.core.IRIResolver;
@@ -16,6 +17,12 @@ import org.swrlapi.sqwrl.values.SQWRLDataPropertyResultValue;
 import org.swrlapi.sqwrl.values.SQWRLLiteralResultValue;
 import org.swrlapi.sqwrl.values.SQWRLNamedIndividualResultValue;
 import org.swrlapi.sqwrl.values.SQWRLObjectPropertyResultValue;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static junit.framework.TestCase.assertFalse;
 import static org.junit.Assert.assertEquals;
@@ -44,6 +51,7 @@ public class SQWRLResultTest
   private static final String column1Name = "c1";
 
   @Rule public ExpectedException thrown = ExpectedException.none();
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
 
   @Before public void setUp() throws OWLOntologyCreationException
   {
@@ -96,6 +104,34 @@ public class SQWRLResultTest
     assertEquals(2, resultManager.getNumberOfRows());
   }
 
+  @Test public void testClearRows() throws Exception
+  {
+    resultManager.addColumn(columnName);
+
+    resultManager.configured();
+
+    resultManager.openRow();
+    resultManager.addCell(valueFactory.getLiteralValue(27));
+    resultManager.closeRow();
+
+    resultManager.prepared();
+
+    resultManager.clearRows();
+
+    assertTrue(resultManager.isConfigured());
+    assertFalse(resultManager.isPrepared());
+
+    resultManager.openRow();
+    resultManager.addCell(valueFactory.getLiteralValue(2));
+    resultManager.closeRow();
+
+    resultManager.prepared();
+
+    assertEquals(1, resultManager.getNumberOfRows());
+    assertTrue(resultManager.next());
+    assertEquals(2, resultManager.getLiteral(columnName).getInt());
+  }
+
   @Test public void testGetClass() throws Exception
   {
     resultManager.addColumn(columnName);
@@ -428,6 +464,176 @@ public class SQWRLResultTest
     assertEquals(1, value.getInt());
   }
 
+  @Test public void testGroupedCountAggregateFunction() throws Exception
+  {
+    resultManager.addColumn(columnName);
+    resultManager.addAggregateColumn(column1Name, SQWRLResultNames.CountAggregateFunction);
+
+    resultManager.configured();
+
+    resultManager.openRow();
+    resultManager.addCell(valueFactory.getLiteralValue(1));
+    resultManager.addCell(valueFactory.getLiteralValue(20));
+    resultManager.closeRow();
+
+    resultManager.openRow();
+    resultManager.addCell(valueFactory.getLiteralValue(2));
+    resultManager.addCell(valueFactory.getLiteralValue(20));
+    resultManager.closeRow();
+
+    resultManager.openRow();
+    resultManager.addCell(valueFactory.getLiteralValue(1L));
+    resultManager.addCell(valueFactory.getLiteralValue(30));
+    resultManager.closeRow();
+
+    resultManager.prepared();
+
+    assertEquals(2, resultManager.getNumberOfColumns());
+    assertEquals(2, resultManager.getNumberOfRows());
+
+    resultManager.next();
+
+    assertEquals(1, resultManager.getLiteral(columnName).getInt());
+    assertEquals(2, resultManager.getLiteral(column1Name).getInt());
+
+    resultManager.next();
+
+    assertEquals(2, resultManager.getLiteral(columnName).getInt());
+    assertEquals(1, resultManager.getLiteral(column1Name).getInt());
+  }
+
+  @Test public void testGroupedAvgAggregateFunctionAfterClearRows() throws Exception
+  {
+    resultManager.addColumn(columnName);
+    resultManager.addAggregateColumn(column1Name, SQWRLResultNames.AvgAggregateFunction);
+
+    resultManager.configured();
+
+    resultManager.addRow(Arrays.asList(valueFactory.getLiteralValue(1), valueFactory.getLiteralValue(100)));
+
+    resultManager.clearRows();
+
+    resultManager.addRow(Arrays.asList(valueFactory.getLiteralValue(1), valueFactory.getLiteralValue(20)));
+    resultManager.addRow(Arrays.asList(valueFactory.getLiteralValue(2), valueFactory.getLiteralValue(5)));
+    resultManager.addRow(Arrays.asList(valueFactory.getLiteralValue(1), valueFactory.getLiteralValue(40)));
+
+    resultManager.prepared();
+
+    assertEquals(2, resultManager.getNumberOfRows());
+
+    resultManager.next();
+
+    assertEquals(1, resultManager.getLiteral(columnName).getInt());
+    assertEquals(30, resultManager.getLiteral(column1Name).getInt());
+
+    resultManager.next();
+
+    assertEquals(2, resultManager.getLiteral(columnName).getInt());
+    assertEquals(5, resultManager.getLiteral(column1Name).getInt());
+  }
+
+  @Test public void testGetColumnPreservesLiteralTypes() throws Exception
+  {
+    resultManager.addColumn(columnName);
+
+    resultManager.configured();
+
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(1)));
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(1L)));
+    resultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(1)));
+
+    resultManager.prepared();
+
+    List<SQWRLResultValue> column = resultManager.getColumn(columnName);
+
+    assertEquals(3, column.size());
+    assertTrue(column.get(0).asLiteralResult().isInt());
+    assertTrue(column.get(1).asLiteralResult().isLong());
+    assertTrue(column.get(2).asLiteralResult().isInt());
+  }
+
+  @Test public void testSpilledDistinctOrderedResult() throws Exception
+  {
+    SQWRLResultManager spillingResultManager = SWRLAPIInternalFactory
+      .createSpillingSQWRLResultManager(iriResolver, 2, null);
+
+    spillingResultManager.addColumn(columnName);
+    spillingResultManager.addColumn(column1Name);
+    spillingResultManager.setIsDistinct();
+    spillingResultManager.setOrderByColumn(0, true);
+    spillingResultManager.configured();
+
+    spillingResultManager.addRow(Arrays.asList(valueFactory.getLiteralValue(30), valueFactory.getLiteralValue("c")));
+    spillingResultManager.addRow(Arrays.asList(valueFactory.getLiteralValue(10), valueFactory.getLiteralValue("a")));
+    spillingResultManager.addRow(Arrays.asList(valueFactory.getLiteralValue(30), valueFactory.getLiteralValue("c")));
+    spillingResultManager.addRow(Arrays.asList(valueFactory.getLiteralValue(20), valueFactory.getLiteralValue("d")));
+    spillingResultManager.addRow(Arrays.asList(valueFactory.getLiteralValue(10), valueFactory.getLiteralValue("b")));
+
+    spillingResultManager.prepared();
+
+    assertEquals(4, spillingResultManager.getNumberOfRows());
+
+    spillingResultManager.next();
+    assertEquals(10, spillingResultManager.getLiteral(0).getInt());
+    assertEquals("a", spillingResultManager.getLiteral(1).getString());
+    spillingResultManager.next();
+    assertEquals(10, spillingResultManager.getLiteral(0).getInt());
+    assertEquals("b", spillingResultManager.getLiteral(1).getString());
+    spillingResultManager.next();
+    assertEquals(20, spillingResultManager.getLiteral(0).getInt());
+    assertEquals("d", spillingResultManager.getLiteral(1).getString());
+    spillingResultManager.next();
+    assertEquals(30, spillingResultManager.getLiteral(0).getInt());
+    assertEquals("c", spillingResultManager.getLiteral(1).getString());
+
+    spillingResultManager.clearRows();
+  }
+
+  @Test public void testSpilledDistinctResultWithNestedPartitions() throws Exception
+  {
+    SQWRLResultManager spillingResultManager = SWRLAPIInternalFactory
+      .createSpillingSQWRLResultManager(iriResolver, 2, null);
+
+    spillingResultManager.addColumn(columnName);
+    spillingResultManager.setIsDistinct();
+    spillingResultManager.configured();
+
+    for (int i = 0; i < 1000; i++)
+      spillingResultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(i % 300)));
+
+    spillingResultManager.prepared();
+
+    assertEquals(300, spillingResultManager.getNumberOfRows());
+    for (int i = 0; i < 300; i++) {
+      spillingResultManager.next();
+      assertEquals(i, spillingResultManager.getLiteral(0).getInt());
+    }
+
+    spillingResultManager.close();
+  }
+
+  @Test public void testCloseDeletesSpillFiles() throws Exception
+  {
+    File spillDirectory = temporaryFolder.newFolder();
+    SQWRLResultManager spillingResultManager = SWRLAPIInternalFactory
+      .createSpillingSQWRLResultManager(iriResolver, 2, spillDirectory);
+
+    spillingResultManager.addColumn(columnName);
+    spillingResultManager.setOrderByColumn(0, true);
+    spillingResultManager.configured();
+
+    for (int i = 0; i < 10; i++)
+      spillingResultManager.addRow(Collections.singletonList(valueFactory.getLiteralValue(10 - i)));
+
+    spillingResultManager.prepared();
+
+    assertTrue(spillDirectory.list().length > 0);
+
+    spillingResultManager.close();
+
+    assertEquals(0, spillDirectory.list().length);
+  }
+
   @Test public void testSetIsDistinct() throws Exception
   {
     resultManager.addColumn(columnName);
@@ -520,6 +726,33 @@ public class SQWRLResultTest
     assertEquals(20, literal2Value.getInt());
   }
 
+  @Test public void testSetOrderByColumnDescendingWithFirstN() throws Exception
+  {
+    resultManager.addColumn(columnName);
+    resultManager.setOrderByColumn(0, false);
+    resultManager.setFirst(2);
+
+    resultManager.configured();
+
+    for (int value : new int[] { 30, 10, 50, 20, 40 }) {
+      resultManager.openRow();
+      resultManager.addCell(valueFactory.getLiteralValue(value));
+      resultManager.closeRow();
+    }
+
+    resultManager.prepared();
+
+    assertEquals(2, resultManager.getNumberOfRows());
+
+    resultManager.next();
+
+    assertEquals(50, resultManager.getLiteral(0).getInt());
+
+    resultManager.next();
+
+    assertEquals(40, resultManager.getLiteral(0).getInt());
+  }
+
   @Test public void testSetLimit() throws Exception
   {
     resultManager.addColumn(columnName);